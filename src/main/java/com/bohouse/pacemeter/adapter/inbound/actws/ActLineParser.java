@@ -3,7 +3,6 @@ package com.bohouse.pacemeter.adapter.inbound.actws;
 import com.bohouse.pacemeter.core.model.DotAttributionCatalog;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
@@ -27,6 +26,7 @@ public final class ActLineParser {
     private static final Pattern TARGET_KR = Pattern.compile("(.+?)에게\\s*피해를");
     private static final Pattern SOURCE_KR = Pattern.compile("^(.+?)의\\s*공격");
     private static final Set<Integer> DOT_SIGNAL_STATUS_IDS = DotAttributionCatalog.snapshotStatusIds();
+    private static final long INVALID_TS = Long.MIN_VALUE;
 
     public ParsedLine parse(String line) {
         if (line == null || line.isBlank()) return null;
@@ -37,8 +37,8 @@ public final class ActLineParser {
         try { typeCode = Integer.parseInt(p[0]); }
         catch (NumberFormatException e) { return null; }
 
-        Instant ts = parseInstant(p[1]);
-        if (ts == null) return null;
+        long ts = parseEpochMillis(p[1]);
+        if (ts == INVALID_TS) return null;
 
         // 1: ChangeZone
         if (typeCode == 1) {
@@ -323,13 +323,82 @@ public final class ActLineParser {
         return null;
     }
 
-    private static Instant parseInstant(String s) {
+    /**
+     * ACT 시각 문자열을 epoch millis로 바꾼다. 실패하면 INVALID_TS.
+     * ACT가 쓰는 고정 형식(2026-02-11T20:56:11.8120000+09:00)은 객체를 만들지 않고 직접 읽고,
+     * 그 밖의 ISO-8601 형식만 OffsetDateTime으로 파싱한다.
+     */
+    static long parseEpochMillis(String s) {
+        long fast = parseActTimestamp(s);
+        if (fast != INVALID_TS) {
+            return fast;
+        }
         try {
-            // input: 2026-02-11T20:56:11.8120000+09:00
-            return OffsetDateTime.parse(s).toInstant();
+            return OffsetDateTime.parse(s).toInstant().toEpochMilli();
         } catch (DateTimeParseException e) {
-            return null;
+            return INVALID_TS;
+        }
+    }
+
+    private static long parseActTimestamp(String s) {
+        // yyyy-MM-ddTHH:mm:ss.fffffff+hh:mm (33자)
+        if (s.length() != 33 || s.charAt(4) != '-' || s.charAt(7) != '-' || s.charAt(10) != 'T'
+                || s.charAt(13) != ':' || s.charAt(16) != ':' || s.charAt(19) != '.' || s.charAt(30) != ':') {
+            return INVALID_TS;
+        }
+        char sign = s.charAt(27);
+        if (sign != '+' && sign != '-') {
+            return INVALID_TS;
+        }
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 2);
+        int day = digits(s, 8, 2);
+        int hour = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        int second = digits(s, 17, 2);
+        int millis = digits(s, 20, 3);
+        int fractionRest = digits(s, 23, 4);
+        int offsetHour = digits(s, 28, 2);
+        int offsetMinute = digits(s, 31, 2);
+        if ((year | month | day | hour | minute | second | millis | fractionRest | offsetHour | offsetMinute) < 0
+                || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour > 23 || minute > 59 || second > 59 || offsetHour > 18 || offsetMinute > 59) {
+            return INVALID_TS;
         }
+        long offsetSeconds = (offsetHour * 3_600L + offsetMinute * 60L) * (sign == '-' ? -1 : 1);
+        long epochSeconds = epochDay(year, month, day) * 86_400L + hour * 3_600L + minute * 60L + second - offsetSeconds;
+        return epochSeconds * 1_000L + millis;
+    }
+
+    /** 숫자가 아닌 문자가 있으면 -1 */
+    private static int digits(String s, int from, int count) {
+        int value = 0;
+        for (int i = from; i < from + count; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /** 1970-01-01 기준 날짜 수 (proleptic Gregorian) */
+    private static long epochDay(int year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153L * (month + (month > 2 ? -3 : 9)) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - 719_468;
     }
 
     private static long parseHexLong(String hex) {
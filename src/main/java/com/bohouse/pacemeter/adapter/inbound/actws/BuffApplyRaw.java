@@ -7,7 +7,7 @@ import java.time.Instant;
  * rawLine 형식: 26|timestamp|statusId|statusName|duration|sourceId|sourceName|targetId|targetName|...
  */
 public record BuffApplyRaw(
-        Instant ts,
+        long tsMs,
         int statusId,
         String statusName,
         double durationSec,
@@ -15,4 +15,17 @@ public record BuffApplyRaw(
         String sourceName,
         long targetId,
         String targetName
-) implements ParsedLine {}
+) implements ParsedLine {
+    public BuffApplyRaw(
+            Instant ts,
+            int statusId,
+            String statusName,
+            double durationSec,
+            long sourceId,
+            String sourceName,
+            long targetId,
+            String targetName
+    ) {
+        this(ts.toEpochMilli(), statusId, statusName, durationSec, sourceId, sourceName, targetId, targetName);
+    }
+}
@@ -7,11 +7,23 @@ import java.time.Instant;
  * rawLine 형식: 30|timestamp|statusId|statusName|0|sourceId|sourceName|targetId|targetName|...
  */
 public record BuffRemoveRaw(
-        Instant ts,
+        long tsMs,
         int statusId,
         String statusName,
         long sourceId,
         String sourceName,
         long targetId,
         String targetName
-) implements ParsedLine {}
+) implements ParsedLine {
+    public BuffRemoveRaw(
+            Instant ts,
+            int statusId,
+            String statusName,
+            long sourceId,
+            String sourceName,
+            long targetId,
+            String targetName
+    ) {
+        this(ts.toEpochMilli(), statusId, statusName, sourceId, sourceName, targetId, targetName);
+    }
+}
@@ -3,7 +3,7 @@ package com.bohouse.pacemeter.adapter.inbound.actws;
 import java.time.Instant;
 
 public record CombatantAdded(
-        Instant ts,
+        long tsMs,
         long id,
         String name,
         int jobId,
@@ -12,4 +12,16 @@ public record CombatantAdded(
         long maxHp,
         String rawLine
 ) implements ParsedLine {
+    public CombatantAdded(
+            Instant ts,
+            long id,
+            String name,
+            int jobId,
+            long ownerId,
+            long currentHp,
+            long maxHp,
+            String rawLine
+    ) {
+        this(ts.toEpochMilli(), id, name, jobId, ownerId, currentHp, maxHp, rawLine);
+    }
 }
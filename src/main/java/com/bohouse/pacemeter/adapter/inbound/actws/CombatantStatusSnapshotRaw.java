@@ -4,7 +4,7 @@ import java.time.Instant;
 import java.util.List;
 
 public record CombatantStatusSnapshotRaw(
-        Instant ts,
+        long tsMs,
         long actorId,
         String actorName,
         int jobId,
@@ -13,4 +13,16 @@ public record CombatantStatusSnapshotRaw(
         List<StatusSnapshotRaw.StatusEntry> statuses,
         String rawLine
 ) implements ParsedLine {
+    public CombatantStatusSnapshotRaw(
+            Instant ts,
+            long actorId,
+            String actorName,
+            int jobId,
+            long currentHp,
+            long maxHp,
+            List<StatusSnapshotRaw.StatusEntry> statuses,
+            String rawLine
+    ) {
+        this(ts.toEpochMilli(), actorId, actorName, jobId, currentHp, maxHp, statuses, rawLine);
+    }
 }
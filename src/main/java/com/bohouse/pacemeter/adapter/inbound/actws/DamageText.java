@@ -3,7 +3,7 @@ package com.bohouse.pacemeter.adapter.inbound.actws;
 import java.time.Instant;
 
 public record DamageText(
-        Instant ts,
+        long tsMs,
         String sourceTextName,   // e.g. "구려카벙클" or null
         String targetTextName,   // e.g. "더 타이런트"
         long amount,
@@ -11,4 +11,17 @@ public record DamageText(
         boolean directHitLike,   // optional
         String rawLine,
         String message
-) implements ParsedLine { }
+) implements ParsedLine {
+    public DamageText(
+            Instant ts,
+            String sourceTextName,
+            String targetTextName,
+            long amount,
+            boolean criticalLike,
+            boolean directHitLike,
+            String rawLine,
+            String message
+    ) {
+        this(ts.toEpochMilli(), sourceTextName, targetTextName, amount, criticalLike, directHitLike, rawLine, message);
+    }
+}
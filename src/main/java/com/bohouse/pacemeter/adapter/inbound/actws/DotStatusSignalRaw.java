@@ -7,11 +7,19 @@ import java.util.List;
  * type 37(ActionEffectResult)에서 추출한 DoT status/source 신호.
  */
 public record DotStatusSignalRaw(
-        Instant ts,
+        long tsMs,
         long targetId,
         List<StatusSignal> signals,
         String rawLine
 ) implements ParsedLine {
+    public DotStatusSignalRaw(
+            Instant ts,
+            long targetId,
+            List<StatusSignal> signals,
+            String rawLine
+    ) {
+        this(ts.toEpochMilli(), targetId, signals, rawLine);
+    }
 
     public record StatusSignal(int statusId, long sourceId) {
     }
@@ -6,7 +6,7 @@ import java.time.Instant;
  * ACT LogLine typeCode 24: DoT tick damage.
  */
 public record DotTickRaw(
-        Instant ts,
+        long tsMs,
         long targetId,
         String targetName,
         String effectType,
@@ -16,6 +16,20 @@ public record DotTickRaw(
         long damage,
         String rawLine
 ) implements ParsedLine {
+    public DotTickRaw(
+            Instant ts,
+            long targetId,
+            String targetName,
+            String effectType,
+            int statusId,
+            long sourceId,
+            String sourceName,
+            long damage,
+            String rawLine
+    ) {
+        this(ts.toEpochMilli(), targetId, targetName, effectType, statusId, sourceId, sourceName, damage, rawLine);
+    }
+
     public boolean isDot() {
         return "DoT".equalsIgnoreCase(effectType);
     }
@@ -3,7 +3,7 @@ package com.bohouse.pacemeter.adapter.inbound.actws;
 import java.time.Instant;
 
 public record NetworkAbilityRaw(
-        Instant ts,
+        long tsMs,
         int typeCode, // 21 or 22
         long actorId,
         String actorName,
@@ -16,4 +16,20 @@ public record NetworkAbilityRaw(
         long damage,
         String rawLine
 ) implements ParsedLine {
+    public NetworkAbilityRaw(
+            Instant ts,
+            int typeCode,
+            long actorId,
+            String actorName,
+            int skillId,
+            String skillName,
+            long targetId,
+            String targetName,
+            boolean criticalHit,
+            boolean directHit,
+            long damage,
+            String rawLine
+    ) {
+        this(ts.toEpochMilli(), typeCode, actorId, actorName, skillId, skillName, targetId, targetName, criticalHit, directHit, damage, rawLine);
+    }
 }
@@ -2,5 +2,8 @@ package com.bohouse.pacemeter.adapter.inbound.actws;
 
 import java.time.Instant;
 
-public record NetworkDeath(Instant ts, long targetId, String targetName) implements ParsedLine {
+public record NetworkDeath(long tsMs, long targetId, String targetName) implements ParsedLine {
+    public NetworkDeath(Instant ts, long targetId, String targetName) {
+        this(ts.toEpochMilli(), targetId, targetName);
+    }
 }
\ No newline at end of file
@@ -7,9 +7,17 @@ import java.time.Instant;
  * Keeps parser from dropping known type codes while ingestion can safely ignore.
  */
 public record OpaqueRawLine(
-        Instant ts,
+        long tsMs,
         int typeCode,
         String subtype,
         String rawLine
 ) implements ParsedLine {
+    public OpaqueRawLine(
+            Instant ts,
+            int typeCode,
+            String subtype,
+            String rawLine
+    ) {
+        this(ts.toEpochMilli(), typeCode, subtype, rawLine);
+    }
 }
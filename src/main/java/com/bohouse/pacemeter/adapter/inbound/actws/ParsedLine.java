@@ -3,5 +3,11 @@ package com.bohouse.pacemeter.adapter.inbound.actws;
 import java.time.Instant;
 
 public sealed interface ParsedLine permits NetworkAbilityRaw, DotTickRaw, DamageText, PrimaryPlayerChanged, CombatantAdded, BuffApplyRaw, BuffRemoveRaw, StatusSnapshotRaw, CombatantStatusSnapshotRaw, DotStatusSignalRaw, ZoneChanged, NetworkDeath, PartyList, PlayerStatsUpdated, OpaqueRawLine {
-    Instant ts();
+    /** 로그 시각 (epoch millis). ACT 로그 시각은 밀리초 단위라 잃는 정밀도가 없다. */
+    long tsMs();
+
+    /** 경계(API, 컨트롤러, 디버그 출력)용. 인제스천 내부 계산은 tsMs()를 쓴다. */
+    default Instant ts() {
+        return Instant.ofEpochMilli(tsMs());
+    }
 }
@@ -4,4 +4,8 @@ import java.time.Instant;
 import java.util.List;
 
 /** ACT 11번 로그: 파티원 목록 */
-public record PartyList(Instant ts, List<Long> partyMemberIds) implements ParsedLine {}
\ No newline at end of file
+public record PartyList(long tsMs, List<Long> partyMemberIds) implements ParsedLine {
+    public PartyList(Instant ts, List<Long> partyMemberIds) {
+        this(ts.toEpochMilli(), partyMemberIds);
+    }
+}
\ No newline at end of file
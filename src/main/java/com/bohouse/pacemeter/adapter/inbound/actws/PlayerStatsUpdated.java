@@ -3,8 +3,15 @@ package com.bohouse.pacemeter.adapter.inbound.actws;
 import java.time.Instant;
 
 public record PlayerStatsUpdated(
-        Instant ts,
+        long tsMs,
         int jobId,
         String rawLine
 ) implements ParsedLine {
+    public PlayerStatsUpdated(
+            Instant ts,
+            int jobId,
+            String rawLine
+    ) {
+        this(ts.toEpochMilli(), jobId, rawLine);
+    }
 }
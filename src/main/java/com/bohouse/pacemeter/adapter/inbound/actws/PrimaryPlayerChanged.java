@@ -2,5 +2,8 @@ package com.bohouse.pacemeter.adapter.inbound.actws;
 
 import java.time.Instant;
 
-public record PrimaryPlayerChanged(Instant ts, long playerId, String playerName) implements ParsedLine {
+public record PrimaryPlayerChanged(long tsMs, long playerId, String playerName) implements ParsedLine {
+    public PrimaryPlayerChanged(Instant ts, long playerId, String playerName) {
+        this(ts.toEpochMilli(), playerId, playerName);
+    }
 }
@@ -4,12 +4,21 @@ import java.time.Instant;
 import java.util.List;
 
 public record StatusSnapshotRaw(
-        Instant ts,
+        long tsMs,
         long actorId,
         String actorName,
         List<StatusEntry> statuses,
         String rawLine
 ) implements ParsedLine {
+    public StatusSnapshotRaw(
+            Instant ts,
+            long actorId,
+            String actorName,
+            List<StatusEntry> statuses,
+            String rawLine
+    ) {
+        this(ts.toEpochMilli(), actorId, actorName, statuses, rawLine);
+    }
 
     public record StatusEntry(
             int statusId,
@@ -2,4 +2,8 @@ package com.bohouse.pacemeter.adapter.inbound.actws;
 
 import java.time.Instant;
 
-public record ZoneChanged(Instant ts, int zoneId, String zoneName) implements ParsedLine {}
+public record ZoneChanged(long tsMs, int zoneId, String zoneName) implements ParsedLine {
+    public ZoneChanged(Instant ts, int zoneId, String zoneName) {
+        this(ts.toEpochMilli(), zoneId, zoneName);
+    }
+}
@@ -0,0 +1,66 @@
+package com.bohouse.pacemeter.adapter.inbound.cli;
+
+import com.bohouse.pacemeter.adapter.outbound.journal.CombatJournalReplayer;
+import com.bohouse.pacemeter.core.engine.CombatEngine;
+import com.bohouse.pacemeter.core.snapshot.OverlaySnapshot;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 저널 파일을 새 엔진에 최대 속도로 재생해 처리량을 출력하는 프로파일링용 CLI.
+ * 스프링 컨텍스트 없이 엔진만 띄운다.
+ *
+ * <pre>
+ * ./gradlew replayJournal -Pjournal=data/journal/global.journal [-Prepeat=5]
+ * java -cp ... com.bohouse.pacemeter.adapter.inbound.cli.JournalReplayCli [--repeat N] file...
+ * </pre>
+ * 반복할 때마다 새 엔진을 쓰므로 첫 회는 JIT 워밍업으로 보고 나머지 회차를 비교한다.
+ */
+public final class JournalReplayCli {
+
+    private JournalReplayCli() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int repeat = 1;
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if ("--repeat".equals(args[i]) && i + 1 < args.length) {
+                repeat = Math.max(1, Integer.parseInt(args[++i]));
+            } else {
+                files.add(Path.of(args[i]));
+            }
+        }
+        if (files.isEmpty()) {
+            System.err.println("usage: JournalReplayCli [--repeat N] <journal file>...");
+            System.exit(2);
+            return;
+        }
+
+        for (Path file : files) {
+            if (!Files.isRegularFile(file)) {
+                System.err.println("journal not found: " + file);
+                continue;
+            }
+            for (int run = 1; run <= repeat; run++) {
+                CombatJournalReplayer.Result result = CombatJournalReplayer.replay(file, new CombatEngine());
+                System.out.printf("[journal-replay] %s run=%d entries=%d events=%d wall=%.1fms events/s=%.0f %s%n",
+                        file.getFileName(), run, result.entries(), result.events(),
+                        result.durationNanos() / 1_000_000.0, result.eventsPerSecond(), describe(result.snapshot()));
+            }
+        }
+    }
+
+    private static String describe(OverlaySnapshot snapshot) {
+        if (snapshot == null) {
+            return "snapshot=none";
+        }
+        return String.format("fight=%s phase=%s elapsed=%s actors=%d partyDps=%.1f",
+                snapshot.fightName(), snapshot.phase(), snapshot.elapsedFormatted(),
+                snapshot.actors().size(), snapshot.partyDps());
+    }
+}
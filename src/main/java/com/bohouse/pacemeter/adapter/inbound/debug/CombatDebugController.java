@@ -5,12 +5,17 @@ import com.bohouse.pacemeter.application.CombatService;
 import com.bohouse.pacemeter.application.ActIngestionService;
 import com.bohouse.pacemeter.application.LiveDotAttributionDebugSnapshot;
 import com.bohouse.pacemeter.application.RelaySessionManager;
+import com.bohouse.pacemeter.application.SessionTraceRecorder;
+import com.bohouse.pacemeter.application.SessionTraceRegistry;
+import com.bohouse.pacemeter.application.port.outbound.SnapshotTopic;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @CrossOrigin(origins = "*")
 @RestController
 @RequestMapping("/api/debug/combat")
@@ -19,15 +24,18 @@ public class CombatDebugController {
     private final CombatService combatService;
     private final ActIngestionService actIngestionService;
     private final RelaySessionManager relaySessionManager;
+    private final SessionTraceRegistry traces;
 
     public CombatDebugController(
             CombatService combatService,
             ActIngestionService actIngestionService,
-            RelaySessionManager relaySessionManager
+            RelaySessionManager relaySessionManager,
+            SessionTraceRegistry traces
     ) {
         this.combatService = combatService;
         this.actIngestionService = actIngestionService;
         this.relaySessionManager = relaySessionManager;
+        this.traces = traces;
     }
 
     @GetMapping
@@ -44,4 +52,14 @@ public class CombatDebugController {
     ) {
         return actIngestionService.debugLiveDotAttributionSnapshot(lookbackSeconds);
     }
+
+    /** 세션의 최근 추적 레코드 (오래된 것부터). sessionId가 없으면 로컬(ACT) 수집기 */
+    @GetMapping("/trace")
+    public List<SessionTraceRecorder.TraceEntry> trace(
+            @RequestParam(required = false) String sessionId,
+            @RequestParam(defaultValue = "200") int limit
+    ) {
+        String streamId = sessionId == null || sessionId.isBlank() ? SnapshotTopic.LOCAL_STREAM_ID : sessionId;
+        return traces.dump(streamId, limit);
+    }
 }
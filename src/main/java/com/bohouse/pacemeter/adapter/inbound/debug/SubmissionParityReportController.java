@@ -1,5 +1,6 @@
 package com.bohouse.pacemeter.adapter.inbound.debug;
 
+import com.bohouse.pacemeter.application.EstimatorModeParityService;
 import com.bohouse.pacemeter.application.SubmissionParityReport;
 import com.bohouse.pacemeter.application.SubmissionParityQualityService;
 import com.bohouse.pacemeter.application.SubmissionParityReportService;
@@ -18,13 +19,16 @@ public class SubmissionParityReportController {
 
     private final SubmissionParityReportService submissionParityReportService;
     private final SubmissionParityQualityService submissionParityQualityService;
+    private final EstimatorModeParityService estimatorModeParityService;
 
     public SubmissionParityReportController(
             SubmissionParityReportService submissionParityReportService,
-            SubmissionParityQualityService submissionParityQualityService
+            SubmissionParityQualityService submissionParityQualityService,
+            EstimatorModeParityService estimatorModeParityService
     ) {
         this.submissionParityReportService = submissionParityReportService;
         this.submissionParityQualityService = submissionParityQualityService;
+        this.estimatorModeParityService = estimatorModeParityService;
     }
 
     @GetMapping("/submissions/{submissionId}")
@@ -32,6 +36,13 @@ public class SubmissionParityReportController {
         return submissionParityReportService.buildReport(submissionId);
     }
 
+    @GetMapping("/submissions/{submissionId}/estimator-modes")
+    public EstimatorModeParityService.EstimatorModeParityReport estimatorModeParity(
+            @PathVariable String submissionId
+    ) throws IOException {
+        return estimatorModeParityService.compareSubmission(submissionId);
+    }
+
     @GetMapping("/quality")
     public SubmissionParityQualityService.SubmissionParityQualityRollup qualityRollup() throws IOException {
         return submissionParityQualityService.buildRollup();
@@ -1,14 +1,17 @@
 package com.bohouse.pacemeter.adapter.inbound.relay;
 
 import com.bohouse.pacemeter.application.RelaySessionManager;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import com.bohouse.pacemeter.application.SessionTraceRegistry;
+import com.bohouse.pacemeter.core.model.RecentWindowMode;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 import java.util.Map;
@@ -17,28 +20,39 @@ import java.util.Map;
 @RestController
 @RequestMapping("/api/relay")
 public class RelayController {
-    private static final Logger logger = LoggerFactory.getLogger(RelayController.class);
-
     private final RelaySessionManager relaySessionManager;
+    private final SessionTraceRegistry traces;
 
-    public RelayController(RelaySessionManager relaySessionManager) {
+    public RelayController(RelaySessionManager relaySessionManager, SessionTraceRegistry traces) {
         this.relaySessionManager = relaySessionManager;
+        this.traces = traces;
     }
 
     @PostMapping("/{sessionId}/events")
     public Map<String, Object> ingestEvents(
             @PathVariable String sessionId,
+            @RequestParam(name = "estimator", required = false) String estimator,
             @RequestBody List<RelaySessionManager.RelayEnvelope> events
     ) {
+        RecentWindowMode mode = parseEstimator(estimator);
         long rawLineCount = events.stream()
                 .filter(event -> "rawLine".equals(event.type()))
                 .count();
-        logger.info("[RelayAPI] ingest session={} events={} rawLine={}", sessionId, events.size(), rawLineCount);
-        relaySessionManager.ingest(sessionId, events);
+        traces.recorder(sessionId).relayBatch(events.size(), rawLineCount);
+        relaySessionManager.ingest(sessionId, events, mode);
         return Map.of(
                 "ok", true,
                 "sessionId", sessionId,
                 "count", events.size()
         );
     }
+
+    /** 알 수 없는 estimator 값은 배치를 세기 전에 400으로 돌려보낸다. */
+    static RecentWindowMode parseEstimator(String estimator) {
+        try {
+            return RecentWindowMode.fromParam(estimator);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
 }
@@ -0,0 +1,83 @@
+package com.bohouse.pacemeter.adapter.inbound.replay;
+
+import java.util.Locale;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 재생용 가상 시계.
+ *
+ * 로그의 이벤트 시각을 기준으로, 첫 이벤트부터 흐른 시간을 배속으로 나눈 벽시계 시점까지 기다렸다가 라인을 흘린다.
+ * 1x는 실제 전투와 같은 속도, 10x는 10배 빠르게, max는 기다리지 않고 최대 속도로 처리한다.
+ * 틱은 인제스천이 이벤트 시각 경계마다 내므로 배속과 상관없이 같은 틱 순서가 나온다.
+ */
+final class ReplayClock {
+
+    private final double speed;
+    private boolean started;
+    private long firstEventTsMs;
+    private long wallStartNanos;
+
+    private ReplayClock(double speed) {
+        this.speed = speed;
+    }
+
+    /** "1x", "10", "max" 같은 값을 읽는다. 배속은 0보다 커야 한다. */
+    static ReplayClock parse(String value) {
+        String normalized = value.trim().toLowerCase(Locale.ROOT);
+        if (normalized.equals("max")) {
+            return new ReplayClock(Double.POSITIVE_INFINITY);
+        }
+        if (normalized.endsWith("x")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+        double speed;
+        try {
+            speed = Double.parseDouble(normalized);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid replay speed: " + value);
+        }
+        if (!(speed > 0.0)) {
+            throw new IllegalArgumentException("invalid replay speed: " + value);
+        }
+        return new ReplayClock(speed);
+    }
+
+    boolean unthrottled() {
+        return Double.isInfinite(speed);
+    }
+
+    String label() {
+        if (unthrottled()) {
+            return "max";
+        }
+        return (speed == Math.rint(speed) ? Long.toString((long) speed) : Double.toString(speed)) + "x";
+    }
+
+    /** 이벤트 시각 tsMs(epoch millis)까지 기다린다. max이거나 이미 지났으면 바로 돌아온다. */
+    void awaitEventTime(long tsMs) throws InterruptedException {
+        long delayNanos = delayNanosUntil(tsMs, System.nanoTime());
+        while (delayNanos > 0) {
+            LockSupport.parkNanos(delayNanos);
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            delayNanos = delayNanosUntil(tsMs, System.nanoTime());
+        }
+    }
+
+    /** 첫 호출의 이벤트를 기준점으로 삼고, tsMs를 흘려야 할 시점까지 남은 나노초를 돌려준다. */
+    long delayNanosUntil(long tsMs, long nowNanos) {
+        if (unthrottled()) {
+            return 0L;
+        }
+        if (!started) {
+            started = true;
+            firstEventTsMs = tsMs;
+            wallStartNanos = nowNanos;
+            return 0L;
+        }
+        long eventOffsetNanos = (tsMs - firstEventTsMs) * 1_000_000L;
+        long dueAtNanos = wallStartNanos + (long) (eventOffsetNanos / speed);
+        return dueAtNanos - nowNanos;
+    }
+}
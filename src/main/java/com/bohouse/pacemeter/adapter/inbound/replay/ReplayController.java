@@ -8,12 +8,16 @@ import com.bohouse.pacemeter.application.ActIngestionService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.Optional;
@@ -25,80 +29,152 @@ import java.util.concurrent.Executors;
 public class ReplayController {
 
     private static final Logger log = LoggerFactory.getLogger(ReplayController.class);
+    /** 최대 속도 재생에서 엔진에 한 번에 넘기는 라인 수 */
+    private static final int MAX_SPEED_BATCH_LINES = 1_000;
 
     private final ActLineParser parser;
     private final ActIngestionService ingestion;
     private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private volatile ReplayStats lastReplay;
 
     public ReplayController(ActLineParser parser, ActIngestionService ingestion) {
         this.parser = parser;
         this.ingestion = ingestion;
     }
 
+    /**
+     * 로그 파일을 재생한다.
+     *
+     * speed를 주면 가상 시계 모드다. 이벤트 시각 간격을 배속(1x, 10x, max)만큼 줄여서 흘리고,
+     * 틱은 인제스천이 이벤트 시각 경계마다 낸다. speed가 없으면 예전처럼 라인마다 delayMs씩 쉰다.
+     * 끝나면 처리 라인 수, 벽시계 시간, 초당 라인 수를 로그와 {@code GET /api/replay/status}로 알려 준다.
+     */
     @PostMapping("/start")
     public String startReplay(
             @RequestParam(defaultValue = "10") int delayMs,
+            @RequestParam(required = false) String speed,
             @RequestParam(defaultValue = "한정서너나좋아싫어") String playerName,
             @RequestParam(defaultValue = "heavy3_pull1_full.log") String fileName) {
+        ReplayClock clock = parseSpeed(speed);
+        String pacing = clock != null ? "speed=" + clock.label() : "delay=" + delayMs + "ms";
+        if (clock != null) {
+            ingestion.enableEventTimeTicks();
+        }
         executor.submit(() -> {
             try {
-                log.info("[Replay] starting replay from {} (delay={}ms, player='{}')", fileName, delayMs, playerName);
+                log.info("[Replay] starting replay from {} ({}, player='{}')", fileName, pacing, playerName);
+                long startedAtNanos = System.nanoTime();
                 var resource = new ClassPathResource(fileName);
                 try (var reader = new BufferedReader(
                         new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
 
-                    String line;
-                    int count = 0;
-                    boolean playerSet = false;
-                    boolean primaryPlayerSeenInLog = false;
-
-                    while ((line = reader.readLine()) != null) {
-                        if (line.isBlank()) {
-                            continue;
-                        }
-
-                        ParsedLine parsed = parser.parse(line);
-                        if (parsed != null) {
-                            ingestion.onParsed(parsed);
-                            count++;
-
-                            if (parsed instanceof PrimaryPlayerChanged p) {
-                                primaryPlayerSeenInLog = true;
-                                playerSet = true;
-                                log.info("[Replay] primary player from log: {}(id={})",
-                                        p.playerName(), Long.toHexString(p.playerId()));
-                                continue;
-                            }
-
-                            Optional<PrimaryPlayerChanged> fallbackPrimary = fallbackPrimaryPlayerChange(
-                                    parsed, playerName, playerSet
-                            );
-                            if (fallbackPrimary.isPresent()) {
-                                PrimaryPlayerChanged fallback = fallbackPrimary.orElseThrow();
-                                ingestion.onParsed(fallback);
-                                playerSet = true;
-                                log.info("[Replay] primary player fallback by name: {}(id={})",
-                                        fallback.playerName(), Long.toHexString(fallback.playerId()));
-                            }
-                        }
-
-                        if (delayMs > 0) {
-                            Thread.sleep(delayMs);
+                    ReplayProgress progress = new ReplayProgress();
+                    if (clock != null && clock.unthrottled()) {
+                        // 최대 속도에서는 라인을 묶어서 넣는다. 엔진 락과 스냅샷이 묶음당 한 번씩이다.
+                        while (!progress.endOfInput) {
+                            ingestion.runBatched(() -> {
+                                try {
+                                    replayLines(reader, progress, null, 0, playerName, MAX_SPEED_BATCH_LINES);
+                                } catch (IOException | InterruptedException e) {
+                                    throw new IllegalStateException("replay batch failed", e);
+                                }
+                            });
                         }
+                    } else {
+                        replayLines(reader, progress, clock, delayMs, playerName, Integer.MAX_VALUE);
                     }
+                    int count = progress.count;
+                    boolean playerSet = progress.playerSet;
+                    boolean primaryPlayerSeenInLog = progress.primaryPlayerSeenInLog;
 
                     if (!playerSet) {
                         log.warn("[Replay] no primary player resolved from replay. playerName='{}' primaryLineSeen={}",
                                 playerName, primaryPlayerSeenInLog);
                     }
-                    log.info("[Replay] finished. {} lines processed", count);
+                    ReplayStats stats = ReplayStats.of(fileName, pacing, count, System.nanoTime() - startedAtNanos);
+                    lastReplay = stats;
+                    log.info("[Replay] finished. {} lines processed in {}ms ({} lines/sec, {})",
+                            count, stats.wallTimeMs(), Math.round(stats.linesPerSecond()), pacing);
                 }
             } catch (Exception e) {
                 log.error("[Replay] failed", e);
             }
         });
 
-        return "Replay started (delay=" + delayMs + "ms, playerName='" + playerName + "'). Check logs for progress.";
+        return "Replay started (" + pacing + ", playerName='" + playerName + "'). Check logs for progress.";
+    }
+
+    /** speed가 없으면 null (라인마다 delayMs). 읽을 수 없는 값은 재생을 시작하기 전에 400으로 돌려보낸다. */
+    static ReplayClock parseSpeed(String speed) {
+        if (speed == null || speed.isBlank()) {
+            return null;
+        }
+        try {
+            return ReplayClock.parse(speed);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    /** 라인을 최대 maxLines개까지 재생한다. 입력이 끝나면 progress.endOfInput을 켠다. */
+    private void replayLines(
+            BufferedReader reader,
+            ReplayProgress progress,
+            ReplayClock clock,
+            int delayMs,
+            String playerName,
+            int maxLines
+    ) throws IOException, InterruptedException {
+        int processed = 0;
+        while (processed < maxLines) {
+            String line = reader.readLine();
+            if (line == null) {
+                progress.endOfInput = true;
+                return;
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            processed++;
+
+            ParsedLine parsed = parser.parse(line);
+            if (parsed != null && clock != null) {
+                clock.awaitEventTime(parsed.tsMs());
+            }
+            if (parsed != null) {
+                ingestion.onParsed(parsed);
+                progress.count++;
+
+                if (parsed instanceof PrimaryPlayerChanged p) {
+                    progress.primaryPlayerSeenInLog = true;
+                    progress.playerSet = true;
+                    log.info("[Replay] primary player from log: {}(id={})",
+                            p.playerName(), Long.toHexString(p.playerId()));
+                    continue;
+                }
+
+                Optional<PrimaryPlayerChanged> fallbackPrimary = fallbackPrimaryPlayerChange(
+                        parsed, playerName, progress.playerSet
+                );
+                if (fallbackPrimary.isPresent()) {
+                    PrimaryPlayerChanged fallback = fallbackPrimary.orElseThrow();
+                    ingestion.onParsed(fallback);
+                    progress.playerSet = true;
+                    log.info("[Replay] primary player fallback by name: {}(id={})",
+                            fallback.playerName(), Long.toHexString(fallback.playerId()));
+                }
+            }
+
+            if (clock == null && delayMs > 0) {
+                Thread.sleep(delayMs);
+            }
+        }
+    }
+
+    /** 마지막으로 끝난 재생의 처리량. 아직 끝난 재생이 없으면 null. */
+    @GetMapping("/status")
+    public ReplayStats lastReplay() {
+        return lastReplay;
     }
 
     static Optional<PrimaryPlayerChanged> fallbackPrimaryPlayerChange(
@@ -115,6 +191,26 @@ public class ReplayController {
         if (!c.name().equals(playerName)) {
             return Optional.empty();
         }
-        return Optional.of(new PrimaryPlayerChanged(c.ts(), c.id(), c.name()));
+        return Optional.of(new PrimaryPlayerChanged(c.tsMs(), c.id(), c.name()));
+    }
+
+    private static final class ReplayProgress {
+        private int count;
+        private boolean playerSet;
+        private boolean primaryPlayerSeenInLog;
+        private boolean endOfInput;
+    }
+
+    public record ReplayStats(String fileName, String pacing, int lines, long wallTimeMs, double linesPerSecond) {
+        static ReplayStats of(String fileName, String pacing, int lines, long wallTimeNanos) {
+            double seconds = wallTimeNanos / 1_000_000_000.0;
+            return new ReplayStats(
+                    fileName,
+                    pacing,
+                    lines,
+                    wallTimeNanos / 1_000_000L,
+                    seconds > 0.0 ? lines / seconds : 0.0
+            );
+        }
     }
 }
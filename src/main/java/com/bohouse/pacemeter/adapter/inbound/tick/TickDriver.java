@@ -1,30 +1,29 @@
 package com.bohouse.pacemeter.adapter.inbound.tick;
 
 import com.bohouse.pacemeter.application.ActIngestionService;
-import com.bohouse.pacemeter.application.port.inbound.CombatEventPort;
-import com.bohouse.pacemeter.core.event.CombatEvent;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+/**
+ * 라이브 인제스천의 틱 구동기.
+ *
+ * 틱 자체는 ActIngestionService가 이벤트 시각 기준 100ms 경계마다 낸다.
+ * 여기서는 벽시계 워치독만 돌려서, 이벤트가 끊긴 구간에도 틱이 이어지고 전투 타임아웃이 확인되게 한다.
+ */
 @EnableScheduling
 @Component
 public class TickDriver {
 
-    private final CombatEventPort combatEventPort;
     private final ActIngestionService actIngestionService;
 
-    public TickDriver(CombatEventPort combatEventPort,
-                      ActIngestionService actIngestionService) {
-        this.combatEventPort = combatEventPort;
+    public TickDriver(ActIngestionService actIngestionService) {
         this.actIngestionService = actIngestionService;
+        actIngestionService.enableEventTimeTicks();
     }
 
     @Scheduled(fixedRate = 100)
     public void tick() {
-        if (!actIngestionService.isFightStarted()) return;
-
-        long elapsed = actIngestionService.nowElapsedMs();
-        combatEventPort.onEvent(new CombatEvent.Tick(elapsed));
+        actIngestionService.onWallClockTick();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,111 @@
+package com.bohouse.pacemeter.adapter.outbound.jobcache;
+
+import com.bohouse.pacemeter.application.port.outbound.ActorJobStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * 범위별 직업 캐시를 {@code pacemeter.job-cache.dir} 아래 {@code <scopeId>.properties}로 둔다.
+ * 임시 파일에 다 쓴 뒤 바꿔치기하므로 쓰다 죽어도 이전 내용은 남는다.
+ * 디렉터리 설정이 비어 있으면 아무것도 남기지 않는다.
+ */
+@Component
+public class FileActorJobStore implements ActorJobStore {
+    private static final Logger log = LoggerFactory.getLogger(FileActorJobStore.class);
+
+    private final Path directory;
+
+    public FileActorJobStore(@Value("${pacemeter.job-cache.dir:data/job-cache}") String directory) {
+        this.directory = directory == null || directory.isBlank() ? null : Path.of(directory);
+    }
+
+    @Override
+    public Map<String, Integer> load(String scopeId) {
+        if (directory == null) {
+            return Map.of();
+        }
+        Path file = fileFor(scopeId);
+        if (!Files.isRegularFile(file)) {
+            return Map.of();
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("[JobCache] failed to read {}, starting empty: {}", file, e.toString());
+            return Map.of();
+        }
+        Map<String, Integer> jobs = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            try {
+                jobs.put(key, Integer.parseInt(properties.getProperty(key).trim()));
+            } catch (NumberFormatException ignored) {
+                // 손상된 값은 버린다
+            }
+        }
+        return jobs;
+    }
+
+    @Override
+    public void save(String scopeId, Map<String, Integer> jobs) {
+        if (directory == null) {
+            return;
+        }
+        Path file = fileFor(scopeId);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Integer> entry : new TreeMap<>(jobs).entrySet()) {
+                    writer.write(escape(entry.getKey()));
+                    writer.write('=');
+                    writer.write(Integer.toString(entry.getValue()));
+                    writer.write('\n');
+                }
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("failed to write job cache " + file, e);
+        }
+    }
+
+    Path fileFor(String scopeId) {
+        return directory.resolve(scopeId.replaceAll("[^A-Za-z0-9_.-]", "_") + ".properties");
+    }
+
+    // Properties.load가 읽을 수 있게 키의 구분자/공백/주석 문자를 이스케이프한다 (유니코드는 UTF-8 그대로 둔다)
+    private static String escape(String key) {
+        StringBuilder escaped = new StringBuilder(key.length() + 8);
+        for (int i = 0; i < key.length(); i++) {
+            char ch = key.charAt(i);
+            switch (ch) {
+                case '\\', '=', ':', '#', '!', ' ' -> escaped.append('\\').append(ch);
+                case '\t' -> escaped.append("\\t");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\f' -> escaped.append("\\f");
+                default -> escaped.append(ch);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,276 @@
+package com.bohouse.pacemeter.adapter.outbound.journal;
+
+import com.bohouse.pacemeter.application.port.outbound.CombatJournal;
+import com.bohouse.pacemeter.core.event.CombatEvent;
+import com.bohouse.pacemeter.core.model.ActorId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 파일 하나에 이어 쓰는 바이너리 저널 ({@link CombatJournalCodec} 포맷).
+ *
+ * 기록 경로는 레코드를 메모리 버퍼에 인코딩만 한다. 파일 쓰기와 fsync는 저장소가
+ * {@link #FSYNC_INTERVAL_MS}마다 백그라운드에서 부르는 {@link #flush()}가 맡으므로,
+ * 프로세스가 죽으면 그 사이 레코드만 잃는다. 쓰지 못한 버퍼가 {@link #MAX_PENDING_BYTES}를 넘으면
+ * (디스크가 멈춘 경우) 메모리를 붙잡지 않도록 저널을 끈다.
+ *
+ * FightStart가 오면 그 앞의 레코드는 재생에 필요 없으므로 파일을 새로 시작한다: 헤더, 남아 있는 설정
+ * ({@link CombatJournalContext}), FightStart 순으로 임시 파일에 써서 원래 파일과 바꾼다.
+ * 그래서 파일은 전투 하나 분량보다 커지지 않는다.
+ *
+ * 기존 파일을 열면 마지막 온전한 레코드 뒤를 잘라 내고 SEGMENT 레코드부터 이어 쓴다.
+ * 디스크 오류가 나면 로그를 남기고 저널을 끈다. 엔진 처리는 멈추지 않는다.
+ */
+public final class BinaryCombatJournal implements CombatJournal {
+    private static final Logger log = LoggerFactory.getLogger(BinaryCombatJournal.class);
+
+    public static final long FSYNC_INTERVAL_MS = 1_000L;
+    static final int MAX_PENDING_BYTES = 16 * 1024 * 1024;
+    private static final int BUFFER_BYTES = 64 * 1024;
+
+    private final Path file;
+    /** 파일 쓰기 락. flush가 이 락만 쥔 채 쓰고 fsync하므로 기록 경로(this 락)를 막지 않는다. */
+    private final Object io = new Object();
+    private FileChannel channel;
+    // 이하 this 락
+    private ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+    private final List<ByteBuffer> filled = new ArrayList<>();
+    private ByteBuffer spare;
+    private long pendingBytes;
+    /** 쌓인 버퍼가 새 파일의 내용이면 true. 다음 flush가 파일을 바꾼다. */
+    private boolean startsNewFile;
+    private CombatJournalCodec.Encoder encoder = new CombatJournalCodec.Encoder();
+    private final CombatJournalContext context;
+    private boolean failed;
+    private boolean closed;
+    private long recordCount;
+
+    private BinaryCombatJournal(Path file, FileChannel channel, CombatJournalContext context) {
+        this.file = file;
+        this.channel = channel;
+        this.context = context;
+    }
+
+    /** 저널 파일을 이어 쓰기로 연다. 없으면 헤더부터 새로 쓴다. */
+    public static BinaryCombatJournal open(Path file) throws IOException {
+        CombatJournalContext context = new CombatJournalContext();
+        long validLength = CombatJournalReader.scan(file, context::apply).validLength();
+        return open(file, validLength, context);
+    }
+
+    /**
+     * 이미 훑은 결과로 연다. 복구가 방금 파일을 읽었으면 다시 읽지 않는다.
+     *
+     * @param validLength 헤더와 온전한 레코드가 끝나는 위치
+     * @param context 그 위치까지의 레코드를 반영한 설정 상태
+     */
+    static BinaryCombatJournal open(Path file, long validLength, CombatJournalContext context) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        BinaryCombatJournal journal = new BinaryCombatJournal(file, channel, context);
+        synchronized (journal) {
+            if (validLength < CombatJournalCodec.HEADER_BYTES) {
+                channel.truncate(0);
+                CombatJournalCodec.writeHeader(journal.buffer);
+            } else if (validLength < channel.size()) {
+                log.warn("[Journal] dropping {} bytes of torn tail from {}", channel.size() - validLength, file);
+                channel.truncate(validLength);
+            }
+            channel.position(channel.size());
+            if (validLength >= CombatJournalCodec.HEADER_BYTES) {
+                journal.append(new CombatJournalCodec.SegmentEntry());
+            }
+        }
+        return journal;
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public synchronized long recordCount() {
+        return recordCount;
+    }
+
+    @Override
+    public void recordEvent(CombatEvent event) {
+        append(new CombatJournalCodec.EventEntry(event));
+    }
+
+    @Override
+    public void recordCurrentPlayer(ActorId playerId) {
+        append(new CombatJournalCodec.CurrentPlayerEntry(playerId));
+    }
+
+    @Override
+    public void recordJob(ActorId actorId, int jobId) {
+        append(new CombatJournalCodec.JobEntry(actorId, jobId));
+    }
+
+    @Override
+    public void recordOwner(ActorId petId, ActorId ownerId) {
+        append(new CombatJournalCodec.OwnerEntry(petId, ownerId));
+    }
+
+    @Override
+    public void recordContextCleared() {
+        append(new CombatJournalCodec.ContextClearedEntry());
+    }
+
+    @Override
+    public void recordFightAnchor(FightAnchor anchor) {
+        append(new CombatJournalCodec.FightAnchorEntry(anchor));
+    }
+
+    /** 쌓인 버퍼를 파일에 쓰고 fsync한다. 기록 경로와 다른 스레드에서 부른다. */
+    public void flush() {
+        synchronized (io) {
+            Pending pending = takePending();
+            if (pending == null) {
+                return;
+            }
+            try {
+                if (pending.startsNewFile()) {
+                    replaceFile(pending.buffers());
+                } else {
+                    writeFully(channel, pending.buffers());
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                fail(e);
+                return;
+            }
+            recycle(pending.buffers().get(pending.buffers().size() - 1));
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (io) {
+            flush();
+            synchronized (this) {
+                closed = true;
+            }
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.warn("[Journal] failed to close {}", file, e);
+            }
+        }
+    }
+
+    private synchronized void append(CombatJournalCodec.Entry entry) {
+        if (failed || closed) {
+            return;
+        }
+        context.apply(entry);
+        if (entry instanceof CombatJournalCodec.EventEntry e && e.event() instanceof CombatEvent.FightStart) {
+            startNewFile(entry);
+            return;
+        }
+        buffer(entry);
+    }
+
+    /** 아직 쓰지 않은 레코드를 버리고, 다음 flush가 새 파일로 바꾸도록 새 파일 내용을 쌓는다. */
+    private void startNewFile(CombatJournalCodec.Entry fightStart) {
+        filled.clear();
+        buffer.clear();
+        pendingBytes = 0L;
+        encoder = new CombatJournalCodec.Encoder();
+        CombatJournalCodec.writeHeader(buffer);
+        for (CombatJournalCodec.Entry entry : context.entries()) {
+            buffer(entry);
+        }
+        buffer(fightStart);
+        startsNewFile = true;
+    }
+
+    private void buffer(CombatJournalCodec.Entry entry) {
+        int recordBytes = encoder.encodeRecord(entry);
+        if (buffer.remaining() < recordBytes) {
+            if (buffer.position() > 0) {
+                filled.add(buffer.flip());
+            }
+            buffer = recordBytes <= BUFFER_BYTES && spare != null ? spare : ByteBuffer.allocate(Math.max(BUFFER_BYTES, recordBytes));
+            spare = null;
+        }
+        encoder.writeEncoded(buffer);
+        recordCount++;
+        pendingBytes += recordBytes;
+        if (pendingBytes > MAX_PENDING_BYTES) {
+            fail(new IOException("unflushed journal backlog exceeded " + MAX_PENDING_BYTES + " bytes"));
+        }
+    }
+
+    /** 쓸 버퍼를 넘겨받고 기록 경로에는 빈 버퍼를 준다. 쓸 것이 없으면 null. */
+    private synchronized Pending takePending() {
+        if (failed || closed || (filled.isEmpty() && buffer.position() == 0)) {
+            return null;
+        }
+        List<ByteBuffer> batch = new ArrayList<>(filled);
+        filled.clear();
+        if (buffer.position() > 0) {
+            batch.add(buffer.flip());
+            buffer = spare != null ? spare : ByteBuffer.allocate(BUFFER_BYTES);
+            spare = null;
+        }
+        pendingBytes = 0L;
+        Pending pending = new Pending(batch, startsNewFile);
+        startsNewFile = false;
+        return pending;
+    }
+
+    /** 새 내용을 임시 파일에 쓰고 fsync한 뒤 원래 파일과 바꾼다. 중간에 죽어도 원래 파일은 온전하다. */
+    private void replaceFile(List<ByteBuffer> buffers) throws IOException {
+        Path next = file.resolveSibling(file.getFileName() + ".next");
+        try (FileChannel out = FileChannel.open(next,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(out, buffers);
+            out.force(false);
+        }
+        channel.close();
+        Files.move(next, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+    }
+
+    private static void writeFully(FileChannel target, List<ByteBuffer> buffers) throws IOException {
+        for (ByteBuffer source : buffers) {
+            while (source.hasRemaining()) {
+                target.write(source);
+            }
+        }
+    }
+
+    private synchronized void recycle(ByteBuffer written) {
+        if (written.capacity() == BUFFER_BYTES) {
+            spare = written.clear();
+        }
+    }
+
+    private synchronized void fail(Exception e) {
+        if (failed) {
+            return;
+        }
+        failed = true;
+        filled.clear();
+        buffer.clear();
+        log.error("[Journal] write failed, journaling disabled for {}", file, e);
+    }
+
+    private record Pending(List<ByteBuffer> buffers, boolean startsNewFile) {}
+}
@@ -0,0 +1,423 @@
+package com.bohouse.pacemeter.adapter.outbound.journal;
+
+import com.bohouse.pacemeter.application.port.outbound.CombatJournal;
+import com.bohouse.pacemeter.core.event.CombatEvent;
+import com.bohouse.pacemeter.core.model.ActorId;
+import com.bohouse.pacemeter.core.model.BuffId;
+import com.bohouse.pacemeter.core.model.DamageType;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+/**
+ * 저널 바이너리 포맷.
+ *
+ * <pre>
+ * 파일:    MAGIC(4) VERSION(1) 레코드*
+ * 레코드:  varint 길이, 페이로드, CRC32C(4, 페이로드 기준)
+ * 페이로드: kind(1) 필드...
+ * </pre>
+ * 타임스탬프는 직전 이벤트 대비 zigzag varint 차이, ID/금액은 varint로 쓴다.
+ * 문자열(이름, 스킬명)은 세그먼트별 문자열 테이블로 한 번만 쓰고 이후엔 번호로 가리킨다:
+ * 0이면 새 문자열(길이 + UTF-8)이 이어지고, n이면 n-1번째 문자열이다.
+ * SEGMENT 레코드는 타임스탬프 기준과 문자열 테이블을 초기화한다. 파일을 다시 열어 이어 쓸 때마다 하나 넣는다.
+ *
+ * CRC가 안 맞거나 길이만큼 바이트가 없는 레코드에서 읽기를 멈춘다. 쓰다 죽어서 잘린 꼬리는 그렇게 걸러진다.
+ */
+final class CombatJournalCodec {
+
+    static final int MAGIC = 0x504D4A31; // "PMJ1"
+    static final byte VERSION = 1;
+    static final int HEADER_BYTES = 5;
+    static final int MAX_PAYLOAD_BYTES = 1 << 20;
+
+    private static final byte FIGHT_START = 1;
+    private static final byte ACTOR_JOINED = 2;
+    private static final byte BOSS_IDENTIFIED = 3;
+    private static final byte DAMAGE = 4;
+    private static final byte BUFF_APPLY = 5;
+    private static final byte BUFF_REMOVE = 6;
+    private static final byte TICK = 7;
+    private static final byte ACTOR_DEATH = 8;
+    private static final byte FIGHT_END = 9;
+    private static final byte CURRENT_PLAYER = 20;
+    private static final byte JOB = 21;
+    private static final byte OWNER = 22;
+    private static final byte CONTEXT_CLEARED = 23;
+    private static final byte FIGHT_ANCHOR = 24;
+    private static final byte SEGMENT = 30;
+
+    private static final CombatEvent.AutoHitFlag[] AUTO_HIT_FLAGS = CombatEvent.AutoHitFlag.values();
+    private static final DamageType[] DAMAGE_TYPES = DamageType.values();
+
+    private CombatJournalCodec() {
+    }
+
+    /** 저널 레코드 하나. 이벤트 또는 엔진 설정 변경. */
+    sealed interface Entry permits EventEntry, CurrentPlayerEntry, JobEntry, OwnerEntry, ContextClearedEntry,
+            FightAnchorEntry, SegmentEntry {}
+
+    record EventEntry(CombatEvent event) implements Entry {}
+
+    /** playerId가 null이면 현재 플레이어 해제 */
+    record CurrentPlayerEntry(ActorId playerId) implements Entry {}
+
+    record JobEntry(ActorId actorId, int jobId) implements Entry {}
+
+    record OwnerEntry(ActorId petId, ActorId ownerId) implements Entry {}
+
+    record ContextClearedEntry() implements Entry {}
+
+    /** 수집기 쪽 전투 기준점. 같은 전투의 FightStart보다 앞에 온다. */
+    record FightAnchorEntry(CombatJournal.FightAnchor anchor) implements Entry {}
+
+    record SegmentEntry() implements Entry {}
+
+    static void writeHeader(ByteBuffer out) {
+        out.putInt(MAGIC);
+        out.put(VERSION);
+    }
+
+    static boolean readHeader(ByteBuffer in) {
+        return in.remaining() >= HEADER_BYTES && in.getInt() == MAGIC && in.get() == VERSION;
+    }
+
+    /** 페이로드를 만든다. 문자열 테이블과 타임스탬프 기준을 들고 있으므로 세그먼트마다 새로 만든다. */
+    static final class Encoder {
+        private final Map<String, Integer> stringIds = new HashMap<>();
+        private long lastTimestampMs;
+        private ByteBuffer payload = ByteBuffer.allocate(256);
+        private final CRC32C crc = new CRC32C();
+
+        /** 레코드를 out에 쓴다. 자리가 모자라면 BufferOverflowException. */
+        void writeRecord(Entry entry, ByteBuffer out) {
+            encodeRecord(entry);
+            writeEncoded(out);
+        }
+
+        /** 레코드를 내부 버퍼에 인코딩하고, 기록에 필요한 바이트 수(길이 + 페이로드 + CRC)를 돌려준다. */
+        int encodeRecord(Entry entry) {
+            payload.clear();
+            encode(entry);
+            payload.flip();
+            int length = payload.remaining();
+            return varLongSize(length) + length + 4;
+        }
+
+        /** 마지막으로 인코딩한 레코드를 out에 쓴다. */
+        void writeEncoded(ByteBuffer out) {
+            ByteBuffer encoded = payload.duplicate();
+            crc.reset();
+            crc.update(encoded.duplicate());
+            putVarLong(out, encoded.remaining());
+            out.put(encoded);
+            out.putInt((int) crc.getValue());
+        }
+
+        private void encode(Entry entry) {
+            if (entry instanceof EventEntry e) {
+                encodeEvent(e.event());
+            } else if (entry instanceof CurrentPlayerEntry e) {
+                put(CURRENT_PLAYER);
+                putLong(e.playerId() != null ? e.playerId().value() + 1 : 0L);
+            } else if (entry instanceof JobEntry e) {
+                put(JOB);
+                putLong(e.actorId().value());
+                putLong(e.jobId());
+            } else if (entry instanceof OwnerEntry e) {
+                put(OWNER);
+                putLong(e.petId().value());
+                putLong(e.ownerId().value());
+            } else if (entry instanceof ContextClearedEntry) {
+                put(CONTEXT_CLEARED);
+            } else if (entry instanceof FightAnchorEntry e) {
+                put(FIGHT_ANCHOR);
+                putLong(e.anchor().fightStartEpochMs());
+                putLong(e.anchor().playerId());
+                putString(e.anchor().playerName());
+                putLong(e.anchor().partyMemberIds().size());
+                for (long memberId : e.anchor().partyMemberIds()) {
+                    putLong(memberId);
+                }
+            } else if (entry instanceof SegmentEntry) {
+                put(SEGMENT);
+                stringIds.clear();
+                lastTimestampMs = 0L;
+            } else {
+                throw new IllegalArgumentException("unknown journal entry: " + entry);
+            }
+        }
+
+        private void encodeEvent(CombatEvent event) {
+            if (event instanceof CombatEvent.FightStart e) {
+                put(FIGHT_START);
+                putTimestamp(e.timestampMs());
+                putString(e.fightName());
+                putLong(e.zoneId());
+                putLong(e.playerJobId());
+            } else if (event instanceof CombatEvent.ActorJoined e) {
+                put(ACTOR_JOINED);
+                putTimestamp(e.timestampMs());
+                putLong(e.actorId().value());
+                putString(e.actorName());
+            } else if (event instanceof CombatEvent.BossIdentified e) {
+                put(BOSS_IDENTIFIED);
+                putTimestamp(e.timestampMs());
+                putLong(e.actorId().value());
+                putString(e.actorName());
+                putLong(e.maxHp());
+            } else if (event instanceof CombatEvent.DamageEvent e) {
+                put(DAMAGE);
+                putTimestamp(e.timestampMs());
+                putLong(e.sourceId().value());
+                putString(e.sourceName());
+                putLong(e.targetId().value());
+                putLong(e.actionId());
+                putString(e.actionName());
+                putLong(e.amount());
+                CombatEvent.HitOutcomeContext outcome = e.hitOutcomeContext() != null
+                        ? e.hitOutcomeContext()
+                        : CombatEvent.HitOutcomeContext.UNKNOWN;
+                int flags = (e.criticalHit() ? 1 : 0)
+                        | (e.directHit() ? 2 : 0)
+                        | outcome.autoCrit().ordinal() << 2
+                        | outcome.autoDirectHit().ordinal() << 4
+                        | e.damageType().ordinal() << 6;
+                put((byte) flags);
+            } else if (event instanceof CombatEvent.BuffApply e) {
+                put(BUFF_APPLY);
+                putTimestamp(e.timestampMs());
+                putLong(e.sourceId().value());
+                putLong(e.targetId().value());
+                putLong(e.buffId().value());
+                putString(e.buffName());
+                putLong(e.durationMs());
+            } else if (event instanceof CombatEvent.BuffRemove e) {
+                put(BUFF_REMOVE);
+                putTimestamp(e.timestampMs());
+                putLong(e.sourceId().value());
+                putLong(e.targetId().value());
+                putLong(e.buffId().value());
+                putString(e.buffName());
+            } else if (event instanceof CombatEvent.Tick e) {
+                put(TICK);
+                putTimestamp(e.timestampMs());
+            } else if (event instanceof CombatEvent.ActorDeath e) {
+                put(ACTOR_DEATH);
+                putTimestamp(e.timestampMs());
+                putLong(e.actorId().value());
+                putString(e.actorName());
+            } else if (event instanceof CombatEvent.FightEnd e) {
+                put(FIGHT_END);
+                putTimestamp(e.timestampMs());
+                put((byte) (e.kill() ? 1 : 0));
+            } else {
+                throw new IllegalArgumentException("unknown combat event: " + event.getClass().getName());
+            }
+        }
+
+        private void put(byte value) {
+            ensure(1);
+            payload.put(value);
+        }
+
+        private void putLong(long value) {
+            ensure(10);
+            putVarLong(payload, value);
+        }
+
+        private void putTimestamp(long timestampMs) {
+            long delta = timestampMs - lastTimestampMs;
+            lastTimestampMs = timestampMs;
+            putLong((delta << 1) ^ (delta >> 63));
+        }
+
+        private void putString(String value) {
+            String text = value != null ? value : "";
+            Integer id = stringIds.get(text);
+            if (id != null) {
+                putLong(id + 1L);
+                return;
+            }
+            stringIds.put(text, stringIds.size());
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            putLong(0L);
+            putLong(bytes.length);
+            ensure(bytes.length);
+            payload.put(bytes);
+        }
+
+        private void ensure(int bytes) {
+            if (payload.remaining() >= bytes) {
+                return;
+            }
+            ByteBuffer grown = ByteBuffer.allocate(Math.max(payload.capacity() * 2, payload.position() + bytes));
+            payload.flip();
+            grown.put(payload);
+            payload = grown;
+        }
+    }
+
+    /** 레코드를 읽는다. 인코더와 같은 문자열 테이블/타임스탬프 기준을 따라간다. */
+    static final class Decoder {
+        private final List<String> strings = new ArrayList<>();
+        private final CRC32C crc = new CRC32C();
+        private long lastTimestampMs;
+
+        /**
+         * in의 현재 위치에서 레코드 하나를 읽는다.
+         * 바이트가 모자라거나 CRC가 안 맞으면 위치를 되돌리고 null을 돌려준다.
+         */
+        Entry readRecord(ByteBuffer in) {
+            int start = in.position();
+            try {
+                long length = getVarLong(in);
+                if (length < 0 || length > MAX_PAYLOAD_BYTES || in.remaining() < length + 4) {
+                    in.position(start);
+                    return null;
+                }
+                ByteBuffer payload = in.slice(in.position(), (int) length);
+                in.position(in.position() + (int) length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != in.getInt()) {
+                    in.position(start);
+                    return null;
+                }
+                return decode(payload);
+            } catch (BufferUnderflowException | IllegalArgumentException e) {
+                in.position(start);
+                return null;
+            }
+        }
+
+        private Entry decode(ByteBuffer in) {
+            byte kind = in.get();
+            return switch (kind) {
+                case FIGHT_START -> new EventEntry(new CombatEvent.FightStart(
+                        timestamp(in), string(in), (int) getVarLong(in), (int) getVarLong(in)));
+                case ACTOR_JOINED -> new EventEntry(new CombatEvent.ActorJoined(
+                        timestamp(in), new ActorId(getVarLong(in)), string(in)));
+                case BOSS_IDENTIFIED -> new EventEntry(new CombatEvent.BossIdentified(
+                        timestamp(in), new ActorId(getVarLong(in)), string(in), getVarLong(in)));
+                case DAMAGE -> {
+                    long timestampMs = timestamp(in);
+                    ActorId sourceId = new ActorId(getVarLong(in));
+                    String sourceName = string(in);
+                    ActorId targetId = new ActorId(getVarLong(in));
+                    int actionId = (int) getVarLong(in);
+                    String actionName = string(in);
+                    long amount = getVarLong(in);
+                    int flags = in.get() & 0xFF;
+                    yield new EventEntry(new CombatEvent.DamageEvent(
+                            timestampMs, sourceId, sourceName, targetId, actionId, actionName, amount,
+                            DAMAGE_TYPES[flags >>> 6],
+                            (flags & 1) != 0,
+                            (flags & 2) != 0,
+                            new CombatEvent.HitOutcomeContext(
+                                    AUTO_HIT_FLAGS[(flags >>> 2) & 3],
+                                    AUTO_HIT_FLAGS[(flags >>> 4) & 3]
+                            )
+                    ));
+                }
+                case BUFF_APPLY -> new EventEntry(new CombatEvent.BuffApply(
+                        timestamp(in), new ActorId(getVarLong(in)), new ActorId(getVarLong(in)),
+                        new BuffId((int) getVarLong(in)), string(in), getVarLong(in)));
+                case BUFF_REMOVE -> new EventEntry(new CombatEvent.BuffRemove(
+                        timestamp(in), new ActorId(getVarLong(in)), new ActorId(getVarLong(in)),
+                        new BuffId((int) getVarLong(in)), string(in)));
+                case TICK -> new EventEntry(new CombatEvent.Tick(timestamp(in)));
+                case ACTOR_DEATH -> new EventEntry(new CombatEvent.ActorDeath(
+                        timestamp(in), new ActorId(getVarLong(in)), string(in)));
+                case FIGHT_END -> new EventEntry(new CombatEvent.FightEnd(timestamp(in), in.get() != 0));
+                case CURRENT_PLAYER -> {
+                    long encoded = getVarLong(in);
+                    yield new CurrentPlayerEntry(encoded == 0L ? null : new ActorId(encoded - 1));
+                }
+                case JOB -> new JobEntry(new ActorId(getVarLong(in)), (int) getVarLong(in));
+                case OWNER -> new OwnerEntry(new ActorId(getVarLong(in)), new ActorId(getVarLong(in)));
+                case CONTEXT_CLEARED -> new ContextClearedEntry();
+                case FIGHT_ANCHOR -> {
+                    long fightStartEpochMs = getVarLong(in);
+                    long playerId = getVarLong(in);
+                    String playerName = string(in);
+                    int memberCount = (int) getVarLong(in);
+                    if (memberCount < 0 || memberCount > in.remaining()) {
+                        throw new IllegalArgumentException("bad party size " + memberCount);
+                    }
+                    List<Long> partyMemberIds = new ArrayList<>(memberCount);
+                    for (int i = 0; i < memberCount; i++) {
+                        partyMemberIds.add(getVarLong(in));
+                    }
+                    yield new FightAnchorEntry(
+                            new CombatJournal.FightAnchor(fightStartEpochMs, playerId, playerName, partyMemberIds));
+                }
+                case SEGMENT -> {
+                    strings.clear();
+                    lastTimestampMs = 0L;
+                    yield new SegmentEntry();
+                }
+                default -> throw new IllegalArgumentException("unknown journal record kind " + kind);
+            };
+        }
+
+        private long timestamp(ByteBuffer in) {
+            long zigzag = getVarLong(in);
+            lastTimestampMs += (zigzag >>> 1) ^ -(zigzag & 1);
+            return lastTimestampMs;
+        }
+
+        private String string(ByteBuffer in) {
+            long ref = getVarLong(in);
+            if (ref > 0) {
+                if (ref > strings.size()) {
+                    throw new IllegalArgumentException("unknown string ref " + ref);
+                }
+                return strings.get((int) (ref - 1));
+            }
+            int length = (int) getVarLong(in);
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            String text = new String(bytes, StandardCharsets.UTF_8);
+            strings.add(text);
+            return text;
+        }
+    }
+
+    static void putVarLong(ByteBuffer out, long value) {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.put((byte) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.put((byte) remaining);
+    }
+
+    static int varLongSize(long value) {
+        int size = 1;
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            remaining >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("varint too long");
+    }
+}
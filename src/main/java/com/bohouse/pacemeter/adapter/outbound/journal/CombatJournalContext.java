@@ -0,0 +1,56 @@
+package com.bohouse.pacemeter.adapter.outbound.journal;
+
+import com.bohouse.pacemeter.application.port.outbound.CombatJournal;
+import com.bohouse.pacemeter.core.model.ActorId;
+import com.bohouse.pacemeter.core.model.CombatState;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * FightStart가 지워도 엔진에 남는 설정(현재 플레이어, 직업, 소유자)과 마지막 전투 기준점.
+ *
+ * 저널이 FightStart에서 새 파일로 넘어갈 때 이 상태를 FightStart 앞에 먼저 써서,
+ * 새 파일만 재생해도 이전 파일을 재생한 것과 같은 엔진 상태가 되게 한다.
+ * 엔진과 같은 규칙으로 반영한다: 주인이 0이면 무시하고, 초기화는 직업과 소유자를 지운다.
+ */
+final class CombatJournalContext {
+
+    private ActorId currentPlayerId;
+    private final Map<ActorId, Integer> jobIdByActor = new LinkedHashMap<>();
+    private final Map<ActorId, ActorId> ownerByPet = new LinkedHashMap<>();
+    private CombatJournal.FightAnchor fightAnchor;
+
+    void apply(CombatJournalCodec.Entry entry) {
+        if (entry instanceof CombatJournalCodec.CurrentPlayerEntry e) {
+            currentPlayerId = e.playerId();
+        } else if (entry instanceof CombatJournalCodec.JobEntry e) {
+            jobIdByActor.put(e.actorId(), e.jobId());
+        } else if (entry instanceof CombatJournalCodec.OwnerEntry e) {
+            if (e.ownerId() != null && e.ownerId().value() != CombatState.NO_OWNER) {
+                ownerByPet.put(e.petId(), e.ownerId());
+            }
+        } else if (entry instanceof CombatJournalCodec.ContextClearedEntry) {
+            jobIdByActor.clear();
+            ownerByPet.clear();
+        } else if (entry instanceof CombatJournalCodec.FightAnchorEntry e) {
+            fightAnchor = e.anchor();
+        }
+    }
+
+    /** 지금 상태를 다시 만드는 레코드들. 새 파일의 헤더 바로 뒤에 쓴다. */
+    List<CombatJournalCodec.Entry> entries() {
+        List<CombatJournalCodec.Entry> entries = new ArrayList<>(jobIdByActor.size() + ownerByPet.size() + 2);
+        if (currentPlayerId != null) {
+            entries.add(new CombatJournalCodec.CurrentPlayerEntry(currentPlayerId));
+        }
+        jobIdByActor.forEach((actorId, jobId) -> entries.add(new CombatJournalCodec.JobEntry(actorId, jobId)));
+        ownerByPet.forEach((petId, ownerId) -> entries.add(new CombatJournalCodec.OwnerEntry(petId, ownerId)));
+        if (fightAnchor != null) {
+            entries.add(new CombatJournalCodec.FightAnchorEntry(fightAnchor));
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,85 @@
+package com.bohouse.pacemeter.adapter.outbound.journal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * 저널 파일을 처음부터 한 번 훑는다. 온전하지 않은 첫 레코드(잘린 꼬리, CRC 불일치)에서 멈춘다.
+ *
+ * 파일 전체를 메모리에 올리지 않고 {@link #READ_BUFFER_BYTES}씩 채널에서 읽는다.
+ * 버퍼보다 큰 레코드를 만나면 {@link CombatJournalCodec#MAX_PAYLOAD_BYTES}까지 버퍼를 늘린다.
+ */
+final class CombatJournalReader {
+
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+    /** 길이 varint와 CRC를 더해도 페이로드 최대 크기의 레코드가 들어가는 크기 */
+    private static final int MAX_READ_BUFFER_BYTES = CombatJournalCodec.MAX_PAYLOAD_BYTES + 16;
+
+    /**
+     * 훑은 결과.
+     *
+     * @param entries 읽은 레코드 수
+     * @param validLength 헤더와 온전한 레코드가 끝나는 위치. 파일이 없거나 헤더가 다르면 0
+     */
+    record Scan(long entries, long validLength) {}
+
+    private CombatJournalReader() {
+    }
+
+    /** 레코드를 순서대로 넘긴다. 헤더가 없거나 다르면 아무것도 넘기지 않는다. */
+    static Scan scan(Path file, Consumer<CombatJournalCodec.Entry> consumer) throws IOException {
+        if (!Files.exists(file)) {
+            return new Scan(0L, 0L);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer in = ByteBuffer.allocate(READ_BUFFER_BYTES);
+            boolean eof = false;
+            while (in.position() < CombatJournalCodec.HEADER_BYTES && !eof) {
+                eof = channel.read(in) < 0;
+            }
+            in.flip();
+            if (!CombatJournalCodec.readHeader(in)) {
+                return new Scan(0L, 0L);
+            }
+            CombatJournalCodec.Decoder decoder = new CombatJournalCodec.Decoder();
+            long consumedBytes = 0L;
+            long count = 0L;
+            while (true) {
+                CombatJournalCodec.Entry entry = decoder.readRecord(in);
+                if (entry != null) {
+                    consumer.accept(entry);
+                    count++;
+                    continue;
+                }
+                if (eof) {
+                    break;
+                }
+                // 레코드가 버퍼 끝에서 잘렸을 수 있다: 남은 바이트를 앞으로 당기고 더 읽는다
+                consumedBytes += in.position();
+                in.compact();
+                if (!in.hasRemaining()) {
+                    if (in.capacity() >= MAX_READ_BUFFER_BYTES) {
+                        in.flip();
+                        break;
+                    }
+                    in = grow(in);
+                }
+                eof = channel.read(in) < 0;
+                in.flip();
+            }
+            return new Scan(count, consumedBytes + in.position());
+        }
+    }
+
+    private static ByteBuffer grow(ByteBuffer full) {
+        ByteBuffer larger = ByteBuffer.allocate(Math.min(full.capacity() * 2, MAX_READ_BUFFER_BYTES));
+        full.flip();
+        larger.put(full);
+        return larger;
+    }
+}
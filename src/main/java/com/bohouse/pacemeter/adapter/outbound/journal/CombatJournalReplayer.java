@@ -0,0 +1,132 @@
+package com.bohouse.pacemeter.adapter.outbound.journal;
+
+import com.bohouse.pacemeter.application.port.outbound.CombatJournal;
+import com.bohouse.pacemeter.application.port.outbound.CombatJournalStore;
+import com.bohouse.pacemeter.core.engine.CombatEngine;
+import com.bohouse.pacemeter.core.event.CombatEvent;
+import com.bohouse.pacemeter.core.model.CombatState;
+import com.bohouse.pacemeter.core.snapshot.OverlaySnapshot;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 저널을 엔진에 최대 속도로 재생한다.
+ *
+ * 이벤트는 모아서 {@link CombatEngine#processBatch}로 넣고, 설정 레코드(플레이어/직업/소유자/초기화)를 만나면
+ * 모은 이벤트를 먼저 넣은 뒤 설정을 반영해서 기록된 순서를 지킨다.
+ * 페이스 프로필은 저널에 없으므로 복구된 엔진은 다음 FightStart에서 다시 불러온다.
+ * 재생이 끝났을 때 전투가 진행 중이면 마지막 전투 기준점과 FightStart로 {@link CombatJournalStore.ResumePoint}를 만든다.
+ */
+public final class CombatJournalReplayer {
+
+    private static final int BATCH_EVENTS = 4_096;
+
+    private CombatJournalReplayer() {
+    }
+
+    /**
+     * 재생 결과.
+     *
+     * @param entries 읽은 레코드 수
+     * @param events 그중 전투 이벤트 수
+     * @param durationNanos 읽기와 재생에 걸린 시간
+     * @param snapshot 재생이 끝난 상태의 스냅샷. 이벤트가 없었으면 null
+     * @param resumePoint 재생이 끝났을 때 전투가 진행 중이면 수집기가 이어 받을 기준점. 아니면 null
+     * @param validLength 헤더와 온전한 레코드가 끝나는 위치. 저널을 다시 열면 여기서 이어 쓴다
+     */
+    public record Result(long entries, long events, long durationNanos, OverlaySnapshot snapshot,
+                         CombatJournalStore.ResumePoint resumePoint, long validLength) {
+        public double eventsPerSecond() {
+            return durationNanos > 0 ? events * 1_000_000_000.0 / durationNanos : 0.0;
+        }
+    }
+
+    public static Result replay(Path file, CombatEngine engine) throws IOException {
+        return replay(file, engine, new CombatJournalContext());
+    }
+
+    /** 재생하면서 설정 상태도 context에 모은다. 저널을 다시 열 때 파일을 또 읽지 않으려고 쓴다. */
+    static Result replay(Path file, CombatEngine engine, CombatJournalContext context) throws IOException {
+        long startedAt = System.nanoTime();
+        Batch batch = new Batch(engine);
+        CombatJournalReader.Scan scan = CombatJournalReader.scan(file, entry -> {
+            context.apply(entry);
+            if (entry instanceof CombatJournalCodec.EventEntry e) {
+                batch.add(e.event());
+                return;
+            }
+            batch.flush();
+            if (entry instanceof CombatJournalCodec.FightAnchorEntry e) {
+                batch.fightAnchor = e.anchor();
+            } else if (entry instanceof CombatJournalCodec.CurrentPlayerEntry e) {
+                engine.setCurrentPlayerId(e.playerId());
+            } else if (entry instanceof CombatJournalCodec.JobEntry e) {
+                engine.setJobId(e.actorId(), e.jobId());
+            } else if (entry instanceof CombatJournalCodec.OwnerEntry e) {
+                engine.setOwner(e.petId(), e.ownerId());
+            } else if (entry instanceof CombatJournalCodec.ContextClearedEntry) {
+                engine.clearCombatantContext();
+            }
+        });
+        batch.flush();
+        OverlaySnapshot snapshot = batch.events > 0
+                ? engine.snapshotCurrent(engine.currentState().phase() == CombatState.Phase.ENDED)
+                : null;
+        return new Result(scan.entries(), batch.events, System.nanoTime() - startedAt, snapshot,
+                resumePoint(batch, engine), scan.validLength());
+    }
+
+    private static CombatJournalStore.ResumePoint resumePoint(Batch batch, CombatEngine engine) {
+        CombatState state = engine.currentState();
+        if (state.phase() != CombatState.Phase.ACTIVE || batch.fightStart == null || batch.fightAnchor == null) {
+            return null;
+        }
+        Map<Long, Long> ownerByPetId = new HashMap<>();
+        state.ownerMap().forEach((petId, ownerId) -> ownerByPetId.put(petId.value(), ownerId.value()));
+        return new CombatJournalStore.ResumePoint(
+                batch.fightAnchor,
+                state.elapsedMs(),
+                batch.fightStart.fightName(),
+                batch.fightStart.zoneId(),
+                batch.fightStart.playerJobId(),
+                ownerByPetId
+        );
+    }
+
+    private static final class Batch {
+        private final CombatEngine engine;
+        private final List<CombatEvent> pending = new ArrayList<>(BATCH_EVENTS);
+        private long events;
+        // 마지막 전투 기준점과 FightStart. 전투 기준점은 같은 전투의 FightStart 앞에 온다.
+        private CombatJournal.FightAnchor fightAnchor;
+        private CombatEvent.FightStart fightStart;
+
+        private Batch(CombatEngine engine) {
+            this.engine = engine;
+        }
+
+        private void add(CombatEvent event) {
+            if (event instanceof CombatEvent.FightStart start) {
+                fightStart = start;
+            }
+            pending.add(event);
+            events++;
+            if (pending.size() >= BATCH_EVENTS) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            engine.processBatch(pending);
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.bohouse.pacemeter.adapter.outbound.journal;
+
+import com.bohouse.pacemeter.application.port.outbound.CombatJournal;
+import com.bohouse.pacemeter.application.port.outbound.CombatJournalStore;
+import com.bohouse.pacemeter.core.engine.CombatEngine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스트림별 바이너리 저널을 {@code pacemeter.journal.dir} 아래 {@code <streamId>.journal}로 둔다.
+ * 디렉터리 설정이 비어 있으면 저널을 쓰지 않는다 (기본값).
+ */
+@Component
+public class FileCombatJournalStore implements CombatJournalStore {
+    private static final Logger log = LoggerFactory.getLogger(FileCombatJournalStore.class);
+
+    private final Path directory;
+    private final Map<String, BinaryCombatJournal> openJournals = new ConcurrentHashMap<>();
+    /** recover가 읽은 결과. 바로 이어지는 open이 파일을 다시 읽지 않도록 넘겨준다. */
+    private final Map<String, Recovered> recovered = new ConcurrentHashMap<>();
+
+    public FileCombatJournalStore(@Value("${pacemeter.journal.dir:}") String directory) {
+        this.directory = directory == null || directory.isBlank() ? null : Path.of(directory);
+    }
+
+    public boolean enabled() {
+        return directory != null;
+    }
+
+    @Override
+    public CombatJournal open(String streamId) {
+        if (directory == null) {
+            return CombatJournal.NONE;
+        }
+        Recovered scanned = recovered.remove(streamId);
+        BinaryCombatJournal previous = openJournals.remove(streamId);
+        if (previous != null) {
+            // 같은 파일에 두 저널이 쓰지 않도록 먼저 닫는다. 닫으며 쓴 만큼 읽은 결과는 낡았다
+            previous.close();
+            scanned = null;
+        }
+        try {
+            Path file = fileFor(streamId);
+            BinaryCombatJournal journal = scanned != null
+                    ? BinaryCombatJournal.open(file, scanned.validLength(), scanned.context())
+                    : BinaryCombatJournal.open(file);
+            openJournals.put(streamId, journal);
+            return journal;
+        } catch (IOException e) {
+            log.error("[Journal] failed to open journal for stream {}, journaling disabled", streamId, e);
+            return CombatJournal.NONE;
+        }
+    }
+
+    @Override
+    public Recovery recover(String streamId, CombatEngine engine) {
+        if (directory == null) {
+            return Recovery.EMPTY;
+        }
+        Path file = fileFor(streamId);
+        try {
+            CombatJournalContext context = new CombatJournalContext();
+            CombatJournalReplayer.Result result = CombatJournalReplayer.replay(file, engine, context);
+            recovered.put(streamId, new Recovered(result.validLength(), context));
+            if (result.entries() > 0) {
+                log.info("[Journal] recovered stream {} from {}: entries={} events={} in {}ms",
+                        streamId, file, result.entries(), result.events(), result.durationNanos() / 1_000_000L);
+            }
+            return new Recovery(result.entries(), result.durationNanos(), result.snapshot(), result.resumePoint());
+        } catch (IOException e) {
+            log.error("[Journal] failed to recover stream {} from {}", streamId, file, e);
+            return Recovery.EMPTY;
+        }
+    }
+
+    /** 저널 파일 쓰기와 fsync는 기록 경로가 아니라 여기서 주기적으로 한다. */
+    @Scheduled(fixedRate = BinaryCombatJournal.FSYNC_INTERVAL_MS)
+    public void syncJournals() {
+        for (BinaryCombatJournal journal : openJournals.values()) {
+            journal.flush();
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        for (BinaryCombatJournal journal : openJournals.values()) {
+            journal.close();
+        }
+        openJournals.clear();
+    }
+
+    Path fileFor(String streamId) {
+        return directory.resolve(streamId.replaceAll("[^A-Za-z0-9_.-]", "_") + ".journal");
+    }
+
+    private record Recovered(long validLength, CombatJournalContext context) {}
+}
@@ -1,42 +1,39 @@
 package com.bohouse.pacemeter.adapter.outbound.overlayws.mvc;
 
+import com.bohouse.pacemeter.application.SessionTraceRecorder;
+import com.bohouse.pacemeter.application.SessionTraceRegistry;
 import com.bohouse.pacemeter.application.port.outbound.SnapshotPublisher;
+import com.bohouse.pacemeter.application.port.outbound.SnapshotTopic;
 import com.bohouse.pacemeter.core.snapshot.OverlaySnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
-import tools.jackson.databind.ObjectMapper;
 
+/**
+ * 로컬(ACT) 엔진의 스냅샷을 스냅샷 토픽의 {@link SnapshotTopic#LOCAL_STREAM_ID} 스트림에 올린다.
+ * 시청자에게 보내는 일은 토픽을 구독한 {@link OverlayBroadcaster}가 한다.
+ * 틱마다 불리므로 로그 대신 로컬 스트림의 추적 버퍼에 남긴다.
+ */
 @Component
 public class MvcSnapshotPublisher implements SnapshotPublisher {
 
     private static final Logger logger = LoggerFactory.getLogger(MvcSnapshotPublisher.class);
 
-    private final OverlayWsHandler ws;
-    private final ObjectMapper om;
+    private final SnapshotTopic topic;
+    private final SessionTraceRecorder trace;
 
-    public MvcSnapshotPublisher(OverlayWsHandler ws, ObjectMapper om) {
-        this.ws = ws;
-        this.om = om;
+    public MvcSnapshotPublisher(SnapshotTopic topic, SessionTraceRegistry traces) {
+        this.topic = topic;
+        this.trace = traces.recorder(SnapshotTopic.LOCAL_STREAM_ID);
     }
 
     @Override
     public void publish(OverlaySnapshot snapshot) {
-        if (ws.sessionCount() == 0) {
-            logger.debug("[Overlay] no clients connected, skipping publish");
-            return;
-        }
-
         try {
-            var payload = new Envelope("snapshot", snapshot);
-            String json = om.writeValueAsString(payload);
-            ws.broadcast(json);
-            logger.info("[Overlay] published snapshot: elapsed={}ms actors={} partyDps={}",
-                    snapshot.elapsedMs(), snapshot.actors().size(), (long) snapshot.partyDps());
+            topic.publish(SnapshotTopic.LOCAL_STREAM_ID, snapshot);
+            trace.snapshotPublished(snapshot.elapsedMs(), snapshot.actors().size(), snapshot.partyDps());
         } catch (Exception e) {
             logger.error("[Overlay] publish failed", e);
         }
     }
-
-    private record Envelope(String type, OverlaySnapshot snapshot) {}
 }
@@ -0,0 +1,32 @@
+package com.bohouse.pacemeter.adapter.outbound.overlayws.mvc;
+
+import com.bohouse.pacemeter.application.port.outbound.SnapshotTopic;
+import com.bohouse.pacemeter.core.snapshot.OverlaySnapshot;
+import org.springframework.stereotype.Component;
+
+/**
+ * 스냅샷 토픽을 구독해서 이 인스턴스의 /overlay/ws 시청자에게 나눠 주는 브로드캐스터.
+ *
+ * 로컬 엔진 스트림은 {@link OverlayWsHandler#publishGlobal}, 릴레이 세션 스트림은
+ * {@link OverlayWsHandler#publishToSession}으로 넘긴다. 시청자가 많은 세션은 토픽 구현만 바꿔
+ * 브로드캐스터 인스턴스를 여러 대로 늘리면 엔진 노드의 쓰기 부하가 늘지 않는다.
+ */
+@Component
+public class OverlayBroadcaster implements SnapshotTopic.Subscriber {
+
+    private final OverlayWsHandler handler;
+
+    public OverlayBroadcaster(SnapshotTopic topic, OverlayWsHandler handler) {
+        this.handler = handler;
+        topic.subscribe(this);
+    }
+
+    @Override
+    public void onSnapshot(String streamId, OverlaySnapshot snapshot) {
+        if (SnapshotTopic.LOCAL_STREAM_ID.equals(streamId)) {
+            handler.publishGlobal(snapshot);
+        } else {
+            handler.publishToSession(streamId, snapshot);
+        }
+    }
+}
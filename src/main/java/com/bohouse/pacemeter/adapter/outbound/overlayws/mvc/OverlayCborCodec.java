@@ -0,0 +1,354 @@
+package com.bohouse.pacemeter.adapter.outbound.overlayws.mvc;
+
+import com.bohouse.pacemeter.core.estimator.Confidence;
+import com.bohouse.pacemeter.core.model.ActorId;
+import com.bohouse.pacemeter.core.snapshot.ActorSnapshot;
+import com.bohouse.pacemeter.core.snapshot.ClearabilityCheck;
+import com.bohouse.pacemeter.core.snapshot.OverlaySnapshot;
+import com.bohouse.pacemeter.core.snapshot.PaceComparison;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 오버레이 프레임의 CBOR(RFC 8949) 인코더.
+ *
+ * JSON과 같은 프레임 구조(legacy snapshot, v2 keyframe/delta)를 보내되, 맵 키는 필드 이름 대신
+ * 아래 고정 정수 ID를 쓴다. ID는 한 번 정하면 바꾸거나 재사용하지 않는다. 필드를 추가할 때는 새 번호를 붙인다.
+ * <pre>
+ *  프레임     0 type, 1 v, 2 seq, 3 base, 4 snapshot, 5 set, 6 actors, 7 order, 8 id
+ *  스냅샷    10 fightName, 11 phase, 12 elapsedMs, 13 elapsedFormatted, 14 totalPartyDamage,
+ *            15 partyDps, 16 partyRdps, 17 partyPace, 18 clearability, 19 isFinal (액터 목록은 6)
+ *  액터      20 name, 21 jobId, 22 totalDamage, 23 dps, 24 onlineRdps, 25 rdpsConfidence,
+ *            26 damagePercent, 27 hitCount, 28 critRate, 29 directHitRate, 30 critDirectHitRate,
+ *            31 deathCount, 32 maxHitDamage, 33 maxHitSkillName, 34 recentDps, 35 isCurrentPlayer,
+ *            36 individualPace, 37 isDead (액터 ID는 8)
+ *  페이스    40 profileLabel, 41 expectedCumulativeDamage, 42 actualCumulativeDamage, 43 deltaDamage,
+ *            44 deltaPercent, 45 projectedKillTimeMs, 46 referenceKillTimeMs
+ *  클리어    50 canClear, 51 estimatedKillTimeSeconds, 52 enrageTimeSeconds, 53 marginSeconds,
+ *            54 requiredDps, 55 confidence
+ *  신뢰도    60 score, 61 reasons(문자열 배열), 62 reasonCodes([코드, 숫자, 코드, 숫자...])
+ * </pre>
+ * 신뢰도 사유는 코드가 있으면 문자열 대신 {@link #reasonCode} 번호와 숫자만 보낸다. 문구는 클라이언트가 만든다.
+ * enum(phase, clearability confidence)은 이름 문자열, 실수는 float32로 손실 없이 표현되면 float32, 아니면 float64.
+ *
+ * 상태가 없어서 여러 스레드에서 같이 써도 된다.
+ */
+public final class OverlayCborCodec {
+
+    private static final Map<String, Integer> FIELD_IDS = new HashMap<>();
+
+    static {
+        String[] frame = {"type", "v", "seq", "base", "snapshot", "set", "actors", "order", "id"};
+        for (int i = 0; i < frame.length; i++) {
+            FIELD_IDS.put(frame[i], i);
+        }
+        register(10, "fightName", "phase", "elapsedMs", "elapsedFormatted", "totalPartyDamage",
+                "partyDps", "partyRdps", "partyPace", "clearability", "isFinal");
+        register(20, "name", "jobId", "totalDamage", "dps", "onlineRdps", "rdpsConfidence",
+                "damagePercent", "hitCount", "critRate", "directHitRate", "critDirectHitRate",
+                "deathCount", "maxHitDamage", "maxHitSkillName", "recentDps", "isCurrentPlayer",
+                "individualPace", "isDead");
+    }
+
+    private OverlayCborCodec() {
+    }
+
+    private static void register(int firstId, String... names) {
+        for (int i = 0; i < names.length; i++) {
+            FIELD_IDS.put(names[i], firstId + i);
+        }
+    }
+
+    /** 프레임 맵(JSON으로 보내는 것과 같은 구조)을 CBOR 바이트로 만든다. */
+    public static byte[] encode(Map<String, ?> frame) {
+        Writer out = new Writer(512);
+        writeFrameMap(out, frame);
+        return out.toByteArray();
+    }
+
+    /** 신뢰도 사유 코드의 고정 번호. */
+    static int reasonCode(Confidence.Reason reason) {
+        return switch (reason) {
+            case FIGHT_UNDER_30S -> 1;
+            case FIGHT_UNDER_60S -> 2;
+            case FEW_SAMPLES -> 3;
+            case SHORT_WINDOW -> 4;
+            case HIGH_VARIANCE -> 5;
+        };
+    }
+
+    private static void writeFrameMap(Writer out, Map<String, ?> map) {
+        out.header(Writer.MAP, map.size());
+        for (Map.Entry<String, ?> entry : map.entrySet()) {
+            Integer id = FIELD_IDS.get(entry.getKey());
+            if (id != null) {
+                out.integer(id);
+            } else {
+                out.text(entry.getKey());
+            }
+            writeValue(out, entry.getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeValue(Writer out, Object value) {
+        if (value == null) {
+            out.nullValue();
+        } else if (value instanceof String text) {
+            out.text(text);
+        } else if (value instanceof Boolean bool) {
+            out.bool(bool);
+        } else if (value instanceof Double number) {
+            out.floating(number);
+        } else if (value instanceof Number number) {
+            out.integer(number.longValue());
+        } else if (value instanceof Enum<?> constant) {
+            out.text(constant.name());
+        } else if (value instanceof long[] values) {
+            out.header(Writer.ARRAY, values.length);
+            for (long element : values) {
+                out.integer(element);
+            }
+        } else if (value instanceof List<?> list) {
+            out.header(Writer.ARRAY, list.size());
+            for (Object element : list) {
+                writeValue(out, element);
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            writeFrameMap(out, (Map<String, ?>) map);
+        } else if (value instanceof OverlaySnapshot snapshot) {
+            writeSnapshot(out, snapshot);
+        } else if (value instanceof ActorSnapshot actor) {
+            writeActor(out, actor);
+        } else if (value instanceof PaceComparison pace) {
+            writePace(out, pace);
+        } else if (value instanceof ClearabilityCheck clearability) {
+            writeClearability(out, clearability);
+        } else if (value instanceof Confidence confidence) {
+            writeConfidence(out, confidence);
+        } else if (value instanceof ActorId actorId) {
+            out.integer(actorId.value());
+        } else {
+            throw new IllegalArgumentException("unsupported overlay field type: " + value.getClass().getName());
+        }
+    }
+
+    private static void writeSnapshot(Writer out, OverlaySnapshot snapshot) {
+        out.header(Writer.MAP, 11);
+        out.integer(10);
+        writeValue(out, snapshot.fightName());
+        out.integer(11);
+        writeValue(out, snapshot.phase());
+        out.integer(12);
+        out.integer(snapshot.elapsedMs());
+        out.integer(13);
+        writeValue(out, snapshot.elapsedFormatted());
+        out.integer(14);
+        out.integer(snapshot.totalPartyDamage());
+        out.integer(15);
+        out.floating(snapshot.partyDps());
+        out.integer(16);
+        out.floating(snapshot.partyRdps());
+        out.integer(6);
+        writeValue(out, snapshot.actors());
+        out.integer(17);
+        writeValue(out, snapshot.partyPace());
+        out.integer(18);
+        writeValue(out, snapshot.clearability());
+        out.integer(19);
+        out.bool(snapshot.isFinal());
+    }
+
+    private static void writeActor(Writer out, ActorSnapshot actor) {
+        out.header(Writer.MAP, 19);
+        out.integer(8);
+        out.integer(actor.actorId().value());
+        out.integer(20);
+        writeValue(out, actor.name());
+        out.integer(21);
+        out.integer(actor.jobId());
+        out.integer(22);
+        out.integer(actor.totalDamage());
+        out.integer(23);
+        out.floating(actor.dps());
+        out.integer(24);
+        out.floating(actor.onlineRdps());
+        out.integer(25);
+        writeValue(out, actor.rdpsConfidence());
+        out.integer(26);
+        out.floating(actor.damagePercent());
+        out.integer(27);
+        out.integer(actor.hitCount());
+        out.integer(28);
+        out.floating(actor.critRate());
+        out.integer(29);
+        out.floating(actor.directHitRate());
+        out.integer(30);
+        out.floating(actor.critDirectHitRate());
+        out.integer(31);
+        out.integer(actor.deathCount());
+        out.integer(32);
+        out.integer(actor.maxHitDamage());
+        out.integer(33);
+        writeValue(out, actor.maxHitSkillName());
+        out.integer(34);
+        out.floating(actor.recentDps());
+        out.integer(35);
+        out.bool(actor.isCurrentPlayer());
+        out.integer(36);
+        writeValue(out, actor.individualPace());
+        out.integer(37);
+        out.bool(actor.isDead());
+    }
+
+    private static void writePace(Writer out, PaceComparison pace) {
+        out.header(Writer.MAP, 7);
+        out.integer(40);
+        writeValue(out, pace.profileLabel());
+        out.integer(41);
+        out.integer(pace.expectedCumulativeDamage());
+        out.integer(42);
+        out.integer(pace.actualCumulativeDamage());
+        out.integer(43);
+        out.integer(pace.deltaDamage());
+        out.integer(44);
+        out.floating(pace.deltaPercent());
+        out.integer(45);
+        out.integer(pace.projectedKillTimeMs());
+        out.integer(46);
+        out.integer(pace.referenceKillTimeMs());
+    }
+
+    private static void writeClearability(Writer out, ClearabilityCheck clearability) {
+        out.header(Writer.MAP, 6);
+        out.integer(50);
+        out.bool(clearability.canClear());
+        out.integer(51);
+        out.floating(clearability.estimatedKillTimeSeconds());
+        out.integer(52);
+        out.floating(clearability.enrageTimeSeconds());
+        out.integer(53);
+        out.floating(clearability.marginSeconds());
+        out.integer(54);
+        out.floating(clearability.requiredDps());
+        out.integer(55);
+        writeValue(out, clearability.confidence());
+    }
+
+    private static void writeConfidence(Writer out, Confidence confidence) {
+        out.header(Writer.MAP, 2);
+        out.integer(60);
+        out.floating(confidence.score());
+        List<Confidence.Reason> codes = confidence.reasonCodes();
+        if (codes.isEmpty() && !confidence.reasons().isEmpty()) {
+            out.integer(61);
+            writeValue(out, confidence.reasons());
+            return;
+        }
+        out.integer(62);
+        out.header(Writer.ARRAY, codes.size() * 2L);
+        for (int i = 0; i < codes.size(); i++) {
+            out.integer(reasonCode(codes.get(i)));
+            out.integer(confidence.reasonDetail(i));
+        }
+    }
+
+    /** CBOR 기본 타입만 쓰는 바이트 버퍼. 무한 길이 항목과 태그는 쓰지 않는다. */
+    private static final class Writer {
+        static final int UNSIGNED = 0;
+        static final int NEGATIVE = 1;
+        static final int TEXT = 3;
+        static final int ARRAY = 4;
+        static final int MAP = 5;
+
+        private byte[] buffer;
+        private int size;
+
+        private Writer(int initialCapacity) {
+            this.buffer = new byte[initialCapacity];
+        }
+
+        void header(int majorType, long length) {
+            int major = majorType << 5;
+            if (length < 24) {
+                ensure(1);
+                buffer[size++] = (byte) (major | length);
+            } else if (length < 0x100) {
+                ensure(2);
+                buffer[size++] = (byte) (major | 24);
+                buffer[size++] = (byte) length;
+            } else if (length < 0x10000) {
+                ensure(3);
+                buffer[size++] = (byte) (major | 25);
+                writeBigEndian(length, 2);
+            } else if (length < 0x1_0000_0000L) {
+                ensure(5);
+                buffer[size++] = (byte) (major | 26);
+                writeBigEndian(length, 4);
+            } else {
+                ensure(9);
+                buffer[size++] = (byte) (major | 27);
+                writeBigEndian(length, 8);
+            }
+        }
+
+        void integer(long value) {
+            if (value >= 0) {
+                header(UNSIGNED, value);
+            } else {
+                header(NEGATIVE, -1 - value);
+            }
+        }
+
+        void floating(double value) {
+            float single = (float) value;
+            if (single == value || Double.isNaN(value)) {
+                ensure(5);
+                buffer[size++] = (byte) 0xFA;
+                writeBigEndian(Float.floatToIntBits(single) & 0xFFFF_FFFFL, 4);
+            } else {
+                ensure(9);
+                buffer[size++] = (byte) 0xFB;
+                writeBigEndian(Double.doubleToLongBits(value), 8);
+            }
+        }
+
+        void text(String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            header(TEXT, bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buffer, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void bool(boolean value) {
+            ensure(1);
+            buffer[size++] = (byte) (value ? 0xF5 : 0xF4);
+        }
+
+        void nullValue() {
+            ensure(1);
+            buffer[size++] = (byte) 0xF6;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+
+        private void writeBigEndian(long value, int bytes) {
+            for (int shift = (bytes - 1) * 8; shift >= 0; shift -= 8) {
+                buffer[size++] = (byte) (value >>> shift);
+            }
+        }
+
+        private void ensure(int additional) {
+            if (size + additional > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.bohouse.pacemeter.adapter.outbound.overlayws.mvc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * 클라이언트 하나의 송신 큐. 발행 스레드는 프레임을 넣기만 하고, 실제 전송은 송신 스레드풀에서 한다.
+ *
+ * 큐는 프레임 하나짜리 슬롯이다 (latest-wins). 전송이 밀리는 동안 새 프레임이 오면
+ * <ul>
+ *   <li>LEGACY/KEYFRAME은 대기 중인 프레임을 그냥 대체하고,</li>
+ *   <li>DELTA는 앞 프레임이 빠지면 적용할 수 없으므로 "keyframe 필요" 표시로 바뀐다.
+ *       송신 스레드가 꺼낼 때 스트림의 최신 keyframe을 보낸다.</li>
+ * </ul>
+ * 그래서 느린 클라이언트가 차지하는 메모리는 프레임 하나로 제한되고, 발행 스레드는 네트워크를 기다리지 않는다.
+ * ConcurrentWebSocketSessionDecorator처럼 전송 시간 한도를 두고, 넘기면 {@link #closeIfStalled}가 세션을 닫는다.
+ *
+ * 락 순서: 스트림 락 → outbox 락. 발행과 drain 모두 이 순서를 따른다.
+ */
+final class OverlayClientOutbox {
+    private static final Logger log = LoggerFactory.getLogger(OverlayClientOutbox.class);
+
+    private final WebSocketSession session;
+    private final int protocolVersion;
+    private final OverlayEncoding encoding;
+    private final OverlayRate rate;
+    private final Object streamLock;
+    private final Supplier<OverlayFrame> keyframeSource;
+    private final Executor sendExecutor;
+    private final Consumer<OverlayClientOutbox> onFailure;
+
+    private OverlayFrame pending;
+    private boolean keyframeRequired;
+    private boolean draining;
+
+    /** 진행 중인 전송의 시작 시각(nanoTime). 전송 중이 아니면 0. */
+    private volatile long sendStartedAtNanos;
+    /** 마지막으로 전송을 마친 시각(nanoTime)과 그 프레임. heartbeat 판단용. */
+    private volatile long lastSentAtNanos = System.nanoTime();
+    private volatile OverlayFrame lastSent;
+
+    OverlayClientOutbox(
+            WebSocketSession session,
+            int protocolVersion,
+            OverlayEncoding encoding,
+            OverlayRate rate,
+            Object streamLock,
+            Supplier<OverlayFrame> keyframeSource,
+            Executor sendExecutor,
+            Consumer<OverlayClientOutbox> onFailure
+    ) {
+        this.session = session;
+        this.protocolVersion = protocolVersion;
+        this.encoding = encoding;
+        this.rate = rate;
+        this.streamLock = streamLock;
+        this.keyframeSource = keyframeSource;
+        this.sendExecutor = sendExecutor;
+        this.onFailure = onFailure;
+    }
+
+    WebSocketSession session() {
+        return session;
+    }
+
+    int protocolVersion() {
+        return protocolVersion;
+    }
+
+    OverlayEncoding encoding() {
+        return encoding;
+    }
+
+    OverlayRate rate() {
+        return rate;
+    }
+
+    /** 프레임을 넣는다. 송신 작업이 돌고 있지 않으면 하나 띄운다. */
+    void offer(OverlayFrame frame) {
+        boolean schedule;
+        synchronized (this) {
+            if (frame.kind() == OverlayFrame.Kind.HEARTBEAT && (pending != null || keyframeRequired)) {
+                return;
+            }
+            if (frame.kind() == OverlayFrame.Kind.DELTA && (pending != null || keyframeRequired)) {
+                pending = null;
+                keyframeRequired = true;
+            } else {
+                pending = frame;
+                if (frame.kind() == OverlayFrame.Kind.KEYFRAME) {
+                    keyframeRequired = false;
+                }
+            }
+            schedule = startDrainIfIdle();
+        }
+        if (schedule) {
+            scheduleDrain();
+        }
+    }
+
+    /** 접속 직후나 클라이언트의 resync 요청 때 호출한다. 다음 전송에서 최신 keyframe을 보낸다. */
+    void requestKeyframe() {
+        boolean schedule;
+        synchronized (this) {
+            pending = null;
+            keyframeRequired = true;
+            schedule = startDrainIfIdle();
+        }
+        if (schedule) {
+            scheduleDrain();
+        }
+    }
+
+    /** 마지막 전송 후 idleNanos 이상 아무것도 보내지 않았으면 true. */
+    boolean idleFor(long idleNanos) {
+        return sendStartedAtNanos == 0 && System.nanoTime() - lastSentAtNanos >= idleNanos;
+    }
+
+    /** 마지막으로 보낸 프레임. 아직 없으면 null. */
+    OverlayFrame lastSent() {
+        return lastSent;
+    }
+
+    /** 한 번의 전송이 한도를 넘겨 붙잡혀 있으면 세션을 닫아 송신 스레드를 풀어 준다. */
+    boolean closeIfStalled(long sendTimeLimitNanos) {
+        long startedAt = sendStartedAtNanos;
+        if (startedAt == 0 || System.nanoTime() - startedAt < sendTimeLimitNanos) {
+            return false;
+        }
+        log.warn("[OverlayWS] send stalled for {}ms, closing client {}",
+                (System.nanoTime() - startedAt) / 1_000_000, session.getId());
+        try {
+            session.close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (Exception ignore) {
+        }
+        return true;
+    }
+
+    private boolean startDrainIfIdle() {
+        if (draining) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+
+    private void scheduleDrain() {
+        try {
+            sendExecutor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            synchronized (this) {
+                draining = false;
+            }
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            OverlayFrame frame;
+            synchronized (streamLock) {
+                synchronized (this) {
+                    frame = keyframeRequired ? keyframeSource.get() : pending;
+                    pending = null;
+                    keyframeRequired = false;
+                    if (frame == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+            }
+            if (!send(frame)) {
+                synchronized (this) {
+                    pending = null;
+                    draining = false;
+                }
+                onFailure.accept(this);
+                return;
+            }
+        }
+    }
+
+    private boolean send(OverlayFrame frame) {
+        if (!session.isOpen()) {
+            return false;
+        }
+        sendStartedAtNanos = System.nanoTime();
+        try {
+            session.sendMessage(frame.messageForSend());
+            lastSent = frame;
+            lastSentAtNanos = System.nanoTime();
+            return true;
+        } catch (Exception e) {
+            log.debug("[OverlayWS] send failed for client {}: {}", session.getId(), e.toString());
+            return false;
+        } finally {
+            sendStartedAtNanos = 0;
+        }
+    }
+}
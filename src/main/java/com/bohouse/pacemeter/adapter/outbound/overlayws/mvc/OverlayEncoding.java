@@ -0,0 +1,35 @@
+package com.bohouse.pacemeter.adapter.outbound.overlayws.mvc;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * /overlay/ws 페이로드 인코딩.
+ *
+ * 클라이언트는 접속 쿼리 encoding=json|cbor 또는 WebSocket 서브프로토콜
+ * ({@value #JSON_SUBPROTOCOL}, {@value #CBOR_SUBPROTOCOL})로 고른다. 둘 다 있으면 쿼리가 우선이다.
+ * <ul>
+ *   <li>JSON (기본): TextMessage. 필드 이름을 그대로 쓴다.</li>
+ *   <li>CBOR: BinaryMessage. 필드 이름 대신 {@link OverlayCborCodec}의 고정 정수 키를 쓴다.</li>
+ * </ul>
+ */
+public enum OverlayEncoding {
+    JSON,
+    CBOR;
+
+    public static final String JSON_SUBPROTOCOL = "pacemeter.json";
+    public static final String CBOR_SUBPROTOCOL = "pacemeter.cbor";
+
+    /** 핸드셰이크에서 서버가 받아들이는 서브프로토콜. 앞에 있을수록 우선. */
+    public static final List<String> SUBPROTOCOLS = List.of(CBOR_SUBPROTOCOL, JSON_SUBPROTOCOL);
+
+    /**
+     * 쿼리 값과 협상된 서브프로토콜로 인코딩을 정한다. 모르는 값이면 JSON.
+     */
+    public static OverlayEncoding resolve(String queryValue, String acceptedSubprotocol) {
+        if (queryValue != null && !queryValue.isBlank()) {
+            return "cbor".equals(queryValue.trim().toLowerCase(Locale.ROOT)) ? CBOR : JSON;
+        }
+        return CBOR_SUBPROTOCOL.equals(acceptedSubprotocol) ? CBOR : JSON;
+    }
+}
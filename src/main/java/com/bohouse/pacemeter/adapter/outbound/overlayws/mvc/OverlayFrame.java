@@ -0,0 +1,36 @@
+package com.bohouse.pacemeter.adapter.outbound.overlayws.mvc;
+
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+/**
+ * 한 번 인코딩해서 여러 클라이언트가 같이 보내는 불변 프레임.
+ *
+ * @param seq     v2 스트림 시퀀스 (LEGACY는 의미 없음)
+ * @param kind    프레임 종류. 클라이언트 큐에서 합칠 때(coalescing) 규칙이 달라진다.
+ * @param message 전송할 메시지. 페이로드는 만들어진 뒤 바뀌지 않는다.
+ */
+record OverlayFrame(long seq, Kind kind, WebSocketMessage<?> message) {
+
+    /**
+     * 전송할 메시지. BinaryMessage는 ByteBuffer 위치가 전송 중에 움직일 수 있어서
+     * 같은 바이트를 가리키는 새 뷰로 감싸 보낸다. TextMessage는 그대로 공유한다.
+     */
+    WebSocketMessage<?> messageForSend() {
+        if (message instanceof BinaryMessage binary) {
+            return new BinaryMessage(binary.getPayload().duplicate());
+        }
+        return message;
+    }
+
+    enum Kind {
+        /** protocol=1 전체 스냅샷. 최신 것 하나만 보내면 된다. */
+        LEGACY,
+        /** protocol=2 keyframe. 그 자체로 완전한 상태라 이전 프레임을 대체한다. */
+        KEYFRAME,
+        /** protocol=2 delta. 직전 프레임이 전달돼야 적용 가능하다. */
+        DELTA,
+        /** protocol=2 heartbeat. 보낼 프레임이 이미 대기 중이면 버린다. */
+        HEARTBEAT
+    }
+}
@@ -0,0 +1,235 @@
+package com.bohouse.pacemeter.adapter.outbound.overlayws.mvc;
+
+import com.bohouse.pacemeter.core.snapshot.ActorSnapshot;
+import com.bohouse.pacemeter.core.snapshot.OverlaySnapshot;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 오버레이 프로토콜 v2 프레임 인코더. 스트림(릴레이 세션) 하나당 하나씩 둔다.
+ *
+ * v2 프레임은 두 종류다.
+ * <pre>
+ * keyframe: {"type":"keyframe","v":2,"seq":N,"snapshot":{...OverlaySnapshot 전체...}}
+ * delta:    {"type":"delta","v":2,"seq":N,"base":N-1,
+ *            "set":{바뀐 최상위 필드},
+ *            "actors":[{"id":actorId, 바뀐 액터 필드...}],
+ *            "order":[actorId...]}   // 액터 구성/순서가 바뀐 경우에만
+ * </pre>
+ * delta는 base 시퀀스의 상태에만 적용할 수 있다. 클라이언트는 seq가 건너뛰면
+ * {"type":"resync"}를 보내고 다음 keyframe을 기다린다.
+ * 중첩 객체(partyPace, clearability, rdpsConfidence, individualPace)는 바뀌면 통째로 보낸다.
+ *
+ * 인코더는 프레임 구조(맵)만 만든다. 바이트 직렬화는 호출 측이 인코딩(JSON/CBOR)마다 한 번씩 하고,
+ * 만든 메시지를 구독자 전원이 공유한다.
+ *
+ * 스레드 안전하지 않다. 호출 측(스트림)에서 동기화한다.
+ */
+public final class OverlayFrameEncoder {
+
+    public static final int PROTOCOL_VERSION = 2;
+
+    /** 이 프레임 수마다 delta 대신 keyframe을 보낸다 (10Hz 기준 5초). */
+    static final int KEYFRAME_INTERVAL_FRAMES = 50;
+
+    private OverlaySnapshot latest;
+    private long seq;
+    private int framesSinceKeyframe;
+    private Map<String, Object> keyframeBody;
+
+    /** 인코딩 결과. keyframe이면 body는 keyframe 프레임, 아니면 delta 프레임이다. */
+    public record EncodedFrame(long seq, boolean keyframe, Map<String, Object> body) {}
+
+    /**
+     * 다음 스냅샷을 인코딩한다. 첫 프레임과 주기 프레임은 keyframe, 나머지는 직전 스냅샷 대비 delta.
+     */
+    public EncodedFrame next(OverlaySnapshot snapshot) {
+        OverlaySnapshot previous = latest;
+        advance(snapshot);
+
+        if (previous == null || ++framesSinceKeyframe >= KEYFRAME_INTERVAL_FRAMES) {
+            framesSinceKeyframe = 0;
+            return new EncodedFrame(seq, true, keyframe());
+        }
+        return new EncodedFrame(seq, false, delta(previous, snapshot, seq));
+    }
+
+    /**
+     * 보낼 대상이 없을 때 호출한다. delta를 만들지 않고 최신 스냅샷과 시퀀스만 갱신해서,
+     * 나중에 접속한 클라이언트가 받을 keyframe과 그 다음 delta의 base를 맞춰 둔다.
+     */
+    public void remember(OverlaySnapshot snapshot) {
+        advance(snapshot);
+    }
+
+    /** 최신 스냅샷의 keyframe. 같은 시퀀스에서는 같은 맵을 돌려준다. 스냅샷이 없으면 null. */
+    public Map<String, Object> keyframe() {
+        if (latest == null) {
+            return null;
+        }
+        if (keyframeBody == null) {
+            Map<String, Object> frame = new LinkedHashMap<>();
+            frame.put("type", "keyframe");
+            frame.put("v", PROTOCOL_VERSION);
+            frame.put("seq", seq);
+            frame.put("snapshot", latest);
+            keyframeBody = frame;
+        }
+        return keyframeBody;
+    }
+
+    public long seq() {
+        return seq;
+    }
+
+    private void advance(OverlaySnapshot snapshot) {
+        latest = snapshot;
+        seq++;
+        keyframeBody = null;
+    }
+
+    /** v2 heartbeat: {"type":"heartbeat","v":2,"seq":N}. seq는 마지막으로 만든 프레임의 시퀀스. */
+    public Map<String, Object> heartbeat() {
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", "heartbeat");
+        frame.put("v", PROTOCOL_VERSION);
+        frame.put("seq", seq);
+        return frame;
+    }
+
+    /** protocol=1 프레임: {"type":"snapshot","snapshot":{...}} */
+    public static Map<String, Object> legacy(OverlaySnapshot snapshot) {
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", "snapshot");
+        frame.put("snapshot", snapshot);
+        return frame;
+    }
+
+    static Map<String, Object> delta(OverlaySnapshot before, OverlaySnapshot after, long seq) {
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", "delta");
+        frame.put("v", PROTOCOL_VERSION);
+        frame.put("seq", seq);
+        frame.put("base", seq - 1);
+
+        Map<String, Object> set = new LinkedHashMap<>();
+        putIfChanged(set, "fightName", before.fightName(), after.fightName());
+        putIfChanged(set, "phase", before.phase(), after.phase());
+        putIfChanged(set, "elapsedMs", false, before.elapsedMs(), after.elapsedMs());
+        putIfChanged(set, "elapsedFormatted", before.elapsedFormatted(), after.elapsedFormatted());
+        putIfChanged(set, "totalPartyDamage", false, before.totalPartyDamage(), after.totalPartyDamage());
+        putIfChanged(set, "partyDps", false, before.partyDps(), after.partyDps());
+        putIfChanged(set, "partyRdps", false, before.partyRdps(), after.partyRdps());
+        putIfChanged(set, "partyPace", before.partyPace(), after.partyPace());
+        putIfChanged(set, "clearability", before.clearability(), after.clearability());
+        putIfChanged(set, "isFinal", false, before.isFinal(), after.isFinal());
+        if (!set.isEmpty()) {
+            frame.put("set", set);
+        }
+
+        List<ActorSnapshot> beforeActors = before.actors();
+        List<ActorSnapshot> afterActors = after.actors();
+        List<Map<String, Object>> actorChanges = new ArrayList<>();
+        boolean orderChanged = beforeActors.size() != afterActors.size();
+        for (int i = 0; i < afterActors.size(); i++) {
+            ActorSnapshot current = afterActors.get(i);
+            long actorId = current.actorId().value();
+            if (!orderChanged && beforeActors.get(i).actorId().value() != actorId) {
+                orderChanged = true;
+            }
+            ActorSnapshot previous = findActor(beforeActors, actorId, i);
+            Map<String, Object> changes = diffActor(previous, current);
+            if (!changes.isEmpty()) {
+                actorChanges.add(changes);
+            }
+        }
+        if (!actorChanges.isEmpty()) {
+            frame.put("actors", actorChanges);
+        }
+        if (orderChanged) {
+            long[] order = new long[afterActors.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = afterActors.get(i).actorId().value();
+            }
+            frame.put("order", order);
+        }
+        return frame;
+    }
+
+    /** 같은 위치를 먼저 보고, 순서가 바뀐 경우에만 전체를 찾는다. */
+    private static ActorSnapshot findActor(List<ActorSnapshot> actors, long actorId, int hint) {
+        if (hint < actors.size() && actors.get(hint).actorId().value() == actorId) {
+            return actors.get(hint);
+        }
+        for (ActorSnapshot actor : actors) {
+            if (actor.actorId().value() == actorId) {
+                return actor;
+            }
+        }
+        return null;
+    }
+
+    /** 바뀐 필드만 담은 맵. 새 액터(before == null)면 모든 필드를 담는다. 바뀐 게 없으면 빈 맵. */
+    private static Map<String, Object> diffActor(ActorSnapshot before, ActorSnapshot after) {
+        boolean all = before == null;
+        Map<String, Object> changes = new LinkedHashMap<>();
+        putIfChanged(changes, "name", all ? null : before.name(), after.name(), all);
+        putIfChanged(changes, "jobId", all, all ? 0 : before.jobId(), after.jobId());
+        putIfChanged(changes, "totalDamage", all, all ? 0 : before.totalDamage(), after.totalDamage());
+        putIfChanged(changes, "dps", all, all ? 0 : before.dps(), after.dps());
+        putIfChanged(changes, "onlineRdps", all, all ? 0 : before.onlineRdps(), after.onlineRdps());
+        putIfChanged(changes, "rdpsConfidence", all ? null : before.rdpsConfidence(), after.rdpsConfidence(), all);
+        putIfChanged(changes, "damagePercent", all, all ? 0 : before.damagePercent(), after.damagePercent());
+        putIfChanged(changes, "hitCount", all, all ? 0 : before.hitCount(), after.hitCount());
+        putIfChanged(changes, "critRate", all, all ? 0 : before.critRate(), after.critRate());
+        putIfChanged(changes, "directHitRate", all, all ? 0 : before.directHitRate(), after.directHitRate());
+        putIfChanged(changes, "critDirectHitRate", all, all ? 0 : before.critDirectHitRate(), after.critDirectHitRate());
+        putIfChanged(changes, "deathCount", all, all ? 0 : before.deathCount(), after.deathCount());
+        putIfChanged(changes, "maxHitDamage", all, all ? 0 : before.maxHitDamage(), after.maxHitDamage());
+        putIfChanged(changes, "maxHitSkillName", all ? null : before.maxHitSkillName(), after.maxHitSkillName(), all);
+        putIfChanged(changes, "recentDps", all, all ? 0 : before.recentDps(), after.recentDps());
+        putIfChanged(changes, "isCurrentPlayer", all, !all && before.isCurrentPlayer(), after.isCurrentPlayer());
+        putIfChanged(changes, "individualPace", all ? null : before.individualPace(), after.individualPace(), all);
+        putIfChanged(changes, "isDead", all, !all && before.isDead(), after.isDead());
+        if (changes.isEmpty()) {
+            return changes;
+        }
+
+        Map<String, Object> entry = new LinkedHashMap<>(changes.size() + 1);
+        entry.put("id", after.actorId().value());
+        entry.putAll(changes);
+        return entry;
+    }
+
+    private static void putIfChanged(Map<String, Object> out, String key, Object before, Object after) {
+        putIfChanged(out, key, before, after, false);
+    }
+
+    private static void putIfChanged(Map<String, Object> out, String key, Object before, Object after, boolean force) {
+        if (force || !Objects.equals(before, after)) {
+            out.put(key, after);
+        }
+    }
+
+    private static void putIfChanged(Map<String, Object> out, String key, boolean force, long before, long after) {
+        if (force || before != after) {
+            out.put(key, after);
+        }
+    }
+
+    private static void putIfChanged(Map<String, Object> out, String key, boolean force, double before, double after) {
+        if (force || Double.compare(before, after) != 0) {
+            out.put(key, after);
+        }
+    }
+
+    private static void putIfChanged(Map<String, Object> out, String key, boolean force, boolean before, boolean after) {
+        if (force || before != after) {
+            out.put(key, after);
+        }
+    }
+}
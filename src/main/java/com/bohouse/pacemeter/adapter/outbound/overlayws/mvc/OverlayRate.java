@@ -0,0 +1,50 @@
+package com.bohouse.pacemeter.adapter.outbound.overlayws.mvc;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 클라이언트가 받을 최대 프레임 속도. 접속 쿼리 maxFps로 고른다 (기본 10).
+ *
+ * 요청 값은 가장 가까운 아래 단계로 내린다 (예: 3 → 2Hz, 7 → 5Hz). 스트림은 단계마다 따로 프레임을 만들어
+ * 같은 단계의 클라이언트끼리 공유하므로, 직렬화와 전송량은 실제로 쓰이는 단계 수만큼만 든다.
+ */
+enum OverlayRate {
+    /** 엔진이 만드는 스냅샷을 모두 보낸다 (틱 100ms 기준 10Hz). */
+    FULL(10, 0L),
+    HZ_5(5, TimeUnit.MILLISECONDS.toNanos(200)),
+    HZ_2(2, TimeUnit.MILLISECONDS.toNanos(500));
+
+    private final int maxFps;
+    private final long minIntervalNanos;
+
+    OverlayRate(int maxFps, long minIntervalNanos) {
+        this.maxFps = maxFps;
+        this.minIntervalNanos = minIntervalNanos;
+    }
+
+    int maxFps() {
+        return maxFps;
+    }
+
+    /** 이 단계에서 프레임 사이 최소 간격. FULL이면 0. */
+    long minIntervalNanos() {
+        return minIntervalNanos;
+    }
+
+    /** 쿼리 값을 단계로 바꾼다. 비었거나 숫자가 아니면 FULL. */
+    static OverlayRate fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return FULL;
+        }
+        int fps;
+        try {
+            fps = (int) Math.floor(Double.parseDouble(value.trim()));
+        } catch (NumberFormatException e) {
+            return FULL;
+        }
+        if (fps >= FULL.maxFps) {
+            return FULL;
+        }
+        return fps >= HZ_5.maxFps ? HZ_5 : HZ_2;
+    }
+}
@@ -1,104 +1,449 @@
 package com.bohouse.pacemeter.adapter.outbound.overlayws.mvc;
 
+import com.bohouse.pacemeter.application.port.outbound.SnapshotTopic;
+import com.bohouse.pacemeter.core.snapshot.OverlaySnapshot;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.BinaryMessage;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.SubProtocolCapable;
 import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
+import tools.jackson.databind.ObjectMapper;
 
 import java.net.URI;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * /overlay/ws 핸들러.
+ *
+ * 클라이언트는 접속 쿼리로 구독할 릴레이 세션(sessionId)과 프로토콜 버전(protocol)을 고른다.
+ * <ul>
+ *   <li>protocol=1 (기본): 매 틱 {"type":"snapshot","snapshot":{...}} 전체를 받는다.</li>
+ *   <li>protocol=2: 접속 직후 keyframe, 이후 delta를 받는다. 형식은 {@link OverlayFrameEncoder} 참고.
+ *       seq가 건너뛰면 {"type":"resync"}를 보내 keyframe을 다시 받는다.</li>
+ * </ul>
+ * 최대 프레임 속도는 maxFps 쿼리로 고른다 ({@link OverlayRate}). 스트림은 속도 단계마다 따로 솎아 낸
+ * 프레임(v2는 단계별 delta 체인)을 만들고, 같은 단계 클라이언트끼리 공유한다.
+ * 페이로드 인코딩은 encoding 쿼리나 서브프로토콜로 고른다 ({@link OverlayEncoding}). CBOR는 BinaryMessage로 간다.
+ * 프레임은 릴레이 세션(스트림)과 인코딩마다 한 번만 직렬화해서 구독자 전원이 같은 메시지를 공유한다.
+ * 릴레이 세션 스트림은 첫 구독자가 붙을 때 만들고 마지막 구독자가 떠나면 지운다. 구독자가 없는 세션의 스냅샷은
+ * 버리므로, 나중에 붙은 클라이언트는 다음 발행부터 받는다. 기본(global) 스트림만 계속 남는다.
+ *
+ * 발행(엔진 틱) 스레드는 클라이언트별 {@link OverlayClientOutbox}에 프레임을 넣기만 하고 바로 돌아간다.
+ * 실제 전송은 송신 스레드풀이 하며, 느린 클라이언트는 최신 프레임만 받는다(latest-wins).
+ * 전송 하나가 {@link #SEND_TIME_LIMIT_MS}를 넘기면 그 클라이언트를 끊는다.
+ *
+ * 엔진은 상태가 바뀌지 않은 틱의 스냅샷을 건너뛰므로, {@link #HEARTBEAT_INTERVAL_MS} 동안 보낸 게 없는
+ * 클라이언트에는 heartbeat를 보낸다. v2는 {"type":"heartbeat","seq":N}, v1은 마지막 스냅샷을 다시 보낸다.
+ */
 @Component
-public class OverlayWsHandler extends TextWebSocketHandler {
+public class OverlayWsHandler extends TextWebSocketHandler implements SubProtocolCapable {
     private static final Logger log = LoggerFactory.getLogger(OverlayWsHandler.class);
-    private static final String DEFAULT_SESSION_ID = "global";
+    static final String DEFAULT_SESSION_ID = SnapshotTopic.LOCAL_STREAM_ID;
+    private static final String RELAY_SESSION_ID_ATTRIBUTE = "relaySessionId";
+    private static final String PROTOCOL_VERSION_ATTRIBUTE = "protocolVersion";
+    private static final String ENCODING_ATTRIBUTE = "encoding";
 
-    private final Set<WebSocketSession> sessions = ConcurrentHashMap.newKeySet();
-    private final Map<String, Set<WebSocketSession>> sessionsByRelayId = new ConcurrentHashMap<>();
+    /** 전송 하나에 허용하는 시간. ConcurrentWebSocketSessionDecorator의 sendTimeLimit과 같은 역할. */
+    static final long SEND_TIME_LIMIT_MS = 5_000L;
+    /** 이 시간 동안 보낸 프레임이 없으면 heartbeat를 보낸다. */
+    static final long HEARTBEAT_INTERVAL_MS = 5_000L;
+    private static final int SEND_THREADS = Math.max(2, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    private final ObjectMapper objectMapper;
+    private final Map<WebSocketSession, OverlayClientOutbox> outboxes = new ConcurrentHashMap<>();
+    private final Map<String, OverlayStream> streams = new ConcurrentHashMap<>();
+    private final ExecutorService sendExecutor;
+
+    public OverlayWsHandler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.sendExecutor = Executors.newFixedThreadPool(SEND_THREADS, new SendThreadFactory());
+    }
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) throws Exception {
-        sessions.add(session);
-        String relaySessionId = resolveRelaySessionId(session);
-        session.getAttributes().put("relaySessionId", relaySessionId);
-        sessionsByRelayId.computeIfAbsent(relaySessionId, key -> ConcurrentHashMap.newKeySet()).add(session);
-        log.info("[OverlayWS] client connected: {} relaySessionId={} (total: {})",
-                session.getId(), relaySessionId, sessions.size());
+        String relaySessionId = resolveQueryParameter(session, "sessionId", DEFAULT_SESSION_ID);
+        int protocolVersion = resolveProtocolVersion(session);
+        OverlayEncoding encoding = OverlayEncoding.resolve(
+                resolveQueryParameter(session, "encoding", null), session.getAcceptedProtocol());
+        OverlayRate rate = OverlayRate.fromParam(resolveQueryParameter(session, "maxFps", null));
+        session.getAttributes().put(RELAY_SESSION_ID_ATTRIBUTE, relaySessionId);
+        session.getAttributes().put(PROTOCOL_VERSION_ATTRIBUTE, protocolVersion);
+        session.getAttributes().put(ENCODING_ATTRIBUTE, encoding);
+
+        OverlayClientOutbox outbox;
+        while (true) {
+            OverlayStream stream = streamFor(relaySessionId);
+            outbox = new OverlayClientOutbox(
+                    session, protocolVersion, encoding, rate, stream, () -> stream.keyframeFrame(rate, encoding),
+                    sendExecutor, this::onSendFailure);
+            outboxes.put(session, outbox);
+            if (stream.join(outbox)) {
+                break;
+            }
+            // 마지막 구독자가 떠나면서 막 닫힌 스트림이다. 새 스트림으로 다시 붙는다.
+        }
+        log.info("[OverlayWS] client connected: {} relaySessionId={} protocol={} encoding={} maxFps={} (total: {})",
+                session.getId(), relaySessionId, protocolVersion, encoding, rate.maxFps(), outboxes.size());
+    }
+
+    /** 송신 스레드풀을 닫는다. 보내던 프레임은 전송 한도만큼 기다렸다가, 그래도 남으면 끊는다. */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        sendExecutor.shutdown();
+        if (!sendExecutor.awaitTermination(SEND_TIME_LIMIT_MS, TimeUnit.MILLISECONDS)) {
+            sendExecutor.shutdownNow();
+        }
     }
 
     @Override
-    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
-        sessions.remove(session);
-        String relaySessionId = (String) session.getAttributes().getOrDefault("relaySessionId", DEFAULT_SESSION_ID);
-        Set<WebSocketSession> scopedSessions = sessionsByRelayId.get(relaySessionId);
-        if (scopedSessions != null) {
-            scopedSessions.remove(session);
-            if (scopedSessions.isEmpty()) {
-                sessionsByRelayId.remove(relaySessionId);
+    public List<String> getSubProtocols() {
+        return OverlayEncoding.SUBPROTOCOLS;
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        ClientMessage clientMessage;
+        try {
+            clientMessage = objectMapper.readValue(message.getPayload(), ClientMessage.class);
+        } catch (Exception e) {
+            log.debug("[OverlayWS] ignoring malformed client message from {}", session.getId());
+            return;
+        }
+        if ("resync".equals(clientMessage.type())) {
+            OverlayClientOutbox outbox = outboxes.get(session);
+            if (outbox != null && outbox.protocolVersion() == OverlayFrameEncoder.PROTOCOL_VERSION) {
+                outbox.requestKeyframe();
             }
         }
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) throws Exception {
+        String relaySessionId = removeSession(session);
         log.info("[OverlayWS] client disconnected: {} relaySessionId={} status={} (total: {})",
-                session.getId(), relaySessionId, status, sessions.size());
+                session.getId(), relaySessionId, status, outboxes.size());
     }
 
     public int sessionCount() {
-        return sessions.size();
+        return outboxes.size();
+    }
+
+    /**
+     * 로컬(ACT) 엔진의 스냅샷을 보낸다. v2 클라이언트는 기본 스트림(global) 구독자만 받고,
+     * v1 클라이언트는 예전처럼 구독 세션과 상관없이 모두 받는다.
+     */
+    public void publishGlobal(OverlaySnapshot snapshot) {
+        streamFor(DEFAULT_SESSION_ID).publish(snapshot, true);
     }
 
-    public void broadcast(String json) {
-        TextMessage msg = new TextMessage(json);
-        for (WebSocketSession session : sessions) {
-            sendMessage(session, msg);
+    /** 릴레이 세션 엔진의 스냅샷을 그 세션 구독자에게만 보낸다. 구독자가 없으면 버린다. */
+    public void publishToSession(String relaySessionId, OverlaySnapshot snapshot) {
+        OverlayStream stream = streams.get(relaySessionId);
+        if (stream != null) {
+            stream.publish(snapshot, false);
         }
     }
 
-    public void broadcastToSession(String relaySessionId, String json) {
-        TextMessage msg = new TextMessage(json);
-        Set<WebSocketSession> scopedSessions = sessionsByRelayId.getOrDefault(relaySessionId, Set.of());
-        for (WebSocketSession s : scopedSessions) {
-            sendMessage(s, msg);
+    /** 살아 있는 스트림 수 (기본 스트림 포함) */
+    int streamCount() {
+        return streams.size();
+    }
+
+    /** 전송 하나가 한도를 넘겨 멈춰 있는 클라이언트를 끊는다. */
+    @Scheduled(fixedRate = 1000)
+    public void closeStalledClients() {
+        long limitNanos = TimeUnit.MILLISECONDS.toNanos(SEND_TIME_LIMIT_MS);
+        for (OverlayClientOutbox outbox : outboxes.values()) {
+            if (outbox.closeIfStalled(limitNanos)) {
+                removeSession(outbox.session());
+            }
         }
     }
 
-    private void sendMessage(WebSocketSession session, TextMessage message) {
-        try {
-            if (session.isOpen()) {
-                session.sendMessage(message);
+    /** 프레임 맵을 인코딩해서 공유 메시지로 만든다. */
+    private OverlayFrame toFrame(long seq, OverlayFrame.Kind kind, Map<String, Object> body, OverlayEncoding encoding) {
+        return switch (encoding) {
+            case JSON -> new OverlayFrame(seq, kind, new TextMessage(objectMapper.writeValueAsBytes(body)));
+            case CBOR -> new OverlayFrame(seq, kind, new BinaryMessage(OverlayCborCodec.encode(body)));
+        };
+    }
+
+    /** 한동안 보낸 프레임이 없는 클라이언트에 heartbeat를 보낸다. */
+    @Scheduled(fixedRate = 1000)
+    public void sendHeartbeats() {
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(HEARTBEAT_INTERVAL_MS);
+        for (OverlayClientOutbox outbox : outboxes.values()) {
+            if (!outbox.idleFor(idleNanos)) {
+                continue;
             }
-        } catch (Exception e) {
-            sessions.remove(session);
-            String relaySessionId = (String) session.getAttributes().getOrDefault("relaySessionId", DEFAULT_SESSION_ID);
-            Set<WebSocketSession> scopedSessions = sessionsByRelayId.get(relaySessionId);
-            if (scopedSessions != null) {
-                scopedSessions.remove(session);
-                if (scopedSessions.isEmpty()) {
-                    sessionsByRelayId.remove(relaySessionId);
+            if (outbox.protocolVersion() == OverlayFrameEncoder.PROTOCOL_VERSION) {
+                OverlayStream stream = streams.get(relaySessionIdOf(outbox.session()));
+                if (stream != null) {
+                    outbox.offer(stream.heartbeatFrame(outbox.rate(), outbox.encoding()));
                 }
+            } else if (outbox.lastSent() != null) {
+                outbox.offer(outbox.lastSent());
             }
-            try {
-                session.close();
-            } catch (Exception ignore) {
-            }
         }
     }
 
-    private String resolveRelaySessionId(WebSocketSession session) {
+    /** 속도 제한 때문에 보류된 스냅샷 중 간격이 찬 것을 내보낸다. */
+    @Scheduled(fixedRate = 100)
+    public void flushThrottledFrames() {
+        long now = System.nanoTime();
+        for (OverlayStream stream : streams.values()) {
+            stream.flush(now);
+        }
+    }
+
+    private OverlayStream streamFor(String relaySessionId) {
+        return streams.computeIfAbsent(relaySessionId, OverlayStream::new);
+    }
+
+    private void onSendFailure(OverlayClientOutbox outbox) {
+        WebSocketSession session = outbox.session();
+        removeSession(session);
+        try {
+            session.close();
+        } catch (Exception ignore) {
+        }
+    }
+
+    private String removeSession(WebSocketSession session) {
+        OverlayClientOutbox outbox = outboxes.remove(session);
+        String relaySessionId = relaySessionIdOf(session);
+        OverlayStream stream = streams.get(relaySessionId);
+        if (stream != null && outbox != null && stream.leave(outbox)) {
+            streams.remove(relaySessionId, stream);
+        }
+        return relaySessionId;
+    }
+
+    private static String relaySessionIdOf(WebSocketSession session) {
+        return (String) session.getAttributes().getOrDefault(RELAY_SESSION_ID_ATTRIBUTE, DEFAULT_SESSION_ID);
+    }
+
+    private static int resolveProtocolVersion(WebSocketSession session) {
+        String value = resolveQueryParameter(session, "protocol", "1");
+        return String.valueOf(OverlayFrameEncoder.PROTOCOL_VERSION).equals(value)
+                ? OverlayFrameEncoder.PROTOCOL_VERSION
+                : 1;
+    }
+
+    private static String resolveQueryParameter(WebSocketSession session, String name, String defaultValue) {
         URI uri = session.getUri();
         if (uri == null || uri.getQuery() == null || uri.getQuery().isBlank()) {
-            return DEFAULT_SESSION_ID;
+            return defaultValue;
         }
 
         for (String pair : uri.getQuery().split("&")) {
             String[] parts = pair.split("=", 2);
-            if (parts.length == 2 && "sessionId".equals(parts[0]) && !parts[1].isBlank()) {
+            if (parts.length == 2 && name.equals(parts[0]) && !parts[1].isBlank()) {
                 return parts[1];
             }
         }
-        return DEFAULT_SESSION_ID;
+        return defaultValue;
+    }
+
+    /**
+     * 릴레이 세션 하나의 구독자와 속도 단계별 인코더 상태.
+     * 발행과 송신 스레드의 keyframe 조회가 같은 시퀀스를 보도록 모두 이 객체로 동기화한다.
+     */
+    private final class OverlayStream {
+        private final String relaySessionId;
+        private final RateTier[] tiers = new RateTier[OverlayRate.values().length];
+        private boolean closed;
+
+        private OverlayStream(String relaySessionId) {
+            this.relaySessionId = relaySessionId;
+            for (OverlayRate rate : OverlayRate.values()) {
+                tiers[rate.ordinal()] = new RateTier(rate);
+            }
+        }
+
+        /** 이미 닫힌 스트림이면 false. 호출 측이 새 스트림으로 다시 붙는다. */
+        private synchronized boolean join(OverlayClientOutbox outbox) {
+            if (closed) {
+                return false;
+            }
+            tiers[outbox.rate().ordinal()].clients.add(outbox);
+            if (outbox.protocolVersion() == OverlayFrameEncoder.PROTOCOL_VERSION) {
+                outbox.requestKeyframe();
+            }
+            return true;
+        }
+
+        /** 릴레이 세션 스트림의 마지막 구독자가 떠나면 스트림을 닫고 true를 돌려준다. */
+        private synchronized boolean leave(OverlayClientOutbox outbox) {
+            tiers[outbox.rate().ordinal()].clients.remove(outbox);
+            if (DEFAULT_SESSION_ID.equals(relaySessionId)) {
+                return false;
+            }
+            for (RateTier tier : tiers) {
+                if (!tier.clients.isEmpty()) {
+                    return false;
+                }
+            }
+            closed = true;
+            return true;
+        }
+
+        private synchronized void publish(OverlaySnapshot snapshot, boolean legacyToAllClients) {
+            long now = System.nanoTime();
+            for (RateTier tier : tiers) {
+                tier.offer(snapshot, legacyToAllClients, now);
+            }
+        }
+
+        private synchronized void flush(long now) {
+            for (RateTier tier : tiers) {
+                tier.flush(now);
+            }
+        }
+
+        private synchronized OverlayFrame heartbeatFrame(OverlayRate rate, OverlayEncoding encoding) {
+            OverlayFrameEncoder encoder = tiers[rate.ordinal()].encoder;
+            return toFrame(encoder.seq(), OverlayFrame.Kind.HEARTBEAT, encoder.heartbeat(), encoding);
+        }
+
+        /** 최신 스냅샷의 keyframe. 송신 스레드가 이 객체의 락을 잡은 상태에서 부른다. 스냅샷이 없으면 null. */
+        private synchronized OverlayFrame keyframeFrame(OverlayRate rate, OverlayEncoding encoding) {
+            return tiers[rate.ordinal()].keyframeFrame(encoding);
+        }
+
+        /**
+         * 한 속도 단계의 구독자와 delta 체인. 간격 안에 들어온 스냅샷은 최신 것 하나만 보류했다가
+         * 간격이 차면 내보낸다. 스트림 락 안에서만 쓴다.
+         */
+        private final class RateTier {
+            private final OverlayRate rate;
+            private final Set<OverlayClientOutbox> clients = ConcurrentHashMap.newKeySet();
+            private final OverlayFrameEncoder encoder = new OverlayFrameEncoder();
+            /** 인코딩별 최신 keyframe 메시지 (ordinal 인덱스). */
+            private final OverlayFrame[] keyframes = new OverlayFrame[OverlayEncoding.values().length];
+            private long lastEmitNanos;
+            private boolean emitted;
+            private OverlaySnapshot pending;
+            private boolean pendingLegacyToAllClients;
+
+            private RateTier(OverlayRate rate) {
+                this.rate = rate;
+            }
+
+            private void offer(OverlaySnapshot snapshot, boolean legacyToAllClients, long now) {
+                boolean isFinal = snapshot.isFinal();
+                if (emitted && !isFinal && now - lastEmitNanos < rate.minIntervalNanos()) {
+                    pending = snapshot;
+                    pendingLegacyToAllClients = legacyToAllClients;
+                    return;
+                }
+                emit(snapshot, legacyToAllClients, now);
+            }
+
+            private void flush(long now) {
+                if (pending != null && now - lastEmitNanos >= rate.minIntervalNanos()) {
+                    emit(pending, pendingLegacyToAllClients, now);
+                }
+            }
+
+            private void emit(OverlaySnapshot snapshot, boolean legacyToAllClients, long now) {
+                pending = null;
+                emitted = true;
+                lastEmitNanos = now;
+
+                boolean hasV2Client = false;
+                for (OverlayClientOutbox client : clients) {
+                    if (client.protocolVersion() == OverlayFrameEncoder.PROTOCOL_VERSION) {
+                        hasV2Client = true;
+                        break;
+                    }
+                }
+
+                if (hasV2Client) {
+                    OverlayFrameEncoder.EncodedFrame encoded = encoder.next(snapshot);
+                    OverlayFrame.Kind kind = encoded.keyframe() ? OverlayFrame.Kind.KEYFRAME : OverlayFrame.Kind.DELTA;
+                    OverlayFrame[] frames = new OverlayFrame[OverlayEncoding.values().length];
+                    for (OverlayClientOutbox client : clients) {
+                        if (client.protocolVersion() != OverlayFrameEncoder.PROTOCOL_VERSION) {
+                            continue;
+                        }
+                        int index = client.encoding().ordinal();
+                        if (frames[index] == null) {
+                            frames[index] = toFrame(encoded.seq(), kind, encoded.body(), client.encoding());
+                            if (encoded.keyframe()) {
+                                keyframes[index] = frames[index];
+                            }
+                        }
+                        client.offer(frames[index]);
+                    }
+                } else {
+                    encoder.remember(snapshot);
+                }
+
+                OverlayFrame[] legacy = null;
+                Map<String, Object> legacyBody = null;
+                Collection<OverlayClientOutbox> targets = legacyToAllClients ? outboxes.values() : clients;
+                for (OverlayClientOutbox client : targets) {
+                    if (client.protocolVersion() != 1 || client.rate() != rate) {
+                        continue;
+                    }
+                    if (legacy == null) {
+                        legacy = new OverlayFrame[OverlayEncoding.values().length];
+                        legacyBody = OverlayFrameEncoder.legacy(snapshot);
+                    }
+                    int index = client.encoding().ordinal();
+                    if (legacy[index] == null) {
+                        legacy[index] = toFrame(0L, OverlayFrame.Kind.LEGACY, legacyBody, client.encoding());
+                    }
+                    client.offer(legacy[index]);
+                }
+            }
+
+            private OverlayFrame keyframeFrame(OverlayEncoding encoding) {
+                int index = encoding.ordinal();
+                OverlayFrame keyframe = keyframes[index];
+                if (keyframe == null || keyframe.seq() != encoder.seq()) {
+                    Map<String, Object> body = encoder.keyframe();
+                    if (body == null) {
+                        return null;
+                    }
+                    keyframe = toFrame(encoder.seq(), OverlayFrame.Kind.KEYFRAME, body, encoding);
+                    keyframes[index] = keyframe;
+                    log.debug("[OverlayWS] keyframe seq={} maxFps={} encoding={} relaySessionId={}",
+                            encoder.seq(), rate.maxFps(), encoding, relaySessionId);
+                }
+                return keyframe;
+            }
+        }
+    }
+
+    private static final class SendThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "overlay-ws-send-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
     }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record ClientMessage(String type) {}
 }
@@ -0,0 +1,107 @@
+package com.bohouse.pacemeter.adapter.outbound.overlayws.topic;
+
+import com.bohouse.pacemeter.application.port.outbound.SnapshotTopic;
+import com.bohouse.pacemeter.core.snapshot.OverlaySnapshot;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 같은 JVM 안의 {@link SnapshotTopic}. 별도 인스턴스 없이 엔진과 브로드캐스터를 한 프로세스에서 돌릴 때 쓴다.
+ *
+ * publish는 스트림별 최신 스냅샷 슬롯을 바꾸고 스트림 ID를 큐에 넣기만 한다.
+ * 전용 디스패치 스레드가 큐에서 스트림을 꺼내 그 시점의 최신 스냅샷을 구독자에게 넘긴다.
+ * 그래서 엔진 스레드는 브로드캐스터의 직렬화/팬아웃 비용을 기다리지 않고,
+ * 디스패치가 밀리면 같은 스트림의 중간 스냅샷은 합쳐진다.
+ *
+ * 디스패치 스레드는 {@link #start()}에서 띄우고 {@link #stop()}에서 끊고 기다린다.
+ */
+@Component
+public class InProcessSnapshotTopic implements SnapshotTopic {
+    private static final Logger log = LoggerFactory.getLogger(InProcessSnapshotTopic.class);
+
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final Map<String, OverlaySnapshot> latestByStream = new ConcurrentHashMap<>();
+    private final LinkedBlockingQueue<String> dirtyStreams = new LinkedBlockingQueue<>();
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private Thread dispatcher;
+
+    @PostConstruct
+    public synchronized void start() {
+        if (dispatcher != null) {
+            return;
+        }
+        dispatcher = new Thread(this::dispatchLoop, "snapshot-topic-dispatch");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    /** 디스패치 스레드를 끊고 끝날 때까지 기다린다. 아직 넘기지 않은 스냅샷은 버린다. */
+    @PreDestroy
+    public synchronized void stop() throws InterruptedException {
+        if (dispatcher == null) {
+            return;
+        }
+        dispatcher.interrupt();
+        dispatcher.join();
+        dispatcher = null;
+    }
+
+    @Override
+    public void publish(String streamId, OverlaySnapshot snapshot) {
+        published.incrementAndGet();
+        // 슬롯이 비어 있었을 때만 큐에 넣는다. 이미 대기 중이면 디스패치가 새 스냅샷을 가져간다.
+        if (latestByStream.put(streamId, snapshot) == null) {
+            dirtyStreams.offer(streamId);
+        }
+    }
+
+    @Override
+    public void subscribe(Subscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /** 올라온 스냅샷 수 */
+    public long publishedCount() {
+        return published.get();
+    }
+
+    /** 구독자에게 넘긴 스냅샷 수. publishedCount보다 작으면 그만큼 합쳐진 것이다. */
+    public long deliveredCount() {
+        return delivered.get();
+    }
+
+    private void dispatchLoop() {
+        while (true) {
+            String streamId;
+            try {
+                streamId = dirtyStreams.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            OverlaySnapshot snapshot = latestByStream.remove(streamId);
+            if (snapshot == null) {
+                continue;
+            }
+            delivered.incrementAndGet();
+            for (Subscriber subscriber : subscribers) {
+                try {
+                    subscriber.onSnapshot(streamId, snapshot);
+                } catch (Exception e) {
+                    log.error("[SnapshotTopic] subscriber failed for stream {}", streamId, e);
+                }
+            }
+        }
+    }
+}
@@ -4,6 +4,8 @@ import com.bohouse.pacemeter.adapter.inbound.actws.*;
 import com.bohouse.pacemeter.adapter.outbound.fflogsapi.FflogsZoneLookup;
 import com.bohouse.pacemeter.adapter.outbound.fflogsapi.FfxivJobMapper;
 import com.bohouse.pacemeter.application.port.inbound.CombatEventPort;
+import com.bohouse.pacemeter.application.port.outbound.CombatJournal;
+import com.bohouse.pacemeter.application.port.outbound.CombatJournalStore;
 import com.bohouse.pacemeter.core.event.CombatEvent;
 import com.bohouse.pacemeter.core.model.ActionNameLibrary;
 import com.bohouse.pacemeter.core.model.ActionTagCatalog;
@@ -15,13 +17,10 @@ import com.bohouse.pacemeter.core.model.DotAttributionRules;
 import com.bohouse.pacemeter.core.model.DotStatusLibrary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.stereotype.Component;
 
 import java.time.*;
 import java.util.*;
-import java.util.prefs.Preferences;
 
-@Component
 public final class ActIngestionService {
     private static final Logger logger = LoggerFactory.getLogger(ActIngestionService.class);
     private static final long BOSS_MIN_MAX_HP = 10_000_000L;
@@ -31,9 +30,9 @@ public final class ActIngestionService {
     private static final long CORROBORATED_KNOWN_SOURCE_WINDOW_MS = 15_000L;
     private static final long KNOWN_SOURCE_MULTI_TARGET_EXACT_WINDOW_MS = 15_000L;
     private static final long KNOWN_SOURCE_STALE_OTHER_TARGET_WINDOW_MS = 4_000L;
-    private static final Duration STATUS_SNAPSHOT_REDISTRIBUTION_WINDOW = Duration.ofMillis(10000);
-    private static final Duration STATUS_SIGNAL_REDISTRIBUTION_WINDOW = Duration.ofMillis(3500);
-    private static final Duration LIVE_DOT_ATTRIBUTION_DEBUG_RETENTION = Duration.ofSeconds(30);
+    private static final long STATUS_SNAPSHOT_REDISTRIBUTION_WINDOW_MS = 10_000L;
+    private static final long STATUS_SIGNAL_REDISTRIBUTION_WINDOW_MS = 3_500L;
+    private static final long LIVE_DOT_ATTRIBUTION_DEBUG_RETENTION_MS = 30_000L;
     private static final double STATUS_SNAPSHOT_WEIGHT_GAMMA = 0.74;
     private static final double STATUS_SIGNAL_WEIGHT_BLEND_ALPHA = 0.80;
     private static final double STATUS0_SOURCE_HINT_WEIGHT = 1.0;
@@ -49,17 +48,13 @@ public final class ActIngestionService {
     private static final int CHAOTIC_SPRING_ACTION_ID = 0x64AC;
     private static final int HIGANBANA_ACTION_ID = 0x1D41;
     private static final Set<Integer> INVALID_DOT_ACTION_IDS = Set.of(0x7, 0x17);
-    private static final Duration LIVE_DOT_APPLICATION_CLONE_WINDOW = Duration.ofSeconds(1);
+    private static final long LIVE_DOT_APPLICATION_CLONE_WINDOW_MS = 1_000L;
     private static final Map<Integer, Integer> LIVE_DOT_APPLICATION_CLONE_STATUS_TO_ACTION = Map.of();
     private static final Set<Integer> LIVE_DOT_TICK_SUPPRESSED_ACTION_IDS = Set.of();
-    private static final Duration SELF_JOB_METADATA_GRACE = Duration.ofMillis(1500);
-    private static final String SELF_JOB_PREF_NODE = "live-self-job";
-    private static final String ACTOR_JOB_PREF_NODE = "live-actor-job";
+    private static final long SELF_JOB_METADATA_GRACE_MS = 1_500L;
     private final CombatEventPort combatEventPort;
     private final CombatService combatService;
     private final FflogsZoneLookup fflogsZoneLookup;
-    private final Preferences preferences = Preferences.userNodeForPackage(ActIngestionService.class).node(SELF_JOB_PREF_NODE);
-    private final Preferences actorJobPreferences = Preferences.userNodeForPackage(ActIngestionService.class).node(ACTOR_JOB_PREF_NODE);
 
     private volatile long currentPlayerId = 0;
     private volatile String currentPlayerName = "YOU";
@@ -73,7 +68,7 @@ public final class ActIngestionService {
     private final Set<Long> deadPlayers = new HashSet<>();     // ????????????????????????????????????????????⑤벡???????????ID
     private final Map<Long, Integer> jobIdByActorId = new HashMap<>();  // ??????????????????????????????ID
     private final Map<Long, String> actorNameById = new HashMap<>();
-    private final Deque<DamageText> pendingDamageTexts = new ArrayDeque<>();
+    private final PendingDamageTextIndex pendingDamageTexts = new PendingDamageTextIndex();
     private final Deque<NetworkAbilityRaw> pendingSelfJobAbilities = new ArrayDeque<>();
     private final Deque<PendingBuffEvent> pendingBuffEvents = new ArrayDeque<>();
     private final Map<UnknownStatusDotAttributionResolver.DotKey, UnknownStatusDotAttributionResolver.DotApplication> unknownStatusDotApplications = new HashMap<>();
@@ -84,34 +79,24 @@ public final class ActIngestionService {
     private final Map<Long, SourceDotEvidence> unknownStatusDotStatusEvidenceBySource = new HashMap<>();
     private final UnknownStatusDotAttributionResolver unknownStatusDotAttributionResolver =
             new UnknownStatusDotAttributionResolver();
-    private final Map<Long, Map<TrackedDotKey, TrackedDotState>> activeTargetDots = new HashMap<>();
+    private final TrackedDotTable activeTargetDots = new TrackedDotTable();
     private final Map<Long, Set<Integer>> activeSelfBuffIdsByActor = new HashMap<>();
     private final Map<Long, Set<String>> activeSelfBuffNamesByActor = new HashMap<>();
     private final Map<Long, StatusSnapshotState> latestStatusSnapshotsByTarget = new HashMap<>();
     private final Map<Long, Deque<StatusSignalEvidence>> recentStatusSignalsByTarget = new HashMap<>();
-    private final Map<String, Long> dotAttributionModeCounts = new HashMap<>();
-    private final Map<String, Long> dotAttributionAssignedAmountByKey = new HashMap<>();
-    private final Map<String, Long> dotAttributionAssignedHitCountByKey = new HashMap<>();
-    private final Map<String, Long> dotAttributionEmittedAmountByKey = new HashMap<>();
-    private final Map<String, Long> dotAttributionEmittedHitCountByKey = new HashMap<>();
-    private final Map<String, Long> knownSourceTrackedTargetSplitProbeCountByKey = new HashMap<>();
-    private final Map<String, Long> knownSourceTrackedTargetSplitProbeAmountByKey = new HashMap<>();
-    private final Map<String, Long> knownSourceForeignOnlySplitProbeCountByKey = new HashMap<>();
-    private final Map<String, Long> knownSourceForeignOnlySplitProbeAmountByKey = new HashMap<>();
-    private final Map<String, Long> knownSourceTrackedTargetSplitAssignmentCountByKey = new HashMap<>();
-    private final Map<String, Long> knownSourceTrackedTargetSplitAssignmentAmountByKey = new HashMap<>();
-    private final Map<String, Long> status0SnapshotRedistributionDeferProbeCountByKey = new HashMap<>();
-    private final Map<String, Long> status0SnapshotRedistributionDeferProbeAmountByKey = new HashMap<>();
-    private final Map<String, Long> status0SnapshotRedistributionRecipientCountByKey = new HashMap<>();
-    private final Map<String, Long> status0SnapshotRedistributionRecipientAmountByKey = new HashMap<>();
-    private final Map<String, Long> knownSourceTrackedTargetSingleSourceBindingProbeCountByKey = new HashMap<>();
-    private final Map<String, Long> knownSourceTrackedTargetSingleSourceBindingProbeAmountByKey = new HashMap<>();
-    private final Map<String, Long> status0FallbackRecentExactSingleBindingProbeCountByKey = new HashMap<>();
-    private final Map<String, Long> status0FallbackRecentExactSingleBindingProbeAmountByKey = new HashMap<>();
-    private final Map<Long, Instant> recentTargetDeathAtByTargetId = new HashMap<>();
+    // recentStatusSignalsByTarget 각 큐 머리 중 가장 이른 시각. cutoff가 이보다 늦지 않으면 정리할 게 없다
+    private long oldestStatusSignalTsMs = Long.MAX_VALUE;
+    private DotAttributionDiagnostics dotDiagnostics = new DotAttributionDiagnostics(true);
+    private final Map<Long, Long> recentTargetDeathAtByTargetId = new HashMap<>();
     private final Deque<DotAttributionAssignment> recentDotAttributionAssignments = new ArrayDeque<>();
     private final Map<LiveDotApplicationCloneKey, RecentDamageCloneCandidate> recentDotApplicationCloneCandidates = new HashMap<>();
     private final StatusZeroDotAllocationPlanner statusZeroDotAllocationPlanner = new StatusZeroDotAllocationPlanner();
+    private final DotAttributionStrategyChain<DotTick> dotAttributionChain = buildDotAttributionChain();
+    // emitDotDamage가 귀속 중인 틱. 아니면 null
+    private DotTick currentDotTick;
+    private SessionTraceRecorder trace = SessionTraceRecorder.NONE;
+    // 기본은 이 수집기만의 메모리 캐시. 저장소에 남길 때는 setJobCache로 레지스트리의 캐시를 붙인다.
+    private ActorJobCache jobCache = new ActorJobCache();
     private BossCandidate pendingBoss;
     private Long announcedBossId;
 
@@ -120,11 +105,21 @@ public final class ActIngestionService {
     // true  = PartyList ?????CombatData????????????????????????????????????????????⑤벡????????????????????????????????????????????????????????????袁⑸즴筌?씛彛???돗??????????????癲ル슢二??곸젞???????????????????????됰Ŧ?????????????????????대첐????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????獄쏅챶留덌┼??????????????筌롈살젔??????????????????????븐뼐????????쑩?젆???????ㅻ쑋?????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????
     private volatile boolean partyDataInitialized = false;
 
+    private static final long EVENT_CLOCK_WATCHDOG_IDLE_MS = 1_000L;
+    // 시각 필드(epoch millis)가 비어 있음을 나타낸다
+    private static final long NO_TS = Long.MIN_VALUE;
     private static final long COMBAT_TIMEOUT_MS = 30_000; // 30????????????????????????????????????????????????????????????????????????
     private volatile boolean fightStarted = false;
-    private volatile Instant fightStartInstant = null;
-    private volatile Instant lastDamageAt = null;
-    private volatile Instant lastEventInstant = null;  // ?????????????????ACT ??????????????????????????????????????獄쏅챶留덌┼??????????????筌롈살젔??????????????????????븐뼐????????쑩?젆???????ㅻ쑋?????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????wall clock)
+    private volatile long fightStartMs = NO_TS;
+    private volatile long lastDamageAtMs = NO_TS;
+    // null이면 틱은 호출 측(파리티 재생 등)이 직접 낸다. enableEventTimeTicks()로 켠다.
+    private EventTimeTicker eventTimeTicker;
+    // null이 아니면 runBatched 중이다. 엔진 이벤트를 모았다가 CombatEventPort.onEvents로 한 번에 보낸다.
+    private List<CombatEvent> batchedEvents;
+    private long lastEventWallNanos;
+    // 워치독이 이벤트 시각을 앞질러 낸 마지막 틱. 늦게 온 라인의 경과 시간은 이보다 작아지지 않는다.
+    private long watchdogElapsedMs;
+    private volatile long lastEventMs = NO_TS;  // ?????????????????ACT ??????????????????????????????????????獄쏅챶留덌┼??????????????筌롈살젔??????????????????????븐뼐????????쑩?젆???????ㅻ쑋?????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????wall clock)
 
     // ????????????????????????????????????????????????????????????????산뭐??????????????????
     private volatile long receivedAbilityCount = 0;
@@ -143,9 +138,9 @@ public final class ActIngestionService {
         if (!fightStarted) return false;
 
         // ??????????????????????????????????????????????????????????????????????????????????????곕춴????????????????????????????거???????????????????????????????????????????????룸ı??????????????????????????????????????????????????????????????ㅻ깹?????????????????????????????ㅻ깹???????????????? ???????????????????????????????諛몃마嶺뚮?????????????硫λ젒????????????????????遺얘턁??????얜Ŧ堉??????⑤뜪?????????????????????????癲?????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????
-        if (lastDamageAt != null && lastEventInstant != null) {
+        if (lastDamageAtMs != NO_TS && lastEventMs != NO_TS) {
             try {
-                long idleMs = Duration.between(lastDamageAt, lastEventInstant).toMillis();
+                long idleMs = lastEventMs - lastDamageAtMs;
                 if (idleMs > COMBAT_TIMEOUT_MS) {
                     logger.info("[Ingestion] combat timeout ({}ms idle), ending fight", idleMs);
                     endFight();
@@ -169,15 +164,16 @@ public final class ActIngestionService {
         logger.info("[Ingestion] fight ended, elapsed={}ms", elapsedMs);
 
         try {
-            combatEventPort.onEvent(new CombatEvent.FightEnd(elapsedMs, false));
+            emit(new CombatEvent.FightEnd(elapsedMs, false));
         } catch (Exception e) {
             logger.error("[Ingestion] error sending FightEnd event: {}", e.getMessage(), e);
         }
         // ???????????????????????????????????????????????????????????????곕춴???????????????????????????????????????????????????
         fightStarted = false;
-        fightStartInstant = null;
-        lastDamageAt = null;
-        lastEventInstant = null;
+        fightStartMs = NO_TS;
+        lastDamageAtMs = NO_TS;
+        lastEventMs = NO_TS;
+        watchdogElapsedMs = 0L;
         deadPlayers.clear();
         combatPartyMemberIds.clear();
         pendingDamageTexts.clear();
@@ -194,23 +190,8 @@ public final class ActIngestionService {
         activeSelfBuffNamesByActor.clear();
         latestStatusSnapshotsByTarget.clear();
         recentStatusSignalsByTarget.clear();
-        dotAttributionModeCounts.clear();
-        dotAttributionAssignedAmountByKey.clear();
-        dotAttributionAssignedHitCountByKey.clear();
-        knownSourceTrackedTargetSplitProbeCountByKey.clear();
-        knownSourceTrackedTargetSplitProbeAmountByKey.clear();
-        knownSourceForeignOnlySplitProbeCountByKey.clear();
-        knownSourceForeignOnlySplitProbeAmountByKey.clear();
-        knownSourceTrackedTargetSplitAssignmentCountByKey.clear();
-        knownSourceTrackedTargetSplitAssignmentAmountByKey.clear();
-        status0SnapshotRedistributionDeferProbeCountByKey.clear();
-        status0SnapshotRedistributionDeferProbeAmountByKey.clear();
-        status0SnapshotRedistributionRecipientCountByKey.clear();
-        status0SnapshotRedistributionRecipientAmountByKey.clear();
-        knownSourceTrackedTargetSingleSourceBindingProbeCountByKey.clear();
-        knownSourceTrackedTargetSingleSourceBindingProbeAmountByKey.clear();
-        status0FallbackRecentExactSingleBindingProbeCountByKey.clear();
-        status0FallbackRecentExactSingleBindingProbeAmountByKey.clear();
+        oldestStatusSignalTsMs = Long.MAX_VALUE;
+        dotDiagnostics.clearFightScoped();
         recentTargetDeathAtByTargetId.clear();
         recentDotAttributionAssignments.clear();
         recentDotApplicationCloneCandidates.clear();
@@ -223,19 +204,139 @@ public final class ActIngestionService {
     /** TickDriver???????????????????????????????????獄쏅챶留덌┼??????????????筌롈살젔??????????????????????븐뼐????????쑩?젆???????ㅻ쑋??????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????? ???????????????????????????????????????????????????????곕춴????????????????????????????????????????????????ms???????????????????????????????????????ㅻ깹????????????????????????????????
      *  wall-clock ??????? ?????????????????ACT ??????????????????????????????????????獄쏅챶留덌┼??????????????筌롈살젔??????????????????????븐뼐????????쑩?젆???????ㅻ쑋?????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????⑤벡?????????됰Ŧ???????????꿔꺂???????????????????????????????????????????? */
     public long nowElapsedMs() {
-        if (!fightStarted || fightStartInstant == null) return 0;
-        Instant ref = lastEventInstant != null ? lastEventInstant : fightStartInstant;
-        long ms = Duration.between(fightStartInstant, ref).toMillis();
-        return Math.max(0, ms);
+        if (!fightStarted || fightStartMs == NO_TS) return 0;
+        long ref = lastEventMs != NO_TS ? lastEventMs : fightStartMs;
+        long ms = ref - fightStartMs;
+        return Math.max(watchdogElapsedMs, Math.max(0, ms));
     }
 
-    public void onParsed(ParsedLine line) {
+    /**
+     * 틱을 이벤트 시각 기준으로 직접 낸다. 라인을 처리할 때마다 지난 100ms 경계의 Tick을 한 번씩 보내고,
+     * 이벤트가 끊긴 구간은 {@link #onWallClockTick()} 워치독이 채운다.
+     * 켜지 않으면 틱을 보내지 않는다 (재생/파리티 서비스가 자체 틱을 낸다).
+     * 복구한 전투를 이미 이어 받았으면 지금 경과 시간 다음 경계부터 센다.
+     */
+    public synchronized void enableEventTimeTicks() {
+        if (eventTimeTicker == null) {
+            eventTimeTicker = new EventTimeTicker(elapsedMs -> emit(new CombatEvent.Tick(elapsedMs)));
+            if (fightStarted) {
+                eventTimeTicker.resumeAfter(nowElapsedMs());
+            }
+        }
+    }
+
+    /**
+     * 데미지 이벤트와 CombatantAdded를 남길 추적 버퍼. 기본은 아무것도 남기지 않는다.
+     */
+    public synchronized void setTraceRecorder(SessionTraceRecorder recorder) {
+        this.trace = recorder != null ? recorder : SessionTraceRecorder.NONE;
+    }
+
+    /** 현재 플레이어/파티원 직업을 기억해 둘 캐시를 바꾼다. 릴레이 세션은 세션마다 따로 붙인다. */
+    public synchronized void setJobCache(ActorJobCache jobCache) {
+        this.jobCache = jobCache;
+    }
+
+    /**
+     * DoT 귀속 진단 카운터(debug*Counts/Amounts) 기록을 켜고 끈다. 상태가 바뀌면 쌓인 카운터는 버린다.
+     * 운영 프로필은 pacemeter.diagnostics.dot-attribution=false로 꺼서 틱마다 키를 만들지 않는다.
+     */
+    public synchronized void setDotAttributionDiagnosticsEnabled(boolean enabled) {
+        if (dotDiagnostics.enabled() != enabled) {
+            dotDiagnostics = new DotAttributionDiagnostics(enabled);
+        }
+    }
+
+    /**
+     * 벽시계 워치독. 이벤트가 EVENT_CLOCK_WATCHDOG_IDLE_MS 넘게 안 오면 마지막 이벤트 시각에
+     * 그동안 흐른 벽시계 시간을 더한 경과 시간까지 틱을 내서, 조용한 구간에도 화면 시간이 흐르게 한다.
+     * 이벤트가 COMBAT_TIMEOUT_MS 넘게 아예 안 오면 (클라이언트를 닫아 FightEnd가 오지 않는 경우) 전투를 끝낸다.
+     * 이벤트 시각 기준 타임아웃은 다음 라인이 와야 확인되므로 여기서 벽시계로 따로 본다.
+     */
+    public void onWallClockTick() {
+        onWallClockTick(System.nanoTime());
+    }
+
+    synchronized void onWallClockTick(long nowNanos) {
+        if (eventTimeTicker == null || !isFightStarted()) {
+            return;
+        }
+        long idleMs = (nowNanos - lastEventWallNanos) / 1_000_000L;
+        if (idleMs > COMBAT_TIMEOUT_MS) {
+            logger.info("[Ingestion] combat timeout ({}ms without events), ending fight", idleMs);
+            endFight();
+            return;
+        }
+        if (idleMs < EVENT_CLOCK_WATCHDOG_IDLE_MS) {
+            return;
+        }
+        if (eventTimeTicker.advanceTo(nowElapsedMs() + idleMs) > 0) {
+            watchdogElapsedMs = eventTimeTicker.nextTickMs() - EventTimeTicker.TICK_INTERVAL_MS;
+        }
+    }
+
+    /**
+     * work 안에서 처리하는 라인들의 엔진 이벤트를 모아서 {@link CombatEventPort#onEvents}로 한 번에 보낸다.
+     * 릴레이 배치나 최대 속도 재생처럼 라인이 몰려 올 때 엔진 락과 스냅샷을 묶음당 한 번으로 줄인다.
+     * 직업/소유자/플레이어 설정처럼 엔진에 직접 거는 호출 전에는 모은 이벤트를 먼저 보내서 순서를 지킨다.
+     */
+    public synchronized void runBatched(Runnable work) {
+        if (batchedEvents != null) {
+            work.run();
+            return;
+        }
+        batchedEvents = new ArrayList<>();
+        try {
+            work.run();
+        } finally {
+            flushBatchedEvents();
+            batchedEvents = null;
+        }
+    }
+
+    private void emit(CombatEvent event) {
+        if (batchedEvents != null) {
+            batchedEvents.add(event);
+            return;
+        }
+        combatEventPort.onEvent(event);
+    }
+
+    private void flushBatchedEvents() {
+        if (batchedEvents == null || batchedEvents.isEmpty()) {
+            return;
+        }
+        List<CombatEvent> pending = List.copyOf(batchedEvents);
+        batchedEvents.clear();
+        combatEventPort.onEvents(pending);
+    }
+
+    public synchronized void onParsed(ParsedLine line) {
+        if (eventTimeTicker != null && isFightStarted() && advancesEventClock(line)) {
+            // 이 라인보다 앞선 경계 틱을 먼저 낸다. 간격을 건너온 라인이 그 틱 스냅샷에 섞이지 않는다.
+            eventTimeTicker.advanceTo(Math.max(0L, line.tsMs() - fightStartMs) - 1);
+        }
+        applyParsed(line);
+        if (eventTimeTicker != null && line != null) {
+            lastEventWallNanos = System.nanoTime();
+            if (isFightStarted()) {
+                eventTimeTicker.advanceTo(nowElapsedMs());
+            }
+        }
+    }
+
+    /** applyParsed가 lastEventMs를 옮기는 라인인지 (상태 신호와 불투명 라인은 이벤트 시각을 옮기지 않는다) */
+    private static boolean advancesEventClock(ParsedLine line) {
+        return line != null && !(line instanceof OpaqueRawLine) && !(line instanceof DotStatusSignalRaw);
+    }
+
+    private void applyParsed(ParsedLine line) {
         if (line == null) return;
         if (line instanceof OpaqueRawLine) return;
 
         // Tick ???????????????????????????????????????????????????????곕춴????????????????????????????????????????????????????????????????????????????????????????????????????????????????????ACT ???????????????????????????????????????????????????⑤벡????????????????????????????
-        if (line.ts() != null && !(line instanceof DotStatusSignalRaw)) {
-            lastEventInstant = line.ts();
+        if (!(line instanceof DotStatusSignalRaw)) {
+            lastEventMs = line.tsMs();
         }
 
         if (line instanceof ZoneChanged z) {
@@ -269,26 +370,12 @@ public final class ActIngestionService {
             activeSelfBuffNamesByActor.clear();
             latestStatusSnapshotsByTarget.clear();
             recentStatusSignalsByTarget.clear();
-            dotAttributionModeCounts.clear();
-            dotAttributionAssignedAmountByKey.clear();
-            dotAttributionAssignedHitCountByKey.clear();
-            knownSourceTrackedTargetSplitProbeCountByKey.clear();
-            knownSourceTrackedTargetSplitProbeAmountByKey.clear();
-            knownSourceForeignOnlySplitProbeCountByKey.clear();
-            knownSourceForeignOnlySplitProbeAmountByKey.clear();
-            knownSourceTrackedTargetSplitAssignmentCountByKey.clear();
-            knownSourceTrackedTargetSplitAssignmentAmountByKey.clear();
-            status0SnapshotRedistributionDeferProbeCountByKey.clear();
-            status0SnapshotRedistributionDeferProbeAmountByKey.clear();
-            status0SnapshotRedistributionRecipientCountByKey.clear();
-            status0SnapshotRedistributionRecipientAmountByKey.clear();
-            knownSourceTrackedTargetSingleSourceBindingProbeCountByKey.clear();
-            knownSourceTrackedTargetSingleSourceBindingProbeAmountByKey.clear();
-            status0FallbackRecentExactSingleBindingProbeCountByKey.clear();
-            status0FallbackRecentExactSingleBindingProbeAmountByKey.clear();
+            oldestStatusSignalTsMs = Long.MAX_VALUE;
+            dotDiagnostics.clearFightScoped();
             recentTargetDeathAtByTargetId.clear();
             recentDotAttributionAssignments.clear();
             recentDotApplicationCloneCandidates.clear();
+            flushBatchedEvents();
             combatService.clearCombatantContext();
             pendingBoss = null;
             announcedBossId = null;
@@ -297,6 +384,7 @@ public final class ActIngestionService {
                 partyMemberIds.add(currentPlayerId);
                 if (currentPlayerJobId > 0) {
                     jobIdByActorId.put(currentPlayerId, currentPlayerJobId);
+                    flushBatchedEvents();
                     combatService.setJobId(new ActorId(currentPlayerId), currentPlayerJobId);
                 }
             }
@@ -327,10 +415,12 @@ public final class ActIngestionService {
             }
             if (currentPlayerJobId > 0) {
                 jobIdByActorId.put(p.playerId(), currentPlayerJobId);
+                flushBatchedEvents();
                 combatService.setJobId(new ActorId(p.playerId()), currentPlayerJobId);
             }
             // ?????????????????ID??CombatantAdded ?????PlayerStats???????????
             // ??????????????????????????????獄쏅챶留덌┼??????????????筌롈살젔??????????????????????븐뼐????????쑩?젆???????ㅻ쑋?????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????ID????????????????????????????????獄쏅챶留덌┼??????????????筌롈살젔??????????????????????븐뼐????????쑩?젆???????ㅻ쑋????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????
+            flushBatchedEvents();
             combatEventPort.setCurrentPlayerId(new ActorId(p.playerId()));
             logger.info("[Ingestion] current player set: id={} name={}", Long.toHexString(p.playerId()), p.playerName());
             return;
@@ -347,6 +437,7 @@ public final class ActIngestionService {
                 persistCurrentPlayerJob(currentPlayerId, currentPlayerName, stats.jobId());
                 if (currentPlayerId != 0) {
                     jobIdByActorId.put(currentPlayerId, stats.jobId());
+                    flushBatchedEvents();
                     combatService.setJobId(new ActorId(currentPlayerId), stats.jobId());
                 }
                 logger.info("[Ingestion] PlayerStats job updated: playerId={} jobId={} ({})",
@@ -376,9 +467,9 @@ public final class ActIngestionService {
         }
 
         if (line instanceof CombatantAdded c) {
-            logger.info("[Ingestion] CombatantAdded: name={}(id={}) jobId={} ownerId={} rawLine={}",
-                    c.name(), Long.toHexString(c.id()), Integer.toHexString(c.jobId()),
-                    Long.toHexString(c.ownerId()), c.rawLine());
+            trace.combatantAdded(c.id(), c.ownerId(), c.maxHp(), c.jobId());
+            logger.debug("[Ingestion] CombatantAdded: name={}(id={}) rawLine={}",
+                    c.name(), Long.toHexString(c.id()), c.rawLine());
             actorNameById.put(c.id(), c.name());
             boolean wasKnownPartyMember = partyMemberIds.contains(c.id());
 
@@ -386,12 +477,14 @@ public final class ActIngestionService {
             if (c.ownerId() != 0) {
                 ownerByCombatantId.put(c.id(), c.ownerId());
                 // core?????owner ??????????????????????????????????????????????????獄쏅챶留덌┼??????????????筌롈살젔??????????????????????븐뼐????????쑩?젆???????ㅻ쑋??????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????
+                flushBatchedEvents();
                 combatService.setOwner(new ActorId(c.id()), new ActorId(c.ownerId()));
             }
 
             // ???????????????????????????????????????????????????????????????????????????????????????????곕춴????????????????????????????????????????????????????????????????????????????????????? ???????????????????????????????????????⑤벡?????????????????????????????????????????????????????⑤벡????????????????????????????
             if (isPlayerCharacter(c.id())) {
                 jobIdByActorId.put(c.id(), c.jobId());
+                flushBatchedEvents();
                 combatService.setJobId(new ActorId(c.id()), c.jobId());  // core????????????????????????????????????????????????????????????????????????獄쏅챶留덌┼??????????????筌롈살젔??????????????????????븐뼐????????쑩?젆???????ㅻ쑋??????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????
                 persistKnownActorJob(c.id(), c.name(), c.jobId());
                 partyMemberIds.add(c.id());  // CombatData ?????????????????????????????????????곕춴????????????????????????????????????????????????????????????????????????⑤벡?????????????????????????????????????????????????????????????????????
@@ -406,6 +499,7 @@ public final class ActIngestionService {
                     currentPlayerId = c.id();
                     currentPlayerJobId = c.jobId();
                     persistCurrentPlayerJob(c.id(), c.name(), c.jobId());
+                    flushBatchedEvents();
                     combatEventPort.setCurrentPlayerId(new ActorId(c.id()));
                     logger.info("[Ingestion] CURRENT PLAYER detected: {}(id={}) jobId={} ({})",
                             c.name(), Long.toHexString(c.id()),
@@ -427,8 +521,8 @@ public final class ActIngestionService {
         }
 
         if (line instanceof CombatantStatusSnapshotRaw snapshot) {
-            onParsed(new CombatantAdded(
-                    snapshot.ts(),
+            applyParsed(new CombatantAdded(
+                    snapshot.tsMs(),
                     snapshot.actorId(),
                     snapshot.actorName(),
                     snapshot.jobId(),
@@ -438,7 +532,7 @@ public final class ActIngestionService {
                     snapshot.rawLine()
             ));
             noteStatusSnapshot(new StatusSnapshotRaw(
-                    snapshot.ts(),
+                    snapshot.tsMs(),
                     snapshot.actorId(),
                     snapshot.actorName(),
                     snapshot.statuses(),
@@ -496,8 +590,8 @@ public final class ActIngestionService {
         }
 
         if (line instanceof DamageText d) {
-            pendingDamageTexts.addLast(d);
-            pruneOldDamageTexts(d.ts());
+            pendingDamageTexts.add(d);
+            pendingDamageTexts.pruneOlderThan(d.tsMs());
             return;
         }
 
@@ -526,9 +620,9 @@ public final class ActIngestionService {
 
         if (line instanceof NetworkDeath d) {
             if (!fightStarted) return;
-            recentTargetDeathAtByTargetId.put(d.targetId(), d.ts());
+            recentTargetDeathAtByTargetId.put(d.targetId(), d.tsMs());
 
-            long tsMs = toElapsedMs(d.ts());
+            long tsMs = toElapsedMs(d.tsMs());
 
             // ???????????????????????????????????????⑤벡??????????????????????????????????????????????????????⑤벡?????????????????????????????????????????????????????????????????⑤벡?????????????????????????????椰?????????????????? ??????????????????????????????獄쏅챶留덌┼??????????????筌롈살젔??????????????????????븐뼐????????쑩?젆???????ㅻ쑋???????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????wipe ??????????????????????????????????????????
             if (effectivePartyMemberIds().contains(d.targetId())) {
@@ -539,7 +633,7 @@ public final class ActIngestionService {
                         deadPlayers.size(), partySizeForWipeCheck);
 
                 // core???????????????? ??????????????????????????????獄쏅챶留덌┼??????????????筌롈살젔??????????????????????븐뼐????????쑩?젆???????ㅻ쑋??????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????
-                combatEventPort.onEvent(new CombatEvent.ActorDeath(
+                emit(new CombatEvent.ActorDeath(
                         tsMs,
                         new ActorId(d.targetId()),
                         d.targetName()
@@ -613,20 +707,20 @@ public final class ActIngestionService {
             return;
         }
 
-        pruneExpiredUnknownStatusDotApplications(ability.ts());
+        pruneExpiredUnknownStatusDotApplications(ability.tsMs());
         unknownStatusDotApplications.put(
                 new UnknownStatusDotAttributionResolver.DotKey(ability.actorId(), ability.targetId()),
-                new UnknownStatusDotAttributionResolver.DotApplication(ability.skillId(), ability.ts())
+                new UnknownStatusDotAttributionResolver.DotApplication(ability.skillId(), ability.tsMs())
         );
         unknownStatusDotApplicationsBySource.put(
                 ability.actorId(),
-                new UnknownStatusDotAttributionResolver.DotApplication(ability.skillId(), ability.ts())
+                new UnknownStatusDotAttributionResolver.DotApplication(ability.skillId(), ability.tsMs())
         );
         unknownStatusDotActionEvidenceBySource.put(
                 ability.actorId(),
                 new SourceDotEvidence(
                         ability.skillId(),
-                        ability.ts(),
+                        ability.tsMs(),
                         ability.targetId(),
                         ability.targetName()
                 )
@@ -652,20 +746,20 @@ public final class ActIngestionService {
             return;
         }
 
-        pruneExpiredUnknownStatusDotApplications(buffApply.ts());
+        pruneExpiredUnknownStatusDotApplications(buffApply.tsMs());
         unknownStatusDotStatusApplications.put(
                 new UnknownStatusDotAttributionResolver.DotKey(buffApply.sourceId(), buffApply.targetId()),
-                new UnknownStatusDotAttributionResolver.DotApplication(buffApply.statusId(), buffApply.ts())
+                new UnknownStatusDotAttributionResolver.DotApplication(buffApply.statusId(), buffApply.tsMs())
         );
         unknownStatusDotStatusApplicationsBySource.put(
                 buffApply.sourceId(),
-                new UnknownStatusDotAttributionResolver.DotApplication(buffApply.statusId(), buffApply.ts())
+                new UnknownStatusDotAttributionResolver.DotApplication(buffApply.statusId(), buffApply.tsMs())
         );
         unknownStatusDotStatusEvidenceBySource.put(
                 buffApply.sourceId(),
                 new SourceDotEvidence(
                         buffApply.statusId(),
-                        buffApply.ts(),
+                        buffApply.tsMs(),
                         buffApply.targetId(),
                         buffApply.targetName()
                 )
@@ -673,7 +767,7 @@ public final class ActIngestionService {
     }
 
     private void noteDotStatusSignal(DotStatusSignalRaw signal) {
-        pruneExpiredUnknownStatusDotApplications(signal.ts());
+        pruneExpiredUnknownStatusDotApplications(signal.tsMs());
         for (DotStatusSignalRaw.StatusSignal statusSignal : signal.signals()) {
             int statusId = statusSignal.statusId();
             if (toTrackedDotActionId(statusId) == 0) {
@@ -690,7 +784,7 @@ public final class ActIngestionService {
             }
 
             UnknownStatusDotAttributionResolver.DotApplication application =
-                    new UnknownStatusDotAttributionResolver.DotApplication(statusId, signal.ts());
+                    new UnknownStatusDotAttributionResolver.DotApplication(statusId, signal.tsMs());
             unknownStatusDotStatusApplications.put(
                     new UnknownStatusDotAttributionResolver.DotKey(sourceId, signal.targetId()),
                     application
@@ -700,16 +794,17 @@ public final class ActIngestionService {
                     sourceId,
                     new SourceDotEvidence(
                             statusId,
-                            signal.ts(),
+                            signal.tsMs(),
                             signal.targetId(),
                             actorNameById.getOrDefault(signal.targetId(), "")
                     )
             );
-            recentStatusSignalsByTarget
-                    .computeIfAbsent(signal.targetId(), ignored -> new ArrayDeque<>())
-                    .addLast(new StatusSignalEvidence(signal.ts(), sourceId, toTrackedDotActionId(statusId)));
+            Deque<StatusSignalEvidence> targetSignals = recentStatusSignalsByTarget
+                    .computeIfAbsent(signal.targetId(), ignored -> new ArrayDeque<>());
+            targetSignals.addLast(new StatusSignalEvidence(signal.tsMs(), sourceId, toTrackedDotActionId(statusId)));
+            oldestStatusSignalTsMs = Math.min(oldestStatusSignalTsMs, targetSignals.peekFirst().tsMs());
         }
-        pruneExpiredStatusSignals(signal.ts());
+        pruneExpiredStatusSignals(signal.tsMs());
     }
 
     private void trackActiveDot(BuffApplyRaw buffApply) {
@@ -729,18 +824,14 @@ public final class ActIngestionService {
             return;
         }
 
-        pruneExpiredTrackedDots(buffApply.ts());
-        activeTargetDots
-                .computeIfAbsent(buffApply.targetId(), ignored -> new HashMap<>())
-                .put(
-                        new TrackedDotKey(buffApply.sourceId(), trackedActionId),
-                        new TrackedDotState(
-                                buffApply.sourceId(),
-                                buffApply.sourceName(),
-                                trackedActionId,
-                                buffApply.ts().plusMillis(durationMs)
-                        )
-                );
+        pruneExpiredTrackedDots(buffApply.tsMs());
+        activeTargetDots.put(
+                buffApply.targetId(),
+                buffApply.sourceId(),
+                buffApply.sourceName(),
+                trackedActionId,
+                buffApply.tsMs() + durationMs
+        );
     }
 
     private void untrackActiveDot(BuffRemoveRaw buffRemove) {
@@ -748,24 +839,13 @@ public final class ActIngestionService {
         if (trackedActionId == 0) {
             return;
         }
-        Map<TrackedDotKey, TrackedDotState> targetDots = activeTargetDots.get(buffRemove.targetId());
-        if (targetDots == null) {
-            return;
-        }
-        targetDots.remove(new TrackedDotKey(buffRemove.sourceId(), trackedActionId));
-        if (targetDots.isEmpty()) {
-            activeTargetDots.remove(buffRemove.targetId());
-        }
+        activeTargetDots.remove(buffRemove.targetId(), buffRemove.sourceId(), trackedActionId);
     }
 
-    private void pruneExpiredTrackedDots(Instant now) {
-        Iterator<Map.Entry<Long, Map<TrackedDotKey, TrackedDotState>>> targetIterator = activeTargetDots.entrySet().iterator();
-        while (targetIterator.hasNext()) {
-            Map<TrackedDotKey, TrackedDotState> targetDots = targetIterator.next().getValue();
-            targetDots.values().removeIf(dot -> !dot.expiresAt().isAfter(now));
-            if (targetDots.isEmpty()) {
-                targetIterator.remove();
-            }
+    private void pruneExpiredTrackedDots(long now) {
+        boolean removedTarget = activeTargetDots.pruneExpired(now);
+        if (removedTarget && currentDotTick != null) {
+            currentDotTick.activeTargets = -1L;
         }
     }
 
@@ -789,41 +869,111 @@ public final class ActIngestionService {
         if (weights.isEmpty()) {
             return;
         }
-        latestStatusSnapshotsByTarget.put(snapshot.actorId(), new StatusSnapshotState(snapshot.ts(), Map.copyOf(weights)));
+        latestStatusSnapshotsByTarget.put(snapshot.actorId(), new StatusSnapshotState(snapshot.tsMs(), Map.copyOf(weights)));
     }
 
     private List<TrackedDotState> resolveTrackedTargetDots(DotTickRaw dot) {
+        DotTick tick = dotTickFor(dot);
+        return tick != null ? tick.trackedDots() : computeTrackedTargetDots(dot);
+    }
+
+    private List<TrackedDotState> computeTrackedTargetDots(DotTickRaw dot) {
         if (dot.statusId() != 0 || isFriendlyTarget(dot.targetId())) {
             return List.of();
         }
-        pruneExpiredTrackedDots(dot.ts());
-        Map<TrackedDotKey, TrackedDotState> targetDots = activeTargetDots.get(dot.targetId());
-        if (targetDots == null || targetDots.isEmpty()) {
-            return List.of();
-        }
-        return targetDots.values().stream()
-                .filter(dotState -> isPartyMember(dotState.sourceId()))
-                .sorted(Comparator.comparingLong(TrackedDotState::sourceId).thenComparingInt(TrackedDotState::actionId))
-                .toList();
+        pruneExpiredTrackedDots(dot.tsMs());
+        return collectTrackedDots(dot.targetId(), ANY_SOURCE);
     }
 
     private List<TrackedDotState> resolveTrackedSourceDots(DotTickRaw dot) {
+        DotTick tick = dotTickFor(dot);
+        return tick != null ? tick.sourceTrackedDots() : computeTrackedSourceDots(dot);
+    }
+
+    private List<TrackedDotState> computeTrackedSourceDots(DotTickRaw dot) {
         if (dot.statusId() != 0 || isFriendlyTarget(dot.targetId())) {
             return List.of();
         }
-        pruneExpiredTrackedDots(dot.ts());
-        Map<TrackedDotKey, TrackedDotState> targetDots = activeTargetDots.get(dot.targetId());
-        if (targetDots == null || targetDots.isEmpty()) {
+        pruneExpiredTrackedDots(dot.tsMs());
+        return collectTrackedDots(dot.targetId(), dot.sourceId());
+    }
+
+    /** 대상에 걸린 파티원 DoT를 (시전자, 액션) 순으로. sourceId가 ANY_SOURCE가 아니면 그 시전자 것만 */
+    private List<TrackedDotState> collectTrackedDots(long targetId, long sourceId) {
+        int selected = activeTargetDots.select(targetId, sourceId);
+        TrackedDotState[] dots = null;
+        int count = 0;
+        for (int i = 0; i < selected; i++) {
+            int row = activeTargetDots.selectedRow(i);
+            long rowSourceId = activeTargetDots.sourceAt(row);
+            if (!isPartyMember(rowSourceId)) {
+                continue;
+            }
+            if (dots == null) {
+                dots = new TrackedDotState[selected];
+            }
+            dots[count++] = new TrackedDotState(
+                    rowSourceId,
+                    activeTargetDots.sourceNameAt(row),
+                    activeTargetDots.actionAt(row),
+                    activeTargetDots.expiresAtMs(row)
+            );
+        }
+        if (dots == null) {
             return List.of();
         }
-        return targetDots.values().stream()
-                .filter(dotState -> dotState.sourceId() == dot.sourceId())
-                .filter(dotState -> isPartyMember(dotState.sourceId()))
-                .sorted(Comparator.comparingLong(TrackedDotState::sourceId).thenComparingInt(TrackedDotState::actionId))
-                .toList();
+        return List.of(count == selected ? dots : Arrays.copyOf(dots, count));
+    }
+
+    /** 목록에서 excludedSourceId가 아닌 서로 다른 시전자 수. ANY_SOURCE면 모두 센다 */
+    private static int countDistinctSources(List<TrackedDotState> dots, long excludedSourceId) {
+        int count = 0;
+        for (int i = 0; i < dots.size(); i++) {
+            long sourceId = dots.get(i).sourceId();
+            if (sourceId != excludedSourceId && !hasEarlierSource(dots, i, sourceId)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** 목록에서 excludedSourceId가 아닌 시전자의 서로 다른 액션 수. ANY_SOURCE면 모두 센다 */
+    private static int countDistinctActions(List<TrackedDotState> dots, long excludedSourceId) {
+        int count = 0;
+        for (int i = 0; i < dots.size(); i++) {
+            TrackedDotState dot = dots.get(i);
+            if (dot.sourceId() != excludedSourceId && !hasEarlierAction(dots, i, dot.actionId(), excludedSourceId)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static boolean hasEarlierSource(List<TrackedDotState> dots, int end, long sourceId) {
+        for (int i = 0; i < end; i++) {
+            if (dots.get(i).sourceId() == sourceId) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasEarlierAction(List<TrackedDotState> dots, int end, int actionId, long excludedSourceId) {
+        for (int i = 0; i < end; i++) {
+            TrackedDotState dot = dots.get(i);
+            if (dot.actionId() == actionId && dot.sourceId() != excludedSourceId) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private List<SnapshotRedistributedDot> resolveSnapshotRedistribution(DotTickRaw dot) {
+        DotTick tick = dotTickFor(dot);
+        return tick != null ? tick.snapshotRedistribution() : computeSnapshotRedistribution(dot);
+    }
+
+    private List<SnapshotRedistributedDot> computeSnapshotRedistribution(DotTickRaw dot) {
         if (dot.statusId() != 0 || isFriendlyTarget(dot.targetId())) {
             return List.of();
         }
@@ -837,7 +987,7 @@ public final class ActIngestionService {
         if (snapshot == null) {
             return List.of();
         }
-        if (Duration.between(snapshot.ts(), dot.ts()).abs().compareTo(STATUS_SNAPSHOT_REDISTRIBUTION_WINDOW) > 0) {
+        if (Math.abs(dot.tsMs() - snapshot.tsMs()) > STATUS_SNAPSHOT_REDISTRIBUTION_WINDOW_MS) {
             return List.of();
         }
 
@@ -881,9 +1031,8 @@ public final class ActIngestionService {
             return new SnapshotRedistributionWeights("empty", Map.of());
         }
 
-        pruneExpiredTrackedDots(dot.ts());
-        Map<TrackedDotKey, TrackedDotState> activeDots = activeTargetDots.get(dot.targetId());
-        if (activeDots == null || activeDots.isEmpty()) {
+        pruneExpiredTrackedDots(dot.tsMs());
+        if (!activeTargetDots.hasTarget(dot.targetId())) {
             return new SnapshotRedistributionWeights("fallback_no_active", fallbackWeights);
         }
         boolean suppressUnknownMultiTargetFallback = shouldSuppressUnknownMultiTargetFallback(dot);
@@ -895,8 +1044,9 @@ public final class ActIngestionService {
 
         Map<TrackedDotKey, Double> activeWeights = new HashMap<>();
         for (Map.Entry<TrackedDotKey, Double> entry : fallbackWeights.entrySet()) {
-            if (activeDots.containsKey(entry.getKey())) {
-                activeWeights.put(entry.getKey(), entry.getValue());
+            TrackedDotKey key = entry.getKey();
+            if (activeTargetDots.contains(dot.targetId(), key.sourceId(), key.actionId())) {
+                activeWeights.put(key, entry.getValue());
             }
         }
         if (suppressUnknownMultiTargetFallback && !activeWeights.isEmpty()) {
@@ -938,7 +1088,7 @@ public final class ActIngestionService {
 
         StatusSnapshotState snapshot = latestStatusSnapshotsByTarget.get(dot.targetId());
         if (snapshot == null
-                || Duration.between(snapshot.ts(), dot.ts()).abs().compareTo(STATUS_SNAPSHOT_REDISTRIBUTION_WINDOW) > 0) {
+                || Math.abs(dot.tsMs() - snapshot.tsMs()) > STATUS_SNAPSHOT_REDISTRIBUTION_WINDOW_MS) {
             return List.of();
         }
 
@@ -987,7 +1137,7 @@ public final class ActIngestionService {
         }
         StatusSnapshotState snapshot = latestStatusSnapshotsByTarget.get(dot.targetId());
         if (snapshot == null
-                || Duration.between(snapshot.ts(), dot.ts()).abs().compareTo(STATUS_SNAPSHOT_REDISTRIBUTION_WINDOW) > 0) {
+                || Math.abs(dot.tsMs() - snapshot.tsMs()) > STATUS_SNAPSHOT_REDISTRIBUTION_WINDOW_MS) {
             return List.of();
         }
         List<StatusZeroDotAllocationPlanner.Candidate> candidates = trackedSubset.stream()
@@ -1088,6 +1238,13 @@ public final class ActIngestionService {
     }
 
     private boolean shouldSuppressKnownSourceGuidMissingMultiTargetFallback(DotTickRaw dot) {
+        DotTick tick = dotTickFor(dot);
+        return tick != null
+                ? tick.suppressKnownSourceGuidMissingFallback()
+                : computeSuppressKnownSourceGuidMissingMultiTargetFallback(dot);
+    }
+
+    private boolean computeSuppressKnownSourceGuidMissingMultiTargetFallback(DotTickRaw dot) {
         if (dot.sourceId() == 0 || dot.sourceId() == UNKNOWN_ACTOR_ID || !isPartyMember(dot.sourceId())) {
             return false;
         }
@@ -1323,11 +1480,7 @@ public final class ActIngestionService {
             ), dot.damage());
             return List.of();
         }
-        long foreignSourceCount = trackedDots.stream()
-                .map(TrackedDotState::sourceId)
-                .filter(sourceId -> sourceId != dot.sourceId())
-                .distinct()
-                .count();
+        long foreignSourceCount = countDistinctSources(trackedDots, dot.sourceId());
         long foreignActionCount = trackedDots.stream()
                 .map(TrackedDotState::actionId)
                 .filter(actionId -> actionId != recentSourceActionId)
@@ -1417,8 +1570,8 @@ public final class ActIngestionService {
         if (actionEvidence == null || statusEvidence == null) {
             return false;
         }
-        Instant cutoff = dot.ts().minusMillis(KNOWN_SOURCE_STALE_OTHER_TARGET_WINDOW_MS);
-        if (actionEvidence.appliedAt().isAfter(cutoff) || statusEvidence.appliedAt().isAfter(cutoff)) {
+        long cutoff = dot.tsMs() - KNOWN_SOURCE_STALE_OTHER_TARGET_WINDOW_MS;
+        if (actionEvidence.appliedAtMs() > cutoff || statusEvidence.appliedAtMs() > cutoff) {
             return false;
         }
         if (actionEvidence.targetId() == dot.targetId() || statusEvidence.targetId() == dot.targetId()) {
@@ -1516,8 +1669,8 @@ public final class ActIngestionService {
                     -1.0
             );
         }
-        Instant recentCutoff = dot.ts().minusMillis(KNOWN_SOURCE_STALE_OTHER_TARGET_WINDOW_MS);
-        if (actionEvidence.appliedAt().isBefore(recentCutoff) || statusEvidence.appliedAt().isBefore(recentCutoff)) {
+        long recentCutoff = dot.tsMs() - KNOWN_SOURCE_STALE_OTHER_TARGET_WINDOW_MS;
+        if (actionEvidence.appliedAtMs() < recentCutoff || statusEvidence.appliedAtMs() < recentCutoff) {
             return KnownSourceForeignDominanceDecision.notSuppressed(
                     "stale_evidence",
                     trackedTargetCount,
@@ -1619,71 +1772,39 @@ public final class ActIngestionService {
             KnownSourceForeignDominanceDecision decision,
             long amount
     ) {
-        String key = "reason=" + decision.reason()
-                + "|suppressed=" + decision.suppress()
-                + "|trackedTargets=" + cardinalityBucket(decision.trackedTargetCount(), 4)
-                + "|sourceTracked=" + cardinalityBucket(decision.sourceTrackedCount(), 3)
-                + "|activeTargets=" + cardinalityBucket(decision.activeTargetCount(), 4)
-                + "|sourceShare=" + ratioBucket(decision.foreignSourceShare())
-                + "|actionShare=" + ratioBucket(decision.foreignActionShare())
-                + "|score=" + ratioBucket(decision.foreignDominanceScore());
-        knownSourceTrackedTargetSplitProbeCountByKey.merge(key, 1L, Long::sum);
-        if (amount > 0) {
-            knownSourceTrackedTargetSplitProbeAmountByKey.merge(key, amount, Long::sum);
+        if (!dotDiagnostics.enabled()) {
+            return;
         }
+        dotDiagnostics.key(DotAttributionDiagnostics.Dimension.KNOWN_SOURCE_TRACKED_TARGET_SPLIT_PROBE)
+                .label(decision.reason())
+                .flag(decision.suppress())
+                .count(decision.trackedTargetCount())
+                .count(decision.sourceTrackedCount())
+                .count(decision.activeTargetCount())
+                .ratio(decision.foreignSourceShare())
+                .ratio(decision.foreignActionShare())
+                .ratio(decision.foreignDominanceScore())
+                .record(amount);
     }
 
     private void recordKnownSourceForeignOnlySplitProbe(
             KnownSourceForeignOnlySplitDecision decision,
             long amount
     ) {
-        String key = "split=" + decision.splitType()
-                + "|reason=" + decision.reason()
-                + "|included=" + decision.included()
-                + "|trackedTargets=" + cardinalityBucket(decision.trackedTargetCount(), 4)
-                + "|sourceTracked=" + cardinalityBucket(decision.sourceTrackedCount(), 3)
-                + "|activeTargets=" + cardinalityBucket(decision.activeTargetCount(), 4)
-                + "|foreignCandidates=" + cardinalityBucket(decision.foreignCandidateCount(), 4)
-                + "|source=" + sourceBucket(decision.sourceId())
-                + "|sourceAction=" + actionBucket(decision.sourceActionId());
-        knownSourceForeignOnlySplitProbeCountByKey.merge(key, 1L, Long::sum);
-        if (amount > 0) {
-            knownSourceForeignOnlySplitProbeAmountByKey.merge(key, amount, Long::sum);
-        }
-    }
-
-    private String sourceBucket(long sourceId) {
-        if (sourceId <= 0 || sourceId == UNKNOWN_ACTOR_ID) {
-            return "na";
-        }
-        return Long.toHexString(sourceId).toUpperCase(Locale.ROOT);
-    }
-
-    private String actionBucket(int actionId) {
-        if (actionId <= 0) {
-            return "na";
-        }
-        return Integer.toHexString(actionId).toUpperCase(Locale.ROOT);
-    }
-
-    private String cardinalityBucket(int value, int top) {
-        if (value <= 0) {
-            return "0";
-        }
-        if (value >= top) {
-            return top + "+";
-        }
-        return Integer.toString(value);
-    }
-
-    private String ratioBucket(double value) {
-        if (value < 0.0) {
-            return "na";
+        if (!dotDiagnostics.enabled()) {
+            return;
         }
-        double clamped = Math.max(0.0, Math.min(1.0, value));
-        double floor = Math.floor(clamped * 10.0) / 10.0;
-        double ceil = Math.min(1.0, floor + 0.1);
-        return String.format(Locale.ROOT, "%.1f-%.1f", floor, ceil);
+        dotDiagnostics.key(DotAttributionDiagnostics.Dimension.KNOWN_SOURCE_FOREIGN_ONLY_SPLIT_PROBE)
+                .label(decision.splitType())
+                .label(decision.reason())
+                .flag(decision.included())
+                .count(decision.trackedTargetCount())
+                .count(decision.sourceTrackedCount())
+                .count(decision.activeTargetCount())
+                .count(decision.foreignCandidateCount())
+                .source(decision.sourceId())
+                .action(decision.sourceActionId())
+                .record(amount);
     }
 
     private double computeKnownSourceForeignDominanceScore(
@@ -1719,24 +1840,10 @@ public final class ActIngestionService {
         SourceDotEvidence actionEvidence = unknownStatusDotActionEvidenceBySource.get(dot.sourceId());
         SourceDotEvidence statusEvidence = unknownStatusDotStatusEvidenceBySource.get(dot.sourceId());
 
-        long foreignSourceCount = trackedDots.stream()
-                .map(TrackedDotState::sourceId)
-                .filter(sourceId -> sourceId != dot.sourceId())
-                .distinct()
-                .count();
-        long distinctSourceCount = trackedDots.stream()
-                .map(TrackedDotState::sourceId)
-                .distinct()
-                .count();
-        long foreignActionCount = trackedDots.stream()
-                .filter(trackedDot -> trackedDot.sourceId() != dot.sourceId())
-                .map(TrackedDotState::actionId)
-                .distinct()
-                .count();
-        long distinctActionCount = trackedDots.stream()
-                .map(TrackedDotState::actionId)
-                .distinct()
-                .count();
+        long foreignSourceCount = countDistinctSources(trackedDots, dot.sourceId());
+        long distinctSourceCount = countDistinctSources(trackedDots, ANY_SOURCE);
+        long foreignActionCount = countDistinctActions(trackedDots, dot.sourceId());
+        long distinctActionCount = countDistinctActions(trackedDots, ANY_SOURCE);
 
         return new KnownSourceTrackedTargetSplitFeatures(
                 true,
@@ -1753,9 +1860,12 @@ public final class ActIngestionService {
     }
 
     private long countTrackedTargetsWithActiveDots() {
-        return activeTargetDots.values().stream()
-                .filter(states -> states != null && !states.isEmpty())
-                .count();
+        DotTick tick = currentDotTick;
+        return tick != null ? tick.activeTargets() : computeTrackedTargetsWithActiveDots();
+    }
+
+    private long computeTrackedTargetsWithActiveDots() {
+        return activeTargetDots.activeTargetCount();
     }
 
     private Map<TrackedDotKey, Double> selectKnownSourceWeights(
@@ -1804,16 +1914,16 @@ public final class ActIngestionService {
         if (baseWeights.isEmpty()) {
             return baseWeights;
         }
-        pruneExpiredStatusSignals(dot.ts());
+        pruneExpiredStatusSignals(dot.tsMs());
         Deque<StatusSignalEvidence> targetSignals = recentStatusSignalsByTarget.get(dot.targetId());
         if (targetSignals == null || targetSignals.isEmpty()) {
             return baseWeights;
         }
 
-        Instant cutoff = dot.ts().minus(STATUS_SIGNAL_REDISTRIBUTION_WINDOW);
+        long cutoff = dot.tsMs() - STATUS_SIGNAL_REDISTRIBUTION_WINDOW_MS;
         Map<TrackedDotKey, Integer> signalCounts = new HashMap<>();
         for (StatusSignalEvidence signal : targetSignals) {
-            if (signal.ts().isBefore(cutoff) || signal.ts().isAfter(dot.ts())) {
+            if (signal.tsMs() < cutoff || signal.tsMs() > dot.tsMs()) {
                 continue;
             }
             TrackedDotKey key = new TrackedDotKey(signal.sourceId(), signal.actionId());
@@ -1884,28 +1994,35 @@ public final class ActIngestionService {
         }
     }
 
-    private void pruneExpiredUnknownStatusDotApplications(Instant now) {
-        Instant cutoff = now.minusMillis(UNKNOWN_STATUS_DOT_WINDOW_MS);
-        unknownStatusDotApplications.entrySet().removeIf(entry -> entry.getValue().appliedAt().isBefore(cutoff));
-        unknownStatusDotStatusApplications.entrySet().removeIf(entry -> entry.getValue().appliedAt().isBefore(cutoff));
-        unknownStatusDotApplicationsBySource.entrySet().removeIf(entry -> entry.getValue().appliedAt().isBefore(cutoff));
-        unknownStatusDotStatusApplicationsBySource.entrySet().removeIf(entry -> entry.getValue().appliedAt().isBefore(cutoff));
-        unknownStatusDotActionEvidenceBySource.entrySet().removeIf(entry -> entry.getValue().appliedAt().isBefore(cutoff));
-        unknownStatusDotStatusEvidenceBySource.entrySet().removeIf(entry -> entry.getValue().appliedAt().isBefore(cutoff));
+    private void pruneExpiredUnknownStatusDotApplications(long now) {
+        long cutoff = now - UNKNOWN_STATUS_DOT_WINDOW_MS;
+        unknownStatusDotApplications.entrySet().removeIf(entry -> entry.getValue().appliedAtMs() < cutoff);
+        unknownStatusDotStatusApplications.entrySet().removeIf(entry -> entry.getValue().appliedAtMs() < cutoff);
+        unknownStatusDotApplicationsBySource.entrySet().removeIf(entry -> entry.getValue().appliedAtMs() < cutoff);
+        unknownStatusDotStatusApplicationsBySource.entrySet().removeIf(entry -> entry.getValue().appliedAtMs() < cutoff);
+        unknownStatusDotActionEvidenceBySource.entrySet().removeIf(entry -> entry.getValue().appliedAtMs() < cutoff);
+        unknownStatusDotStatusEvidenceBySource.entrySet().removeIf(entry -> entry.getValue().appliedAtMs() < cutoff);
     }
 
-    private void pruneExpiredStatusSignals(Instant now) {
-        Instant cutoff = now.minusMillis(UNKNOWN_STATUS_DOT_WINDOW_MS);
+    private void pruneExpiredStatusSignals(long now) {
+        long cutoff = now - UNKNOWN_STATUS_DOT_WINDOW_MS;
+        if (cutoff <= oldestStatusSignalTsMs) {
+            return;
+        }
+        long oldest = Long.MAX_VALUE;
         Iterator<Map.Entry<Long, Deque<StatusSignalEvidence>>> iterator = recentStatusSignalsByTarget.entrySet().iterator();
         while (iterator.hasNext()) {
             Deque<StatusSignalEvidence> signals = iterator.next().getValue();
-            while (!signals.isEmpty() && signals.peekFirst().ts().isBefore(cutoff)) {
+            while (!signals.isEmpty() && signals.peekFirst().tsMs() < cutoff) {
                 signals.removeFirst();
             }
             if (signals.isEmpty()) {
                 iterator.remove();
+            } else {
+                oldest = Math.min(oldest, signals.peekFirst().tsMs());
             }
         }
+        oldestStatusSignalTsMs = oldest;
     }
 
     int resolveDotActionId(DotTickRaw dot) {
@@ -1928,7 +2045,15 @@ public final class ActIngestionService {
     }
 
     private Integer resolveCorroboratedTrackedUnknownStatusDotActionId(DotTickRaw dot, long windowMs) {
-        pruneExpiredUnknownStatusDotApplications(dot.ts());
+        DotTick tick = dotTickFor(dot);
+        if (tick != null && windowMs == CORROBORATED_KNOWN_SOURCE_WINDOW_MS) {
+            return tick.corroboratedKnownSourceActionId();
+        }
+        return computeCorroboratedTrackedUnknownStatusDotActionId(dot, windowMs);
+    }
+
+    private Integer computeCorroboratedTrackedUnknownStatusDotActionId(DotTickRaw dot, long windowMs) {
+        pruneExpiredUnknownStatusDotApplications(dot.tsMs());
         return unknownStatusDotAttributionResolver.resolveCorroboratedActionId(
                 dot,
                 unknownStatusDotApplications,
@@ -1939,7 +2064,7 @@ public final class ActIngestionService {
     }
 
     private Integer resolveTrackedUnknownStatusDotStatusId(DotTickRaw dot) {
-        pruneExpiredUnknownStatusDotApplications(dot.ts());
+        pruneExpiredUnknownStatusDotApplications(dot.tsMs());
         Integer resolved = unknownStatusDotAttributionResolver.resolveTrackedStatusActionId(
                 dot,
                 unknownStatusDotStatusApplications,
@@ -1961,90 +2086,90 @@ public final class ActIngestionService {
     }
 
     Map<String, Long> debugDotAttributionModeCounts() {
-        return Map.copyOf(dotAttributionModeCounts);
+        return dotDiagnostics.counts(DotAttributionDiagnostics.Dimension.DOT_ATTRIBUTION_MODE);
     }
 
     Map<String, Long> debugDotAttributionAssignedAmounts() {
-        return Map.copyOf(dotAttributionAssignedAmountByKey);
+        return dotDiagnostics.amounts(DotAttributionDiagnostics.Dimension.DOT_ATTRIBUTION_ASSIGNED);
     }
 
     Map<String, Long> debugDotAttributionAssignedHitCounts() {
-        return Map.copyOf(dotAttributionAssignedHitCountByKey);
+        return dotDiagnostics.counts(DotAttributionDiagnostics.Dimension.DOT_ATTRIBUTION_ASSIGNED);
     }
 
     Map<String, Long> debugDotAttributionEmittedAmounts() {
-        return Map.copyOf(dotAttributionEmittedAmountByKey);
+        return dotDiagnostics.amounts(DotAttributionDiagnostics.Dimension.DOT_ATTRIBUTION_EMITTED);
     }
 
     Map<String, Long> debugDotAttributionEmittedHitCounts() {
-        return Map.copyOf(dotAttributionEmittedHitCountByKey);
+        return dotDiagnostics.counts(DotAttributionDiagnostics.Dimension.DOT_ATTRIBUTION_EMITTED);
     }
 
     Map<String, Long> debugKnownSourceTrackedTargetSplitProbeCounts() {
-        return Map.copyOf(knownSourceTrackedTargetSplitProbeCountByKey);
+        return dotDiagnostics.counts(DotAttributionDiagnostics.Dimension.KNOWN_SOURCE_TRACKED_TARGET_SPLIT_PROBE);
     }
 
     Map<String, Long> debugKnownSourceTrackedTargetSplitProbeAmounts() {
-        return Map.copyOf(knownSourceTrackedTargetSplitProbeAmountByKey);
+        return dotDiagnostics.amounts(DotAttributionDiagnostics.Dimension.KNOWN_SOURCE_TRACKED_TARGET_SPLIT_PROBE);
     }
 
     Map<String, Long> debugKnownSourceForeignOnlySplitProbeCounts() {
-        return Map.copyOf(knownSourceForeignOnlySplitProbeCountByKey);
+        return dotDiagnostics.counts(DotAttributionDiagnostics.Dimension.KNOWN_SOURCE_FOREIGN_ONLY_SPLIT_PROBE);
     }
 
     Map<String, Long> debugKnownSourceForeignOnlySplitProbeAmounts() {
-        return Map.copyOf(knownSourceForeignOnlySplitProbeAmountByKey);
+        return dotDiagnostics.amounts(DotAttributionDiagnostics.Dimension.KNOWN_SOURCE_FOREIGN_ONLY_SPLIT_PROBE);
     }
 
     Map<String, Long> debugKnownSourceTrackedTargetSplitAssignmentCounts() {
-        return Map.copyOf(knownSourceTrackedTargetSplitAssignmentCountByKey);
+        return dotDiagnostics.counts(DotAttributionDiagnostics.Dimension.KNOWN_SOURCE_TRACKED_TARGET_SPLIT_ASSIGNMENT);
     }
 
     Map<String, Long> debugKnownSourceTrackedTargetSplitAssignmentAmounts() {
-        return Map.copyOf(knownSourceTrackedTargetSplitAssignmentAmountByKey);
+        return dotDiagnostics.amounts(DotAttributionDiagnostics.Dimension.KNOWN_SOURCE_TRACKED_TARGET_SPLIT_ASSIGNMENT);
     }
 
     Map<String, Long> debugStatus0SnapshotRedistributionDeferProbeCounts() {
-        return Map.copyOf(status0SnapshotRedistributionDeferProbeCountByKey);
+        return dotDiagnostics.counts(DotAttributionDiagnostics.Dimension.STATUS0_SNAPSHOT_REDISTRIBUTION_DEFER_PROBE);
     }
 
     Map<String, Long> debugStatus0SnapshotRedistributionDeferProbeAmounts() {
-        return Map.copyOf(status0SnapshotRedistributionDeferProbeAmountByKey);
+        return dotDiagnostics.amounts(DotAttributionDiagnostics.Dimension.STATUS0_SNAPSHOT_REDISTRIBUTION_DEFER_PROBE);
     }
 
     Map<String, Long> debugStatus0SnapshotRedistributionRecipientCounts() {
-        return Map.copyOf(status0SnapshotRedistributionRecipientCountByKey);
+        return dotDiagnostics.counts(DotAttributionDiagnostics.Dimension.STATUS0_SNAPSHOT_REDISTRIBUTION_RECIPIENT);
     }
 
     Map<String, Long> debugStatus0SnapshotRedistributionRecipientAmounts() {
-        return Map.copyOf(status0SnapshotRedistributionRecipientAmountByKey);
+        return dotDiagnostics.amounts(DotAttributionDiagnostics.Dimension.STATUS0_SNAPSHOT_REDISTRIBUTION_RECIPIENT);
     }
 
     Map<String, Long> debugKnownSourceTrackedTargetSingleSourceBindingProbeCounts() {
-        return Map.copyOf(knownSourceTrackedTargetSingleSourceBindingProbeCountByKey);
+        return dotDiagnostics.counts(DotAttributionDiagnostics.Dimension.KNOWN_SOURCE_TRACKED_TARGET_SINGLE_SOURCE_BINDING_PROBE);
     }
 
     Map<String, Long> debugKnownSourceTrackedTargetSingleSourceBindingProbeAmounts() {
-        return Map.copyOf(knownSourceTrackedTargetSingleSourceBindingProbeAmountByKey);
+        return dotDiagnostics.amounts(DotAttributionDiagnostics.Dimension.KNOWN_SOURCE_TRACKED_TARGET_SINGLE_SOURCE_BINDING_PROBE);
     }
 
     Map<String, Long> debugStatus0FallbackRecentExactSingleBindingProbeCounts() {
-        return Map.copyOf(status0FallbackRecentExactSingleBindingProbeCountByKey);
+        return dotDiagnostics.counts(DotAttributionDiagnostics.Dimension.STATUS0_FALLBACK_RECENT_EXACT_SINGLE_BINDING_PROBE);
     }
 
     Map<String, Long> debugStatus0FallbackRecentExactSingleBindingProbeAmounts() {
-        return Map.copyOf(status0FallbackRecentExactSingleBindingProbeAmountByKey);
+        return dotDiagnostics.amounts(DotAttributionDiagnostics.Dimension.STATUS0_FALLBACK_RECENT_EXACT_SINGLE_BINDING_PROBE);
     }
 
     public LiveDotAttributionDebugSnapshot debugLiveDotAttributionSnapshot(long lookbackSeconds) {
         long sanitizedLookbackSeconds = Math.max(1L, Math.min(60L, lookbackSeconds));
-        Instant now = lastEventInstant != null ? lastEventInstant : Instant.now();
+        long now = lastEventMs != NO_TS ? lastEventMs : System.currentTimeMillis();
         pruneRecentDotAttributionAssignments(now);
-        Instant cutoff = now.minusSeconds(sanitizedLookbackSeconds);
+        long cutoff = now - sanitizedLookbackSeconds * 1_000L;
         Map<DotAttributionRollupKey, DotAttributionRollup> rollups = new HashMap<>();
         int recentAssignmentCount = 0;
         for (DotAttributionAssignment assignment : recentDotAttributionAssignments) {
-            if (assignment.ts().isBefore(cutoff)) {
+            if (assignment.tsMs() < cutoff) {
                 continue;
             }
             recentAssignmentCount++;
@@ -2088,10 +2213,19 @@ public final class ActIngestionService {
                         entry.getValue().hitCount
                 ))
                 .toList();
+        List<LiveDotAttributionDebugSnapshot.Strategy> strategies = dotAttributionChain.stats().stream()
+                .map(stats -> new LiveDotAttributionDebugSnapshot.Strategy(
+                        stats.name(),
+                        stats.attempts(),
+                        stats.hits(),
+                        stats.totalNanos()
+                ))
+                .toList();
         return new LiveDotAttributionDebugSnapshot(
                 sanitizedLookbackSeconds,
                 recentAssignmentCount,
-                entries
+                entries,
+                strategies
         );
     }
 
@@ -2104,7 +2238,7 @@ public final class ActIngestionService {
     }
 
     private Integer resolveTrackedUnknownStatusDotActionId(DotTickRaw dot) {
-        pruneExpiredUnknownStatusDotApplications(dot.ts());
+        pruneExpiredUnknownStatusDotApplications(dot.tsMs());
         Integer resolved = unknownStatusDotAttributionResolver.resolveTrackedApplicationActionId(
                 dot,
                 unknownStatusDotApplications,
@@ -2121,27 +2255,32 @@ public final class ActIngestionService {
     }
 
     private Integer resolveRecentSourceUnknownStatusActionId(DotTickRaw dot) {
-        pruneExpiredUnknownStatusDotApplications(dot.ts());
+        DotTick tick = dotTickFor(dot);
+        return tick != null ? tick.recentSourceActionId() : computeRecentSourceUnknownStatusActionId(dot);
+    }
+
+    private Integer computeRecentSourceUnknownStatusActionId(DotTickRaw dot) {
+        pruneExpiredUnknownStatusDotApplications(dot.tsMs());
         UnknownStatusDotAttributionResolver.DotApplication actionApplication =
                 unknownStatusDotApplicationsBySource.get(dot.sourceId());
         UnknownStatusDotAttributionResolver.DotApplication statusApplication =
                 unknownStatusDotStatusApplicationsBySource.get(dot.sourceId());
-        Instant cutoff = dot.ts().minusMillis(UNKNOWN_STATUS_DOT_WINDOW_MS);
+        long cutoff = dot.tsMs() - UNKNOWN_STATUS_DOT_WINDOW_MS;
 
         Integer actionId = null;
-        Instant actionAppliedAt = null;
-        if (actionApplication != null && !actionApplication.appliedAt().isBefore(cutoff)) {
+        Long actionAppliedAt = null;
+        if (actionApplication != null && actionApplication.appliedAtMs() >= cutoff) {
             actionId = actionApplication.actionId();
-            actionAppliedAt = actionApplication.appliedAt();
+            actionAppliedAt = actionApplication.appliedAtMs();
         }
 
         Integer statusMappedActionId = null;
-        Instant statusAppliedAt = null;
-        if (statusApplication != null && !statusApplication.appliedAt().isBefore(cutoff)) {
+        Long statusAppliedAt = null;
+        if (statusApplication != null && statusApplication.appliedAtMs() >= cutoff) {
             int mappedActionId = toTrackedDotActionId(statusApplication.actionId());
             if (mappedActionId != 0) {
                 statusMappedActionId = mappedActionId;
-                statusAppliedAt = statusApplication.appliedAt();
+                statusAppliedAt = statusApplication.appliedAtMs();
             }
         }
         if (actionId != null && statusMappedActionId != null && actionId.equals(statusMappedActionId)) {
@@ -2153,11 +2292,19 @@ public final class ActIngestionService {
         if (statusAppliedAt == null) {
             return actionId;
         }
-        return statusAppliedAt.isAfter(actionAppliedAt) ? statusMappedActionId : actionId;
+        return statusAppliedAt > actionAppliedAt ? statusMappedActionId : actionId;
     }
 
     private Integer resolveRecentExactUnknownStatusActionId(DotTickRaw dot, long windowMs) {
-        pruneExpiredUnknownStatusDotApplications(dot.ts());
+        DotTick tick = dotTickFor(dot);
+        if (tick != null && windowMs == KNOWN_SOURCE_MULTI_TARGET_EXACT_WINDOW_MS) {
+            return tick.recentExactActionId();
+        }
+        return computeRecentExactUnknownStatusActionId(dot, windowMs);
+    }
+
+    private Integer computeRecentExactUnknownStatusActionId(DotTickRaw dot, long windowMs) {
+        pruneExpiredUnknownStatusDotApplications(dot.tsMs());
         Integer corroboratedActionId = unknownStatusDotAttributionResolver.resolveCorroboratedActionId(
                 dot,
                 unknownStatusDotApplications,
@@ -2190,7 +2337,7 @@ public final class ActIngestionService {
             java.util.function.IntUnaryOperator actionMapper
     ) {
         SourceDotEvidence evidence = evidenceBySource.get(dot.sourceId());
-        if (evidence == null || evidence.appliedAt().isBefore(dot.ts().minusMillis(UNKNOWN_STATUS_DOT_WINDOW_MS))) {
+        if (evidence == null || evidence.appliedAtMs() < dot.tsMs() - UNKNOWN_STATUS_DOT_WINDOW_MS) {
             return null;
         }
         if (evidence.targetId() != dot.targetId()) {
@@ -2201,7 +2348,7 @@ public final class ActIngestionService {
     }
 
     private Optional<UnknownSourceDotAttribution> resolveUnknownSourceDotAttribution(DotTickRaw dot) {
-        pruneExpiredUnknownStatusDotApplications(dot.ts());
+        pruneExpiredUnknownStatusDotApplications(dot.tsMs());
         return unknownStatusDotAttributionResolver.resolveUnknownSourceAttribution(
                 dot,
                 unknownStatusDotApplications,
@@ -2219,7 +2366,7 @@ public final class ActIngestionService {
     }
 
     private Optional<UnknownSourceDotAttribution> resolveKnownStatusUnknownSourceAttribution(DotTickRaw dot) {
-        pruneExpiredUnknownStatusDotApplications(dot.ts());
+        pruneExpiredUnknownStatusDotApplications(dot.tsMs());
         Optional<UnknownSourceDotAttribution> resolved = unknownStatusDotAttributionResolver.resolveKnownStatusUnknownSourceAttribution(
                 dot,
                 unknownStatusDotApplications,
@@ -2283,21 +2430,20 @@ public final class ActIngestionService {
             return;
         }
 
-        ensureFightStarted(a.ts());
-        lastDamageAt = a.ts();
+        ensureFightStarted(a.tsMs());
+        lastDamageAtMs = a.tsMs();
 
         // ???????????????????????????????밸븶筌믩끃??獄???????멥렑???????????????????耀붾굝?????臾먮뼁?????쇨덫?????????????????????????濾???????????????????????癲??????????????????????????????????????????????????????????????????? ??????????????? ?????????????????????????????????????????????????????????????????????곕춴????????????????????????????거???????????????????????????????????????????????룸ı??????????????????????????????????????????????????????????????ㅻ깹?????????????????????????????ㅻ깹?????????????????????????????????????????????????밸븶筌믩끃??獄???????멥렑???????????????????耀붾굝?????臾먮뼁?????쇨덫?????????????????????????濾???????????????????????癲?????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????⑤벡?????????????????????????????椰??????????????????deadPlayers?????????????????????????????????????
         if (deadPlayers.remove(a.actorId())) {
             logger.info("[Ingestion] Actor {} revived (detected via damage)", a.actorName());
         }
 
-        long tsMs = Duration.between(fightStartInstant, a.ts()).toMillis();
-        if (tsMs < 0) tsMs = 0;
+        long tsMs = toElapsedMs(a.tsMs());
 
         // ?????????????????????????????????????????????????????????????????????룸챷援??????????????????????????????????????????????????????????????????????????????????⑤벡??????????????????????????????????????????????????????????????????????怨뺤떪???????????ActorJoined ??????? ?????????????????????????????????? ??????????????????????????????獄쏅챶留덌┼??????????????筌롈살젔??????????????????????븐뼐????????쑩?젆???????ㅻ쑋????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????
         boolean isNewPartyMember = combatPartyMemberIds.add(a.actorId());
         if (isNewPartyMember && partyMemberIds.contains(a.actorId())) {
-            combatEventPort.onEvent(new CombatEvent.ActorJoined(
+            emit(new CombatEvent.ActorJoined(
                     tsMs, new ActorId(a.actorId()), a.actorName()));
             logger.info("[Ingestion] Party member joined: {}(id={}) | total party size={}",
                     a.actorName(), Long.toHexString(a.actorId()), effectivePartyMemberCountForCombat());
@@ -2309,11 +2455,10 @@ public final class ActIngestionService {
         noteLiveDotApplicationCloneCandidate(a, damageFlags, hitOutcomeContext);
 
         emittedDamageCount++;
-        logger.info("[Ingestion] DamageEvent #{}: actor={} skill={} amount={} tsMs={} crit={} direct={} autoCrit={} autoDirect={}",
-                emittedDamageCount, a.actorName(), a.skillName(), a.damage(), tsMs,
+        trace.damage(tsMs, a.actorId(), a.targetId(), a.skillId(), a.damage(),
                 damageFlags.criticalHit(), damageFlags.directHit(),
                 hitOutcomeContext.autoCrit(), hitOutcomeContext.autoDirectHit());
-        combatEventPort.onEvent(new CombatEvent.DamageEvent(
+        emit(new CombatEvent.DamageEvent(
                 tsMs,
                 new ActorId(a.actorId()),
                 a.actorName(),
@@ -2339,7 +2484,7 @@ public final class ActIngestionService {
         recentDotApplicationCloneCandidates.put(
                 new LiveDotApplicationCloneKey(ability.actorId(), ability.targetId(), ability.skillId()),
                 new RecentDamageCloneCandidate(
-                        ability.ts(),
+                        ability.tsMs(),
                         ability.skillName(),
                         ability.damage(),
                         damageFlags.criticalHit(),
@@ -2347,12 +2492,12 @@ public final class ActIngestionService {
                         hitOutcomeContext
                 )
         );
-        pruneRecentDotApplicationCloneCandidates(ability.ts());
+        pruneRecentDotApplicationCloneCandidates(ability.tsMs());
     }
 
-    private void pruneRecentDotApplicationCloneCandidates(Instant now) {
-        Instant cutoff = now.minus(LIVE_DOT_APPLICATION_CLONE_WINDOW);
-        recentDotApplicationCloneCandidates.entrySet().removeIf(entry -> entry.getValue().ts().isBefore(cutoff));
+    private void pruneRecentDotApplicationCloneCandidates(long now) {
+        long cutoff = now - LIVE_DOT_APPLICATION_CLONE_WINDOW_MS;
+        recentDotApplicationCloneCandidates.entrySet().removeIf(entry -> entry.getValue().tsMs() < cutoff);
     }
 
     private CombatEvent.HitOutcomeContext classifyHitOutcome(NetworkAbilityRaw ability, DamageFlags damageFlags) {
@@ -2393,8 +2538,8 @@ public final class ActIngestionService {
 
         NetworkAbilityRaw firstPending = pendingSelfJobAbilities.peekFirst();
         if (firstPending != null) {
-            long waitMs = Math.abs(Duration.between(firstPending.ts(), ability.ts()).toMillis());
-            if (waitMs <= SELF_JOB_METADATA_GRACE.toMillis()) {
+            long waitMs = Math.abs(ability.tsMs() - firstPending.tsMs());
+            if (waitMs <= SELF_JOB_METADATA_GRACE_MS) {
                 pendingSelfJobAbilities.addLast(ability);
                 logger.info("[Ingestion] buffering self ability while waiting for job metadata: skill={}({}) buffered={}",
                         ability.skillName(), Integer.toHexString(ability.skillId()), pendingSelfJobAbilities.size());
@@ -2415,50 +2560,27 @@ public final class ActIngestionService {
     }
 
     private int loadPersistedCurrentPlayerJob(long playerId, String playerName) {
-        int jobId = preferences.getInt("player-id:" + Long.toHexString(playerId), 0);
-        if (jobId > 0) {
-            return jobId;
-        }
-        if (playerName == null || playerName.isBlank()) {
-            return 0;
-        }
-        return preferences.getInt("player-name:" + playerName, 0);
+        return jobCache.playerJob(playerId, playerName);
     }
 
     private void persistCurrentPlayerJob(long playerId, String playerName, int jobId) {
-        if (jobId <= 0) {
-            return;
-        }
-        if (playerId != 0) {
-            preferences.putInt("player-id:" + Long.toHexString(playerId), jobId);
-        }
-        if (playerName != null && !playerName.isBlank()) {
-            preferences.putInt("player-name:" + playerName, jobId);
-        }
+        jobCache.rememberPlayerJob(playerId, playerName, jobId);
     }
 
     private void persistKnownActorJob(long actorId, String actorName, int jobId) {
-        if (jobId <= 0) {
-            return;
-        }
-        actorJobPreferences.putInt("actor-id:" + Long.toHexString(actorId), jobId);
-        if (actorName != null && !actorName.isBlank()) {
-            actorJobPreferences.putInt("actor-name:" + actorName, jobId);
-        }
+        jobCache.rememberActorJob(actorId, actorName, jobId);
     }
 
     private void restoreActorJobFromCache(long actorId, String actorName) {
         if (jobIdByActorId.containsKey(actorId)) {
             return;
         }
-        int cachedJobId = actorJobPreferences.getInt("actor-id:" + Long.toHexString(actorId), 0);
-        if (cachedJobId <= 0 && actorName != null && !actorName.isBlank()) {
-            cachedJobId = actorJobPreferences.getInt("actor-name:" + actorName, 0);
-        }
+        int cachedJobId = jobCache.actorJob(actorId, actorName);
         if (cachedJobId <= 0) {
             return;
         }
         jobIdByActorId.put(actorId, cachedJobId);
+        flushBatchedEvents();
         combatService.setJobId(new ActorId(actorId), cachedJobId);
         if (actorId == currentPlayerId && currentPlayerJobId <= 0) {
             currentPlayerJobId = cachedJobId;
@@ -2476,65 +2598,17 @@ public final class ActIngestionService {
             return new DamageFlags(ability.criticalHit(), ability.directHit());
         }
 
-        pruneOldDamageTexts(ability.ts());
-
-        DamageText bestMatch = null;
-        int bestScore = Integer.MAX_VALUE;
-        long bestDeltaMs = Long.MAX_VALUE;
-
-        for (DamageText text : pendingDamageTexts) {
-            long deltaMs = Math.abs(Duration.between(text.ts(), ability.ts()).toMillis());
-            if (deltaMs > 2_000) {
-                continue;
-            }
-            if (text.amount() != ability.damage()) {
-                continue;
-            }
-            if (text.targetTextName() != null && !text.targetTextName().isBlank()
-                    && !text.targetTextName().equals(ability.targetName())) {
-                continue;
-            }
-
-            int score = sourceMatchScore(text.sourceTextName(), ability.actorName());
-            if (score < bestScore || (score == bestScore && deltaMs < bestDeltaMs)) {
-                bestMatch = text;
-                bestScore = score;
-                bestDeltaMs = deltaMs;
-            }
-        }
+        pendingDamageTexts.pruneOlderThan(ability.tsMs());
 
-        if (bestMatch != null) {
-            pendingDamageTexts.remove(bestMatch);
-            return new DamageFlags(bestMatch.criticalLike(), bestMatch.directHitLike());
+        DamageText match = pendingDamageTexts.takeBestMatch(
+                ability.damage(), ability.tsMs(), ability.targetName(), ability.actorName());
+        if (match != null) {
+            return new DamageFlags(match.criticalLike(), match.directHitLike());
         }
 
         return DamageFlags.NONE;
     }
 
-    private int sourceMatchScore(String textSourceName, String actorName) {
-        if (textSourceName == null || textSourceName.isBlank()) {
-            return 1;
-        }
-        if (textSourceName.equals(actorName)) {
-            return 0;
-        }
-        return 2;
-    }
-
-    private void pruneOldDamageTexts(Instant now) {
-        while (!pendingDamageTexts.isEmpty()) {
-            DamageText first = pendingDamageTexts.peekFirst();
-            if (first == null) {
-                return;
-            }
-            long ageMs = Math.abs(Duration.between(first.ts(), now).toMillis());
-            if (ageMs <= 3_000) {
-                return;
-            }
-            pendingDamageTexts.removeFirst();
-        }
-    }
-
     private DamageType mapDamageTypeV1(NetworkAbilityRaw a) {
         // v1 ??????
         // - ????????? DIRECT
@@ -2545,6 +2619,18 @@ public final class ActIngestionService {
     }
 
     private void emitDotDamage(DotTickRaw dot) {
+        DotTick previousTick = currentDotTick;
+        DotTick tick = new DotTick(dot);
+        currentDotTick = tick;
+        try {
+            attributeDotTick(tick);
+        } finally {
+            currentDotTick = previousTick;
+        }
+    }
+
+    private void attributeDotTick(DotTick tick) {
+        DotTickRaw dot = tick.dot;
         if (!wouldEmitDotDamage(dot)) {
             return;
         }
@@ -2552,82 +2638,100 @@ public final class ActIngestionService {
         Optional<UnknownSourceDotAttribution> unknownSourceAttribution = resolveUnknownSourceDotAttribution(dot);
         Optional<UnknownSourceDotAttribution> knownStatusUnknownSourceAttribution =
                 resolveKnownStatusUnknownSourceAttribution(dot);
-        boolean unknownStatusDot = dot.statusId() == 0;
-        boolean acceptedBySource = (shouldAcceptDot(dot) && isPartyMember(dot.sourceId()))
+        tick.unknownStatusDot = dot.statusId() == 0;
+        tick.acceptedBySource = (shouldAcceptDot(dot) && isPartyMember(dot.sourceId()))
                 || unknownSourceAttribution.isPresent()
                 || knownStatusUnknownSourceAttribution.isPresent();
 
-        Optional<UnknownSourceDotAttribution> resolvedSourceAttribution =
-                knownStatusUnknownSourceAttribution.or(() -> unknownSourceAttribution);
+        tick.resolvedSourceAttribution = knownStatusUnknownSourceAttribution.or(() -> unknownSourceAttribution);
 
-        ensureFightStarted(dot.ts());
-        lastDamageAt = dot.ts();
+        ensureFightStarted(dot.tsMs());
+        lastDamageAtMs = dot.tsMs();
 
-        long resolvedSourceId = resolvedSourceAttribution
+        tick.resolvedSourceId = tick.resolvedSourceAttribution
                 .map(UnknownSourceDotAttribution::sourceId)
                 .orElse(dot.sourceId());
-        String resolvedSourceName = resolvedSourceAttribution
+        tick.resolvedSourceName = tick.resolvedSourceAttribution
                 .map(UnknownSourceDotAttribution::sourceName)
                 .orElse(dot.sourceName());
 
-        if (deadPlayers.remove(resolvedSourceId)) {
+        if (deadPlayers.remove(tick.resolvedSourceId)) {
             logger.info("[Ingestion] Actor {} revived (detected via DoT)", dot.sourceName());
         }
 
-        long tsMs = Duration.between(fightStartInstant, dot.ts()).toMillis();
-        if (tsMs < 0) tsMs = 0;
+        tick.elapsedMs = toElapsedMs(dot.tsMs());
 
-        boolean isNewPartyMember = combatPartyMemberIds.add(resolvedSourceId);
-        if (isNewPartyMember && partyMemberIds.contains(resolvedSourceId)) {
-            combatEventPort.onEvent(new CombatEvent.ActorJoined(
-                    tsMs, new ActorId(resolvedSourceId), resolvedSourceName));
+        boolean isNewPartyMember = combatPartyMemberIds.add(tick.resolvedSourceId);
+        if (isNewPartyMember && partyMemberIds.contains(tick.resolvedSourceId)) {
+            emit(new CombatEvent.ActorJoined(
+                    tick.elapsedMs, new ActorId(tick.resolvedSourceId), tick.resolvedSourceName));
             logger.info("[Ingestion] Party member joined via DoT: {}(id={}) | total party size={}",
-                    resolvedSourceName, Long.toHexString(resolvedSourceId), effectivePartyMemberCountForCombat());
+                    tick.resolvedSourceName, Long.toHexString(tick.resolvedSourceId), effectivePartyMemberCountForCombat());
         }
 
-        if (unknownStatusDot) {
-            Integer freshCorroboratedKnownSourceActionId =
-                    resolveCorroboratedTrackedUnknownStatusDotActionId(dot, CORROBORATED_KNOWN_SOURCE_WINDOW_MS);
-            boolean suppressKnownSourceGuidMissingFallback =
-                    shouldSuppressKnownSourceGuidMissingMultiTargetFallback(dot);
-            List<TrackedDotState> sourceTrackedDots = resolveTrackedSourceDots(dot);
-            List<TrackedDotState> trackedDots = resolveTrackedTargetDots(dot);
-            if (tryEmitStatus0CorroboratedKnownSource(
-                    dot,
-                    tsMs,
-                    resolvedSourceId,
-                    resolvedSourceName,
-                    suppressKnownSourceGuidMissingFallback,
-                    freshCorroboratedKnownSourceActionId
-            )) return;
-            if (tryEmitStatus0SnapshotRedistribution(
-                    dot,
-                    tsMs,
-                    acceptedBySource,
-                    sourceTrackedDots,
-                    suppressKnownSourceGuidMissingFallback
-            )) return;
-            if (tryEmitStatus0UnacceptedSourceTrackedSplit(dot, tsMs, acceptedBySource, sourceTrackedDots)) return;
-            if (tryEmitStatus0KnownSourceTrackedRouting(
-                    dot,
-                    tsMs,
-                    acceptedBySource,
-                    suppressKnownSourceGuidMissingFallback,
-                    trackedDots,
-                    sourceTrackedDots
-            )) return;
+        if (tick.unknownStatusDot) {
+            // 만료된 추적 DoT를 먼저 정리해서 이 틱의 모든 전략이 같은 추적 상태를 보게 한다
+            tick.sourceTrackedDots();
+            tick.trackedDots();
         }
+        dotAttributionChain.attribute(tick);
+    }
 
-        if (tryEmitStatusAcceptedBySource(
-                dot,
-                tsMs,
-                acceptedBySource,
-                unknownStatusDot,
-                resolvedSourceAttribution,
-                resolvedSourceId,
-                resolvedSourceName
-        )) return;
-        tryEmitStatus0FallbackTrackedSplit(dot, tsMs, acceptedBySource, unknownStatusDot);
+    /**
+     * emitDotDamage가 시도하는 귀속 전략 순서. status0 전략은 상태 ID가 없는 틱에서만 시도하고,
+     * 소스가 받아들여진 틱은 accepted_by_source에서, 나머지는 마지막 추적 DoT 분할에서 끝난다.
+     */
+    private DotAttributionStrategyChain<DotTick> buildDotAttributionChain() {
+        return DotAttributionStrategyChain.<DotTick>builder()
+                .then("status0_corroborated_known_source", tick -> tick.unknownStatusDot
+                        && tryEmitStatus0CorroboratedKnownSource(
+                        tick.dot,
+                        tick.elapsedMs,
+                        tick.resolvedSourceId,
+                        tick.resolvedSourceName,
+                        tick.suppressKnownSourceGuidMissingFallback(),
+                        tick.corroboratedKnownSourceActionId()
+                ))
+                .then("status0_snapshot_redistribution", tick -> tick.unknownStatusDot
+                        && tryEmitStatus0SnapshotRedistribution(
+                        tick.dot,
+                        tick.elapsedMs,
+                        tick.acceptedBySource,
+                        tick.sourceTrackedDots(),
+                        tick.suppressKnownSourceGuidMissingFallback()
+                ))
+                .then("status0_unaccepted_source_tracked_split", tick -> tick.unknownStatusDot
+                        && tryEmitStatus0UnacceptedSourceTrackedSplit(
+                        tick.dot,
+                        tick.elapsedMs,
+                        tick.acceptedBySource,
+                        tick.sourceTrackedDots()
+                ))
+                .then("status0_known_source_tracked_routing", tick -> tick.unknownStatusDot
+                        && tryEmitStatus0KnownSourceTrackedRouting(
+                        tick.dot,
+                        tick.elapsedMs,
+                        tick.acceptedBySource,
+                        tick.suppressKnownSourceGuidMissingFallback(),
+                        tick.trackedDots(),
+                        tick.sourceTrackedDots()
+                ))
+                .then("accepted_by_source", tick -> tryEmitStatusAcceptedBySource(
+                        tick.dot,
+                        tick.elapsedMs,
+                        tick.acceptedBySource,
+                        tick.unknownStatusDot,
+                        tick.resolvedSourceAttribution,
+                        tick.resolvedSourceId,
+                        tick.resolvedSourceName
+                ))
+                .then("status0_fallback_tracked_split", tick -> tryEmitStatus0FallbackTrackedSplit(
+                        tick.dot,
+                        tick.elapsedMs,
+                        tick.acceptedBySource,
+                        tick.unknownStatusDot
+                ))
+                .build();
     }
 
     private boolean tryEmitStatus0CorroboratedKnownSource(
@@ -2641,7 +2745,7 @@ public final class ActIngestionService {
         if (suppressKnownSourceGuidMissingFallback && freshCorroboratedKnownSourceActionId != null) {
             emitDotDamageWithAttribution(
                     "status0_corroborated_known_source",
-                    dot.ts(),
+                    dot.tsMs(),
                     tsMs,
                     new ActorId(resolvedSourceId),
                     resolvedSourceName,
@@ -2676,7 +2780,7 @@ public final class ActIngestionService {
                 recordStatus0SnapshotRedistributionRecipient(dot, redistributedDot, allocated);
                 emitDotDamageWithAttribution(
                         "status0_snapshot_redistribution",
-                        dot.ts(),
+                        dot.tsMs(),
                         tsMs,
                         new ActorId(redistributedDot.sourceId()),
                         actorNameById.getOrDefault(redistributedDot.sourceId(), dot.sourceName()),
@@ -2764,18 +2868,19 @@ public final class ActIngestionService {
             String reason,
             boolean deferred
     ) {
-        String key = "reason=" + reason
-                + "|deferred=" + deferred
-                + "|accepted=" + acceptedBySource
-                + "|activeTargets=" + cardinalityBucket(activeTargets, 4)
-                + "|sourceTracked=" + cardinalityBucket(sourceTrackedCount, 3)
-                + "|sourceTrackedAction=" + actionBucket(sourceTrackedAction)
-                + "|recentSource=" + actionBucket(recentSourceActionId == null ? 0 : recentSourceActionId)
-                + "|source=" + sourceBucket(dot.sourceId());
-        status0SnapshotRedistributionDeferProbeCountByKey.merge(key, 1L, Long::sum);
-        if (dot.damage() > 0) {
-            status0SnapshotRedistributionDeferProbeAmountByKey.merge(key, dot.damage(), Long::sum);
+        if (!dotDiagnostics.enabled()) {
+            return;
         }
+        dotDiagnostics.key(DotAttributionDiagnostics.Dimension.STATUS0_SNAPSHOT_REDISTRIBUTION_DEFER_PROBE)
+                .label(reason)
+                .flag(deferred)
+                .flag(acceptedBySource)
+                .count(activeTargets)
+                .count(sourceTrackedCount)
+                .action(sourceTrackedAction)
+                .action(recentSourceActionId == null ? 0 : recentSourceActionId)
+                .source(dot.sourceId())
+                .record(dot.damage());
     }
 
     private void recordStatus0SnapshotRedistributionRecipient(
@@ -2783,19 +2888,20 @@ public final class ActIngestionService {
             SnapshotRedistributedDot redistributedDot,
             long amount
     ) {
+        if (!dotDiagnostics.enabled()) {
+            return;
+        }
         int activeTargets = Math.toIntExact(countTrackedTargetsWithActiveDots());
         String sourceRelation = redistributedDot.sourceId() == dot.sourceId() ? "same" : "foreign";
-        String key = "path=" + redistributedDot.path()
-                + "|rawSourceClass=" + rawSourceClass(dot.sourceId())
-                + "|rawSource=" + sourceBucket(dot.sourceId())
-                + "|sourceRelation=" + sourceRelation
-                + "|activeTargets=" + cardinalityBucket(activeTargets, 4)
-                + "|assignedAction=" + actionBucket(redistributedDot.actionId())
-                + "|assignedSource=" + sourceBucket(redistributedDot.sourceId());
-        status0SnapshotRedistributionRecipientCountByKey.merge(key, 1L, Long::sum);
-        if (amount > 0) {
-            status0SnapshotRedistributionRecipientAmountByKey.merge(key, amount, Long::sum);
-        }
+        dotDiagnostics.key(DotAttributionDiagnostics.Dimension.STATUS0_SNAPSHOT_REDISTRIBUTION_RECIPIENT)
+                .label(redistributedDot.path())
+                .label(rawSourceClass(dot.sourceId()))
+                .source(dot.sourceId())
+                .label(sourceRelation)
+                .count(activeTargets)
+                .action(redistributedDot.actionId())
+                .source(redistributedDot.sourceId())
+                .record(amount);
     }
 
     private String rawSourceClass(long sourceId) {
@@ -2825,7 +2931,7 @@ public final class ActIngestionService {
                 remaining -= allocated;
                 emitDotDamageWithAttribution(
                         "status0_tracked_source_target_split",
-                        dot.ts(),
+                        dot.tsMs(),
                         tsMs,
                         new ActorId(trackedDot.sourceId()),
                         trackedDot.sourceName(),
@@ -2865,7 +2971,7 @@ public final class ActIngestionService {
         if (singleSourceBindingDot != null) {
             emitDotDamageWithAttribution(
                     "status0_tracked_target_single_source_binding",
-                    dot.ts(),
+                    dot.tsMs(),
                     tsMs,
                     new ActorId(singleSourceBindingDot.sourceId()),
                     singleSourceBindingDot.sourceName(),
@@ -2882,7 +2988,7 @@ public final class ActIngestionService {
             for (StatusZeroDotAllocationPlanner.Allocation allocation : weightedAllocations) {
                 emitDotDamageWithAttribution(
                         "status0_weighted_tracked_target_split",
-                        dot.ts(),
+                        dot.tsMs(),
                         tsMs,
                         new ActorId(allocation.sourceId()),
                         actorNameById.getOrDefault(allocation.sourceId(), dot.sourceName()),
@@ -2908,7 +3014,7 @@ public final class ActIngestionService {
                 for (StatusZeroDotAllocationPlanner.Allocation allocation : weightedForeignOnlyAllocations) {
                     emitDotDamageWithAttribution(
                             "status0_weighted_tracked_target_split_foreign_only_dual_target",
-                            dot.ts(),
+                            dot.tsMs(),
                             tsMs,
                             new ActorId(allocation.sourceId()),
                             actorNameById.getOrDefault(allocation.sourceId(), dot.sourceName()),
@@ -2926,7 +3032,7 @@ public final class ActIngestionService {
                 remaining -= allocated;
                 emitDotDamageWithAttribution(
                         "status0_tracked_target_split_foreign_only_dual_target",
-                        dot.ts(),
+                        dot.tsMs(),
                         tsMs,
                         new ActorId(trackedDot.sourceId()),
                         trackedDot.sourceName(),
@@ -2953,7 +3059,7 @@ public final class ActIngestionService {
                 remaining -= allocated;
                 emitDotDamageWithAttribution(
                         "status0_tracked_target_split_foreign_only_single_target",
-                        dot.ts(),
+                        dot.tsMs(),
                         tsMs,
                         new ActorId(trackedDot.sourceId()),
                         trackedDot.sourceName(),
@@ -2976,7 +3082,7 @@ public final class ActIngestionService {
             for (StatusZeroDotAllocationPlanner.Allocation allocation : dampenedAllocations) {
                 emitDotDamageWithAttribution(
                         "status0_tracked_target_split_dampened_foreign_recent_exact_action",
-                        dot.ts(),
+                        dot.tsMs(),
                         tsMs,
                         new ActorId(allocation.sourceId()),
                         actorNameById.getOrDefault(allocation.sourceId(), dot.sourceName()),
@@ -2999,7 +3105,7 @@ public final class ActIngestionService {
             for (StatusZeroDotAllocationPlanner.Allocation allocation : chaoticSameSourceDampenedAllocations) {
                 emitDotDamageWithAttribution(
                         "status0_tracked_target_split_recent_exact_chaotic_same_source_dampened",
-                        dot.ts(),
+                        dot.tsMs(),
                         tsMs,
                         new ActorId(allocation.sourceId()),
                         actorNameById.getOrDefault(allocation.sourceId(), dot.sourceName()),
@@ -3019,7 +3125,7 @@ public final class ActIngestionService {
             remaining -= allocated;
             emitDotDamageWithAttribution(
                     "status0_tracked_target_split",
-                    dot.ts(),
+                    dot.tsMs(),
                     tsMs,
                     new ActorId(trackedDot.sourceId()),
                     trackedDot.sourceName(),
@@ -3060,11 +3166,7 @@ public final class ActIngestionService {
             return List.of();
         }
 
-        long foreignSourceCount = trackedDots.stream()
-                .map(TrackedDotState::sourceId)
-                .filter(sourceId -> sourceId != dot.sourceId())
-                .distinct()
-                .count();
+        long foreignSourceCount = countDistinctSources(trackedDots, dot.sourceId());
         long foreignActionCount = trackedDots.stream()
                 .map(TrackedDotState::actionId)
                 .filter(actionId -> actionId != recentExactActionId)
@@ -3124,11 +3226,7 @@ public final class ActIngestionService {
             return List.of();
         }
 
-        long foreignActionCount = trackedDots.stream()
-                .filter(trackedDot -> trackedDot.sourceId() != dot.sourceId())
-                .map(TrackedDotState::actionId)
-                .distinct()
-                .count();
+        long foreignActionCount = countDistinctActions(trackedDots, dot.sourceId());
         if (foreignActionCount < 2) {
             return List.of();
         }
@@ -3299,20 +3397,21 @@ public final class ActIngestionService {
             Integer recentExactActionId,
             int foreignActionCount
     ) {
-        String key = "reason=" + reason
-                + "|applied=" + applied
-                + "|activeTargets=" + cardinalityBucket(activeTargets, 4)
-                + "|trackedTargets=" + cardinalityBucket(trackedTargets, 4)
-                + "|sourceTracked=" + cardinalityBucket(sourceTracked, 3)
-                + "|sourceTrackedAction=" + actionBucket(sourceTrackedAction)
-                + "|recentSource=" + actionBucket(recentSourceActionId == null ? 0 : recentSourceActionId)
-                + "|recentExact=" + actionBucket(recentExactActionId == null ? 0 : recentExactActionId)
-                + "|foreignActions=" + cardinalityBucket(foreignActionCount, 4)
-                + "|source=" + sourceBucket(dot.sourceId());
-        knownSourceTrackedTargetSingleSourceBindingProbeCountByKey.merge(key, 1L, Long::sum);
-        if (dot.damage() > 0) {
-            knownSourceTrackedTargetSingleSourceBindingProbeAmountByKey.merge(key, dot.damage(), Long::sum);
+        if (!dotDiagnostics.enabled()) {
+            return;
         }
+        dotDiagnostics.key(DotAttributionDiagnostics.Dimension.KNOWN_SOURCE_TRACKED_TARGET_SINGLE_SOURCE_BINDING_PROBE)
+                .label(reason)
+                .flag(applied)
+                .count(activeTargets)
+                .count(trackedTargets)
+                .count(sourceTracked)
+                .action(sourceTrackedAction)
+                .action(recentSourceActionId == null ? 0 : recentSourceActionId)
+                .action(recentExactActionId == null ? 0 : recentExactActionId)
+                .count(foreignActionCount)
+                .source(dot.sourceId())
+                .record(dot.damage());
     }
 
     private void recordKnownSourceTrackedTargetSplitAssignmentBucket(
@@ -3320,7 +3419,10 @@ public final class ActIngestionService {
             List<TrackedDotState> trackedDots,
             List<TrackedDotState> sourceTrackedDots
     ) {
-        pruneRecentTargetDeaths(dot.ts());
+        if (!dotDiagnostics.enabled()) {
+            return;
+        }
+        pruneRecentTargetDeaths(dot.tsMs());
         Integer recentSourceActionId = resolveRecentSourceUnknownStatusActionId(dot);
         Integer recentExactActionId = resolveRecentExactUnknownStatusActionId(dot, KNOWN_SOURCE_MULTI_TARGET_EXACT_WINDOW_MS);
         int activeTargets = Math.toIntExact(countTrackedTargetsWithActiveDots());
@@ -3333,45 +3435,32 @@ public final class ActIngestionService {
                 foreignActions.add(trackedDot.actionId());
             }
         }
-        String foreignActionSet = foreignActions.stream()
-                .limit(4)
-                .map(actionId -> Integer.toHexString(actionId).toUpperCase(Locale.ROOT))
-                .reduce((left, right) -> left + "," + right)
-                .orElse("na");
-        if (foreignActions.size() > 4) {
-            foreignActionSet = foreignActionSet + ",...";
-        }
         int sourceTrackedAction = sourceTrackedDots.size() == 1 ? sourceTrackedDots.get(0).actionId() : 0;
-        String key = "activeTargets=" + cardinalityBucket(activeTargets, 4)
-                + "|trackedTargets=" + cardinalityBucket(trackedDots.size(), 4)
-                + "|sourceTracked=" + cardinalityBucket(sourceTrackedDots.size(), 3)
-                + "|sourceTrackedAction=" + actionBucket(sourceTrackedAction)
-                + "|recentSource=" + actionBucket(recentSourceActionId == null ? 0 : recentSourceActionId)
-                + "|recentExact=" + actionBucket(recentExactActionId == null ? 0 : recentExactActionId)
-                + "|targetDeathAge=" + targetDeathAge
-                + "|foreignTracked=" + cardinalityBucket(foreignTrackedCount, 4)
-                + "|foreignActions=" + cardinalityBucket(foreignActions.size(), 4)
-                + "|foreignActionSet=" + foreignActionSet;
-        knownSourceTrackedTargetSplitAssignmentCountByKey.merge(key, 1L, Long::sum);
-        if (dot.damage() > 0) {
-            knownSourceTrackedTargetSplitAssignmentAmountByKey.merge(key, dot.damage(), Long::sum);
-        }
-    }
-
-    private void pruneRecentTargetDeaths(Instant now) {
-        if (now == null) {
-            return;
-        }
-        Instant cutoff = now.minusMillis(2_000L);
-        recentTargetDeathAtByTargetId.entrySet().removeIf(entry -> entry.getValue().isBefore(cutoff));
+        dotDiagnostics.key(DotAttributionDiagnostics.Dimension.KNOWN_SOURCE_TRACKED_TARGET_SPLIT_ASSIGNMENT)
+                .count(activeTargets)
+                .count(trackedDots.size())
+                .count(sourceTrackedDots.size())
+                .action(sourceTrackedAction)
+                .action(recentSourceActionId == null ? 0 : recentSourceActionId)
+                .action(recentExactActionId == null ? 0 : recentExactActionId)
+                .label(targetDeathAge)
+                .count(foreignTrackedCount)
+                .count(foreignActions.size())
+                .actionSet(foreignActions)
+                .record(dot.damage());
+    }
+
+    private void pruneRecentTargetDeaths(long now) {
+        long cutoff = now - 2_000L;
+        recentTargetDeathAtByTargetId.entrySet().removeIf(entry -> entry.getValue() < cutoff);
     }
 
     private String targetDeathAgeBucket(DotTickRaw dot) {
-        Instant deathAt = recentTargetDeathAtByTargetId.get(dot.targetId());
+        Long deathAt = recentTargetDeathAtByTargetId.get(dot.targetId());
         if (deathAt == null) {
             return "na";
         }
-        long ageMs = Math.max(0L, Duration.between(deathAt, dot.ts()).toMillis());
+        long ageMs = Math.max(0L, dot.tsMs() - deathAt);
         if (ageMs <= 500L) {
             return "0-500ms";
         }
@@ -3411,7 +3500,7 @@ public final class ActIngestionService {
                 .orElseGet(() -> resolveDotActionId(dot));
         emitDotDamageWithAttribution(
                 attributionMode,
-                dot.ts(),
+                dot.tsMs(),
                 tsMs,
                 new ActorId(resolvedSourceId),
                 resolvedSourceName,
@@ -3422,26 +3511,26 @@ public final class ActIngestionService {
         return true;
     }
 
-    private void tryEmitStatus0FallbackTrackedSplit(
+    private boolean tryEmitStatus0FallbackTrackedSplit(
             DotTickRaw dot,
             long tsMs,
             boolean acceptedBySource,
             boolean unknownStatusDot
     ) {
         if (acceptedBySource) {
-            return;
+            return false;
         }
         List<TrackedDotState> trackedDots = resolveTrackedTargetDots(dot);
         if (!trackedDots.isEmpty()
                 && !(unknownStatusDot && shouldSuppressKnownSourceMismatchedTrackedTargetSplit(dot, trackedDots))) {
             if (shouldSuppressStatus0FallbackTrackedSplitForNonPartyMultiTarget(dot, unknownStatusDot, trackedDots)) {
-                return;
+                return false;
             }
             TrackedDotState fallbackRecentExactBinding = resolveStatus0FallbackRecentExactSingleBinding(dot, trackedDots);
             if (fallbackRecentExactBinding != null) {
                 emitDotDamageWithAttribution(
                         "status0_fallback_recent_exact_single_binding",
-                        dot.ts(),
+                        dot.tsMs(),
                         tsMs,
                         new ActorId(fallbackRecentExactBinding.sourceId()),
                         fallbackRecentExactBinding.sourceName(),
@@ -3449,7 +3538,7 @@ public final class ActIngestionService {
                         fallbackRecentExactBinding.actionId(),
                         dot.damage()
                 );
-                return;
+                return true;
             }
             long remaining = dot.damage();
             for (int i = 0; i < trackedDots.size(); i++) {
@@ -3458,7 +3547,7 @@ public final class ActIngestionService {
                 remaining -= allocated;
                 emitDotDamageWithAttribution(
                         "status0_fallback_tracked_target_split",
-                        dot.ts(),
+                        dot.tsMs(),
                         tsMs,
                         new ActorId(trackedDot.sourceId()),
                         trackedDot.sourceName(),
@@ -3467,7 +3556,9 @@ public final class ActIngestionService {
                         allocated
                 );
             }
+            return true;
         }
+        return false;
     }
 
     private boolean shouldSuppressStatus0FallbackTrackedSplitForNonPartyMultiTarget(
@@ -3582,29 +3673,50 @@ public final class ActIngestionService {
             int sourceActionMatches,
             int rawSourceMatches
     ) {
-        String key = "reason=" + reason
-                + "|applied=" + applied
-                + "|activeTargets=" + cardinalityBucket(activeTargets, 4)
-                + "|trackedTargets=" + cardinalityBucket(trackedTargets, 4)
-                + "|recentSource=" + actionBucket(recentSourceActionId == null ? 0 : recentSourceActionId)
-                + "|recentExact=" + actionBucket(recentExactActionId == null ? 0 : recentExactActionId)
-                + "|distinctActions=" + cardinalityBucket(distinctActions, 4)
-                + "|sourceActionMatches=" + cardinalityBucket(sourceActionMatches, 3)
-                + "|rawSourceMatches=" + cardinalityBucket(rawSourceMatches, 3)
-                + "|source=" + sourceBucket(dot.sourceId());
-        status0FallbackRecentExactSingleBindingProbeCountByKey.merge(key, 1L, Long::sum);
-        if (dot.damage() > 0) {
-            status0FallbackRecentExactSingleBindingProbeAmountByKey.merge(key, dot.damage(), Long::sum);
+        if (!dotDiagnostics.enabled()) {
+            return;
         }
+        dotDiagnostics.key(DotAttributionDiagnostics.Dimension.STATUS0_FALLBACK_RECENT_EXACT_SINGLE_BINDING_PROBE)
+                .label(reason)
+                .flag(applied)
+                .count(activeTargets)
+                .count(trackedTargets)
+                .action(recentSourceActionId == null ? 0 : recentSourceActionId)
+                .action(recentExactActionId == null ? 0 : recentExactActionId)
+                .count(distinctActions)
+                .count(sourceActionMatches)
+                .count(rawSourceMatches)
+                .source(dot.sourceId())
+                .record(dot.damage());
     }
 
     private void recordDotAttributionMode(String mode) {
-        dotAttributionModeCounts.merge(mode, 1L, Long::sum);
+        if (dotDiagnostics.enabled()) {
+            dotDiagnostics.key(DotAttributionDiagnostics.Dimension.DOT_ATTRIBUTION_MODE).label(mode).record(0L);
+        }
+    }
+
+    private void recordDotAttributionAmount(
+            DotAttributionDiagnostics.Dimension dimension,
+            String mode,
+            long sourceId,
+            long targetId,
+            int actionId,
+            long amount
+    ) {
+        if (dotDiagnostics.enabled()) {
+            dotDiagnostics.key(dimension)
+                    .label(mode)
+                    .actorHex(sourceId)
+                    .actorHex(targetId)
+                    .actionHex(actionId)
+                    .record(amount);
+        }
     }
 
     private void emitDotDamageWithAttribution(
             String attributionMode,
-            Instant attributionTs,
+            long attributionTs,
             long tsMs,
             ActorId sourceId,
             String sourceName,
@@ -3616,9 +3728,8 @@ public final class ActIngestionService {
         if (amount <= 0) {
             return;
         }
-        String key = buildDotAttributionAssignmentKey(attributionMode, sourceId.value(), targetId.value(), actionId);
-        dotAttributionAssignedAmountByKey.merge(key, amount, Long::sum);
-        dotAttributionAssignedHitCountByKey.merge(key, 1L, Long::sum);
+        recordDotAttributionAmount(DotAttributionDiagnostics.Dimension.DOT_ATTRIBUTION_ASSIGNED,
+                attributionMode, sourceId.value(), targetId.value(), actionId, amount);
         recentDotAttributionAssignments.addLast(new DotAttributionAssignment(
                 attributionTs,
                 attributionMode,
@@ -3630,26 +3741,19 @@ public final class ActIngestionService {
         pruneRecentDotAttributionAssignments(attributionTs);
         boolean emitted = emitValidatedDotDamageEvent(tsMs, sourceId, sourceName, targetId, actionId, amount);
         if (emitted) {
-            dotAttributionEmittedAmountByKey.merge(key, amount, Long::sum);
-            dotAttributionEmittedHitCountByKey.merge(key, 1L, Long::sum);
+            recordDotAttributionAmount(DotAttributionDiagnostics.Dimension.DOT_ATTRIBUTION_EMITTED,
+                    attributionMode, sourceId.value(), targetId.value(), actionId, amount);
         }
     }
 
-    private void pruneRecentDotAttributionAssignments(Instant now) {
-        Instant cutoff = now.minus(LIVE_DOT_ATTRIBUTION_DEBUG_RETENTION);
+    private void pruneRecentDotAttributionAssignments(long now) {
+        long cutoff = now - LIVE_DOT_ATTRIBUTION_DEBUG_RETENTION_MS;
         while (!recentDotAttributionAssignments.isEmpty()
-                && recentDotAttributionAssignments.peekFirst().ts().isBefore(cutoff)) {
+                && recentDotAttributionAssignments.peekFirst().tsMs() < cutoff) {
             recentDotAttributionAssignments.removeFirst();
         }
     }
 
-    private String buildDotAttributionAssignmentKey(String mode, long sourceId, long targetId, int actionId) {
-        return mode
-                + "|source=" + Long.toHexString(sourceId).toUpperCase()
-                + "|target=" + Long.toHexString(targetId).toUpperCase()
-                + "|action=" + Integer.toHexString(actionId).toUpperCase();
-    }
-
     private boolean emitValidatedDotDamageEvent(
             long tsMs,
             ActorId sourceId,
@@ -3675,7 +3779,7 @@ public final class ActIngestionService {
             );
             return false;
         }
-        combatEventPort.onEvent(new CombatEvent.DamageEvent(
+        emit(new CombatEvent.DamageEvent(
                 tsMs,
                 sourceId,
                 sourceName,
@@ -3695,22 +3799,69 @@ public final class ActIngestionService {
         return actionId != null ? actionId : 0;
     }
 
-    private void ensureFightStarted(Instant firstEventTs) {
+    private void ensureFightStarted(long firstEventTsMs) {
         if (fightStarted) return;
         fightStarted = true;
-        fightStartInstant = firstEventTs;
+        fightStartMs = firstEventTsMs;
+        watchdogElapsedMs = 0L;
+        if (eventTimeTicker != null) {
+            eventTimeTicker.reset();
+        }
         combatPartyMemberIds.clear();
         combatPartyMemberIds.addAll(partyMemberIds);
         deadPlayers.clear();  // ?????????????????????????????????????????????????????????????????????????????????????????????????袁⑸즴筌?씛彛???돗??????????????癲ル슢二??곸젞???????????????????????됰Ŧ?????????????????????대첐?????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????????
         announcedBossId = null;
         logger.info("[Ingestion] fight started at {} zone={} zoneId={} playerJobId={} partySize={}",
-                firstEventTs, currentZoneName, currentZoneId,
+                Instant.ofEpochMilli(firstEventTsMs), currentZoneName, currentZoneId,
                 Integer.toHexString(currentPlayerJobId), effectivePartyMemberCountForCombat());
-        combatEventPort.onEvent(new CombatEvent.FightStart(0L, currentZoneName, currentZoneId, currentPlayerJobId));
+        // 저널에서 복구할 때 이 전투를 이어 받을 수 있도록 시작 시각을 남긴다.
+        // 모은 이벤트보다 먼저 기록되어도 된다: 복구는 마지막 기준점과 마지막 FightStart만 본다.
+        combatService.recordFightAnchor(new CombatJournal.FightAnchor(
+                firstEventTsMs, currentPlayerId, currentPlayerName, List.copyOf(partyMemberIds)));
+        emit(new CombatEvent.FightStart(0L, currentZoneName, currentZoneId, currentPlayerJobId));
         emitPendingBuffs();
         emitPendingBossIfPresent();
     }
 
+    /**
+     * 저널에서 복구한 엔진이 전투 중이면 수집기도 그 전투를 이어 받는다.
+     * 그러지 않으면 다음 데미지 라인이 FightStart를 새로 내서 복구한 상태를 지운다.
+     * 마지막 이벤트 시각은 복구된 경과 시간으로 맞추므로, 재시작이 길어지면 다음 라인에서 전투 타임아웃으로 끝난다.
+     */
+    public synchronized void resumeFight(CombatJournalStore.ResumePoint resumePoint) {
+        if (resumePoint == null || fightStarted) {
+            return;
+        }
+        CombatJournal.FightAnchor anchor = resumePoint.anchor();
+        if (currentPlayerId == 0 && anchor.playerId() != 0) {
+            currentPlayerId = anchor.playerId();
+            currentPlayerName = anchor.playerName();
+            actorNameById.put(currentPlayerId, currentPlayerName);
+        }
+        if (partyMemberIds.isEmpty()) {
+            partyMemberIds.addAll(anchor.partyMemberIds());
+        }
+        resumePoint.ownerByPetId().forEach(ownerByCombatantId::putIfAbsent);
+        fightStarted = true;
+        fightStartMs = anchor.fightStartEpochMs();
+        lastEventMs = fightStartMs + resumePoint.elapsedMs();
+        lastDamageAtMs = lastEventMs;
+        // 워치독은 여기서부터 조용한 시간을 잰다 (0이면 부팅 후 시간 전체를 한 번에 틱으로 낸다)
+        lastEventWallNanos = System.nanoTime();
+        currentZoneName = resumePoint.zoneName();
+        currentZoneId = resumePoint.zoneId();
+        if (currentPlayerJobId <= 0) {
+            currentPlayerJobId = resumePoint.playerJobId();
+        }
+        if (eventTimeTicker != null) {
+            eventTimeTicker.resumeAfter(resumePoint.elapsedMs());
+        }
+        combatPartyMemberIds.clear();
+        combatPartyMemberIds.addAll(partyMemberIds);
+        logger.info("[Ingestion] resumed fight started at {} zone={} zoneId={} elapsed={}ms",
+                Instant.ofEpochMilli(fightStartMs), currentZoneName, currentZoneId, resumePoint.elapsedMs());
+    }
+
     private void emitPendingBuffs() {
         while (!pendingBuffEvents.isEmpty()) {
             PendingBuffEvent pending = pendingBuffEvents.removeFirst();
@@ -3726,9 +3877,9 @@ public final class ActIngestionService {
 
     private void emitBuffApply(BuffApplyRaw b) {
         trackActiveSelfBuff(b);
-        long tsMs = toElapsedMs(b.ts());
+        long tsMs = toElapsedMs(b.tsMs());
         emitLiveDotApplicationCloneIfPresent(b, tsMs);
-        combatEventPort.onEvent(new CombatEvent.BuffApply(
+        emit(new CombatEvent.BuffApply(
                 tsMs,
                 new ActorId(b.sourceId()),
                 new ActorId(b.targetId()),
@@ -3748,13 +3899,13 @@ public final class ActIngestionService {
         if (candidate == null) {
             return;
         }
-        if (candidate.ts().isBefore(buffApply.ts().minus(LIVE_DOT_APPLICATION_CLONE_WINDOW))) {
+        if (candidate.tsMs() < buffApply.tsMs() - LIVE_DOT_APPLICATION_CLONE_WINDOW_MS) {
             recentDotApplicationCloneCandidates.remove(key);
             return;
         }
         recentDotApplicationCloneCandidates.remove(key);
         emittedDamageCount++;
-        combatEventPort.onEvent(new CombatEvent.DamageEvent(
+        emit(new CombatEvent.DamageEvent(
                 tsMs,
                 new ActorId(buffApply.sourceId()),
                 buffApply.sourceName(),
@@ -3771,8 +3922,8 @@ public final class ActIngestionService {
 
     private void emitBuffRemove(BuffRemoveRaw b) {
         untrackActiveSelfBuff(b);
-        long tsMs = toElapsedMs(b.ts());
-        combatEventPort.onEvent(new CombatEvent.BuffRemove(
+        long tsMs = toElapsedMs(b.tsMs());
+        emit(new CombatEvent.BuffRemove(
                 tsMs,
                 new ActorId(b.sourceId()),
                 new ActorId(b.targetId()),
@@ -3967,7 +4118,7 @@ public final class ActIngestionService {
             return;
         }
 
-        combatEventPort.onEvent(new CombatEvent.BossIdentified(
+        emit(new CombatEvent.BossIdentified(
                 nowElapsedMs(),
                 new ActorId(pendingBoss.actorId()),
                 pendingBoss.name(),
@@ -3977,18 +4128,21 @@ public final class ActIngestionService {
     }
 
 
-    private long toElapsedMs(Instant eventTs) {
-        if (fightStartInstant == null) return 0;
-        long ms = Duration.between(fightStartInstant, eventTs).toMillis();
-        return Math.max(0, ms);
+    /** 전투 시작 기준 경과 시간. 워치독이 이미 낸 틱보다 앞선 시각은 그 틱으로 당겨서 엔진 시간이 뒤로 가지 않게 한다. */
+    private long toElapsedMs(long eventTsMs) {
+        if (fightStartMs == NO_TS) return 0;
+        long ms = eventTsMs - fightStartMs;
+        return Math.max(watchdogElapsedMs, Math.max(0, ms));
     }
 
     private record BossCandidate(long actorId, String name, long maxHp) {}
     private record UnknownSourceDotAttribution(long sourceId, int actionId, String sourceName) {}
-    private record SourceDotEvidence(int actionOrStatusId, Instant appliedAt, long targetId, String targetName) {}
+    private record SourceDotEvidence(int actionOrStatusId, long appliedAtMs, long targetId, String targetName) {}
     private record LiveDotApplicationCloneKey(long sourceId, long targetId, int actionId) {}
     private record TrackedDotKey(long sourceId, int actionId) {}
-    private record TrackedDotState(long sourceId, String sourceName, int actionId, Instant expiresAt) {}
+    private record TrackedDotState(long sourceId, String sourceName, int actionId, long expiresAtMs) {}
+    // collectTrackedDots, countDistinct*에서 시전자를 가리지 않는다 (표의 시전자 ID는 32비트라 -1과 겹치지 않는다)
+    private static final long ANY_SOURCE = -1L;
     private record KnownSourceTrackedTargetSplitFeatures(
             boolean eligible,
             List<TrackedDotState> sourceTrackedDots,
@@ -4125,12 +4279,12 @@ public final class ActIngestionService {
             );
         }
     }
-    private record StatusSignalEvidence(Instant ts, long sourceId, int actionId) {}
-    private record StatusSnapshotState(Instant ts, Map<TrackedDotKey, Double> weights) {}
+    private record StatusSignalEvidence(long tsMs, long sourceId, int actionId) {}
+    private record StatusSnapshotState(long tsMs, Map<TrackedDotKey, Double> weights) {}
     private record SnapshotRedistributionWeights(String path, Map<TrackedDotKey, Double> weights) {}
     private record SnapshotRedistributedDot(String path, long sourceId, int actionId, long amount) {}
     private record DotAttributionAssignment(
-            Instant ts,
+            long tsMs,
             String mode,
             long sourceId,
             String sourceName,
@@ -4139,13 +4293,109 @@ public final class ActIngestionService {
     ) {}
     private record DotAttributionRollupKey(String mode, long sourceId, String sourceName, int actionId) {}
     private record RecentDamageCloneCandidate(
-            Instant ts,
+            long tsMs,
             String actionName,
             long amount,
             boolean criticalHit,
             boolean directHit,
             CombatEvent.HitOutcomeContext hitOutcomeContext
     ) {}
+    /**
+     * DoT 틱 하나를 귀속하는 동안 전략들이 같이 쓰는 값. 추적 DoT 목록, 활성 대상 수, 최근 적용 액션,
+     * 스냅샷 재분배 결과는 처음 요구될 때 한 번만 계산한다. 틱을 처리하는 동안 추적 상태는 만료 정리 말고는
+     * 바뀌지 않고, 같은 시각의 정리는 다시 해도 결과가 같다. 활성 대상 수만 정리로 대상이 빠지면 다시 센다.
+     */
+    private final class DotTick {
+        private final DotTickRaw dot;
+        private long elapsedMs;
+        private boolean unknownStatusDot;
+        private boolean acceptedBySource;
+        private Optional<UnknownSourceDotAttribution> resolvedSourceAttribution = Optional.empty();
+        private long resolvedSourceId;
+        private String resolvedSourceName;
+
+        private List<TrackedDotState> trackedDots;
+        private List<TrackedDotState> sourceTrackedDots;
+        private List<SnapshotRedistributedDot> snapshotRedistribution;
+        private long activeTargets = -1L;
+        private boolean recentSourceResolved;
+        private Integer recentSourceActionId;
+        private boolean recentExactResolved;
+        private Integer recentExactActionId;
+        private boolean corroboratedResolved;
+        private Integer corroboratedKnownSourceActionId;
+        private Boolean suppressKnownSourceGuidMissingFallback;
+
+        private DotTick(DotTickRaw dot) {
+            this.dot = dot;
+        }
+
+        private List<TrackedDotState> trackedDots() {
+            if (trackedDots == null) {
+                trackedDots = computeTrackedTargetDots(dot);
+            }
+            return trackedDots;
+        }
+
+        private List<TrackedDotState> sourceTrackedDots() {
+            if (sourceTrackedDots == null) {
+                sourceTrackedDots = computeTrackedSourceDots(dot);
+            }
+            return sourceTrackedDots;
+        }
+
+        private List<SnapshotRedistributedDot> snapshotRedistribution() {
+            if (snapshotRedistribution == null) {
+                snapshotRedistribution = computeSnapshotRedistribution(dot);
+            }
+            return snapshotRedistribution;
+        }
+
+        private long activeTargets() {
+            if (activeTargets < 0) {
+                activeTargets = computeTrackedTargetsWithActiveDots();
+            }
+            return activeTargets;
+        }
+
+        private Integer recentSourceActionId() {
+            if (!recentSourceResolved) {
+                recentSourceActionId = computeRecentSourceUnknownStatusActionId(dot);
+                recentSourceResolved = true;
+            }
+            return recentSourceActionId;
+        }
+
+        private Integer recentExactActionId() {
+            if (!recentExactResolved) {
+                recentExactActionId = computeRecentExactUnknownStatusActionId(dot, KNOWN_SOURCE_MULTI_TARGET_EXACT_WINDOW_MS);
+                recentExactResolved = true;
+            }
+            return recentExactActionId;
+        }
+
+        private Integer corroboratedKnownSourceActionId() {
+            if (!corroboratedResolved) {
+                corroboratedKnownSourceActionId =
+                        computeCorroboratedTrackedUnknownStatusDotActionId(dot, CORROBORATED_KNOWN_SOURCE_WINDOW_MS);
+                corroboratedResolved = true;
+            }
+            return corroboratedKnownSourceActionId;
+        }
+
+        private boolean suppressKnownSourceGuidMissingFallback() {
+            if (suppressKnownSourceGuidMissingFallback == null) {
+                suppressKnownSourceGuidMissingFallback = computeSuppressKnownSourceGuidMissingMultiTargetFallback(dot);
+            }
+            return suppressKnownSourceGuidMissingFallback;
+        }
+    }
+
+    private DotTick dotTickFor(DotTickRaw dot) {
+        DotTick tick = currentDotTick;
+        return tick != null && tick.dot == dot ? tick : null;
+    }
+
     private static final class DotAttributionRollup {
         private long totalAmount;
         private long hitCount;
@@ -0,0 +1,170 @@
+package com.bohouse.pacemeter.application;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 수집기 하나(로컬 엔진 또는 릴레이 세션)가 알게 된 액터 → 직업 캐시.
+ *
+ * 예전에는 java.util.prefs에 바로 읽고 써서, onParsed 안에서 파일 I/O가 일어나고
+ * 모든 릴레이 세션이 같은 노드를 나눠 썼다. 이제 읽기/쓰기는 메모리에서 끝나고,
+ * 바뀐 내용은 {@link ActorJobCacheRegistry}가 주기적으로 모아 저장소에 쓴다 (쓰기 지연).
+ * 레지스트리에 붙지 않은 캐시(파리티 재생, 테스트)는 메모리에만 남는다.
+ *
+ * 쓰기는 수집 스레드, 플러시는 스케줄러 스레드라서 동시 맵을 쓴다.
+ * 레지스트리가 만든 캐시는 빈 채로 먼저 붙고, 저장된 엔트리는 I/O 스레드가 나중에 채운다.
+ * 그 사이 수집기가 배운 직업이 더 최신이므로 저장된 값은 빈 자리에만 들어간다.
+ */
+public final class ActorJobCache {
+
+    private static final String PLAYER_ID = "player-id:";
+    private static final String PLAYER_NAME = "player-name:";
+    private static final String ACTOR_ID = "actor-id:";
+    private static final String ACTOR_NAME = "actor-name:";
+
+    private final Map<Long, Integer> playerJobById = new ConcurrentHashMap<>();
+    private final Map<String, Integer> playerJobByName = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> actorJobById = new ConcurrentHashMap<>();
+    private final Map<String, Integer> actorJobByName = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final CountDownLatch loaded;
+
+    public ActorJobCache() {
+        this(true);
+    }
+
+    private ActorJobCache(boolean loaded) {
+        this.loaded = new CountDownLatch(loaded ? 0 : 1);
+    }
+
+    /** 저장소 읽기가 끝나기 전까지 플러시 대상에서 빠지는 빈 캐시. {@link #loadStored}로 채운다. */
+    static ActorJobCache pending() {
+        return new ActorJobCache(false);
+    }
+
+    /**
+     * 저장소에서 읽은 엔트리를 아직 모르는 키에만 채우고 읽기 완료로 표시한다.
+     * 알 수 없는 키나 잘못된 값은 건너뛴다.
+     * 읽기 전에 바뀐 게 있으면 dirty가 남아 있어서, 다음 플러시에 합쳐진 전체가 저장된다.
+     */
+    void loadStored(Map<String, Integer> entries) {
+        try {
+            putStored(entries);
+        } finally {
+            loaded.countDown();
+        }
+    }
+
+    /** 저장된 엔트리 읽기가 끝날 때까지 기다린다. 시간 안에 끝나면 true */
+    public boolean awaitLoaded(long timeout, TimeUnit unit) throws InterruptedException {
+        return loaded.await(timeout, unit);
+    }
+
+    private void putStored(Map<String, Integer> entries) {
+        for (Map.Entry<String, Integer> entry : entries.entrySet()) {
+            String key = entry.getKey();
+            Integer jobId = entry.getValue();
+            if (jobId == null || jobId <= 0) {
+                continue;
+            }
+            try {
+                if (key.startsWith(PLAYER_ID)) {
+                    playerJobById.putIfAbsent(Long.parseUnsignedLong(key.substring(PLAYER_ID.length()), 16), jobId);
+                } else if (key.startsWith(PLAYER_NAME)) {
+                    playerJobByName.putIfAbsent(key.substring(PLAYER_NAME.length()), jobId);
+                } else if (key.startsWith(ACTOR_ID)) {
+                    actorJobById.putIfAbsent(Long.parseUnsignedLong(key.substring(ACTOR_ID.length()), 16), jobId);
+                } else if (key.startsWith(ACTOR_NAME)) {
+                    actorJobByName.putIfAbsent(key.substring(ACTOR_NAME.length()), jobId);
+                }
+            } catch (NumberFormatException ignored) {
+                // 손상된 키는 버린다
+            }
+        }
+    }
+
+    /** 현재 플레이어의 마지막 직업. ID로 먼저, 없으면 이름으로 찾는다. 모르면 0 */
+    public int playerJob(long playerId, String playerName) {
+        return lookup(playerJobById, playerJobByName, playerId, playerName);
+    }
+
+    public void rememberPlayerJob(long playerId, String playerName, int jobId) {
+        if (jobId <= 0) {
+            return;
+        }
+        if (playerId != 0) {
+            remember(playerJobById, playerId, jobId);
+        }
+        if (hasName(playerName)) {
+            remember(playerJobByName, playerName, jobId);
+        }
+    }
+
+    /** 다른 액터의 마지막 직업. ID로 먼저, 없으면 이름으로 찾는다. 모르면 0 */
+    public int actorJob(long actorId, String actorName) {
+        return lookup(actorJobById, actorJobByName, actorId, actorName);
+    }
+
+    public void rememberActorJob(long actorId, String actorName, int jobId) {
+        if (jobId <= 0) {
+            return;
+        }
+        remember(actorJobById, actorId, jobId);
+        if (hasName(actorName)) {
+            remember(actorJobByName, actorName, jobId);
+        }
+    }
+
+    /**
+     * 마지막 호출 이후 바뀐 게 있으면 저장할 전체 엔트리를, 없으면 null을 돌려준다.
+     * 엔트리를 만드는 도중 들어온 쓰기는 다시 dirty로 남아 다음 플러시에 실린다.
+     * 저장된 엔트리를 아직 읽지 못했으면 파일을 덮어쓰지 않도록 null을 돌려주고 dirty는 그대로 둔다.
+     */
+    Map<String, Integer> drainChanges() {
+        if (loaded.getCount() > 0 || !dirty.getAndSet(false)) {
+            return null;
+        }
+        return entries();
+    }
+
+    /** 저장에 실패했을 때 다음 플러시에 다시 싣는다. */
+    void markDirty() {
+        dirty.set(true);
+    }
+
+    Map<String, Integer> entries() {
+        Map<String, Integer> entries = new HashMap<>();
+        playerJobById.forEach((id, jobId) -> entries.put(PLAYER_ID + Long.toHexString(id), jobId));
+        playerJobByName.forEach((name, jobId) -> entries.put(PLAYER_NAME + name, jobId));
+        actorJobById.forEach((id, jobId) -> entries.put(ACTOR_ID + Long.toHexString(id), jobId));
+        actorJobByName.forEach((name, jobId) -> entries.put(ACTOR_NAME + name, jobId));
+        return entries;
+    }
+
+    private <K> void remember(Map<K, Integer> jobs, K key, int jobId) {
+        Integer previous = jobs.put(key, jobId);
+        if (previous == null || previous != jobId) {
+            dirty.set(true);
+        }
+    }
+
+    private static int lookup(Map<Long, Integer> byId, Map<String, Integer> byName, long id, String name) {
+        Integer jobId = byId.get(id);
+        if (jobId != null) {
+            return jobId;
+        }
+        if (!hasName(name)) {
+            return 0;
+        }
+        jobId = byName.get(name);
+        return jobId == null ? 0 : jobId;
+    }
+
+    private static boolean hasName(String name) {
+        return name != null && !name.isBlank();
+    }
+}
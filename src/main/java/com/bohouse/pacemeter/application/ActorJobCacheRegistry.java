@@ -0,0 +1,96 @@
+package com.bohouse.pacemeter.application;
+
+import com.bohouse.pacemeter.application.port.outbound.ActorJobStore;
+import com.bohouse.pacemeter.application.port.outbound.SnapshotTopic;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 범위별 {@link ActorJobCache}를 들고 있다가 바뀐 것만 모아 {@link ActorJobStore}에 쓴다.
+ * 로컬(ACT) 수집기는 {@link SnapshotTopic#LOCAL_STREAM_ID}, 릴레이 세션은 세션 ID를 범위로 쓴다.
+ * 저장소 읽기는 전용 I/O 스레드에서 하므로, 세션을 여는 요청 스레드는 파일을 기다리지 않는다.
+ */
+@Component
+public class ActorJobCacheRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(ActorJobCacheRegistry.class);
+
+    static final long FLUSH_INTERVAL_MS = 5_000L;
+    private static final long SHUTDOWN_WAIT_MS = 2_000L;
+
+    private final ActorJobStore store;
+    private final Map<String, ActorJobCache> caches = new ConcurrentHashMap<>();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(new LoaderThreadFactory());
+
+    public ActorJobCacheRegistry(ActorJobStore store) {
+        this.store = store;
+    }
+
+    /**
+     * 범위의 캐시. 처음 열면 빈 캐시를 바로 돌려주고, 저장된 엔트리는 I/O 스레드가 한 번 읽어 채운다.
+     * 읽기가 끝나기 전에는 플러시가 그 범위를 건너뛴다.
+     */
+    public ActorJobCache cache(String scopeId) {
+        return caches.computeIfAbsent(scopeId, id -> {
+            ActorJobCache cache = ActorJobCache.pending();
+            loader.execute(() -> load(id, cache));
+            return cache;
+        });
+    }
+
+    private void load(String scopeId, ActorJobCache cache) {
+        Map<String, Integer> entries = Map.of();
+        try {
+            entries = store.load(scopeId);
+        } catch (RuntimeException e) {
+            logger.warn("[JobCache] failed to load scope {}: {}", scopeId, e.toString());
+        } finally {
+            cache.loadStored(entries);
+        }
+    }
+
+    /** 마지막 플러시 이후 바뀐 캐시만 저장소에 쓴다. */
+    @Scheduled(fixedDelay = FLUSH_INTERVAL_MS)
+    public void flush() {
+        for (Map.Entry<String, ActorJobCache> entry : caches.entrySet()) {
+            Map<String, Integer> changes = entry.getValue().drainChanges();
+            if (changes == null) {
+                continue;
+            }
+            try {
+                store.save(entry.getKey(), changes);
+            } catch (RuntimeException e) {
+                entry.getValue().markDirty();
+                logger.warn("[JobCache] failed to save scope {}: {}", entry.getKey(), e.toString());
+            }
+        }
+    }
+
+    /** 진행 중인 읽기를 잠깐 기다렸다가 마지막으로 한 번 쓴다. */
+    @PreDestroy
+    public void flushOnShutdown() throws InterruptedException {
+        loader.shutdown();
+        if (!loader.awaitTermination(SHUTDOWN_WAIT_MS, TimeUnit.MILLISECONDS)) {
+            loader.shutdownNow();
+        }
+        flush();
+    }
+
+    private static final class LoaderThreadFactory implements ThreadFactory {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "job-cache-loader");
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
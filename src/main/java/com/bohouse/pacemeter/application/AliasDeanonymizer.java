@@ -0,0 +1,72 @@
+package com.bohouse.pacemeter.application;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 제출 로그의 익명 별칭(Player127 등)을 원래 이름으로 되돌린다. 별칭은 '|'로 나뉜 필드 하나와 통째로 같을 때만 바꾼다.
+ *
+ * 매핑은 만들 때 한 번 정리해 둔다. 별칭 길이와 첫 글자를 비트셋으로 들고 있다가 둘 다 맞는 필드만 맵에서 찾으므로,
+ * 대부분의 필드(숫자, 16진 ID)는 부분 문자열을 만들지 않고 지나간다. 바꿀 필드가 없으면 원래 줄을 그대로 돌려준다.
+ */
+final class AliasDeanonymizer {
+
+    static final AliasDeanonymizer NONE = new AliasDeanonymizer(Map.of());
+
+    private final Map<String, String> aliasToOriginal;
+    private final BitSet aliasLengths = new BitSet();
+    private final BitSet aliasFirstChars = new BitSet();
+
+    AliasDeanonymizer(Map<String, String> aliasToOriginal) {
+        Map<String, String> aliases = new HashMap<>();
+        for (Map.Entry<String, String> entry : aliasToOriginal.entrySet()) {
+            String alias = entry.getKey();
+            if (alias == null || entry.getValue() == null || alias.isEmpty() || alias.indexOf('|') >= 0) {
+                continue;
+            }
+            aliases.put(alias, entry.getValue());
+            aliasLengths.set(alias.length());
+            aliasFirstChars.set(alias.charAt(0));
+        }
+        this.aliasToOriginal = Map.copyOf(aliases);
+    }
+
+    boolean isEmpty() {
+        return aliasToOriginal.isEmpty();
+    }
+
+    String apply(String line) {
+        if (line == null || line.isBlank() || aliasToOriginal.isEmpty()) {
+            return line;
+        }
+        StringBuilder restored = null;
+        int copiedUpTo = 0;
+        int fieldStart = 0;
+        int length = line.length();
+        while (fieldStart <= length) {
+            int fieldEnd = line.indexOf('|', fieldStart);
+            if (fieldEnd < 0) {
+                fieldEnd = length;
+            }
+            int fieldLength = fieldEnd - fieldStart;
+            if (fieldLength > 0
+                    && aliasLengths.get(fieldLength)
+                    && aliasFirstChars.get(line.charAt(fieldStart))) {
+                String original = aliasToOriginal.get(line.substring(fieldStart, fieldEnd));
+                if (original != null) {
+                    if (restored == null) {
+                        restored = new StringBuilder(length + 16);
+                    }
+                    restored.append(line, copiedUpTo, fieldStart).append(original);
+                    copiedUpTo = fieldEnd;
+                }
+            }
+            fieldStart = fieldEnd + 1;
+        }
+        if (restored == null) {
+            return line;
+        }
+        return restored.append(line, copiedUpTo, length).toString();
+    }
+}
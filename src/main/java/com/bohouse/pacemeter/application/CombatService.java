@@ -1,13 +1,13 @@
 package com.bohouse.pacemeter.application;
 
 import com.bohouse.pacemeter.application.port.inbound.CombatEventPort;
+import com.bohouse.pacemeter.application.port.outbound.CombatJournal;
 import com.bohouse.pacemeter.application.port.outbound.EnrageTimeProvider;
 import com.bohouse.pacemeter.application.port.outbound.PaceProfileProvider;
 import com.bohouse.pacemeter.application.port.outbound.SnapshotPublisher;
 import com.bohouse.pacemeter.core.engine.CombatEngine;
 import com.bohouse.pacemeter.core.engine.EngineResult;
 import com.bohouse.pacemeter.core.estimator.Confidence;
-import com.bohouse.pacemeter.core.estimator.OnlineEstimator;
 import com.bohouse.pacemeter.core.estimator.PaceProfile;
 import com.bohouse.pacemeter.core.estimator.RdpsEstimate;
 import com.bohouse.pacemeter.core.event.CombatEvent;
@@ -15,6 +15,7 @@ import com.bohouse.pacemeter.core.model.ActiveBuff;
 import com.bohouse.pacemeter.core.model.ActorId;
 import com.bohouse.pacemeter.core.model.ActorStats;
 import com.bohouse.pacemeter.core.model.CombatState;
+import com.bohouse.pacemeter.core.snapshot.OverlaySnapshot;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -33,7 +34,7 @@ public class CombatService implements CombatEventPort {
     private final SnapshotPublisher snapshotPublisher;
     private final PaceProfileProvider paceProfileProvider;
     private final EnrageTimeProvider enrageTimeProvider;
-    private final OnlineEstimator onlineEstimator;
+    private final CombatJournal journal;
     private final ExecutorService profileLoader;
     private final AtomicLong profileLoadGeneration;
     private final Object lock;
@@ -45,12 +46,23 @@ public class CombatService implements CombatEventPort {
             SnapshotPublisher snapshotPublisher,
             PaceProfileProvider paceProfileProvider,
             EnrageTimeProvider enrageTimeProvider
+    ) {
+        this(engine, snapshotPublisher, paceProfileProvider, enrageTimeProvider, CombatJournal.NONE);
+    }
+
+    /** journal에는 엔진에 넣는 이벤트와 설정 변경을 엔진 락 안에서, 반영 순서대로 남긴다. */
+    public CombatService(
+            CombatEngine engine,
+            SnapshotPublisher snapshotPublisher,
+            PaceProfileProvider paceProfileProvider,
+            EnrageTimeProvider enrageTimeProvider,
+            CombatJournal journal
     ) {
         this.engine = engine;
         this.snapshotPublisher = snapshotPublisher;
         this.paceProfileProvider = paceProfileProvider;
         this.enrageTimeProvider = enrageTimeProvider;
-        this.onlineEstimator = new OnlineEstimator();
+        this.journal = journal;
         this.profileLoader = Executors.newSingleThreadExecutor(new ProfileLoaderThreadFactory());
         this.profileLoadGeneration = new AtomicLong();
         this.lock = new Object();
@@ -65,6 +77,7 @@ public class CombatService implements CombatEventPort {
             synchronized (lock) {
                 currentTerritoryId = fightStart.zoneId();
                 engine.setProfiles(PaceProfile.NONE, PaceProfile.NONE);
+                journal.recordEvent(event);
                 result = engine.process(event);
             }
             requestProfileLoad(fightStart.fightName(), fightStart.zoneId(), fightStart.playerJobId());
@@ -73,6 +86,7 @@ public class CombatService implements CombatEventPort {
                 if (event instanceof CombatEvent.Tick || event instanceof CombatEvent.FightEnd) {
                     engine.setEnrageInfo(enrageTimeProvider.getEnrageTime(currentTerritoryId));
                 }
+                journal.recordEvent(event);
                 result = engine.process(event);
             }
         }
@@ -81,8 +95,73 @@ public class CombatService implements CombatEventPort {
         return result;
     }
 
+    /**
+     * 이벤트 묶음을 락 한 번으로 처리한다. 엔진의 {@link CombatEngine#processBatch}로 넘기므로
+     * 묶음 안의 스냅샷은 마지막 Tick에서 하나만 나온다.
+     * FightStart는 프로필 초기화/로딩 때문에 경계로 삼아, 그 앞뒤를 따로 처리한다.
+     */
+    @Override
+    public EngineResult onEvents(List<CombatEvent> events) {
+        EngineResult last = EngineResult.empty();
+        List<OverlaySnapshot> snapshots = new ArrayList<>(1);
+        List<CombatEvent.FightStart> fightStarts = List.of();
+
+        synchronized (lock) {
+            int segmentStart = 0;
+            for (int i = 0; i <= events.size(); i++) {
+                CombatEvent.FightStart fightStart = i < events.size()
+                        && events.get(i) instanceof CombatEvent.FightStart start ? start : null;
+                if (i < events.size() && fightStart == null) {
+                    continue;
+                }
+                if (segmentStart < i) {
+                    last = collect(processSegment(events.subList(segmentStart, i)), last, snapshots);
+                }
+                if (fightStart != null) {
+                    currentTerritoryId = fightStart.zoneId();
+                    engine.setProfiles(PaceProfile.NONE, PaceProfile.NONE);
+                    journal.recordEvent(fightStart);
+                    last = collect(engine.process(fightStart), last, snapshots);
+                    if (fightStarts.isEmpty()) {
+                        fightStarts = new ArrayList<>(1);
+                    }
+                    fightStarts.add(fightStart);
+                }
+                segmentStart = i + 1;
+            }
+        }
+
+        for (CombatEvent.FightStart fightStart : fightStarts) {
+            requestProfileLoad(fightStart.fightName(), fightStart.zoneId(), fightStart.playerJobId());
+        }
+        snapshots.forEach(snapshotPublisher::publish);
+        return last;
+    }
+
+    private EngineResult processSegment(List<CombatEvent> segment) {
+        for (CombatEvent event : segment) {
+            journal.recordEvent(event);
+        }
+        for (CombatEvent event : segment) {
+            if (event instanceof CombatEvent.Tick || event instanceof CombatEvent.FightEnd) {
+                engine.setEnrageInfo(enrageTimeProvider.getEnrageTime(currentTerritoryId));
+                break;
+            }
+        }
+        return engine.processBatch(segment);
+    }
+
+    private static EngineResult collect(EngineResult result, EngineResult last, List<OverlaySnapshot> snapshots) {
+        if (!result.hasSnapshot()) {
+            return last;
+        }
+        snapshots.add(result.snapshot().orElseThrow());
+        return result;
+    }
+
     public void setCurrentPlayerId(ActorId playerId) {
         synchronized (lock) {
+            journal.recordCurrentPlayer(playerId);
             engine.setCurrentPlayerId(playerId);
             if (playerId == null) {
                 return;
@@ -97,6 +176,7 @@ public class CombatService implements CombatEventPort {
 
     public void setJobId(ActorId actorId, int jobId) {
         synchronized (lock) {
+            journal.recordJob(actorId, jobId);
             engine.setJobId(actorId, jobId);
         }
         refreshProfilesIfPossible(actorId, jobId);
@@ -104,12 +184,21 @@ public class CombatService implements CombatEventPort {
 
     public void setOwner(ActorId petId, ActorId ownerId) {
         synchronized (lock) {
+            journal.recordOwner(petId, ownerId);
             engine.setOwner(petId, ownerId);
         }
     }
 
+    /** 수집기 쪽 전투 기준점을 저널에 남긴다. 엔진 상태는 바꾸지 않는다. */
+    public void recordFightAnchor(CombatJournal.FightAnchor anchor) {
+        synchronized (lock) {
+            journal.recordFightAnchor(anchor);
+        }
+    }
+
     public void clearCombatantContext() {
         synchronized (lock) {
+            journal.recordContextCleared();
             engine.clearCombatantContext();
             engine.setProfiles(PaceProfile.NONE, PaceProfile.NONE);
             currentTerritoryId = 0;
@@ -117,35 +206,56 @@ public class CombatService implements CombatEventPort {
         }
     }
 
+    /**
+     * {@link #debugSnapshot()}이 지역(territoryId &gt; 0)과 액터 하나 이상을 담은 스냅샷을 돌려줄지를
+     * 스냅샷을 만들지 않고 판단한다. 이름 있는 펫 아닌 액터를 하나 찾으면 바로 끝난다.
+     */
+    public boolean hasDebugContent() {
+        synchronized (lock) {
+            if (currentTerritoryId <= 0) {
+                return false;
+            }
+            CombatState state = engine.currentState();
+            for (int i = 0; i < state.actorCount(); i++) {
+                ActorStats stats = state.actorAt(i);
+                if (!state.hasOwner(stats.actorId().value()) && stats.name() != null && !stats.name().isBlank()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
     public CombatDebugSnapshot debugSnapshot() {
         CombatState state;
         Map<ActorId, Integer> jobIds;
         ActorId currentPlayerId;
         int territoryId;
+        Map<ActorId, RdpsEstimate> estimates;
 
         synchronized (lock) {
             state = engine.currentState();
+            estimates = engine.currentEstimates();
             jobIds = engine.jobIdMap();
             currentPlayerId = engine.currentPlayerId();
             territoryId = currentTerritoryId;
         }
 
-        Map<ActorId, RdpsEstimate> estimates = onlineEstimator.estimate(state);
         Map<ActorId, AggregatedActorMetrics> petMetricsByOwner = new HashMap<>();
-        for (Map.Entry<ActorId, ActorId> ownerEntry : state.ownerMap().entrySet()) {
-            ActorStats petStats = state.actors().get(ownerEntry.getKey());
+        for (int i = 0; i < state.ownerCount(); i++) {
+            ActorStats petStats = state.getActor(state.petIdAt(i));
             if (petStats == null) {
                 continue;
             }
             AggregatedActorMetrics metrics = petMetricsByOwner.computeIfAbsent(
-                    ownerEntry.getValue(),
+                    new ActorId(state.ownerIdAt(i)),
                     ignored -> new AggregatedActorMetrics()
             );
             metrics.totalDamage += petStats.totalDamage();
             metrics.recentDamage += petStats.recentDamage();
             metrics.receivedBuffContribution += petStats.totalReceivedBuffContribution();
             metrics.grantedBuffContribution += petStats.totalGrantedBuffContribution();
-            metrics.onlineRdps += estimates.getOrDefault(ownerEntry.getKey(), new RdpsEstimate(0.0, Confidence.none()))
+            metrics.onlineRdps += estimates.getOrDefault(petStats.actorId(), new RdpsEstimate(0.0, Confidence.none()))
                     .actorOnlineRdps();
             metrics.hitCount += petStats.hitCount();
             metrics.observedHitSampleCount += petStats.observedHitSampleCount();
@@ -154,10 +264,10 @@ public class CombatService implements CombatEventPort {
         }
 
         List<CombatDebugSnapshot.ActorDebugEntry> actors = new ArrayList<>();
-        for (Map.Entry<ActorId, ActorStats> entry : state.actors().entrySet()) {
-            ActorId actorId = entry.getKey();
-            ActorStats stats = entry.getValue();
-            if (state.ownerMap().containsKey(actorId)) {
+        for (int i = 0; i < state.actorCount(); i++) {
+            ActorStats stats = state.actorAt(i);
+            ActorId actorId = stats.actorId();
+            if (state.hasOwner(actorId.value())) {
                 continue;
             }
             if (stats.name() == null || stats.name().isBlank()) {
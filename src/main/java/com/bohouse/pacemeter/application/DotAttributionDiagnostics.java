@@ -0,0 +1,548 @@
+package com.bohouse.pacemeter.application;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * DoT 귀속 진단 카운터 모음.
+ *
+ * 카운터마다 차원({@link Dimension})이 있고, 키는 차원이 정한 필드 값을 작은 정수 버킷으로 바꿔
+ * long 세 개에 비트로 채운 것이다. 횟수와 양은 키 테이블과 나란한 long 배열에 쌓는다.
+ * 틱마다 키 문자열을 만들지 않고, 디버그 API나 파리티 리포트가 읽을 때만
+ * 예전과 같은 "reason=...|activeTargets=..." 문자열로 펼친다.
+ *
+ * 소스/액션 ID와 사유 라벨은 처음 본 순서대로 번호를 매겨 15비트에 넣는다. 번호가 다 차면 "overflow"로 펼친다.
+ * 꺼져 있으면 아무것도 기록하지 않는다. 호출 측은 키 재료를 계산하기 전에 {@link #enabled()}를 먼저 본다.
+ *
+ * 스레드 안전하지 않다. 호출 측(ActIngestionService)에서 동기화한다.
+ */
+final class DotAttributionDiagnostics {
+
+    private static final long UNKNOWN_ACTOR_ID = 0xE0000000L;
+    private static final int KEY_WORDS = 3;
+    private static final int SYMBOL_BITS = 15;
+    private static final int MAX_SYMBOL = (1 << SYMBOL_BITS) - 1;
+    private static final int ACTION_SET_LIMIT = 4;
+
+    enum Kind {
+        /** 사유/경로 같은 문자열 라벨 */
+        LABEL(SYMBOL_BITS),
+        FLAG(1),
+        /** 0, 1, ..., top+ */
+        CARDINALITY(3),
+        /** 0.1 단위 구간, 음수는 na */
+        RATIO(4),
+        /** 소스 ID, 0 이하와 미상 액터는 na */
+        SOURCE(SYMBOL_BITS),
+        /** 액션 ID, 0 이하는 na */
+        ACTION(SYMBOL_BITS),
+        /** 액터 ID 16진수 그대로 */
+        ACTOR_HEX(SYMBOL_BITS),
+        /** 액션 ID 16진수 그대로 */
+        ACTION_HEX(SYMBOL_BITS),
+        /** 정렬된 액션 ID 최대 4개와 넘침 표시 */
+        ACTION_SET(SYMBOL_BITS * ACTION_SET_LIMIT + 1);
+
+        private final int bits;
+
+        Kind(int bits) {
+            this.bits = bits;
+        }
+    }
+
+    /** 키 필드 하나. name이 null이면 이름 없이 값만 펼친다. */
+    record Field(String name, Kind kind, int top) {
+    }
+
+    enum Dimension {
+        DOT_ATTRIBUTION_MODE(true,
+                field(null, Kind.LABEL)),
+        DOT_ATTRIBUTION_ASSIGNED(true,
+                field(null, Kind.LABEL),
+                field("source", Kind.ACTOR_HEX),
+                field("target", Kind.ACTOR_HEX),
+                field("action", Kind.ACTION_HEX)),
+        // 전투가 끝나도 지우지 않는다 (원래부터 누적 카운터였다)
+        DOT_ATTRIBUTION_EMITTED(false,
+                field(null, Kind.LABEL),
+                field("source", Kind.ACTOR_HEX),
+                field("target", Kind.ACTOR_HEX),
+                field("action", Kind.ACTION_HEX)),
+        KNOWN_SOURCE_TRACKED_TARGET_SPLIT_PROBE(true,
+                field("reason", Kind.LABEL),
+                field("suppressed", Kind.FLAG),
+                count("trackedTargets", 4),
+                count("sourceTracked", 3),
+                count("activeTargets", 4),
+                field("sourceShare", Kind.RATIO),
+                field("actionShare", Kind.RATIO),
+                field("score", Kind.RATIO)),
+        KNOWN_SOURCE_FOREIGN_ONLY_SPLIT_PROBE(true,
+                field("split", Kind.LABEL),
+                field("reason", Kind.LABEL),
+                field("included", Kind.FLAG),
+                count("trackedTargets", 4),
+                count("sourceTracked", 3),
+                count("activeTargets", 4),
+                count("foreignCandidates", 4),
+                field("source", Kind.SOURCE),
+                field("sourceAction", Kind.ACTION)),
+        KNOWN_SOURCE_TRACKED_TARGET_SPLIT_ASSIGNMENT(true,
+                count("activeTargets", 4),
+                count("trackedTargets", 4),
+                count("sourceTracked", 3),
+                field("sourceTrackedAction", Kind.ACTION),
+                field("recentSource", Kind.ACTION),
+                field("recentExact", Kind.ACTION),
+                field("targetDeathAge", Kind.LABEL),
+                count("foreignTracked", 4),
+                count("foreignActions", 4),
+                field("foreignActionSet", Kind.ACTION_SET)),
+        STATUS0_SNAPSHOT_REDISTRIBUTION_DEFER_PROBE(true,
+                field("reason", Kind.LABEL),
+                field("deferred", Kind.FLAG),
+                field("accepted", Kind.FLAG),
+                count("activeTargets", 4),
+                count("sourceTracked", 3),
+                field("sourceTrackedAction", Kind.ACTION),
+                field("recentSource", Kind.ACTION),
+                field("source", Kind.SOURCE)),
+        STATUS0_SNAPSHOT_REDISTRIBUTION_RECIPIENT(true,
+                field("path", Kind.LABEL),
+                field("rawSourceClass", Kind.LABEL),
+                field("rawSource", Kind.SOURCE),
+                field("sourceRelation", Kind.LABEL),
+                count("activeTargets", 4),
+                field("assignedAction", Kind.ACTION),
+                field("assignedSource", Kind.SOURCE)),
+        KNOWN_SOURCE_TRACKED_TARGET_SINGLE_SOURCE_BINDING_PROBE(true,
+                field("reason", Kind.LABEL),
+                field("applied", Kind.FLAG),
+                count("activeTargets", 4),
+                count("trackedTargets", 4),
+                count("sourceTracked", 3),
+                field("sourceTrackedAction", Kind.ACTION),
+                field("recentSource", Kind.ACTION),
+                field("recentExact", Kind.ACTION),
+                count("foreignActions", 4),
+                field("source", Kind.SOURCE)),
+        STATUS0_FALLBACK_RECENT_EXACT_SINGLE_BINDING_PROBE(true,
+                field("reason", Kind.LABEL),
+                field("applied", Kind.FLAG),
+                count("activeTargets", 4),
+                count("trackedTargets", 4),
+                field("recentSource", Kind.ACTION),
+                field("recentExact", Kind.ACTION),
+                count("distinctActions", 4),
+                count("sourceActionMatches", 3),
+                count("rawSourceMatches", 3),
+                field("source", Kind.SOURCE));
+
+        private final boolean fightScoped;
+        private final Field[] fields;
+        // 필드가 long 경계를 넘지 않도록 배치한 비트 위치
+        private final int[] offsets;
+
+        Dimension(boolean fightScoped, Field... fields) {
+            this.fightScoped = fightScoped;
+            this.fields = fields;
+            this.offsets = new int[fields.length];
+            int offset = 0;
+            for (int i = 0; i < fields.length; i++) {
+                int bits = fields[i].kind().bits;
+                if ((offset & 63) + bits > 64) {
+                    offset = (offset | 63) + 1;
+                }
+                offsets[i] = offset;
+                offset += bits;
+            }
+            if (offset > KEY_WORDS * 64) {
+                throw new IllegalStateException("diagnostics key too wide: " + name() + " bits=" + offset);
+            }
+        }
+    }
+
+    private static Field field(String name, Kind kind) {
+        return new Field(name, kind, 0);
+    }
+
+    private static Field count(String name, int top) {
+        return new Field(name, Kind.CARDINALITY, top);
+    }
+
+    private final boolean enabled;
+    private final Table[] tables = new Table[Dimension.values().length];
+    private final Key[] keys = new Key[Dimension.values().length];
+    private final Map<String, Integer> labelIds = new HashMap<>();
+    private final List<String> labels = new ArrayList<>();
+    private final LongSymbols actors = new LongSymbols();
+    private final LongSymbols actions = new LongSymbols();
+
+    DotAttributionDiagnostics(boolean enabled) {
+        this.enabled = enabled;
+        for (Dimension dimension : Dimension.values()) {
+            tables[dimension.ordinal()] = new Table();
+            keys[dimension.ordinal()] = new Key(dimension);
+        }
+        labels.add(null);
+    }
+
+    boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * 차원의 키를 처음부터 채운다. 필드는 차원에 선언한 순서대로 넣고 {@link Key#record(long)}로 끝낸다.
+     * 차원마다 한 개를 재사용하므로 record 전에 같은 차원의 key()를 다시 부르면 안 된다.
+     */
+    Key key(Dimension dimension) {
+        Key key = keys[dimension.ordinal()];
+        key.reset();
+        return key;
+    }
+
+    /** 키별 기록 횟수. 읽을 때마다 문자열 키를 새로 만든다. */
+    Map<String, Long> counts(Dimension dimension) {
+        return render(dimension, true);
+    }
+
+    /** 키별 양 합계. 양이 0보다 큰 기록이 한 번도 없던 키는 빠진다. */
+    Map<String, Long> amounts(Dimension dimension) {
+        return render(dimension, false);
+    }
+
+    /** 전투 단위 카운터를 비운다. 누적 카운터와 번호표는 그대로 둔다. */
+    void clearFightScoped() {
+        for (Dimension dimension : Dimension.values()) {
+            if (dimension.fightScoped) {
+                tables[dimension.ordinal()].clear();
+            }
+        }
+    }
+
+    final class Key {
+        private final Dimension dimension;
+        private final long[] words = new long[KEY_WORDS];
+        private int cursor;
+
+        private Key(Dimension dimension) {
+            this.dimension = dimension;
+        }
+
+        private void reset() {
+            Arrays.fill(words, 0L);
+            cursor = 0;
+        }
+
+        Key label(String value) {
+            return put(Kind.LABEL, labelId(String.valueOf(value)));
+        }
+
+        Key flag(boolean value) {
+            return put(Kind.FLAG, value ? 1 : 0);
+        }
+
+        /** 0 이하는 0, 필드의 top 이상은 top+ */
+        Key count(int value) {
+            Field field = dimension.fields[cursor];
+            return put(Kind.CARDINALITY, value <= 0 ? 0 : Math.min(value, field.top()));
+        }
+
+        Key ratio(double value) {
+            if (value < 0.0) {
+                return put(Kind.RATIO, 0);
+            }
+            double clamped = Math.max(0.0, Math.min(1.0, value));
+            return put(Kind.RATIO, (int) Math.floor(clamped * 10.0) + 1);
+        }
+
+        Key source(long sourceId) {
+            if (sourceId <= 0 || sourceId == UNKNOWN_ACTOR_ID) {
+                return put(Kind.SOURCE, 0);
+            }
+            return put(Kind.SOURCE, actors.id(sourceId));
+        }
+
+        Key action(int actionId) {
+            return put(Kind.ACTION, actionId <= 0 ? 0 : actions.id(actionId));
+        }
+
+        Key actorHex(long actorId) {
+            return put(Kind.ACTOR_HEX, actors.id(actorId));
+        }
+
+        Key actionHex(int actionId) {
+            return put(Kind.ACTION_HEX, actions.id(actionId));
+        }
+
+        /** sortedActionIds는 순서대로 펼친다. 4개가 넘으면 앞의 4개와 넘침 표시만 남긴다. */
+        Key actionSet(Collection<Integer> sortedActionIds) {
+            long packed = 0L;
+            int index = 0;
+            for (Integer actionId : sortedActionIds) {
+                if (index == ACTION_SET_LIMIT) {
+                    packed |= 1L << (SYMBOL_BITS * ACTION_SET_LIMIT);
+                    break;
+                }
+                packed |= (long) actions.id(actionId) << (SYMBOL_BITS * index);
+                index++;
+            }
+            return put(Kind.ACTION_SET, packed);
+        }
+
+        /** 횟수를 1 늘리고 amount가 양수면 양에 더한다. */
+        void record(long amount) {
+            if (cursor != dimension.fields.length) {
+                throw new IllegalStateException("incomplete diagnostics key: " + dimension + " fields=" + cursor);
+            }
+            if (enabled) {
+                tables[dimension.ordinal()].add(words, amount);
+            }
+        }
+
+        private Key put(Kind kind, long code) {
+            Field field = dimension.fields[cursor];
+            if (field.kind() != kind) {
+                throw new IllegalStateException(dimension + "." + field.name() + " expects " + field.kind() + ", got " + kind);
+            }
+            int offset = dimension.offsets[cursor];
+            words[offset >>> 6] |= code << (offset & 63);
+            cursor++;
+            return this;
+        }
+    }
+
+    private int labelId(String label) {
+        Integer id = labelIds.get(label);
+        if (id != null) {
+            return id;
+        }
+        if (labels.size() >= MAX_SYMBOL) {
+            return MAX_SYMBOL;
+        }
+        int next = labels.size();
+        labels.add(label);
+        labelIds.put(label, next);
+        return next;
+    }
+
+    private Map<String, Long> render(Dimension dimension, boolean counts) {
+        Table table = tables[dimension.ordinal()];
+        Map<String, Long> rendered = new HashMap<>();
+        long[] key = new long[KEY_WORDS];
+        StringBuilder builder = new StringBuilder(128);
+        for (int slot = 0; slot < table.used.length; slot++) {
+            if (!table.used[slot]) {
+                continue;
+            }
+            long value = counts ? table.counts[slot] : table.amounts[slot];
+            if (value <= 0) {
+                continue;
+            }
+            System.arraycopy(table.keys, slot * KEY_WORDS, key, 0, KEY_WORDS);
+            builder.setLength(0);
+            renderKey(dimension, key, builder);
+            rendered.put(builder.toString(), value);
+        }
+        return Map.copyOf(rendered);
+    }
+
+    private void renderKey(Dimension dimension, long[] key, StringBuilder out) {
+        for (int i = 0; i < dimension.fields.length; i++) {
+            Field field = dimension.fields[i];
+            if (i > 0) {
+                out.append('|');
+            }
+            if (field.name() != null) {
+                out.append(field.name()).append('=');
+            }
+            int offset = dimension.offsets[i];
+            int bits = field.kind().bits;
+            long mask = bits == 64 ? -1L : (1L << bits) - 1;
+            long code = (key[offset >>> 6] >>> (offset & 63)) & mask;
+            renderField(field, code, out);
+        }
+    }
+
+    private void renderField(Field field, long code, StringBuilder out) {
+        switch (field.kind()) {
+            case LABEL -> out.append(code == MAX_SYMBOL ? "overflow" : labels.get((int) code));
+            case FLAG -> out.append(code != 0);
+            case CARDINALITY -> {
+                out.append(code);
+                if (code == field.top()) {
+                    out.append('+');
+                }
+            }
+            case RATIO -> {
+                if (code == 0) {
+                    out.append("na");
+                } else {
+                    double floor = (code - 1) / 10.0;
+                    double ceil = Math.min(1.0, floor + 0.1);
+                    out.append(String.format(Locale.ROOT, "%.1f-%.1f", floor, ceil));
+                }
+            }
+            case SOURCE, ACTOR_HEX -> appendSymbol(actors, (int) code, field.kind() == Kind.SOURCE, out);
+            case ACTION, ACTION_HEX -> appendSymbol(actions, (int) code, field.kind() == Kind.ACTION, out);
+            case ACTION_SET -> {
+                if ((code & MAX_SYMBOL) == 0) {
+                    out.append("na");
+                    return;
+                }
+                for (int index = 0; index < ACTION_SET_LIMIT; index++) {
+                    int symbol = (int) ((code >>> (SYMBOL_BITS * index)) & MAX_SYMBOL);
+                    if (symbol == 0) {
+                        break;
+                    }
+                    if (index > 0) {
+                        out.append(',');
+                    }
+                    appendSymbol(actions, symbol, false, out);
+                }
+                if ((code >>> (SYMBOL_BITS * ACTION_SET_LIMIT)) != 0) {
+                    out.append(",...");
+                }
+            }
+        }
+    }
+
+    private static void appendSymbol(LongSymbols symbols, int symbol, boolean zeroIsNa, StringBuilder out) {
+        if (symbol == 0 && zeroIsNa) {
+            out.append("na");
+        } else if (symbol == MAX_SYMBOL) {
+            out.append("overflow");
+        } else {
+            out.append(Long.toHexString(symbols.value(symbol)).toUpperCase(Locale.ROOT));
+        }
+    }
+
+    /** 키 세 개짜리 오픈 어드레싱 테이블. 횟수/양은 슬롯과 같은 위치의 배열에 있다. */
+    private static final class Table {
+        private long[] keys = new long[16 * KEY_WORDS];
+        private long[] counts = new long[16];
+        private long[] amounts = new long[16];
+        private boolean[] used = new boolean[16];
+        private int size;
+
+        void add(long[] key, long amount) {
+            if ((size + 1) * 2 > used.length) {
+                grow();
+            }
+            int slot = find(key);
+            if (!used[slot]) {
+                used[slot] = true;
+                System.arraycopy(key, 0, keys, slot * KEY_WORDS, KEY_WORDS);
+                size++;
+            }
+            counts[slot]++;
+            if (amount > 0) {
+                amounts[slot] += amount;
+            }
+        }
+
+        void clear() {
+            Arrays.fill(used, false);
+            Arrays.fill(counts, 0L);
+            Arrays.fill(amounts, 0L);
+            size = 0;
+        }
+
+        private int find(long[] key) {
+            int mask = used.length - 1;
+            int slot = hash(key[0], key[1], key[2]) & mask;
+            while (used[slot]) {
+                int base = slot * KEY_WORDS;
+                if (keys[base] == key[0] && keys[base + 1] == key[1] && keys[base + 2] == key[2]) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldCounts = counts;
+            long[] oldAmounts = amounts;
+            boolean[] oldUsed = used;
+            int capacity = oldUsed.length * 2;
+            keys = new long[capacity * KEY_WORDS];
+            counts = new long[capacity];
+            amounts = new long[capacity];
+            used = new boolean[capacity];
+            long[] key = new long[KEY_WORDS];
+            for (int slot = 0; slot < oldUsed.length; slot++) {
+                if (!oldUsed[slot]) {
+                    continue;
+                }
+                System.arraycopy(oldKeys, slot * KEY_WORDS, key, 0, KEY_WORDS);
+                int target = find(key);
+                used[target] = true;
+                System.arraycopy(key, 0, keys, target * KEY_WORDS, KEY_WORDS);
+                counts[target] = oldCounts[slot];
+                amounts[target] = oldAmounts[slot];
+            }
+        }
+
+        private static int hash(long a, long b, long c) {
+            long h = a * 0x9E3779B97F4A7C15L;
+            h = (h ^ (h >>> 29) ^ b) * 0xBF58476D1CE4E5B9L;
+            h = (h ^ (h >>> 32) ^ c) * 0x94D049BB133111EBL;
+            return (int) (h ^ (h >>> 31));
+        }
+    }
+
+    /** long 값에 1부터 번호를 매긴다. 0은 na 자리로 비워 둔다. */
+    private static final class LongSymbols {
+        private long[] values = new long[16];
+        private int[] slots = new int[32];
+        private int size;
+
+        int id(long value) {
+            int mask = slots.length - 1;
+            int slot = Long.hashCode(value * 0x9E3779B97F4A7C15L) & mask;
+            while (slots[slot] != 0) {
+                int id = slots[slot];
+                if (values[id] == value) {
+                    return id;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (size + 1 >= MAX_SYMBOL) {
+                return MAX_SYMBOL;
+            }
+            int id = ++size;
+            if (id == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+            }
+            values[id] = value;
+            slots[slot] = id;
+            if (size * 2 > slots.length) {
+                rehash();
+            }
+            return id;
+        }
+
+        long value(int id) {
+            return values[id];
+        }
+
+        private void rehash() {
+            slots = new int[slots.length * 2];
+            int mask = slots.length - 1;
+            for (int id = 1; id <= size; id++) {
+                int slot = Long.hashCode(values[id] * 0x9E3779B97F4A7C15L) & mask;
+                while (slots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = id;
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.bohouse.pacemeter.application;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DoT 틱 귀속 전략을 정해진 순서대로 시도하는 체인. 처음으로 처리했다고(true) 답한 전략에서 멈춘다.
+ *
+ * 전략마다 시도 횟수, 처리 횟수, 걸린 시간(ns)을 쌓는다. 틱 컨텍스트의 값은 처음 요구될 때 계산되므로
+ * 그 계산 시간은 값을 처음 요구한 전략 쪽에 잡힌다.
+ *
+ * 스레드 안전하지 않다. 호출 측(ActIngestionService)에서 동기화한다.
+ *
+ * @param <T> 전략들이 같이 쓰는 틱 컨텍스트
+ */
+final class DotAttributionStrategyChain<T> {
+
+    @FunctionalInterface
+    interface Strategy<T> {
+        /** 이 전략이 틱을 처리했으면(귀속했거나 버리기로 했으면) true */
+        boolean tryAttribute(T tick);
+    }
+
+    /** 전략 하나의 누적 통계 */
+    record Stats(String name, long attempts, long hits, long totalNanos) {
+    }
+
+    private final String[] names;
+    private final List<Strategy<T>> strategies;
+    private final long[] attempts;
+    private final long[] hits;
+    private final long[] nanos;
+
+    private DotAttributionStrategyChain(List<String> names, List<Strategy<T>> strategies) {
+        this.names = names.toArray(String[]::new);
+        this.strategies = List.copyOf(strategies);
+        this.attempts = new long[this.names.length];
+        this.hits = new long[this.names.length];
+        this.nanos = new long[this.names.length];
+    }
+
+    static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /** 전략을 순서대로 시도한다. 어느 전략도 처리하지 않았으면 false. */
+    boolean attribute(T tick) {
+        for (int i = 0; i < names.length; i++) {
+            attempts[i]++;
+            long startedAt = System.nanoTime();
+            boolean handled;
+            try {
+                handled = strategies.get(i).tryAttribute(tick);
+            } finally {
+                nanos[i] += System.nanoTime() - startedAt;
+            }
+            if (handled) {
+                hits[i]++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** 체인 순서대로의 전략별 통계 */
+    List<Stats> stats() {
+        List<Stats> stats = new ArrayList<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            stats.add(new Stats(names[i], attempts[i], hits[i], nanos[i]));
+        }
+        return stats;
+    }
+
+    static final class Builder<T> {
+        private final List<String> names = new ArrayList<>();
+        private final List<Strategy<T>> strategies = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        Builder<T> then(String name, Strategy<T> strategy) {
+            names.add(name);
+            strategies.add(strategy);
+            return this;
+        }
+
+        DotAttributionStrategyChain<T> build() {
+            return new DotAttributionStrategyChain<>(names, strategies);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.bohouse.pacemeter.application;
+
+import com.bohouse.pacemeter.adapter.inbound.actws.ActLineParser;
+import com.bohouse.pacemeter.adapter.inbound.actws.ParsedLine;
+import com.bohouse.pacemeter.adapter.outbound.fflogsapi.FflogsZoneLookup;
+import com.bohouse.pacemeter.application.port.inbound.CombatEventPort;
+import com.bohouse.pacemeter.core.engine.EngineResult;
+import com.bohouse.pacemeter.core.engine.CombatEngine;
+import com.bohouse.pacemeter.core.estimator.RdpsEstimate;
+import com.bohouse.pacemeter.core.event.CombatEvent;
+import com.bohouse.pacemeter.core.model.ActorId;
+import com.bohouse.pacemeter.core.model.ActorStats;
+import com.bohouse.pacemeter.core.model.CombatState;
+import com.bohouse.pacemeter.core.model.RecentWindowMode;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 녹화된 combat.log를 WINDOWED / DECAYED 두 추정기 모드로 동시에 재생해
+ * 틱마다 온라인 rDPS 차이를 비교한다.
+ *
+ * 두 엔진은 같은 ParsedLine과 같은 100ms 틱을 받는다. 윈도우가 다 차기 전(전투 15초 미만)의 틱과
+ * WINDOWED 값이 0인 틱은 비율이 의미가 없어서 제외한다. 차이는 WINDOWED 대비 퍼센트(%)로 보고한다.
+ * 로그에 풀이 여러 번 있으면 FightStart마다 틱을 처음부터 다시 세고, 액터 차이도 풀별로 따로 모은다.
+ */
+@Service
+public class EstimatorModeParityService {
+
+    private static final Path DEFAULT_SUBMISSIONS_ROOT = Path.of("data", "submissions");
+    private static final long TICK_INTERVAL_MS = 100L;
+    private static final long WARMUP_MS = CombatState.RECENT_WINDOW_MS;
+
+    private final ActLineParser parser;
+    private final FflogsZoneLookup fflogsZoneLookup;
+
+    public EstimatorModeParityService(ActLineParser parser, FflogsZoneLookup fflogsZoneLookup) {
+        this.parser = parser;
+        this.fflogsZoneLookup = fflogsZoneLookup;
+    }
+
+    public EstimatorModeParityReport compareSubmission(String submissionId) throws IOException {
+        Path combatLogPath = DEFAULT_SUBMISSIONS_ROOT.resolve(submissionId).resolve("combat.log");
+        if (!Files.exists(combatLogPath)) {
+            throw new IOException("combat log not found: " + combatLogPath);
+        }
+        return compare(combatLogPath);
+    }
+
+    public EstimatorModeParityReport compare(Path combatLogPath) throws IOException {
+        ReplayLane windowed = new ReplayLane(RecentWindowMode.WINDOWED, fflogsZoneLookup);
+        ReplayLane decayed = new ReplayLane(RecentWindowMode.DECAYED, fflogsZoneLookup);
+        Map<PullActorKey, ActorDiffAccumulator> accumulators = new LinkedHashMap<>();
+
+        long parsedLines = 0L;
+        long comparedTicks = 0L;
+        long nextTickMs = TICK_INTERVAL_MS;
+        int currentPull = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(combatLogPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                ParsedLine parsed = parser.parse(line);
+                if (parsed == null) {
+                    continue;
+                }
+                parsedLines++;
+                windowed.ingestion.onParsed(parsed);
+                decayed.ingestion.onParsed(parsed);
+
+                boolean windowedStarted = windowed.ingestion.isFightStarted();
+                boolean decayedStarted = decayed.ingestion.isFightStarted();
+                if (!windowedStarted || !decayedStarted) {
+                    nextTickMs = TICK_INTERVAL_MS;
+                    continue;
+                }
+                // 타임아웃 뒤 다음 데미지 라인처럼 한 라인에서 풀이 끝나고 새로 시작될 수 있다
+                if (windowed.pulls() != currentPull) {
+                    currentPull = windowed.pulls();
+                    nextTickMs = TICK_INTERVAL_MS;
+                }
+
+                long elapsedMs = windowed.ingestion.nowElapsedMs();
+                while (nextTickMs <= elapsedMs) {
+                    windowed.combatService.onEvent(new CombatEvent.Tick(nextTickMs));
+                    decayed.combatService.onEvent(new CombatEvent.Tick(nextTickMs));
+                    if (nextTickMs >= WARMUP_MS) {
+                        compareTick(currentPull, windowed.engine, decayed.engine, accumulators);
+                        comparedTicks++;
+                    }
+                    nextTickMs += TICK_INTERVAL_MS;
+                }
+            }
+        }
+
+        List<ActorModeParity> actors = new ArrayList<>();
+        List<Double> allDiffs = new ArrayList<>();
+        for (ActorDiffAccumulator accumulator : accumulators.values()) {
+            if (accumulator.diffs.isEmpty()) {
+                continue;
+            }
+            allDiffs.addAll(accumulator.diffs);
+            actors.add(accumulator.toEntry());
+        }
+        actors.sort(Comparator.comparingInt(ActorModeParity::pull)
+                .thenComparing(Comparator.comparingDouble(ActorModeParity::p95AbsolutePercentageDiff).reversed()));
+        Collections.sort(allDiffs);
+
+        return new EstimatorModeParityReport(
+                combatLogPath.toAbsolutePath().toString(),
+                parsedLines,
+                currentPull,
+                comparedTicks,
+                CombatState.DECAY_TIME_CONSTANT_MS,
+                mean(allDiffs),
+                percentile(allDiffs, 0.95),
+                allDiffs.isEmpty() ? 0.0 : allDiffs.get(allDiffs.size() - 1),
+                actors
+        );
+    }
+
+    private static void compareTick(
+            int pull,
+            CombatEngine windowedEngine,
+            CombatEngine decayedEngine,
+            Map<PullActorKey, ActorDiffAccumulator> accumulators
+    ) {
+        Map<ActorId, RdpsEstimate> windowedEstimates = windowedEngine.currentEstimates();
+        Map<ActorId, RdpsEstimate> decayedEstimates = decayedEngine.currentEstimates();
+        CombatState state = windowedEngine.currentState();
+        for (int i = 0; i < state.actorCount(); i++) {
+            ActorStats stats = state.actorAt(i);
+            RdpsEstimate windowedEstimate = windowedEstimates.get(stats.actorId());
+            RdpsEstimate decayedEstimate = decayedEstimates.get(stats.actorId());
+            if (windowedEstimate == null || decayedEstimate == null || windowedEstimate.actorOnlineRdps() <= 0.0) {
+                continue;
+            }
+            accumulators.computeIfAbsent(new PullActorKey(pull, stats.actorId().value()),
+                            ignored -> new ActorDiffAccumulator(pull, stats))
+                    .add(windowedEstimate.actorOnlineRdps(), decayedEstimate.actorOnlineRdps());
+        }
+    }
+
+    private static double mean(List<Double> values) {
+        if (values.isEmpty()) {
+            return 0.0;
+        }
+        double sum = 0.0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum / values.size();
+    }
+
+    private static double percentile(List<Double> sortedValues, double ratio) {
+        if (sortedValues.isEmpty()) {
+            return 0.0;
+        }
+        if (sortedValues.size() == 1) {
+            return sortedValues.get(0);
+        }
+
+        double boundedRatio = Math.min(Math.max(ratio, 0.0), 1.0);
+        double index = boundedRatio * (sortedValues.size() - 1);
+        int lower = (int) Math.floor(index);
+        int upper = (int) Math.ceil(index);
+        if (lower == upper) {
+            return sortedValues.get(lower);
+        }
+        double weight = index - lower;
+        return sortedValues.get(lower) * (1.0 - weight) + sortedValues.get(upper) * weight;
+    }
+
+    /** 한 모드로 재생하는 엔진 + 인제스천 묶음. 인제스천이 낸 FightStart 수로 풀을 센다. */
+    private static final class ReplayLane implements CombatEventPort {
+        private final CombatEngine engine;
+        private final CombatService combatService;
+        private final ActIngestionService ingestion;
+        private int pulls;
+
+        private ReplayLane(RecentWindowMode mode, FflogsZoneLookup fflogsZoneLookup) {
+            this.engine = new CombatEngine(mode);
+            this.combatService = new CombatService(
+                    engine,
+                    snapshot -> {
+                    },
+                    (fightName, actTerritoryId) -> Optional.empty(),
+                    territoryId -> Optional.empty()
+            );
+            this.ingestion = new ActIngestionService(this, combatService, fflogsZoneLookup);
+        }
+
+        private int pulls() {
+            return pulls;
+        }
+
+        @Override
+        public EngineResult onEvent(CombatEvent event) {
+            if (event instanceof CombatEvent.FightStart) {
+                pulls++;
+            }
+            return combatService.onEvent(event);
+        }
+
+        @Override
+        public void setCurrentPlayerId(ActorId playerId) {
+            combatService.setCurrentPlayerId(playerId);
+        }
+
+        @Override
+        public void setJobId(ActorId actorId, int jobId) {
+            combatService.setJobId(actorId, jobId);
+        }
+    }
+
+    private record PullActorKey(int pull, long actorId) {}
+
+    private static final class ActorDiffAccumulator {
+        private final int pull;
+        private final long actorId;
+        private final String name;
+        private final List<Double> diffs = new ArrayList<>();
+        private double lastWindowedRdps;
+        private double lastDecayedRdps;
+
+        private ActorDiffAccumulator(int pull, ActorStats stats) {
+            this.pull = pull;
+            this.actorId = stats.actorId().value();
+            this.name = stats.name();
+        }
+
+        private void add(double windowedRdps, double decayedRdps) {
+            diffs.add(Math.abs(decayedRdps - windowedRdps) / windowedRdps * 100.0);
+            lastWindowedRdps = windowedRdps;
+            lastDecayedRdps = decayedRdps;
+        }
+
+        private ActorModeParity toEntry() {
+            List<Double> sorted = new ArrayList<>(diffs);
+            Collections.sort(sorted);
+            return new ActorModeParity(
+                    pull,
+                    Long.toHexString(actorId).toUpperCase(),
+                    name,
+                    sorted.size(),
+                    lastWindowedRdps,
+                    lastDecayedRdps,
+                    mean(sorted),
+                    percentile(sorted, 0.95),
+                    sorted.get(sorted.size() - 1)
+            );
+        }
+    }
+
+    public record EstimatorModeParityReport(
+            String combatLogPath,
+            long parsedLines,
+            int pulls,
+            long comparedTicks,
+            long decayTimeConstantMs,
+            double meanAbsolutePercentageDiff,
+            double p95AbsolutePercentageDiff,
+            double maxAbsolutePercentageDiff,
+            List<ActorModeParity> actors
+    ) {
+    }
+
+    /** @param pull 로그에서 몇 번째 풀인지 (1부터) */
+    public record ActorModeParity(
+            int pull,
+            String actorIdHex,
+            String name,
+            int comparedTicks,
+            double finalWindowedRdps,
+            double finalDecayedRdps,
+            double meanAbsolutePercentageDiff,
+            double p95AbsolutePercentageDiff,
+            double maxAbsolutePercentageDiff
+    ) {
+    }
+}
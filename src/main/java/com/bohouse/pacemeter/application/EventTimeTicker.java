@@ -0,0 +1,49 @@
+package com.bohouse.pacemeter.application;
+
+import java.util.function.LongConsumer;
+
+/**
+ * 전투 경과 시간(이벤트 시각) 기준 틱 생성기.
+ *
+ * 이벤트 시각이 앞으로 가면 그 사이에 지난 100ms 경계마다 틱을 정확히 한 번씩 낸다.
+ * 같은 경과 시간의 틱이 두 번 나가거나 경계를 건너뛰는 일이 없어서,
+ * 같은 로그를 재생하든 라이브로 받든 같은 틱 순서가 나온다.
+ *
+ * 스레드 안전하지 않다. 호출 측(ActIngestionService)에서 동기화한다.
+ */
+final class EventTimeTicker {
+
+    static final long TICK_INTERVAL_MS = 100L;
+
+    private final LongConsumer tickSink;
+    private long nextTickMs = TICK_INTERVAL_MS;
+
+    EventTimeTicker(LongConsumer tickSink) {
+        this.tickSink = tickSink;
+    }
+
+    /** elapsedMs 이하에서 아직 내지 않은 경계 틱을 모두 낸다. 낸 틱 수를 돌려준다. */
+    int advanceTo(long elapsedMs) {
+        int emitted = 0;
+        while (nextTickMs <= elapsedMs) {
+            tickSink.accept(nextTickMs);
+            nextTickMs += TICK_INTERVAL_MS;
+            emitted++;
+        }
+        return emitted;
+    }
+
+    /** 새 전투를 위해 첫 경계(100ms)부터 다시 센다. */
+    void reset() {
+        nextTickMs = TICK_INTERVAL_MS;
+    }
+
+    /** elapsedMs 이하 경계는 이미 낸 것으로 치고 그다음 경계부터 센다 (복구한 전투를 이어 받을 때). */
+    void resumeAfter(long elapsedMs) {
+        nextTickMs = (Math.max(0L, elapsedMs) / TICK_INTERVAL_MS + 1) * TICK_INTERVAL_MS;
+    }
+
+    long nextTickMs() {
+        return nextTickMs;
+    }
+}
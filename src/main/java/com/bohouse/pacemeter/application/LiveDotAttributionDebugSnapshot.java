@@ -5,7 +5,8 @@ import java.util.List;
 public record LiveDotAttributionDebugSnapshot(
         long lookbackSeconds,
         int recentAssignmentCount,
-        List<Entry> entries
+        List<Entry> entries,
+        List<Strategy> strategies
 ) {
     public record Entry(
             String mode,
@@ -16,4 +17,13 @@ public record LiveDotAttributionDebugSnapshot(
             long hitCount
     ) {
     }
+
+    /** 귀속 전략 하나의 누적 통계 (체인 순서). attempts는 시도 횟수, hits는 그 전략에서 끝난 틱 수 */
+    public record Strategy(
+            String name,
+            long attempts,
+            long hits,
+            long totalNanos
+    ) {
+    }
 }
@@ -0,0 +1,206 @@
+package com.bohouse.pacemeter.application;
+
+import com.bohouse.pacemeter.adapter.inbound.actws.ActLineParser;
+import com.bohouse.pacemeter.adapter.inbound.actws.ParsedLine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 파리티 리포트용으로 combat.log를 한 번 읽어 둔 것.
+ *
+ * 예전에는 전투 선택 보정, 37 결과 시퀀스 수집, 재생, DamageText 진단이 각자 파일을 다시 읽고 줄마다 split/역익명화/파싱을
+ * 되풀이했다. 이제 줄마다 종류, 하위 종류, 시각, 37/21 시퀀스를 읽을 때 한 번만 뽑아 두고,
+ * 역익명화와 파싱은 어느 창에서든 처음 필요할 때 한 번 해서 결과를 재사용한다 (한 번도 포함되지 않는 줄은 파싱하지 않는다).
+ *
+ * 재생 자체는 37 결과 줄이 21 줄보다 뒤에 오므로 창별 확정 시퀀스를 먼저 모아야 해서, 줄은 메모리에 들고 있는다.
+ */
+final class ParityCombatLog {
+
+    static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final Path path;
+    private final List<Line> lines;
+    private final List<Line> resultLines;
+
+    private ParityCombatLog(Path path, List<Line> lines, List<Line> resultLines) {
+        this.path = path;
+        this.lines = Collections.unmodifiableList(lines);
+        this.resultLines = Collections.unmodifiableList(resultLines);
+    }
+
+    /**
+     * 파일을 한 번 읽는다. 빈 줄은 버린다.
+     *
+     * @param resultConfirmedSkillIds 37 결과로 확정해야 하는 스킬. 이 스킬의 21 줄만 시퀀스를 뽑아 둔다
+     */
+    static ParityCombatLog read(
+            Path path,
+            ActLineParser parser,
+            AliasDeanonymizer deanonymizer,
+            Set<Integer> resultConfirmedSkillIds
+    ) throws IOException {
+        List<Line> lines = new ArrayList<>();
+        List<Line> resultLines = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                if (text.isBlank()) {
+                    continue;
+                }
+                Line line = Line.decode(text, parser, deanonymizer, resultConfirmedSkillIds);
+                lines.add(line);
+                if (line.confirmedSequence() != null) {
+                    resultLines.add(line);
+                }
+            }
+        }
+        return new ParityCombatLog(path, lines, resultLines);
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /** 빈 줄을 뺀 모든 줄, 파일 순서대로 */
+    List<Line> lines() {
+        return lines;
+    }
+
+    /** 시퀀스가 있는 37(액션 결과) 줄만 */
+    List<Line> resultLines() {
+        return resultLines;
+    }
+
+    static long parseTimestampMs(String value) {
+        try {
+            return Instant.parse(value).toEpochMilli();
+        } catch (Exception e) {
+            return NO_TIMESTAMP;
+        }
+    }
+
+    /** 줄 하나. 파싱 결과는 처음 요구될 때 만들고, 그 뒤로는 원문을 들고 있지 않는다. */
+    static final class Line {
+        private final String type;
+        private final String subtype;
+        private final long timestampMs;
+        private final String confirmedSequence;
+        private final String unconfirmedResultSequence;
+        private final ActLineParser parser;
+        private final AliasDeanonymizer deanonymizer;
+        private String text;
+        private ParsedLine parsed;
+
+        private Line(
+                String text,
+                String type,
+                String subtype,
+                long timestampMs,
+                String confirmedSequence,
+                String unconfirmedResultSequence,
+                ActLineParser parser,
+                AliasDeanonymizer deanonymizer
+        ) {
+            this.text = text;
+            this.type = type;
+            this.subtype = subtype;
+            this.timestampMs = timestampMs;
+            this.confirmedSequence = confirmedSequence;
+            this.unconfirmedResultSequence = unconfirmedResultSequence;
+            this.parser = parser;
+            this.deanonymizer = deanonymizer;
+        }
+
+        static Line decode(
+                String text,
+                ActLineParser parser,
+                AliasDeanonymizer deanonymizer,
+                Set<Integer> resultConfirmedSkillIds
+        ) {
+            int typeEnd = text.indexOf('|');
+            int timestampEnd = typeEnd < 0 ? -1 : text.indexOf('|', typeEnd + 1);
+            int subtypeEnd = timestampEnd < 0 ? -1 : text.indexOf('|', timestampEnd + 1);
+            String type = typeEnd < 0 ? text : text.substring(0, typeEnd);
+            long timestampMs = timestampEnd < 0
+                    ? NO_TIMESTAMP
+                    : parseTimestampMs(text.substring(typeEnd + 1, timestampEnd));
+            // 필드가 셋 미만이면 subtype은 null (창 판정에서 제외된다)
+            String subtype = timestampEnd < 0
+                    ? null
+                    : text.substring(timestampEnd + 1, subtypeEnd < 0 ? text.length() : subtypeEnd);
+
+            String confirmedSequence = null;
+            String unconfirmedResultSequence = null;
+            if ("37".equals(type) && !resultConfirmedSkillIds.isEmpty()) {
+                String[] parts = text.split("\\|", -1);
+                if (parts.length > 4 && !parts[4].isBlank()) {
+                    confirmedSequence = parts[4];
+                }
+            } else if ("21".equals(type) && !resultConfirmedSkillIds.isEmpty()) {
+                String[] parts = text.split("\\|", -1);
+                if (parts.length > 44
+                        && !parts[9].isBlank()
+                        && !"0".equals(parts[9])
+                        && resultConfirmedSkillIds.contains(parseHexInt(parts[4]))
+                        && !parts[44].isBlank()) {
+                    unconfirmedResultSequence = parts[44];
+                }
+            }
+            return new Line(text, type, subtype, timestampMs, confirmedSequence, unconfirmedResultSequence,
+                    parser, deanonymizer);
+        }
+
+        String type() {
+            return type;
+        }
+
+        /** 셋째 필드. 필드가 셋 미만이면 null */
+        String subtype() {
+            return subtype;
+        }
+
+        /** 둘째 필드의 epoch millis. 읽을 수 없으면 {@link #NO_TIMESTAMP} */
+        long timestampMs() {
+            return timestampMs;
+        }
+
+        /** 37 줄의 액션 시퀀스. 37이 아니거나 비어 있으면 null */
+        String confirmedSequence() {
+            return confirmedSequence;
+        }
+
+        /** 37 결과로 확정해야 하는 21 데미지 줄의 시퀀스. 해당 없으면 null */
+        String unconfirmedResultSequence() {
+            return unconfirmedResultSequence;
+        }
+
+        /** 역익명화 후 파싱한 결과. 파서가 모르는 줄이면 null */
+        ParsedLine parsed() {
+            if (text != null) {
+                parsed = parser.parse(deanonymizer.apply(text));
+                text = null;
+            }
+            return parsed;
+        }
+
+        private static int parseHexInt(String value) {
+            if (value == null || value.isBlank()) {
+                return 0;
+            }
+            try {
+                return Integer.parseInt(value, 16);
+            } catch (NumberFormatException ignored) {
+                return 0;
+            }
+        }
+    }
+}
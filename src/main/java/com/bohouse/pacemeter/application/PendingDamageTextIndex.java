@@ -0,0 +1,148 @@
+package com.bohouse.pacemeter.application;
+
+import com.bohouse.pacemeter.adapter.inbound.actws.DamageText;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 크리/직격 플래그를 찾기 위해 기다리는 데미지 텍스트(00 라인) 모음.
+ *
+ * 같은 데미지 양끼리 버킷으로 묶어서 매칭은 버킷 하나만 본다. 버스트 구간에 텍스트가 수백 개 쌓여도
+ * 같은 양의 텍스트는 보통 한두 개라서 이름/시각 비교는 그 안에서만 한다.
+ * 만료는 들어온 순서대로 쌓은 목록의 앞에서 한다. 매칭으로 빠진 텍스트는 목록에 표시만 해 두고
+ * 만료할 때 건너뛴다.
+ *
+ * 스레드 안전하지 않다. 호출 측(ActIngestionService)에서 동기화한다.
+ */
+final class PendingDamageTextIndex {
+
+    /** 어빌리티와 텍스트 시각 차이가 이보다 크면 같은 타격으로 보지 않는다. */
+    static final long MATCH_WINDOW_MS = 2_000L;
+    /** 맨 앞 텍스트가 이보다 오래되면 버린다. */
+    static final long RETENTION_MS = 3_000L;
+
+    private final Map<Long, ArrayDeque<Entry>> byAmount = new HashMap<>();
+    private final ArrayDeque<Entry> arrivalOrder = new ArrayDeque<>();
+    private int size;
+
+    private static final class Entry {
+        private final DamageText text;
+        private boolean matched;
+
+        private Entry(DamageText text) {
+            this.text = text;
+        }
+    }
+
+    void add(DamageText text) {
+        Entry entry = new Entry(text);
+        arrivalOrder.addLast(entry);
+        byAmount.computeIfAbsent(text.amount(), ignored -> new ArrayDeque<>(2)).addLast(entry);
+        size++;
+    }
+
+    /**
+     * 데미지 양이 같고 2초 안에 찍힌 텍스트 중 가장 잘 맞는 것을 꺼낸다. 없으면 null.
+     * 대상 이름이 적힌 텍스트는 대상이 같아야 하고, 소스 이름이 같은 것 > 소스 이름 없는 것 > 다른 것 순,
+     * 같은 순위면 시각 차이가 작은 것, 그것도 같으면 먼저 들어온 것을 고른다.
+     */
+    DamageText takeBestMatch(long amount, long tsMs, String targetName, String actorName) {
+        ArrayDeque<Entry> bucket = byAmount.get(amount);
+        if (bucket == null) {
+            return null;
+        }
+
+        Entry bestMatch = null;
+        int bestScore = Integer.MAX_VALUE;
+        long bestDeltaMs = Long.MAX_VALUE;
+        for (Entry entry : bucket) {
+            DamageText text = entry.text;
+            long deltaMs = Math.abs(tsMs - text.tsMs());
+            if (deltaMs > MATCH_WINDOW_MS) {
+                continue;
+            }
+            if (text.targetTextName() != null && !text.targetTextName().isBlank()
+                    && !text.targetTextName().equals(targetName)) {
+                continue;
+            }
+
+            int score = sourceMatchScore(text.sourceTextName(), actorName);
+            if (score < bestScore || (score == bestScore && deltaMs < bestDeltaMs)) {
+                bestMatch = entry;
+                bestScore = score;
+                bestDeltaMs = deltaMs;
+            }
+        }
+
+        if (bestMatch == null) {
+            return null;
+        }
+        removeFromBucket(bucket, bestMatch);
+        bestMatch.matched = true;
+        size--;
+        return bestMatch.text;
+    }
+
+    /** 들어온 순서로 앞에서부터 nowMs 기준 3초보다 오래된 텍스트를 버린다. */
+    void pruneOlderThan(long nowMs) {
+        while (!arrivalOrder.isEmpty()) {
+            Entry first = arrivalOrder.peekFirst();
+            if (first.matched) {
+                arrivalOrder.removeFirst();
+                continue;
+            }
+            long ageMs = Math.abs(nowMs - first.text.tsMs());
+            if (ageMs <= RETENTION_MS) {
+                return;
+            }
+            arrivalOrder.removeFirst();
+            ArrayDeque<Entry> bucket = byAmount.get(first.text.amount());
+            if (bucket != null) {
+                removeFromBucket(bucket, first);
+            }
+            size--;
+        }
+    }
+
+    void clear() {
+        byAmount.clear();
+        arrivalOrder.clear();
+        size = 0;
+    }
+
+    /** 아직 매칭되지 않은 텍스트 수 */
+    int size() {
+        return size;
+    }
+
+    /** 버킷도 들어온 순서라서 만료 대상은 거의 항상 맨 앞에 있다. */
+    private void removeFromBucket(ArrayDeque<Entry> bucket, Entry entry) {
+        if (bucket.peekFirst() == entry) {
+            bucket.removeFirst();
+        } else {
+            Iterator<Entry> it = bucket.iterator();
+            while (it.hasNext()) {
+                if (it.next() == entry) {
+                    it.remove();
+                    break;
+                }
+            }
+        }
+        if (bucket.isEmpty()) {
+            byAmount.remove(entry.text.amount());
+        }
+    }
+
+    private static int sourceMatchScore(String textSourceName, String actorName) {
+        if (textSourceName == null || textSourceName.isBlank()) {
+            return 1;
+        }
+        if (textSourceName.equals(actorName)) {
+            return 0;
+        }
+        return 2;
+    }
+}
@@ -6,16 +6,17 @@ import com.bohouse.pacemeter.adapter.inbound.actws.ParsedLine;
 import com.bohouse.pacemeter.adapter.inbound.actws.PrimaryPlayerChanged;
 import com.bohouse.pacemeter.adapter.inbound.actws.ZoneChanged;
 import com.bohouse.pacemeter.adapter.outbound.fflogsapi.FflogsZoneLookup;
-import com.bohouse.pacemeter.adapter.outbound.overlayws.mvc.OverlayWsHandler;
+import com.bohouse.pacemeter.application.port.outbound.CombatJournalStore;
 import com.bohouse.pacemeter.application.port.outbound.EnrageTimeProvider;
 import com.bohouse.pacemeter.application.port.outbound.PaceProfileProvider;
+import com.bohouse.pacemeter.application.port.outbound.SnapshotTopic;
 import com.bohouse.pacemeter.core.engine.CombatEngine;
-import com.bohouse.pacemeter.core.event.CombatEvent;
+import com.bohouse.pacemeter.core.model.RecentWindowMode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import tools.jackson.databind.ObjectMapper;
 
 import java.time.Instant;
 import java.util.ArrayDeque;
@@ -37,32 +38,49 @@ public class RelaySessionManager {
     private final EnrageTimeProvider enrageTimeProvider;
     private final FflogsZoneLookup fflogsZoneLookup;
     private final ActLineParser parser;
-    private final OverlayWsHandler overlayWsHandler;
-    private final ObjectMapper objectMapper;
+    private final SnapshotTopic snapshotTopic;
+    private final CombatJournalStore journalStore;
+    private final SessionTraceRegistry traces;
+    private final ActorJobCacheRegistry jobCaches;
+    private final boolean dotAttributionDiagnosticsEnabled;
 
     public RelaySessionManager(
             PaceProfileProvider paceProfileProvider,
             EnrageTimeProvider enrageTimeProvider,
             FflogsZoneLookup fflogsZoneLookup,
             ActLineParser parser,
-            OverlayWsHandler overlayWsHandler,
-            ObjectMapper objectMapper
+            SnapshotTopic snapshotTopic,
+            CombatJournalStore journalStore,
+            SessionTraceRegistry traces,
+            ActorJobCacheRegistry jobCaches,
+            @Value("${pacemeter.diagnostics.dot-attribution:true}") boolean dotAttributionDiagnosticsEnabled
     ) {
         this.paceProfileProvider = paceProfileProvider;
         this.enrageTimeProvider = enrageTimeProvider;
         this.fflogsZoneLookup = fflogsZoneLookup;
         this.parser = parser;
-        this.overlayWsHandler = overlayWsHandler;
-        this.objectMapper = objectMapper;
+        this.snapshotTopic = snapshotTopic;
+        this.journalStore = journalStore;
+        this.traces = traces;
+        this.jobCaches = jobCaches;
+        this.dotAttributionDiagnosticsEnabled = dotAttributionDiagnosticsEnabled;
     }
 
     public void ingest(String sessionId, List<RelayEnvelope> events) {
-        RelaySession session = sessions.computeIfAbsent(sessionId, this::createSession);
+        ingest(sessionId, events, RecentWindowMode.WINDOWED);
+    }
+
+    /**
+     * 이벤트를 세션에 넣는다. recentWindowMode는 세션이 처음 만들어질 때만 적용되고,
+     * 이미 있는 세션의 모드는 바꾸지 않는다.
+     */
+    public void ingest(String sessionId, List<RelayEnvelope> events, RecentWindowMode recentWindowMode) {
+        RelaySession session = sessions.computeIfAbsent(sessionId, id -> createSession(id, recentWindowMode));
         session.ingest(events);
     }
 
     public CombatDebugSnapshot debugSnapshot(String sessionId) {
-        return sessions.computeIfAbsent(sessionId, this::createSession).debugSnapshot();
+        return sessions.computeIfAbsent(sessionId, id -> createSession(id, RecentWindowMode.WINDOWED)).debugSnapshot();
     }
 
     @Scheduled(fixedRate = 100)
@@ -72,21 +90,29 @@ public class RelaySessionManager {
         }
     }
 
-    private RelaySession createSession(String sessionId) {
-        CombatEngine engine = new CombatEngine();
+    private RelaySession createSession(String sessionId, RecentWindowMode recentWindowMode) {
+        CombatEngine engine = new CombatEngine(recentWindowMode);
+        CombatJournalStore.Recovery recovery = journalStore.recover(sessionId, engine);
+        if (recovery.snapshot() != null) {
+            snapshotTopic.publish(sessionId, recovery.snapshot());
+        }
+        SessionTraceRecorder trace = traces.recorder(sessionId);
         CombatService combatService = new CombatService(
                 engine,
                 snapshot -> {
-                    try {
-                        String json = objectMapper.writeValueAsString(new Envelope("snapshot", snapshot));
-                        overlayWsHandler.broadcastToSession(sessionId, json);
-                    } catch (Exception ignored) {
-                    }
+                    snapshotTopic.publish(sessionId, snapshot);
+                    trace.snapshotPublished(snapshot.elapsedMs(), snapshot.actors().size(), snapshot.partyDps());
                 },
                 paceProfileProvider,
-                enrageTimeProvider
+                enrageTimeProvider,
+                journalStore.open(sessionId)
         );
         ActIngestionService ingestion = new ActIngestionService(combatService, combatService, fflogsZoneLookup);
+        ingestion.enableEventTimeTicks();
+        ingestion.setDotAttributionDiagnosticsEnabled(dotAttributionDiagnosticsEnabled);
+        ingestion.setTraceRecorder(trace);
+        ingestion.setJobCache(jobCaches.cache(sessionId));
+        ingestion.resumeFight(recovery.resumePoint());
         return new RelaySession(sessionId, combatService, ingestion);
     }
 
@@ -108,9 +134,11 @@ public class RelaySessionManager {
         }
 
         private synchronized void ingest(List<RelayEnvelope> events) {
-            for (RelayEnvelope event : events) {
-                apply(event);
-            }
+            ingestion.runBatched(() -> {
+                for (RelayEnvelope event : events) {
+                    apply(event);
+                }
+            });
         }
 
         private synchronized CombatDebugSnapshot debugSnapshot() {
@@ -118,11 +146,7 @@ public class RelaySessionManager {
         }
 
         private synchronized void tick() {
-            if (!ingestion.isFightStarted()) {
-                return;
-            }
-            long elapsed = ingestion.nowElapsedMs();
-            combatService.onEvent(new CombatEvent.Tick(elapsed));
+            ingestion.onWallClockTick();
         }
 
         private void apply(RelayEnvelope event) {
@@ -265,9 +289,6 @@ public class RelaySessionManager {
     ) {
     }
 
-    private record Envelope(String type, Object snapshot) {
-    }
-
     private static int valueOrDefault(Integer value, int defaultValue) {
         return value != null ? value : defaultValue;
     }
@@ -0,0 +1,158 @@
+package com.bohouse.pacemeter.application;
+
+import com.bohouse.pacemeter.core.event.CombatEvent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 세션 하나의 최근 이벤트를 고정 크기 레코드로 담아 두는 링 버퍼.
+ *
+ * 이벤트마다 info 로그를 남기던 자리(데미지 이벤트, CombatantAdded, 스냅샷 발행, 릴레이 배치)에서 쓴다.
+ * 레코드는 종류 + long 네 칸 + 플래그이고 원시 배열에 쌓이며, 꽉 차면 가장 오래된 것부터 덮어쓴다.
+ * 이름 같은 문자열은 담지 않는다 (ID만). 사람이 읽을 형태로 펼치는 일은 {@link #dump(int)}가 할 때만 한다.
+ *
+ * 쓰기는 세션의 수집 스레드, 읽기는 디버그 API 스레드라서 메서드 단위로 동기화한다.
+ */
+public final class SessionTraceRecorder {
+
+    /** 아무것도 담지 않는다. 파리티 재생처럼 추적이 필요 없는 수집기의 기본값. */
+    public static final SessionTraceRecorder NONE = new SessionTraceRecorder(0);
+
+    public enum Kind {
+        /** a=경과 ms, b=(actor << 32 | target), c=amount, d=skillId, flags=crit/direct/autoCrit/autoDirect */
+        DAMAGE,
+        /** a=id, b=ownerId, c=maxHp, d=jobId */
+        COMBATANT_ADDED,
+        /** a=경과 ms, b=actors, c=partyDps */
+        SNAPSHOT_PUBLISHED,
+        /** a=events, b=rawLine 수 */
+        RELAY_BATCH
+    }
+
+    /** dump 결과 한 줄. fields는 종류별로 정해진 키를 쓴다. */
+    public record TraceEntry(long sequence, long wallMs, Kind kind, Map<String, Object> fields) {
+    }
+
+    private static final int CRIT = 1;
+    private static final int DIRECT = 1 << 1;
+    // 자동 크리/직격은 AutoHitFlag 순번을 두 비트씩 담는다
+    private static final int AUTO_CRIT_SHIFT = 2;
+    private static final int AUTO_DIRECT_SHIFT = 4;
+    private static final CombatEvent.AutoHitFlag[] AUTO_HIT_FLAGS = CombatEvent.AutoHitFlag.values();
+
+    private final int capacity;
+    private final long[] wallMs;
+    private final byte[] kinds;
+    private final long[] a;
+    private final long[] b;
+    private final long[] c;
+    private final long[] d;
+    private final int[] flags;
+    private long written;
+
+    public SessionTraceRecorder(int capacity) {
+        this.capacity = Math.max(0, capacity);
+        this.wallMs = new long[this.capacity];
+        this.kinds = new byte[this.capacity];
+        this.a = new long[this.capacity];
+        this.b = new long[this.capacity];
+        this.c = new long[this.capacity];
+        this.d = new long[this.capacity];
+        this.flags = new int[this.capacity];
+    }
+
+    public void damage(long elapsedMs, long actorId, long targetId, int skillId, long amount,
+                       boolean criticalHit, boolean directHit,
+                       CombatEvent.AutoHitFlag autoCrit, CombatEvent.AutoHitFlag autoDirectHit) {
+        int bits = (criticalHit ? CRIT : 0)
+                | (directHit ? DIRECT : 0)
+                | (autoCrit.ordinal() << AUTO_CRIT_SHIFT)
+                | (autoDirectHit.ordinal() << AUTO_DIRECT_SHIFT);
+        record(Kind.DAMAGE, elapsedMs, (actorId << 32) | (targetId & 0xFFFFFFFFL), amount, skillId, bits);
+    }
+
+    public void combatantAdded(long id, long ownerId, long maxHp, int jobId) {
+        record(Kind.COMBATANT_ADDED, id, ownerId, maxHp, jobId, 0);
+    }
+
+    public void snapshotPublished(long elapsedMs, int actors, double partyDps) {
+        record(Kind.SNAPSHOT_PUBLISHED, elapsedMs, actors, (long) partyDps, 0L, 0);
+    }
+
+    public void relayBatch(int events, long rawLines) {
+        record(Kind.RELAY_BATCH, events, rawLines, 0L, 0L, 0);
+    }
+
+    /** 지금까지 기록한 총 레코드 수 (덮어쓴 것 포함) */
+    public synchronized long written() {
+        return written;
+    }
+
+    /** 최근 레코드를 오래된 것부터 최대 limit개 펼친다. */
+    public synchronized List<TraceEntry> dump(int limit) {
+        int available = (int) Math.min(written, capacity);
+        int count = Math.max(0, Math.min(limit, available));
+        List<TraceEntry> entries = new ArrayList<>(count);
+        for (long sequence = written - count; sequence < written; sequence++) {
+            int slot = (int) (sequence % capacity);
+            Kind kind = Kind.values()[kinds[slot]];
+            entries.add(new TraceEntry(sequence, wallMs[slot], kind, fields(kind, slot)));
+        }
+        return entries;
+    }
+
+    private synchronized void record(Kind kind, long first, long second, long third, long fourth, int bits) {
+        if (capacity == 0) {
+            return;
+        }
+        int slot = (int) (written % capacity);
+        wallMs[slot] = System.currentTimeMillis();
+        kinds[slot] = (byte) kind.ordinal();
+        a[slot] = first;
+        b[slot] = second;
+        c[slot] = third;
+        d[slot] = fourth;
+        flags[slot] = bits;
+        written++;
+    }
+
+    private Map<String, Object> fields(Kind kind, int slot) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        switch (kind) {
+            case DAMAGE -> {
+                fields.put("elapsedMs", a[slot]);
+                fields.put("actorId", hex(b[slot] >>> 32));
+                fields.put("targetId", hex(b[slot] & 0xFFFFFFFFL));
+                fields.put("skillId", hex(d[slot]));
+                fields.put("amount", c[slot]);
+                fields.put("crit", (flags[slot] & CRIT) != 0);
+                fields.put("direct", (flags[slot] & DIRECT) != 0);
+                fields.put("autoCrit", AUTO_HIT_FLAGS[(flags[slot] >>> AUTO_CRIT_SHIFT) & 3]);
+                fields.put("autoDirect", AUTO_HIT_FLAGS[(flags[slot] >>> AUTO_DIRECT_SHIFT) & 3]);
+            }
+            case COMBATANT_ADDED -> {
+                fields.put("id", hex(a[slot]));
+                fields.put("ownerId", hex(b[slot]));
+                fields.put("maxHp", c[slot]);
+                fields.put("jobId", hex(d[slot]));
+            }
+            case SNAPSHOT_PUBLISHED -> {
+                fields.put("elapsedMs", a[slot]);
+                fields.put("actors", b[slot]);
+                fields.put("partyDps", c[slot]);
+            }
+            case RELAY_BATCH -> {
+                fields.put("events", a[slot]);
+                fields.put("rawLines", b[slot]);
+            }
+        }
+        return fields;
+    }
+
+    private static String hex(long value) {
+        return Long.toHexString(value).toUpperCase();
+    }
+}
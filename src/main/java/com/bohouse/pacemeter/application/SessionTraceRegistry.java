@@ -0,0 +1,34 @@
+package com.bohouse.pacemeter.application;
+
+import com.bohouse.pacemeter.application.port.outbound.SnapshotTopic;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 세션별 {@link SessionTraceRecorder}를 들고 있는다. 로컬(ACT) 수집기는
+ * {@link SnapshotTopic#LOCAL_STREAM_ID}, 릴레이 세션은 세션 ID로 찾는다.
+ */
+@Component
+public class SessionTraceRegistry {
+
+    private final Map<String, SessionTraceRecorder> recorders = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    public SessionTraceRegistry(@Value("${pacemeter.trace.capacity:2048}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    public SessionTraceRecorder recorder(String sessionId) {
+        return recorders.computeIfAbsent(sessionId, ignored -> new SessionTraceRecorder(capacity));
+    }
+
+    /** 세션의 최근 레코드. 기록한 적 없는 세션이면 빈 목록 */
+    public List<SessionTraceRecorder.TraceEntry> dump(String sessionId, int limit) {
+        SessionTraceRecorder recorder = recorders.get(sessionId);
+        return recorder == null ? List.of() : recorder.dump(limit);
+    }
+}
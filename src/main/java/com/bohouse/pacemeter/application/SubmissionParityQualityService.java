@@ -14,6 +14,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 @Service
@@ -25,8 +31,11 @@ public class SubmissionParityQualityService {
     private static final double TARGET_MAX_APE = 0.10;
     private static final double TARGET_OUTLIER_RATIO = 0.05;
     private static final int WORST_ACTOR_LIMIT = 20;
+    // 제출마다 FFLogs 호출이 여러 번 있으므로 코어 수와 상관없이 동시 리포트 수를 묶어 둔다
+    private static final int DEFAULT_PARALLELISM = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
     private final SubmissionParityReportService submissionParityReportService;
     private final Path submissionsRoot;
+    private final int parallelism;
 
     @Autowired
     public SubmissionParityQualityService(SubmissionParityReportService submissionParityReportService) {
@@ -36,11 +45,26 @@ public class SubmissionParityQualityService {
     SubmissionParityQualityService(
             SubmissionParityReportService submissionParityReportService,
             Path submissionsRoot
+    ) {
+        this(submissionParityReportService, submissionsRoot, DEFAULT_PARALLELISM);
+    }
+
+    SubmissionParityQualityService(
+            SubmissionParityReportService submissionParityReportService,
+            Path submissionsRoot,
+            int parallelism
     ) {
         this.submissionParityReportService = submissionParityReportService;
         this.submissionsRoot = submissionsRoot;
+        this.parallelism = Math.max(1, parallelism);
     }
 
+    /**
+     * 제출 디렉터리마다 리포트를 만들어 합친다.
+     *
+     * 제출끼리는 재생 상태를 공유하지 않으므로 최대 parallelism개를 동시에 만든다.
+     * 결과는 디렉터리 이름 순서로 모으므로 동시 실행 여부와 상관없이 같은 롤업이 나온다.
+     */
     public SubmissionParityQualityRollup buildRollup() throws IOException {
         if (!Files.exists(submissionsRoot)) {
             return new SubmissionParityQualityRollup(
@@ -82,10 +106,16 @@ public class SubmissionParityQualityService {
         List<Double> actorApes = new ArrayList<>();
         List<ActorQualityEntry> actorEntries = new ArrayList<>();
 
-        for (Path submissionDir : submissionDirs) {
-            String submissionId = submissionDir.getFileName().toString();
+        for (SubmissionOutcome outcome : buildReports(submissionDirs)) {
+            String submissionId = outcome.submissionId();
+            if (outcome.failure() != null) {
+                Exception e = outcome.failure();
+                failures.add(new SubmissionQualityFailure(
+                        submissionId, e.getClass().getSimpleName(), e.getMessage(), outcome.durationMs()));
+                continue;
+            }
+            SubmissionParityReport report = outcome.report();
             try {
-                SubmissionParityReport report = submissionParityReportService.buildReport(submissionId);
                 SubmissionParityReport.ParityQualitySummary quality = report.parityQuality();
                 entries.add(new SubmissionQualityEntry(
                         submissionId,
@@ -98,7 +128,8 @@ public class SubmissionParityQualityService {
                         quality.outlierActorCount(),
                         quality.withinOnePercentRatio(),
                         quality.withinThreePercentRatio(),
-                        quality.withinFivePercentRatio()
+                        quality.withinFivePercentRatio(),
+                        outcome.durationMs()
                 ));
 
                 actorApes.addAll(report.comparisons().stream()
@@ -123,7 +154,8 @@ public class SubmissionParityQualityService {
                         })
                         .collect(Collectors.toList()));
             } catch (Exception e) {
-                failures.add(new SubmissionQualityFailure(submissionId, e.getClass().getSimpleName(), e.getMessage()));
+                failures.add(new SubmissionQualityFailure(
+                        submissionId, e.getClass().getSimpleName(), e.getMessage(), outcome.durationMs()));
             }
         }
 
@@ -191,6 +223,54 @@ public class SubmissionParityQualityService {
         );
     }
 
+    /** 제출별 리포트를 제한된 스레드 풀에서 만들고, submissionDirs 순서대로 돌려준다. */
+    private List<SubmissionOutcome> buildReports(List<Path> submissionDirs) throws IOException {
+        if (submissionDirs.isEmpty()) {
+            return List.of();
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.min(parallelism, submissionDirs.size()),
+                new RollupThreadFactory()
+        );
+        try {
+            List<Future<SubmissionOutcome>> futures = new ArrayList<>(submissionDirs.size());
+            for (Path submissionDir : submissionDirs) {
+                String submissionId = submissionDir.getFileName().toString();
+                futures.add(executor.submit(() -> buildReport(submissionId)));
+            }
+            List<SubmissionOutcome> outcomes = new ArrayList<>(futures.size());
+            for (Future<SubmissionOutcome> future : futures) {
+                outcomes.add(future.get());
+            }
+            return outcomes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("parity rollup interrupted", e);
+        } catch (ExecutionException e) {
+            // buildReport가 Exception은 모두 결과로 담으므로 여기에 오는 건 Error뿐이다
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private SubmissionOutcome buildReport(String submissionId) {
+        long startedAt = System.nanoTime();
+        try {
+            SubmissionParityReport report = submissionParityReportService.buildReport(submissionId);
+            return new SubmissionOutcome(submissionId, report, null, elapsedMs(startedAt));
+        } catch (Exception e) {
+            return new SubmissionOutcome(submissionId, null, e, elapsedMs(startedAt));
+        }
+    }
+
+    private static long elapsedMs(long startedAtNanos) {
+        return (System.nanoTime() - startedAtNanos) / 1_000_000L;
+    }
+
     private List<JobQualityEntry> buildJobQualityEntries(List<ActorQualityEntry> actorEntries) {
         Map<String, List<ActorQualityEntry>> byJob = new HashMap<>();
         for (ActorQualityEntry actorEntry : actorEntries) {
@@ -341,6 +421,26 @@ public class SubmissionParityQualityService {
         }
     }
 
+    /** 제출 하나의 리포트 결과. report와 failure 중 하나만 있다. */
+    private record SubmissionOutcome(
+            String submissionId,
+            SubmissionParityReport report,
+            Exception failure,
+            long durationMs
+    ) {
+    }
+
+    private static final class RollupThreadFactory implements ThreadFactory {
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "parity-rollup-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
     private static double percentile(List<Double> sortedValues, double ratio) {
         if (sortedValues.isEmpty()) {
             return 0.0;
@@ -438,14 +538,16 @@ public class SubmissionParityQualityService {
             int outlierActorCount,
             double withinOnePercentRatio,
             double withinThreePercentRatio,
-            double withinFivePercentRatio
+            double withinFivePercentRatio,
+            long durationMs
     ) {
     }
 
     public record SubmissionQualityFailure(
             String submissionId,
             String errorType,
-            String message
+            String message,
+            long durationMs
     ) {
     }
 }
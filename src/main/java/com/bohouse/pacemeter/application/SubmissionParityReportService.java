@@ -16,13 +16,10 @@ import com.bohouse.pacemeter.core.model.ActionNameLibrary;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.Duration;
-import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
@@ -100,24 +97,37 @@ public class SubmissionParityReportService {
 
         Map<String, String> originalToAlias = loadOriginalToAlias(submissionDir.resolve("mapping.json"));
         Map<String, String> aliasToOriginal = invertAliasMapping(originalToAlias);
+        ParityCombatLog combatLog = ParityCombatLog.read(
+                combatLogPath,
+                parser,
+                new AliasDeanonymizer(aliasToOriginal),
+                RESULT_CONFIRMED_SKILL_IDS
+        );
         SubmissionParityReport.FflogsReportSummary fflogsSummary = buildFflogsSummary(metadata, forcedFightId);
+
+        // 처음 고른 전투와 보정 후보 전투의 창을 한 번에 재생한다. 보정 결과는 이 중 하나를 고르므로 다시 재생하지 않는다.
+        List<CandidateFight> candidates = fightRefinementCandidates(metadata, fflogsSummary, forcedFightId);
+        List<Optional<ReplayWindow>> windows = new ArrayList<>();
+        windows.add(deriveReplayWindow(fflogsSummary));
+        for (CandidateFight candidate : candidates) {
+            windows.add(Optional.of(candidate.window()));
+        }
+        Map<Optional<ReplayWindow>, WindowReplay> replays = replayWindows(combatLog, metadata.zoneId(), windows);
+
         fflogsSummary = maybeRefineFightSelection(
-                combatLogPath,
                 metadata,
                 fflogsSummary,
                 originalToAlias,
-                aliasToOriginal,
-                forcedFightId
+                candidates,
+                replays
         );
         Optional<ReplayWindow> replayWindow = deriveReplayWindow(fflogsSummary);
-        ReplayRunResult replayResult = runReplay(
-                combatLogPath,
-                metadata.zoneId(),
-                replayWindow,
-                aliasToOriginal
-        );
-        SubmissionParityReport.DamageTextMatchDiagnostics damageTextMatchDiagnostics =
-                diagnoseDamageTextMatching(combatLogPath, replayWindow, aliasToOriginal);
+        WindowReplay selectedReplay = replays.get(replayWindow);
+        if (selectedReplay == null) {
+            selectedReplay = replayWindows(combatLog, metadata.zoneId(), List.of(replayWindow)).get(replayWindow);
+        }
+        ReplayRunResult replayResult = selectedReplay.replay();
+        SubmissionParityReport.DamageTextMatchDiagnostics damageTextMatchDiagnostics = selectedReplay.damageTextMatching();
         ComparisonBundle comparisonBundle = buildComparisons(submissionDir, replayResult.snapshot(), fflogsSummary);
         SubmissionParityReport.ParityQualitySummary parityQuality = computeParityQualitySummary(
                 comparisonBundle.comparisons(),
@@ -620,14 +630,12 @@ public class SubmissionParityReportService {
         return Optional.empty();
     }
 
-    private SubmissionParityReport.FflogsReportSummary maybeRefineFightSelection(
-            Path combatLogPath,
+    /** 전투 선택을 재생 결과로 보정할 때 비교할 후보. 보정하지 않는 경우면 빈 목록 */
+    private List<CandidateFight> fightRefinementCandidates(
             SubmissionParityReport.SubmissionMetadata metadata,
             SubmissionParityReport.FflogsReportSummary initialSummary,
-            Map<String, String> originalToAlias,
-            Map<String, String> aliasToOriginal,
             Integer forcedFightId
-    ) throws IOException {
+    ) {
         if (initialSummary == null
                 || !"ok".equals(initialSummary.status())
                 || initialSummary.reportCode() == null
@@ -637,26 +645,43 @@ public class SubmissionParityReportService {
                 || forcedFightId != null
                 || metadata.fflogsFightId() != null
                 || extractFightIdFromUrl(metadata.fflogsReportUrl()) != null) {
-            return initialSummary;
+            return List.of();
         }
 
-        double bestScore = Double.POSITIVE_INFINITY;
-        SubmissionParityReport.FflogsFightSummary bestFight = null;
-        List<SubmissionParityReport.FflogsActorSummary> bestActors = List.of();
-        Integer expectedEncounterId = resolveExpectedEncounterId(metadata.zoneId());
-
+        List<CandidateFight> candidates = new ArrayList<>();
         for (SubmissionParityReport.FflogsFightSummary fight : initialSummary.fights()) {
             if (!isMeaningfulEncounterFight(fight)) {
                 continue;
             }
-
-            ReplayWindow replayWindow = new ReplayWindow(
+            candidates.add(new CandidateFight(fight, new ReplayWindow(
                     initialSummary.reportStartTime() + fight.startTime(),
                     initialSummary.reportStartTime() + fight.endTime(),
                     initialSummary.reportStartTime() + fight.startTime() - PRE_PULL_CONTEXT_MS,
                     initialSummary.reportStartTime() + fight.endTime() + POST_FIGHT_PADDING_MS
-            );
-            ReplayRunResult replay = runReplay(combatLogPath, metadata.zoneId(), Optional.of(replayWindow), aliasToOriginal);
+            )));
+        }
+        return candidates;
+    }
+
+    private SubmissionParityReport.FflogsReportSummary maybeRefineFightSelection(
+            SubmissionParityReport.SubmissionMetadata metadata,
+            SubmissionParityReport.FflogsReportSummary initialSummary,
+            Map<String, String> originalToAlias,
+            List<CandidateFight> candidates,
+            Map<Optional<ReplayWindow>, WindowReplay> replays
+    ) {
+        if (candidates.isEmpty()) {
+            return initialSummary;
+        }
+
+        double bestScore = Double.POSITIVE_INFINITY;
+        SubmissionParityReport.FflogsFightSummary bestFight = null;
+        List<SubmissionParityReport.FflogsActorSummary> bestActors = List.of();
+        Integer expectedEncounterId = resolveExpectedEncounterId(metadata.zoneId());
+
+        for (CandidateFight candidate : candidates) {
+            SubmissionParityReport.FflogsFightSummary fight = candidate.fight();
+            ReplayRunResult replay = replays.get(Optional.of(candidate.window())).replay();
             if (replay.snapshot() == null || replay.snapshot().actors() == null || replay.snapshot().actors().isEmpty()) {
                 continue;
             }
@@ -1112,108 +1137,35 @@ public class SubmissionParityReportService {
         return Map.copyOf(aliasToOriginal);
     }
 
-    private ReplayRunResult runReplay(
-            Path combatLogPath,
+    /**
+     * 읽어 둔 로그를 한 번 훑으며 창마다 재생과 DamageText 진단을 같이 돌린다.
+     * 같은 창은 한 번만 돌리고, 여러 창에 걸친 줄도 파싱은 한 번이다.
+     */
+    private Map<Optional<ReplayWindow>, WindowReplay> replayWindows(
+            ParityCombatLog combatLog,
             int territoryId,
-            Optional<ReplayWindow> replayWindow,
-            Map<String, String> aliasToOriginal
-    ) throws IOException {
-        CombatEngine engine = new CombatEngine();
-        Map<Long, SkillAccumulator> skillAccumulators = new HashMap<>();
-        CombatService combatService = new CombatService(
-                engine,
-                snapshot -> {
-                },
-                (fightName, actTerritoryId) -> Optional.empty(),
-                this.enrageTimeProvider
-        );
-        CombatEventPort forwardingPort = new CombatEventPort() {
-            @Override
-            public com.bohouse.pacemeter.core.engine.EngineResult onEvent(CombatEvent event) {
-                if (event instanceof CombatEvent.DamageEvent damageEvent) {
-                    accumulateEmittedSkillDamage(damageEvent, skillAccumulators);
-                }
-                return combatService.onEvent(event);
-            }
-
-            @Override
-            public void setCurrentPlayerId(com.bohouse.pacemeter.core.model.ActorId playerId) {
-                combatService.setCurrentPlayerId(playerId);
-            }
-
-            @Override
-            public void setJobId(com.bohouse.pacemeter.core.model.ActorId actorId, int jobId) {
-                combatService.setJobId(actorId, jobId);
-            }
-        };
-        ActIngestionService ingestion = new ActIngestionService(
-                forwardingPort,
-                combatService,
-                fflogsZoneLookup
-        );
-        if (territoryId > 0) {
-            Instant contextTs = replayWindow
-                    .map(window -> Instant.ofEpochMilli(window.startInclusiveMs()))
-                    .orElse(Instant.EPOCH);
-            ingestion.onParsed(new ZoneChanged(contextTs, territoryId, ""));
-        }
-
-        long totalLines = 0L;
-        long parsedLines = 0L;
-        CombatDebugSnapshot lastMeaningfulSnapshot = null;
-        Set<String> confirmedActionSequences = collectConfirmedActionSequences(combatLogPath, replayWindow);
-
-        try (BufferedReader reader = Files.newBufferedReader(combatLogPath, StandardCharsets.UTF_8)) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.isBlank()) {
-                    continue;
-                }
-                if (!shouldIncludeLine(line, replayWindow)) {
-                    continue;
-                }
-                if (shouldSkipUnconfirmedResultDamage(line, confirmedActionSequences)) {
-                    continue;
-                }
-                totalLines++;
-                ParsedLine parsed = parser.parse(deanonymizeLine(line, aliasToOriginal));
-                if (parsed == null) {
-                    continue;
-                }
-                parsedLines++;
-                ingestion.onParsed(parsed);
-                CombatDebugSnapshot snapshot = combatService.debugSnapshot();
-                if (isMeaningfulSnapshot(snapshot)) {
-                    lastMeaningfulSnapshot = snapshot;
-                }
+            List<Optional<ReplayWindow>> windows
+    ) {
+        Map<Optional<ReplayWindow>, WindowPass> passes = new LinkedHashMap<>();
+        for (Optional<ReplayWindow> window : windows) {
+            if (!passes.containsKey(window)) {
+                passes.put(window, new WindowPass(
+                        territoryId,
+                        window,
+                        collectConfirmedActionSequences(combatLog, window)
+                ));
             }
         }
-
-        long elapsedMs = ingestion.nowElapsedMs();
-        if (ingestion.isFightStarted()) {
-            if (territoryId > 0) {
-                combatService.onEvent(new CombatEvent.Tick(elapsedMs));
-            } else {
-                combatService.onEvent(new CombatEvent.Tick(elapsedMs));
+        for (ParityCombatLog.Line line : combatLog.lines()) {
+            for (WindowPass pass : passes.values()) {
+                pass.accept(line);
             }
         }
-
-        return new ReplayRunResult(
-                new SubmissionParityReport.ReplaySummary(
-                        combatLogPath.toAbsolutePath().toString(),
-                        totalLines,
-                        parsedLines,
-                        totalLines - parsedLines,
-                        ingestion.isFightStarted(),
-                        elapsedMs
-                ),
-                attachSkillBreakdowns(
-                        isMeaningfulSnapshot(combatService.debugSnapshot())
-                                ? combatService.debugSnapshot()
-                                : lastMeaningfulSnapshot,
-                        skillAccumulators
-                )
-        );
+        Map<Optional<ReplayWindow>, WindowReplay> replays = new HashMap<>();
+        for (Map.Entry<Optional<ReplayWindow>, WindowPass> entry : passes.entrySet()) {
+            replays.put(entry.getKey(), entry.getValue().finish(combatLog));
+        }
+        return replays;
     }
 
     private void accumulateEmittedSkillDamage(
@@ -1239,149 +1191,36 @@ public class SubmissionParityReportService {
     }
 
     private Set<String> collectConfirmedActionSequences(
-            Path combatLogPath,
+            ParityCombatLog combatLog,
             Optional<ReplayWindow> replayWindow
-    ) throws IOException {
+    ) {
         if (RESULT_CONFIRMED_SKILL_IDS.isEmpty()) {
             return Set.of();
         }
         Set<String> sequences = new HashSet<>();
-        try (BufferedReader reader = Files.newBufferedReader(combatLogPath, StandardCharsets.UTF_8)) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.isBlank() || !shouldIncludeLine(line, replayWindow)) {
-                    continue;
-                }
-                String[] parts = line.split("\\|", -1);
-                if (parts.length > 4 && "37".equals(parts[0])) {
-                    String sequence = parts[4];
-                    if (!sequence.isBlank()) {
-                        sequences.add(sequence);
-                    }
-                }
+        for (ParityCombatLog.Line line : combatLog.resultLines()) {
+            if (shouldIncludeLine(line, replayWindow)) {
+                sequences.add(line.confirmedSequence());
             }
         }
         return sequences;
     }
 
-    private boolean shouldSkipUnconfirmedResultDamage(String line, Set<String> confirmedActionSequences) {
+    private boolean shouldSkipUnconfirmedResultDamage(ParityCombatLog.Line line, Set<String> confirmedActionSequences) {
         if (confirmedActionSequences.isEmpty()) {
             return false;
         }
-        String[] parts = line.split("\\|", -1);
-        if (parts.length <= 44 || !"21".equals(parts[0])) {
-            return false;
-        }
-        String rawDamage = parts[9];
-        if (rawDamage == null || rawDamage.isBlank() || "0".equals(rawDamage)) {
-            return false;
-        }
-        int skillId = parseHexInt(parts[4]);
-        if (!RESULT_CONFIRMED_SKILL_IDS.contains(skillId)) {
-            return false;
-        }
-        String sequence = parts[44];
-        return sequence != null && !sequence.isBlank() && !confirmedActionSequences.contains(sequence);
-    }
-
-    private int parseHexInt(String value) {
-        if (value == null || value.isBlank()) {
-            return 0;
-        }
-        try {
-            return Integer.parseInt(value, 16);
-        } catch (NumberFormatException ignored) {
-            return 0;
-        }
-    }
-
-    private SubmissionParityReport.DamageTextMatchDiagnostics diagnoseDamageTextMatching(
-            Path combatLogPath,
-            Optional<ReplayWindow> replayWindow,
-            Map<String, String> aliasToOriginal
-    ) throws IOException {
-        Deque<DamageText> recentTexts = new ArrayDeque<>();
-        long damageTextLines = 0L;
-        long abilityLines = 0L;
-        long exactAmountCandidates = 0L;
-        long exactAmountAndTargetCandidates = 0L;
-        long exactAmountTargetAndSourceCandidates = 0L;
-
-        try (BufferedReader reader = Files.newBufferedReader(combatLogPath, StandardCharsets.UTF_8)) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                if (line.isBlank() || !shouldIncludeLine(line, replayWindow)) {
-                    continue;
-                }
-                ParsedLine parsed = parser.parse(deanonymizeLine(line, aliasToOriginal));
-                if (parsed == null) {
-                    continue;
-                }
-                if (parsed instanceof DamageText text) {
-                    damageTextLines++;
-                    recentTexts.addLast(text);
-                    pruneDiagnosticDamageTexts(recentTexts, text.ts());
-                    continue;
-                }
-                if (parsed instanceof NetworkAbilityRaw ability && ability.damage() > 0) {
-                    abilityLines++;
-                    pruneDiagnosticDamageTexts(recentTexts, ability.ts());
-                    boolean amountMatched = false;
-                    boolean amountTargetMatched = false;
-                    boolean amountTargetSourceMatched = false;
-                    for (DamageText text : recentTexts) {
-                        long deltaMs = Math.abs(Duration.between(text.ts(), ability.ts()).toMillis());
-                        if (deltaMs > 2_000) {
-                            continue;
-                        }
-                        if (text.amount() != ability.damage()) {
-                            continue;
-                        }
-                        amountMatched = true;
-                        boolean targetMatches = text.targetTextName() == null
-                                || text.targetTextName().isBlank()
-                                || text.targetTextName().equals(ability.targetName());
-                        if (!targetMatches) {
-                            continue;
-                        }
-                        amountTargetMatched = true;
-                        boolean sourceMatches = text.sourceTextName() == null
-                                || text.sourceTextName().isBlank()
-                                || text.sourceTextName().equals(ability.actorName());
-                        if (sourceMatches) {
-                            amountTargetSourceMatched = true;
-                            break;
-                        }
-                    }
-                    if (amountMatched) {
-                        exactAmountCandidates++;
-                    }
-                    if (amountTargetMatched) {
-                        exactAmountAndTargetCandidates++;
-                    }
-                    if (amountTargetSourceMatched) {
-                        exactAmountTargetAndSourceCandidates++;
-                    }
-                }
-            }
-        }
-
-        return new SubmissionParityReport.DamageTextMatchDiagnostics(
-                damageTextLines,
-                abilityLines,
-                exactAmountCandidates,
-                exactAmountAndTargetCandidates,
-                exactAmountTargetAndSourceCandidates
-        );
+        String sequence = line.unconfirmedResultSequence();
+        return sequence != null && !confirmedActionSequences.contains(sequence);
     }
 
-    private void pruneDiagnosticDamageTexts(Deque<DamageText> recentTexts, Instant now) {
+    private void pruneDiagnosticDamageTexts(Deque<DamageText> recentTexts, long nowMs) {
         while (!recentTexts.isEmpty()) {
             DamageText first = recentTexts.peekFirst();
             if (first == null) {
                 return;
             }
-            long ageMs = Math.abs(Duration.between(first.ts(), now).toMillis());
+            long ageMs = Math.abs(nowMs - first.tsMs());
             if (ageMs <= 3_000) {
                 return;
             }
@@ -1389,13 +1228,6 @@ public class SubmissionParityReportService {
         }
     }
 
-    private boolean isMeaningfulSnapshot(CombatDebugSnapshot snapshot) {
-        return snapshot != null
-                && snapshot.territoryId() > 0
-                && snapshot.actors() != null
-                && !snapshot.actors().isEmpty();
-    }
-
     private CombatDebugSnapshot attachSkillBreakdowns(
             CombatDebugSnapshot snapshot,
             Map<Long, SkillAccumulator> accumulators
@@ -1434,39 +1266,18 @@ public class SubmissionParityReportService {
         );
     }
 
-    private String deanonymizeLine(String line, Map<String, String> aliasToOriginal) {
-        if (line == null || line.isBlank() || aliasToOriginal == null || aliasToOriginal.isEmpty()) {
-            return line;
-        }
-        String[] parts = line.split("\\|", -1);
-        boolean changed = false;
-        for (int i = 0; i < parts.length; i++) {
-            String original = aliasToOriginal.get(parts[i]);
-            if (original != null) {
-                parts[i] = original;
-                changed = true;
-            }
-        }
-        if (!changed) {
-            return line;
-        }
-        return String.join("|", parts);
-    }
-
-    private boolean shouldIncludeLine(String line, Optional<ReplayWindow> replayWindow) {
+    private boolean shouldIncludeLine(ParityCombatLog.Line line, Optional<ReplayWindow> replayWindow) {
         if (replayWindow.isEmpty()) {
             return true;
         }
-
-        String[] parts = line.split("\\|", 4);
-        if (parts.length < 3) {
+        if (line.subtype() == null) {
             return false;
         }
 
-        String type = parts[0];
-        String subtype = parts.length >= 3 ? parts[2] : "";
-        Long timestampMs = parseLineTimestampMs(parts[1]);
-        if (timestampMs == null) {
+        String type = line.type();
+        String subtype = line.subtype();
+        long timestampMs = line.timestampMs();
+        if (timestampMs == ParityCombatLog.NO_TIMESTAMP) {
             return false;
         }
 
@@ -1486,14 +1297,6 @@ public class SubmissionParityReportService {
         return isHistoricalContextLineType(type, subtype);
     }
 
-    private Long parseLineTimestampMs(String value) {
-        try {
-            return Instant.parse(value).toEpochMilli();
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
     private boolean isPrePullContextLineType(String type, String subtype) {
         return "01".equals(type)
                 || "02".equals(type)
@@ -1538,6 +1341,199 @@ public class SubmissionParityReportService {
     private record ReplayWindow(long fightStartMs, long fightEndMs, long startInclusiveMs, long endInclusiveMs) {
     }
 
+    private record CandidateFight(SubmissionParityReport.FflogsFightSummary fight, ReplayWindow window) {
+    }
+
+    private record WindowReplay(
+            ReplayRunResult replay,
+            SubmissionParityReport.DamageTextMatchDiagnostics damageTextMatching
+    ) {
+    }
+
+    /**
+     * 창 하나의 재생 상태와 DamageText 진단 카운터. replayWindows가 줄을 하나씩 넣어 준다.
+     *
+     * 결과 스냅샷은 끝 상태가 비어 있으면(지역이 없거나 액터가 없으면) 마지막으로 비어 있지 않았던 줄 직후의 상태를 쓴다.
+     * 줄마다 debugSnapshot을 만들어 두는 대신 {@link CombatService#hasDebugContent()}로 그 줄 번호만 기억하고,
+     * 끝 상태가 비어 있을 때만 같은 창을 그 줄까지 다시 재생해서 스냅샷을 만든다.
+     */
+    private final class WindowPass {
+        private final int territoryId;
+        private final Optional<ReplayWindow> replayWindow;
+        private final Set<String> confirmedActionSequences;
+        private final Map<Long, SkillAccumulator> skillAccumulators = new HashMap<>();
+        private final CombatService combatService;
+        private final ActIngestionService ingestion;
+        private long totalLines;
+        private long parsedLines;
+        // 끝 상태가 비어 있지 않았던 마지막 줄의 parsedLines 값. 0이면 그런 줄이 없다
+        private long lastMeaningfulParsedLine;
+
+        private final Deque<DamageText> recentTexts = new ArrayDeque<>();
+        private long damageTextLines;
+        private long abilityLines;
+        private long exactAmountCandidates;
+        private long exactAmountAndTargetCandidates;
+        private long exactAmountTargetAndSourceCandidates;
+
+        private WindowPass(int territoryId, Optional<ReplayWindow> replayWindow, Set<String> confirmedActionSequences) {
+            this.territoryId = territoryId;
+            this.replayWindow = replayWindow;
+            this.confirmedActionSequences = confirmedActionSequences;
+            CombatEngine engine = new CombatEngine();
+            this.combatService = new CombatService(
+                    engine,
+                    snapshot -> {
+                    },
+                    (fightName, actTerritoryId) -> Optional.empty(),
+                    enrageTimeProvider
+            );
+            CombatEventPort forwardingPort = new CombatEventPort() {
+                @Override
+                public com.bohouse.pacemeter.core.engine.EngineResult onEvent(CombatEvent event) {
+                    if (event instanceof CombatEvent.DamageEvent damageEvent) {
+                        accumulateEmittedSkillDamage(damageEvent, skillAccumulators);
+                    }
+                    return combatService.onEvent(event);
+                }
+
+                @Override
+                public void setCurrentPlayerId(com.bohouse.pacemeter.core.model.ActorId playerId) {
+                    combatService.setCurrentPlayerId(playerId);
+                }
+
+                @Override
+                public void setJobId(com.bohouse.pacemeter.core.model.ActorId actorId, int jobId) {
+                    combatService.setJobId(actorId, jobId);
+                }
+            };
+            this.ingestion = new ActIngestionService(
+                    forwardingPort,
+                    combatService,
+                    fflogsZoneLookup
+            );
+            if (territoryId > 0) {
+                long contextTsMs = replayWindow
+                        .map(ReplayWindow::startInclusiveMs)
+                        .orElse(0L);
+                ingestion.onParsed(new ZoneChanged(contextTsMs, territoryId, ""));
+            }
+        }
+
+        private void accept(ParityCombatLog.Line line) {
+            if (!shouldIncludeLine(line, replayWindow)) {
+                return;
+            }
+            ParsedLine parsed = line.parsed();
+            noteDamageTextMatching(parsed);
+            if (shouldSkipUnconfirmedResultDamage(line, confirmedActionSequences)) {
+                return;
+            }
+            totalLines++;
+            if (parsed == null) {
+                return;
+            }
+            parsedLines++;
+            ingestion.onParsed(parsed);
+            if (combatService.hasDebugContent()) {
+                lastMeaningfulParsedLine = parsedLines;
+            }
+        }
+
+        private void noteDamageTextMatching(ParsedLine parsed) {
+            if (parsed instanceof DamageText text) {
+                damageTextLines++;
+                recentTexts.addLast(text);
+                pruneDiagnosticDamageTexts(recentTexts, text.tsMs());
+                return;
+            }
+            if (!(parsed instanceof NetworkAbilityRaw ability) || ability.damage() <= 0) {
+                return;
+            }
+            abilityLines++;
+            pruneDiagnosticDamageTexts(recentTexts, ability.tsMs());
+            boolean amountMatched = false;
+            boolean amountTargetMatched = false;
+            boolean amountTargetSourceMatched = false;
+            for (DamageText text : recentTexts) {
+                long deltaMs = Math.abs(ability.tsMs() - text.tsMs());
+                if (deltaMs > 2_000) {
+                    continue;
+                }
+                if (text.amount() != ability.damage()) {
+                    continue;
+                }
+                amountMatched = true;
+                boolean targetMatches = text.targetTextName() == null
+                        || text.targetTextName().isBlank()
+                        || text.targetTextName().equals(ability.targetName());
+                if (!targetMatches) {
+                    continue;
+                }
+                amountTargetMatched = true;
+                boolean sourceMatches = text.sourceTextName() == null
+                        || text.sourceTextName().isBlank()
+                        || text.sourceTextName().equals(ability.actorName());
+                if (sourceMatches) {
+                    amountTargetSourceMatched = true;
+                    break;
+                }
+            }
+            if (amountMatched) {
+                exactAmountCandidates++;
+            }
+            if (amountTargetMatched) {
+                exactAmountAndTargetCandidates++;
+            }
+            if (amountTargetSourceMatched) {
+                exactAmountTargetAndSourceCandidates++;
+            }
+        }
+
+        private WindowReplay finish(ParityCombatLog combatLog) {
+            long elapsedMs = ingestion.nowElapsedMs();
+            if (ingestion.isFightStarted()) {
+                combatService.onEvent(new CombatEvent.Tick(elapsedMs));
+            }
+
+            ReplayRunResult replay = new ReplayRunResult(
+                    new SubmissionParityReport.ReplaySummary(
+                            combatLog.path().toAbsolutePath().toString(),
+                            totalLines,
+                            parsedLines,
+                            totalLines - parsedLines,
+                            ingestion.isFightStarted(),
+                            elapsedMs
+                    ),
+                    attachSkillBreakdowns(resultSnapshot(combatLog), skillAccumulators)
+            );
+            return new WindowReplay(replay, new SubmissionParityReport.DamageTextMatchDiagnostics(
+                    damageTextLines,
+                    abilityLines,
+                    exactAmountCandidates,
+                    exactAmountAndTargetCandidates,
+                    exactAmountTargetAndSourceCandidates
+            ));
+        }
+
+        private CombatDebugSnapshot resultSnapshot(ParityCombatLog combatLog) {
+            if (combatService.hasDebugContent()) {
+                return combatService.debugSnapshot();
+            }
+            if (lastMeaningfulParsedLine == 0) {
+                return null;
+            }
+            WindowPass rewind = new WindowPass(territoryId, replayWindow, confirmedActionSequences);
+            for (ParityCombatLog.Line line : combatLog.lines()) {
+                rewind.accept(line);
+                if (rewind.parsedLines == lastMeaningfulParsedLine) {
+                    break;
+                }
+            }
+            return rewind.combatService.debugSnapshot();
+        }
+    }
+
     private static final class SkillAccumulator {
         private final Map<String, SkillStat> skills = new HashMap<>();
 
@@ -0,0 +1,286 @@
+package com.bohouse.pacemeter.application;
+
+import java.util.Arrays;
+
+/**
+ * 대상에 걸려 있는 파티원 DoT를 (대상, 시전자, 액션)별로 한 줄씩 담는 표.
+ *
+ * 예전의 대상 → (시전자, 액션) → 상태 맵 대신 열마다 원시 배열을 두고, 살아 있는 줄을 앞쪽에 빽빽하게 모은다
+ * (지우면 마지막 줄을 빈자리로 옮긴다). 대상과 시전자 ID는 32비트라서 {@code target << 32 | source}로 묶어
+ * 한 열에 둔다. 줄이 많아야 파티원 수 × DoT 수 × 대상 수 정도라서 찾기는 선형 탐색이다.
+ *
+ * 만료 정리는 줄 번호를 만료 시각 순으로 담은 최소 힙에서 끝난 줄만 꺼내므로 표 전체를 훑지 않는다.
+ * 대상별로 살아 있는 줄 수도 따로 세어 두어 DoT가 걸린 대상 수를 바로 돌려준다.
+ *
+ * 읽기는 인덱스로 한다: {@code for (int i = 0; i < size(); i++) if (targetAt(i) == target) ...}.
+ * 한 대상의 줄을 순서대로 읽을 때는 {@link #select}가 재사용 버퍼에 줄 번호를 골라 담는다.
+ * 호출 측(ActIngestionService)이 동기화하므로 스레드 안전하지 않다.
+ */
+final class TrackedDotTable {
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    private long[] targetSource = new long[INITIAL_CAPACITY];
+    private int[] actionIds = new int[INITIAL_CAPACITY];
+    private long[] expiresAtMs = new long[INITIAL_CAPACITY];
+    private String[] sourceNames = new String[INITIAL_CAPACITY];
+    private int size;
+
+    // 만료 시각 순 최소 힙 (줄 번호). heapIndex[row]는 그 줄의 힙 위치. 모든 줄이 힙에 있다.
+    private int[] heap = new int[INITIAL_CAPACITY];
+    private int[] heapIndex = new int[INITIAL_CAPACITY];
+
+    // select가 채우는 줄 번호 (시전자, 액션 순). 다음 select나 표가 바뀔 때까지만 유효하다.
+    private int[] selection = new int[8];
+    private int selectionSize;
+
+    // DoT가 하나 이상 걸린 대상과 그 대상의 줄 수 (역시 빽빽하게)
+    private long[] targets = new long[8];
+    private int[] targetRows = new int[8];
+    private int targetCount;
+
+    int size() {
+        return size;
+    }
+
+    long targetAt(int row) {
+        return targetSource[row] >>> 32;
+    }
+
+    long sourceAt(int row) {
+        return targetSource[row] & 0xFFFFFFFFL;
+    }
+
+    String sourceNameAt(int row) {
+        return sourceNames[row];
+    }
+
+    int actionAt(int row) {
+        return actionIds[row];
+    }
+
+    long expiresAtMs(int row) {
+        return expiresAtMs[row];
+    }
+
+    /** DoT가 하나 이상 걸린 대상 수 */
+    int activeTargetCount() {
+        return targetCount;
+    }
+
+    boolean hasTarget(long targetId) {
+        return indexOfTarget(targetId) >= 0;
+    }
+
+    boolean contains(long targetId, long sourceId, int actionId) {
+        return indexOf(pack(targetId, sourceId), actionId) >= 0;
+    }
+
+    /**
+     * 대상의 줄을 (시전자, 액션) 순으로 골라 재사용 버퍼에 담고 개수를 돌려준다.
+     * sourceId가 음수면 시전자를 가리지 않는다. 고른 줄은 {@link #selectedRow}로 읽는다.
+     */
+    int select(long targetId, long sourceId) {
+        selectionSize = 0;
+        for (int row = 0; row < size; row++) {
+            if (targetAt(row) != targetId || (sourceId >= 0 && sourceAt(row) != sourceId)) {
+                continue;
+            }
+            if (selectionSize == selection.length) {
+                selection = Arrays.copyOf(selection, selectionSize * 2);
+            }
+            // 대상당 줄이 몇 개뿐이라 삽입 정렬로 충분하다
+            int index = selectionSize++;
+            while (index > 0 && precedes(row, selection[index - 1])) {
+                selection[index] = selection[index - 1];
+                index--;
+            }
+            selection[index] = row;
+        }
+        return selectionSize;
+    }
+
+    int selectedRow(int index) {
+        return selection[index];
+    }
+
+    /** 같은 (대상, 시전자, 액션)이 있으면 이름과 만료 시각을 덮어쓴다. */
+    void put(long targetId, long sourceId, String sourceName, int actionId, long expiresAt) {
+        long key = pack(targetId, sourceId);
+        int row = indexOf(key, actionId);
+        if (row < 0) {
+            if (size == targetSource.length) {
+                grow();
+            }
+            row = size++;
+            targetSource[row] = key;
+            actionIds[row] = actionId;
+            sourceNames[row] = sourceName;
+            expiresAtMs[row] = expiresAt;
+            heap[row] = row;
+            heapIndex[row] = row;
+            siftUp(row);
+            addTargetRow(targetId);
+            return;
+        }
+        long previous = expiresAtMs[row];
+        sourceNames[row] = sourceName;
+        expiresAtMs[row] = expiresAt;
+        if (expiresAt < previous) {
+            siftUp(heapIndex[row]);
+        } else if (expiresAt > previous) {
+            siftDown(heapIndex[row]);
+        }
+    }
+
+    void remove(long targetId, long sourceId, int actionId) {
+        int row = indexOf(pack(targetId, sourceId), actionId);
+        if (row >= 0) {
+            removeRow(row);
+        }
+    }
+
+    /**
+     * now 시점에 끝난 줄을 힙 꼭대기부터 지운다. 가장 이른 만료 시각이 아직 안 됐으면 아무것도 하지 않는다.
+     *
+     * @return 마지막 DoT가 빠져서 목록에서 사라진 대상이 있으면 true
+     */
+    boolean pruneExpired(long now) {
+        int targetsBefore = targetCount;
+        while (size > 0 && expiresAtMs[heap[0]] <= now) {
+            removeRow(heap[0]);
+        }
+        return targetCount < targetsBefore;
+    }
+
+    void clear() {
+        Arrays.fill(sourceNames, 0, size, null);
+        size = 0;
+        targetCount = 0;
+        selectionSize = 0;
+    }
+
+    private int indexOf(long key, int actionId) {
+        for (int row = 0; row < size; row++) {
+            if (targetSource[row] == key && actionIds[row] == actionId) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    private void removeRow(int row) {
+        removeTargetRow(targetAt(row));
+        int last = --size;
+        // 힙에서 빼기: 힙 마지막 칸을 빈자리로 옮기고 제자리를 찾게 한다
+        int position = heapIndex[row];
+        if (position != last) {
+            int moved = heap[last];
+            heap[position] = moved;
+            heapIndex[moved] = position;
+            siftUp(position);
+            siftDown(heapIndex[moved]);
+        }
+        // 줄 빼기: 마지막 줄을 빈자리로 옮기고 힙이 가리키는 줄 번호도 고친다
+        if (row != last) {
+            targetSource[row] = targetSource[last];
+            actionIds[row] = actionIds[last];
+            expiresAtMs[row] = expiresAtMs[last];
+            sourceNames[row] = sourceNames[last];
+            heapIndex[row] = heapIndex[last];
+            heap[heapIndex[row]] = row;
+        }
+        sourceNames[last] = null;
+    }
+
+    private void siftUp(int position) {
+        int row = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (expiresAtMs[heap[parent]] <= expiresAtMs[row]) {
+                break;
+            }
+            placeInHeap(position, heap[parent]);
+            position = parent;
+        }
+        placeInHeap(position, row);
+    }
+
+    private void siftDown(int position) {
+        int row = heap[position];
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && expiresAtMs[heap[child + 1]] < expiresAtMs[heap[child]]) {
+                child++;
+            }
+            if (expiresAtMs[row] <= expiresAtMs[heap[child]]) {
+                break;
+            }
+            placeInHeap(position, heap[child]);
+            position = child;
+        }
+        placeInHeap(position, row);
+    }
+
+    private void placeInHeap(int position, int row) {
+        heap[position] = row;
+        heapIndex[row] = position;
+    }
+
+    private boolean precedes(int row, int other) {
+        long source = sourceAt(row);
+        long otherSource = sourceAt(other);
+        return source != otherSource ? source < otherSource : actionIds[row] < actionIds[other];
+    }
+
+    private void addTargetRow(long targetId) {
+        int index = indexOfTarget(targetId);
+        if (index >= 0) {
+            targetRows[index]++;
+            return;
+        }
+        if (targetCount == targets.length) {
+            targets = Arrays.copyOf(targets, targetCount * 2);
+            targetRows = Arrays.copyOf(targetRows, targetCount * 2);
+        }
+        targets[targetCount] = targetId;
+        targetRows[targetCount] = 1;
+        targetCount++;
+    }
+
+    private void removeTargetRow(long targetId) {
+        int index = indexOfTarget(targetId);
+        if (index < 0 || --targetRows[index] > 0) {
+            return;
+        }
+        int last = --targetCount;
+        targets[index] = targets[last];
+        targetRows[index] = targetRows[last];
+    }
+
+    private int indexOfTarget(long targetId) {
+        for (int i = 0; i < targetCount; i++) {
+            if (targets[i] == targetId) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void grow() {
+        int capacity = targetSource.length * 2;
+        targetSource = Arrays.copyOf(targetSource, capacity);
+        actionIds = Arrays.copyOf(actionIds, capacity);
+        expiresAtMs = Arrays.copyOf(expiresAtMs, capacity);
+        sourceNames = Arrays.copyOf(sourceNames, capacity);
+        heap = Arrays.copyOf(heap, capacity);
+        heapIndex = Arrays.copyOf(heapIndex, capacity);
+    }
+
+    private static long pack(long targetId, long sourceId) {
+        return (targetId << 32) | (sourceId & 0xFFFFFFFFL);
+    }
+}
@@ -2,7 +2,6 @@ package com.bohouse.pacemeter.application;
 
 import com.bohouse.pacemeter.adapter.inbound.actws.DotTickRaw;
 
-import java.time.Instant;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
@@ -72,18 +71,18 @@ final class UnknownStatusDotAttributionResolver {
             return Optional.empty();
         }
 
-        Instant cutoff = dot.ts().minusMillis(windowMs);
+        long cutoffMs = dot.tsMs() - windowMs;
         Map<Long, UnknownSourceCandidate> candidatesBySource = new HashMap<>();
 
-        addActionCandidates(dot, cutoff, actionApplications, isPartyMember, sourceNameResolver, candidatesBySource);
-        addStatusCandidates(dot, cutoff, statusApplications, isPartyMember, sourceNameResolver, toTrackedDotActionId, candidatesBySource);
+        addActionCandidates(dot, cutoffMs, actionApplications, isPartyMember, sourceNameResolver, candidatesBySource);
+        addStatusCandidates(dot, cutoffMs, statusApplications, isPartyMember, sourceNameResolver, toTrackedDotActionId, candidatesBySource);
 
         if (candidatesBySource.isEmpty()) {
             return Optional.empty();
         }
         UnknownSourceCandidate selected = candidatesBySource.values().stream()
                 .max(Comparator.comparing(UnknownSourceCandidate::corroborated)
-                        .thenComparing(UnknownSourceCandidate::appliedAt)
+                        .thenComparingLong(UnknownSourceCandidate::appliedAtMs)
                         .thenComparingLong(UnknownSourceCandidate::sourceId))
                 .orElse(null);
         if (selected == null) {
@@ -118,12 +117,12 @@ final class UnknownStatusDotAttributionResolver {
             return Optional.empty();
         }
 
-        Instant cutoff = dot.ts().minusMillis(windowMs);
+        long cutoffMs = dot.tsMs() - windowMs;
         Map<Long, UnknownSourceCandidate> candidatesBySource = new HashMap<>();
 
         addKnownStatusActionCandidates(
                 dot,
-                cutoff,
+                cutoffMs,
                 mappedActionId,
                 actionApplications,
                 isPartyMember,
@@ -132,7 +131,7 @@ final class UnknownStatusDotAttributionResolver {
         );
         addKnownStatusMappedStatusCandidates(
                 dot,
-                cutoff,
+                cutoffMs,
                 mappedActionId,
                 statusApplications,
                 isPartyMember,
@@ -146,7 +145,7 @@ final class UnknownStatusDotAttributionResolver {
         }
         UnknownSourceCandidate selected = candidatesBySource.values().stream()
                 .max(Comparator.comparing(UnknownSourceCandidate::corroborated)
-                        .thenComparing(UnknownSourceCandidate::appliedAt)
+                        .thenComparingLong(UnknownSourceCandidate::appliedAtMs)
                         .thenComparingLong(UnknownSourceCandidate::sourceId))
                 .orElse(null);
         if (selected == null) {
@@ -168,7 +167,7 @@ final class UnknownStatusDotAttributionResolver {
         if (application == null) {
             return null;
         }
-        if (application.appliedAt().isBefore(dot.ts().minusMillis(windowMs))) {
+        if (application.appliedAtMs() < dot.tsMs() - windowMs) {
             return null;
         }
         return application;
@@ -176,7 +175,7 @@ final class UnknownStatusDotAttributionResolver {
 
     private void addActionCandidates(
             DotTickRaw dot,
-            Instant cutoff,
+            long cutoffMs,
             Map<DotKey, DotApplication> actionApplications,
             LongPredicate isPartyMember,
             LongFunction<String> sourceNameResolver,
@@ -185,7 +184,7 @@ final class UnknownStatusDotAttributionResolver {
         for (Map.Entry<DotKey, DotApplication> entry : actionApplications.entrySet()) {
             DotKey key = entry.getKey();
             DotApplication application = entry.getValue();
-            if (key.targetId() != dot.targetId() || application.appliedAt().isBefore(cutoff)) {
+            if (key.targetId() != dot.targetId() || application.appliedAtMs() < cutoffMs) {
                 continue;
             }
             if (!isPartyMember.test(key.sourceId())) {
@@ -197,7 +196,7 @@ final class UnknownStatusDotAttributionResolver {
                             key.sourceId(),
                             application.actionId(),
                             sourceNameResolver.apply(key.sourceId()),
-                            application.appliedAt(),
+                            application.appliedAtMs(),
                             false
                     )
             ));
@@ -206,7 +205,7 @@ final class UnknownStatusDotAttributionResolver {
 
     private void addStatusCandidates(
             DotTickRaw dot,
-            Instant cutoff,
+            long cutoffMs,
             Map<DotKey, DotApplication> statusApplications,
             LongPredicate isPartyMember,
             LongFunction<String> sourceNameResolver,
@@ -216,7 +215,7 @@ final class UnknownStatusDotAttributionResolver {
         for (Map.Entry<DotKey, DotApplication> entry : statusApplications.entrySet()) {
             DotKey key = entry.getKey();
             DotApplication application = entry.getValue();
-            if (key.targetId() != dot.targetId() || application.appliedAt().isBefore(cutoff)) {
+            if (key.targetId() != dot.targetId() || application.appliedAtMs() < cutoffMs) {
                 continue;
             }
             if (!isPartyMember.test(key.sourceId())) {
@@ -232,7 +231,7 @@ final class UnknownStatusDotAttributionResolver {
                             key.sourceId(),
                             mappedAction,
                             sourceNameResolver.apply(key.sourceId()),
-                            application.appliedAt(),
+                            application.appliedAtMs(),
                             false
                     )
             ));
@@ -241,7 +240,7 @@ final class UnknownStatusDotAttributionResolver {
 
     private void addKnownStatusActionCandidates(
             DotTickRaw dot,
-            Instant cutoff,
+            long cutoffMs,
             int expectedActionId,
             Map<DotKey, DotApplication> actionApplications,
             LongPredicate isPartyMember,
@@ -251,7 +250,7 @@ final class UnknownStatusDotAttributionResolver {
         for (Map.Entry<DotKey, DotApplication> entry : actionApplications.entrySet()) {
             DotKey key = entry.getKey();
             DotApplication application = entry.getValue();
-            if (key.targetId() != dot.targetId() || application.appliedAt().isBefore(cutoff)) {
+            if (key.targetId() != dot.targetId() || application.appliedAtMs() < cutoffMs) {
                 continue;
             }
             if (!isPartyMember.test(key.sourceId())) {
@@ -266,7 +265,7 @@ final class UnknownStatusDotAttributionResolver {
                             key.sourceId(),
                             expectedActionId,
                             sourceNameResolver.apply(key.sourceId()),
-                            application.appliedAt(),
+                            application.appliedAtMs(),
                             false
                     )
             ));
@@ -275,7 +274,7 @@ final class UnknownStatusDotAttributionResolver {
 
     private void addKnownStatusMappedStatusCandidates(
             DotTickRaw dot,
-            Instant cutoff,
+            long cutoffMs,
             int expectedActionId,
             Map<DotKey, DotApplication> statusApplications,
             LongPredicate isPartyMember,
@@ -286,7 +285,7 @@ final class UnknownStatusDotAttributionResolver {
         for (Map.Entry<DotKey, DotApplication> entry : statusApplications.entrySet()) {
             DotKey key = entry.getKey();
             DotApplication application = entry.getValue();
-            if (key.targetId() != dot.targetId() || application.appliedAt().isBefore(cutoff)) {
+            if (key.targetId() != dot.targetId() || application.appliedAtMs() < cutoffMs) {
                 continue;
             }
             if (!isPartyMember.test(key.sourceId())) {
@@ -302,7 +301,7 @@ final class UnknownStatusDotAttributionResolver {
                             key.sourceId(),
                             expectedActionId,
                             sourceNameResolver.apply(key.sourceId()),
-                            application.appliedAt(),
+                            application.appliedAtMs(),
                             false
                     )
             ));
@@ -321,16 +320,16 @@ final class UnknownStatusDotAttributionResolver {
                     existing.sourceId(),
                     existing.actionId(),
                     existing.sourceName(),
-                    candidate.appliedAt().isAfter(existing.appliedAt()) ? candidate.appliedAt() : existing.appliedAt(),
+                    candidate.appliedAtMs() > existing.appliedAtMs() ? candidate.appliedAtMs() : existing.appliedAtMs(),
                     true
             );
         }
-        return candidate.appliedAt().isAfter(existing.appliedAt()) ? candidate : existing;
+        return candidate.appliedAtMs() > existing.appliedAtMs() ? candidate : existing;
     }
 
     record DotKey(long sourceId, long targetId) {}
 
-    record DotApplication(int actionId, Instant appliedAt) {}
+    record DotApplication(int actionId, long appliedAtMs) {}
 
     record UnknownSourceAttribution(long sourceId, int actionId, String sourceName) {}
 
@@ -338,7 +337,7 @@ final class UnknownStatusDotAttributionResolver {
             long sourceId,
             int actionId,
             String sourceName,
-            Instant appliedAt,
+            long appliedAtMs,
             boolean corroborated
     ) {}
 }
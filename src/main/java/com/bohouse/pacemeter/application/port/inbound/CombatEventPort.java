@@ -4,6 +4,8 @@ import com.bohouse.pacemeter.core.engine.EngineResult;
 import com.bohouse.pacemeter.core.event.CombatEvent;
 import com.bohouse.pacemeter.core.model.ActorId;
 
+import java.util.List;
+
 /**
  * 인바운드 포트: 외부에서 전투 이벤트를 엔진에 전달하는 입구.
  *
@@ -29,6 +31,24 @@ public interface CombatEventPort {
      */
     EngineResult onEvent(CombatEvent event);
 
+    /**
+     * 전투 이벤트 묶음을 순서대로 처리한다. 릴레이 배치나 재생처럼 이벤트가 몰려 올 때 쓴다.
+     * 기본 구현은 onEvent를 차례로 부르고 마지막 스냅샷 결과를 돌려준다.
+     *
+     * @param events 타임스탬프 순서의 이벤트 묶음
+     * @return 마지막으로 스냅샷이 나온 결과. 스냅샷이 없었으면 빈 결과
+     */
+    default EngineResult onEvents(List<CombatEvent> events) {
+        EngineResult last = EngineResult.empty();
+        for (CombatEvent event : events) {
+            EngineResult result = onEvent(event);
+            if (result.hasSnapshot()) {
+                last = result;
+            }
+        }
+        return last;
+    }
+
     /**
      * 현재 플레이어 ID를 설정한다.
      * ActIngestionService가 ChangePrimaryPlayer를 받았을 때 호출한다.
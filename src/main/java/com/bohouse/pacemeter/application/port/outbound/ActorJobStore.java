@@ -0,0 +1,31 @@
+package com.bohouse.pacemeter.application.port.outbound;
+
+import java.util.Map;
+
+/**
+ * 아웃바운드 포트: 범위(로컬 엔진, 릴레이 세션)별로 액터 → 직업 캐시를 읽고 쓴다.
+ *
+ * 키는 {@code player-id:<hex>}, {@code player-name:<이름>}, {@code actor-id:<hex>}, {@code actor-name:<이름>} 형태다.
+ * 수집 스레드나 요청 스레드에서는 부르지 않는다. load는 범위를 처음 열 때 캐시 I/O 스레드에서 한 번,
+ * save는 쓰기 지연 플러시 스레드에서만 부른다.
+ */
+public interface ActorJobStore {
+
+    /** 아무것도 읽거나 남기지 않는다 (메모리 캐시만 쓴다) */
+    ActorJobStore NONE = new ActorJobStore() {
+        @Override
+        public Map<String, Integer> load(String scopeId) {
+            return Map.of();
+        }
+
+        @Override
+        public void save(String scopeId, Map<String, Integer> jobs) {
+        }
+    };
+
+    /** 범위의 캐시 전체. 남긴 적 없으면 빈 맵 */
+    Map<String, Integer> load(String scopeId);
+
+    /** 범위의 캐시 전체를 바꿔 쓴다. */
+    void save(String scopeId, Map<String, Integer> jobs);
+}
@@ -0,0 +1,84 @@
+package com.bohouse.pacemeter.application.port.outbound;
+
+import com.bohouse.pacemeter.core.event.CombatEvent;
+import com.bohouse.pacemeter.core.model.ActorId;
+
+import java.util.List;
+
+/**
+ * 아웃바운드 포트: 엔진이 실제로 받은 입력을 순서대로 남기는 추가 전용 저널.
+ *
+ * CombatService가 엔진 락 안에서 호출하므로 기록 순서가 곧 엔진 반영 순서다.
+ * 이벤트뿐 아니라 엔진 상태에 영향을 주는 설정(현재 플레이어, 직업, 소유자, 컨텍스트 초기화)도 남겨서,
+ * 저널을 새 엔진에 그대로 재생하면 같은 CombatState가 나온다.
+ *
+ * 구현은 호출 스레드를 오래 붙잡으면 안 된다 (버퍼에 쓰고 주기적으로 디스크에 동기화한다).
+ */
+public interface CombatJournal extends AutoCloseable {
+
+    /** 아무것도 기록하지 않는 저널 (저널 비활성화) */
+    CombatJournal NONE = new CombatJournal() {
+        @Override
+        public void recordEvent(CombatEvent event) {
+        }
+
+        @Override
+        public void recordCurrentPlayer(ActorId playerId) {
+        }
+
+        @Override
+        public void recordJob(ActorId actorId, int jobId) {
+        }
+
+        @Override
+        public void recordOwner(ActorId petId, ActorId ownerId) {
+        }
+
+        @Override
+        public void recordContextCleared() {
+        }
+
+        @Override
+        public void recordFightAnchor(FightAnchor anchor) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    void recordEvent(CombatEvent event);
+
+    /** playerId가 null이면 현재 플레이어 해제 */
+    void recordCurrentPlayer(ActorId playerId);
+
+    void recordJob(ActorId actorId, int jobId);
+
+    void recordOwner(ActorId petId, ActorId ownerId);
+
+    void recordContextCleared();
+
+    /**
+     * 수집기가 새 전투를 시작할 때의 기준점. 엔진 이벤트 시각은 전투 경과 시간이고 파티 구성은 엔진 밖에 있어서,
+     * 복구한 뒤 수집기가 같은 전투를 이어 받으려면 이 값들이 따로 있어야 한다.
+     */
+    void recordFightAnchor(FightAnchor anchor);
+
+    /**
+     * 수집기 쪽 전투 기준점.
+     *
+     * @param fightStartEpochMs 전투를 시작한 ACT 이벤트 시각 (epoch ms)
+     * @param playerId 현재 플레이어 ID (모르면 0)
+     * @param playerName 현재 플레이어 이름
+     * @param partyMemberIds 전투를 시작할 때의 파티원 ID
+     */
+    record FightAnchor(long fightStartEpochMs, long playerId, String playerName, List<Long> partyMemberIds) {
+        public FightAnchor {
+            partyMemberIds = List.copyOf(partyMemberIds);
+        }
+    }
+
+    /** 남은 버퍼를 쓰고 동기화한 뒤 닫는다. */
+    @Override
+    void close();
+}
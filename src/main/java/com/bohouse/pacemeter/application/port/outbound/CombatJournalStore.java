@@ -0,0 +1,58 @@
+package com.bohouse.pacemeter.application.port.outbound;
+
+import com.bohouse.pacemeter.core.engine.CombatEngine;
+import com.bohouse.pacemeter.core.snapshot.OverlaySnapshot;
+
+import java.util.Map;
+
+/**
+ * 아웃바운드 포트: 스트림(로컬 엔진, 릴레이 세션)별 저널을 열고 복구한다.
+ *
+ * 저널이 꺼져 있으면 open은 {@link CombatJournal#NONE}을, recover는 빈 결과를 돌려준다.
+ */
+public interface CombatJournalStore {
+
+    /** 스트림의 저널을 이어 쓰기로 연다. 끝이 잘린 레코드가 있으면 잘라 내고 이어 쓴다. */
+    CombatJournal open(String streamId);
+
+    /**
+     * 스트림의 저널을 새 엔진에 최대 속도로 재생해 CombatState를 다시 만든다.
+     * open보다 먼저 불러야 한다.
+     */
+    Recovery recover(String streamId, CombatEngine engine);
+
+    /**
+     * 복구 결과.
+     *
+     * @param entries 재생한 레코드 수 (저널이 없으면 0)
+     * @param durationNanos 재생에 걸린 시간
+     * @param snapshot 복구된 상태의 스냅샷. 재생한 게 없으면 null
+     * @param resumePoint 복구된 엔진이 전투 중이면 수집기가 그 전투를 이어 받을 기준점. 아니면 null
+     */
+    record Recovery(long entries, long durationNanos, OverlaySnapshot snapshot, ResumePoint resumePoint) {
+        public static final Recovery EMPTY = new Recovery(0L, 0L, null, null);
+    }
+
+    /**
+     * 진행 중이던 전투를 수집기({@code ActIngestionService#resumeFight})가 이어 받는 데 필요한 값.
+     *
+     * @param anchor 마지막 전투 기준점 (시작 시각, 현재 플레이어, 파티)
+     * @param elapsedMs 복구된 엔진의 전투 경과 시간
+     * @param zoneName 전투를 시작한 존 이름 (FightStart 값)
+     * @param zoneId 전투를 시작한 존 ID
+     * @param playerJobId 전투를 시작할 때 현재 플레이어의 직업 ID
+     * @param ownerByPetId 복구된 엔진의 펫 → 주인
+     */
+    record ResumePoint(
+            CombatJournal.FightAnchor anchor,
+            long elapsedMs,
+            String zoneName,
+            int zoneId,
+            int playerJobId,
+            Map<Long, Long> ownerByPetId
+    ) {
+        public ResumePoint {
+            ownerByPetId = Map.copyOf(ownerByPetId);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.bohouse.pacemeter.application.port.outbound;
+
+import com.bohouse.pacemeter.core.snapshot.OverlaySnapshot;
+
+/**
+ * 아웃바운드 포트: 엔진이 만든 스냅샷을 한 번만 올리는 내부 토픽.
+ *
+ * 엔진(로컬 ACT 엔진, 릴레이 세션 엔진)은 스트림 ID와 함께 스냅샷을 올리기만 하고,
+ * 시청자에게 나눠 주는 일은 토픽을 구독한 브로드캐스터가 한다.
+ * 브로드캐스터는 같은 프로세스에 있을 수도, 별도 인스턴스(nginx 뒤)에 있을 수도 있다.
+ *
+ * 토픽은 스트림별 최신 스냅샷만 보장한다. 구독자가 밀리면 중간 스냅샷은 건너뛸 수 있다.
+ */
+public interface SnapshotTopic {
+
+    /** 로컬(ACT) 엔진의 스트림 ID */
+    String LOCAL_STREAM_ID = "global";
+
+    /**
+     * 스냅샷을 올린다. 구독자 처리를 기다리지 않고 바로 돌아와야 한다.
+     *
+     * @param streamId 릴레이 세션 ID, 로컬 엔진이면 {@link #LOCAL_STREAM_ID}
+     */
+    void publish(String streamId, OverlaySnapshot snapshot);
+
+    /** 구독자를 등록한다. 등록 이후에 올라온 스냅샷부터 받는다. */
+    void subscribe(Subscriber subscriber);
+
+    @FunctionalInterface
+    interface Subscriber {
+        void onSnapshot(String streamId, OverlaySnapshot snapshot);
+    }
+}
@@ -1,13 +1,21 @@
 package com.bohouse.pacemeter.config;
 
+import com.bohouse.pacemeter.adapter.outbound.fflogsapi.FflogsZoneLookup;
+import com.bohouse.pacemeter.application.ActIngestionService;
+import com.bohouse.pacemeter.application.ActorJobCacheRegistry;
 import com.bohouse.pacemeter.application.CombatService;
+import com.bohouse.pacemeter.application.SessionTraceRegistry;
+import com.bohouse.pacemeter.application.port.outbound.CombatJournalStore;
 import com.bohouse.pacemeter.application.port.outbound.EnrageTimeProvider;
 import com.bohouse.pacemeter.application.port.outbound.PaceProfileProvider;
 import com.bohouse.pacemeter.application.port.outbound.SnapshotPublisher;
+import com.bohouse.pacemeter.application.port.outbound.SnapshotTopic;
 import com.bohouse.pacemeter.core.engine.CombatEngine;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
@@ -30,14 +38,59 @@ public class AppWiringConfig {
 
     // PaceProfileProvider는 FflogsPaceProfileProvider(@Component)가 자동 등록됨
 
+    /** 저널이 켜져 있으면 지난 실행의 로컬 스트림 상태를 엔진에 먼저 복구한다. */
     @Bean
+    public CombatJournalStore.Recovery localJournalRecovery(
+            CombatEngine engine,
+            SnapshotPublisher snapshotPublisher,
+            CombatJournalStore journalStore
+    ) {
+        CombatJournalStore.Recovery recovery = journalStore.recover(SnapshotTopic.LOCAL_STREAM_ID, engine);
+        if (recovery.snapshot() != null) {
+            snapshotPublisher.publish(recovery.snapshot());
+        }
+        return recovery;
+    }
+
+    /** 복구가 끝난 뒤에 같은 저널 파일을 이어 쓰기로 연다. */
+    @Bean
+    @DependsOn("localJournalRecovery")
     public CombatService combatService(
             CombatEngine engine,
             SnapshotPublisher snapshotPublisher,
             PaceProfileProvider paceProfileProvider,
-            EnrageTimeProvider enrageTimeProvider
+            EnrageTimeProvider enrageTimeProvider,
+            CombatJournalStore journalStore
+    ) {
+        return new CombatService(
+                engine,
+                snapshotPublisher,
+                paceProfileProvider,
+                enrageTimeProvider,
+                journalStore.open(SnapshotTopic.LOCAL_STREAM_ID)
+        );
+    }
+
+    /**
+     * 로컬(ACT) 수집기. 릴레이 세션과 같은 방식으로 로컬 스트림의 추적 버퍼와 직업 캐시를 붙이고,
+     * 복구한 전투가 진행 중이면 이어 받는다.
+     */
+    @Bean
+    public ActIngestionService actIngestionService(
+            CombatService combatService,
+            CombatJournalStore.Recovery localJournalRecovery,
+            FflogsZoneLookup fflogsZoneLookup,
+            SessionTraceRegistry traces,
+            ActorJobCacheRegistry jobCaches,
+            @Value("${pacemeter.diagnostics.dot-attribution:true}") boolean dotAttributionDiagnosticsEnabled
     ) {
-        return new CombatService(engine, snapshotPublisher, paceProfileProvider, enrageTimeProvider);
+        ActIngestionService ingestion = new ActIngestionService(combatService, combatService, fflogsZoneLookup);
+        ingestion.enableEventTimeTicks();
+        ingestion.setDotAttributionDiagnosticsEnabled(dotAttributionDiagnosticsEnabled);
+        ingestion.setTraceRecorder(traces.recorder(SnapshotTopic.LOCAL_STREAM_ID));
+        ingestion.setJobCache(jobCaches.cache(SnapshotTopic.LOCAL_STREAM_ID));
+        ingestion.resumeFight(localJournalRecovery.resumePoint());
+        return ingestion;
     }
 
 }
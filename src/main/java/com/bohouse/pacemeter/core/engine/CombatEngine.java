@@ -3,13 +3,16 @@ package com.bohouse.pacemeter.core.engine;
 import com.bohouse.pacemeter.application.port.outbound.EnrageTimeProvider;
 import com.bohouse.pacemeter.core.estimator.OnlineEstimator;
 import com.bohouse.pacemeter.core.estimator.PaceProfile;
+import com.bohouse.pacemeter.core.estimator.RdpsEstimate;
 import com.bohouse.pacemeter.core.event.CombatEvent;
 import com.bohouse.pacemeter.core.model.ActorId;
 import com.bohouse.pacemeter.core.model.CombatState;
+import com.bohouse.pacemeter.core.model.RecentWindowMode;
 import com.bohouse.pacemeter.core.snapshot.OverlaySnapshot;
 import com.bohouse.pacemeter.core.snapshot.SnapshotAggregator;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -33,12 +36,20 @@ import java.util.Optional;
  *   }
  * </pre>
  *
+ * Tick이라도 직전 스냅샷 이후 {@link CombatState#changeCount()}와 엔진 설정(프로필, 직업, 엔레이지 등)이
+ * 그대로면 스냅샷을 만들지 않는다. 경과 시간만 흐른 구간은 클라이언트가 보간하고,
+ * 그래도 {@link #SNAPSHOT_HEARTBEAT_MS}(전투 시간 기준)마다 한 번은 스냅샷을 만든다.
+ *
  * 주의: 멀티스레드 환경에서 안전하지 않다. 반드시 한 스레드에서만 호출해야 한다.
  * 여러 스레드에서 이벤트를 보내려면 어댑터 계층에서 직렬화(순서 보장)해야 한다.
  */
 public final class CombatEngine {
 
+    /** 상태 변화가 없어도 이 간격(전투 경과 시간)마다 스냅샷을 만든다. */
+    public static final long SNAPSHOT_HEARTBEAT_MS = 1_000L;
+
     private final CombatState state;
+    private final OnlineEstimator estimator;
     private final SnapshotAggregator aggregator;
     private PaceProfile partyProfile;        // 파티 전체 vs TOP 파티
     private PaceProfile individualProfile;   // 개인 vs 개인 직업 TOP
@@ -46,6 +57,13 @@ public final class CombatEngine {
     private final Map<ActorId, Integer> jobIdMap;  // ActorId → JobID 매핑
     private Optional<EnrageTimeProvider.EnrageInfo> enrageInfo;
 
+    /** 엔진 설정(프로필, 플레이어, 직업, 엔레이지) 변경 카운터 */
+    private long contextRevision;
+    /** 마지막으로 Tick 스냅샷을 만들었을 때의 상태. 아직 없으면 lastSnapshotChangeCount가 -1. */
+    private long lastSnapshotChangeCount = -1;
+    private long lastSnapshotContextRevision;
+    private long lastSnapshotElapsedMs;
+
     /** 페이스 프로필 없이 엔진 생성 */
     public CombatEngine() {
         this(PaceProfile.NONE, PaceProfile.NONE);
@@ -56,10 +74,20 @@ public final class CombatEngine {
         this(partyProfile, PaceProfile.NONE);
     }
 
+    /** 최근 DPS 추적 모드를 지정하여 엔진 생성 (세션별 추정기 모드 선택용) */
+    public CombatEngine(RecentWindowMode recentWindowMode) {
+        this(PaceProfile.NONE, PaceProfile.NONE, recentWindowMode);
+    }
+
     /** 파티 및 개인 페이스 프로필을 지정하여 엔진 생성 */
     public CombatEngine(PaceProfile partyProfile, PaceProfile individualProfile) {
-        this.state = new CombatState();
-        this.aggregator = new SnapshotAggregator(new OnlineEstimator());
+        this(partyProfile, individualProfile, RecentWindowMode.WINDOWED);
+    }
+
+    public CombatEngine(PaceProfile partyProfile, PaceProfile individualProfile, RecentWindowMode recentWindowMode) {
+        this.state = new CombatState(recentWindowMode);
+        this.estimator = new OnlineEstimator();
+        this.aggregator = new SnapshotAggregator(estimator);
         this.partyProfile = partyProfile;
         this.individualProfile = individualProfile;
         this.jobIdMap = new HashMap<>();
@@ -76,11 +104,65 @@ public final class CombatEngine {
     public EngineResult process(CombatEvent event) {
         boolean shouldSnapshot = state.reduce(event);
 
-        if (shouldSnapshot) {
-            return EngineResult.withSnapshot(snapshotCurrent(event instanceof CombatEvent.FightEnd));
+        if (!shouldSnapshot) {
+            return EngineResult.empty();
         }
 
-        return EngineResult.empty();
+        boolean isFinal = event instanceof CombatEvent.FightEnd;
+        if (!isFinal && !snapshotDue()) {
+            return EngineResult.empty();
+        }
+        return EngineResult.withSnapshot(takeSnapshot(isFinal));
+    }
+
+    /**
+     * 이벤트 묶음을 순서대로 처리하고, 스냅샷은 묶음당 최대 하나만 만든다.
+     *
+     * 중간 Tick은 상태(최근 윈도우 이동, 만료 정리)만 반영하고, 스냅샷은 묶음의 마지막 Tick 시점에
+     * {@link #process(CombatEvent)}와 같은 기준으로 만든다. FightEnd의 마지막 스냅샷은 빠뜨리지 않는다:
+     * FightEnd가 스냅샷을 만들면 그 뒤의 Tick은 스냅샷을 만들지 않는다.
+     * 버프/DoT 만료 정리는 같은 시각의 이벤트가 이어지면 한 번만 한다.
+     *
+     * @param events 타임스탬프 순서의 이벤트 묶음 (null 불가, 비어 있어도 된다)
+     * @return 처리 결과. 스냅샷이 있으면 묶음에서 마지막으로 만든 하나.
+     */
+    public EngineResult processBatch(List<CombatEvent> events) {
+        int lastTickIndex = -1;
+        for (int i = events.size() - 1; i >= 0; i--) {
+            if (events.get(i) instanceof CombatEvent.Tick) {
+                lastTickIndex = i;
+                break;
+            }
+        }
+
+        OverlaySnapshot snapshot = null;
+        for (int i = 0; i < events.size(); i++) {
+            CombatEvent event = events.get(i);
+            boolean shouldSnapshot = state.reduce(event);
+            if (!shouldSnapshot) {
+                continue;
+            }
+            if (event instanceof CombatEvent.FightEnd) {
+                snapshot = takeSnapshot(true);
+            } else if (i == lastTickIndex && snapshot == null && snapshotDue()) {
+                snapshot = takeSnapshot(false);
+            }
+        }
+        return snapshot != null ? EngineResult.withSnapshot(snapshot) : EngineResult.empty();
+    }
+
+    private OverlaySnapshot takeSnapshot(boolean isFinal) {
+        lastSnapshotChangeCount = state.changeCount();
+        lastSnapshotContextRevision = contextRevision;
+        lastSnapshotElapsedMs = state.elapsedMs();
+        return snapshotCurrent(isFinal);
+    }
+
+    /** 직전 스냅샷 이후 보이는 상태나 설정이 바뀌었거나, heartbeat 간격이 지났으면 true */
+    private boolean snapshotDue() {
+        return state.changeCount() != lastSnapshotChangeCount
+                || contextRevision != lastSnapshotContextRevision
+                || state.elapsedMs() - lastSnapshotElapsedMs >= SNAPSHOT_HEARTBEAT_MS;
     }
 
     public OverlaySnapshot snapshotCurrent(boolean isFinal) {
@@ -95,6 +177,7 @@ public final class CombatEngine {
     public void setProfiles(PaceProfile partyProfile, PaceProfile individualProfile) {
         this.partyProfile = (partyProfile != null) ? partyProfile : PaceProfile.NONE;
         this.individualProfile = (individualProfile != null) ? individualProfile : PaceProfile.NONE;
+        this.contextRevision++;
     }
 
     /**
@@ -103,6 +186,7 @@ public final class CombatEngine {
      */
     public void setCurrentPlayerId(ActorId playerId) {
         this.currentPlayerId = playerId;
+        this.contextRevision++;
     }
 
     /**
@@ -110,7 +194,10 @@ public final class CombatEngine {
      * ActIngestionService가 CombatantAdded를 받았을 때 호출한다.
      */
     public void setJobId(ActorId actorId, int jobId) {
-        jobIdMap.put(actorId, jobId);
+        Integer previous = jobIdMap.put(actorId, jobId);
+        if (previous == null || previous != jobId) {
+            contextRevision++;
+        }
     }
 
     /**
@@ -126,10 +213,16 @@ public final class CombatEngine {
         state.clearOwners();
         jobIdMap.clear();
         enrageInfo = Optional.empty();
+        contextRevision++;
     }
 
+    /** CombatService가 Tick마다 부르므로, 값이 실제로 바뀐 경우에만 설정 변경으로 센다. */
     public void setEnrageInfo(Optional<EnrageTimeProvider.EnrageInfo> enrageInfo) {
-        this.enrageInfo = enrageInfo != null ? enrageInfo : Optional.empty();
+        Optional<EnrageTimeProvider.EnrageInfo> next = enrageInfo != null ? enrageInfo : Optional.empty();
+        if (!next.equals(this.enrageInfo)) {
+            this.enrageInfo = next;
+            this.contextRevision++;
+        }
     }
 
     /** 현재 전투 상태를 반환한다 (테스트/디버깅용). */
@@ -137,6 +230,14 @@ public final class CombatEngine {
         return state;
     }
 
+    /**
+     * 현재 상태의 rDPS 추정치를 반환한다 (디버그용).
+     * 스냅샷과 같은 추정기를 쓰므로, 같은 틱이면 스냅샷 때 계산한 결과를 그대로 돌려받는다.
+     */
+    public Map<ActorId, RdpsEstimate> currentEstimates() {
+        return estimator.estimate(state);
+    }
+
     public ActorId currentPlayerId() {
         return currentPlayerId;
     }
@@ -1,7 +1,8 @@
 package com.bohouse.pacemeter.core.estimator;
 
+import java.util.AbstractList;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -14,19 +15,59 @@ import java.util.List;
  * reasons에는 신뢰도가 깎인 이유가 담긴다.
  * 오버레이에서 툴팁으로 보여줄 수 있다.
  * 예: ["전투 30초 미만", "데이터 부족 (3회 타격)"]
+ *
+ * Builder로 만든 Confidence는 이유를 {@link Reason} 코드와 숫자로만 들고 있다가,
+ * reasons()를 처음 읽을 때(직렬화 등) 문자열로 만든다.
  */
 public record Confidence(double score, List<String> reasons) {
 
+    private static final Confidence NONE = new Confidence(0.0, List.of("No data"));
+
     public Confidence {
         if (score < 0.0 || score > 1.0) {
             throw new IllegalArgumentException("신뢰도 점수는 0.0~1.0 사이여야 합니다. 입력값: " + score);
         }
-        reasons = List.copyOf(reasons);
+        reasons = reasons instanceof ReasonList ? reasons : List.copyOf(reasons);
     }
 
     /** 데이터가 전혀 없을 때 사용하는 "신뢰도 0" 객체. */
     public static Confidence none() {
-        return new Confidence(0.0, List.of("No data"));
+        return NONE;
+    }
+
+    /** 신뢰도가 깎인 이유 코드. Builder로 만든 경우에만 채워지고, 그 외에는 빈 리스트. */
+    public List<Reason> reasonCodes() {
+        return reasons instanceof ReasonList list ? list.codes() : List.of();
+    }
+
+    /** reasonCodes()의 index번째 사유에 붙은 숫자 (타격 수, 밀리초, 퍼센트). 숫자가 없는 사유면 0. */
+    public long reasonDetail(int index) {
+        if (!(reasons instanceof ReasonList list)) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return list.detail(index);
+    }
+
+    /**
+     * 신뢰도 감점 사유 코드.
+     * 문자열은 detail 값(타격 수, 밀리초, 퍼센트)을 넣어 필요할 때만 만든다.
+     */
+    public enum Reason {
+        FIGHT_UNDER_30S("Fight < 30s"),
+        FIGHT_UNDER_60S("Fight < 60s"),
+        FEW_SAMPLES("Few samples (%d hits)"),
+        SHORT_WINDOW("Short window (%dms)"),
+        HIGH_VARIANCE("High variance (%d%%)");
+
+        private final String template;
+
+        Reason(String template) {
+            this.template = template;
+        }
+
+        String format(long detail) {
+            return template.indexOf('%') < 0 ? template : String.format(template, detail);
+        }
     }
 
     /**
@@ -35,23 +76,78 @@ public record Confidence(double score, List<String> reasons) {
      */
     public static final class Builder {
         private double score = 1.0;
-        private final List<String> reasons = new ArrayList<>();
+        private final List<Reason> codes = new ArrayList<>(4);
+        private long[] details = new long[4];
 
         /**
          * 신뢰도를 깎는다.
          * @param amount 깎을 점수 (예: 0.4이면 1.0에서 0.6이 됨)
-         * @param reason 깎는 이유 (예: "전투 30초 미만")
+         * @param reason 깎는 이유 코드
          */
-        public Builder penalize(double amount, String reason) {
+        public Builder penalize(double amount, Reason reason) {
+            return penalize(amount, reason, 0L);
+        }
+
+        /**
+         * 신뢰도를 깎는다.
+         * @param amount 깎을 점수
+         * @param reason 깎는 이유 코드
+         * @param detail 이유 문구에 들어갈 숫자 (예: 타격 횟수)
+         */
+        public Builder penalize(double amount, Reason reason, long detail) {
             this.score -= amount;
-            this.reasons.add(reason);
+            if (codes.size() == details.length) {
+                details = Arrays.copyOf(details, details.length * 2);
+            }
+            details[codes.size()] = detail;
+            codes.add(reason);
             return this;
         }
 
         /** 최종 Confidence 객체를 만든다. 점수는 0.0~1.0 범위로 보정된다. */
         public Confidence build() {
             double clamped = Math.max(0.0, Math.min(1.0, score));
-            return new Confidence(clamped, Collections.unmodifiableList(new ArrayList<>(reasons)));
+            return new Confidence(clamped, new ReasonList(
+                    codes.toArray(new Reason[0]),
+                    Arrays.copyOf(details, codes.size())
+            ));
+        }
+    }
+
+    /** 사유 코드를 읽을 때 한 번만 문자열로 바꿔 두는 불변 리스트. */
+    private static final class ReasonList extends AbstractList<String> {
+        private final Reason[] codes;
+        private final long[] details;
+        private String[] formatted;
+
+        private ReasonList(Reason[] codes, long[] details) {
+            this.codes = codes;
+            this.details = details;
+        }
+
+        @Override
+        public String get(int index) {
+            if (formatted == null) {
+                String[] strings = new String[codes.length];
+                for (int i = 0; i < codes.length; i++) {
+                    strings[i] = codes[i].format(details[i]);
+                }
+                formatted = strings;
+            }
+            return formatted[index];
+        }
+
+        @Override
+        public int size() {
+            return codes.length;
+        }
+
+        List<Reason> codes() {
+            return List.of(codes);
+        }
+
+        long detail(int index) {
+            return details[index];
         }
     }
 }
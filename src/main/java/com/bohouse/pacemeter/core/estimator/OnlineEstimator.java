@@ -3,7 +3,9 @@ package com.bohouse.pacemeter.core.estimator;
 import com.bohouse.pacemeter.core.model.ActorId;
 import com.bohouse.pacemeter.core.model.ActorStats;
 import com.bohouse.pacemeter.core.model.CombatState;
+import com.bohouse.pacemeter.core.model.LongObjectMap;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -13,6 +15,12 @@ import java.util.Map;
  * The estimator blends cumulative attributed DPS with a recent-window estimate.
  * The recent component uses the fixed recent window from {@link CombatState#RECENT_WINDOW_MS}
  * so short burst clusters do not explode the estimate near the end of a fight.
+ * In {@link com.bohouse.pacemeter.core.model.RecentWindowMode#DECAYED} sessions the recent sums
+ * come from exponentially-decayed accumulators rescaled to the same window, so the blend is unchanged.
+ *
+ * The estimator is stateful: per-actor sums are cached against {@link ActorStats#revision()}
+ * and only recomputed for actors whose stats changed since the previous call.
+ * Like the engine, an instance must only be used from one thread.
  */
 public final class OnlineEstimator {
 
@@ -26,95 +34,156 @@ public final class OnlineEstimator {
     private static final long MIN_WINDOW_DATA_MS = 5_000;
     private static final double VARIANCE_THRESHOLD = 0.30;
 
+    /** 액터별 증분 상태. 액터의 revision이 바뀌었을 때만 합계를 다시 계산한다. */
+    private final LongObjectMap<ActorEstimateState> actorStates = new LongObjectMap<>();
+
+    /** 직전 호출 결과. 상태와 경과 시간이 그대로면 같은 맵을 돌려준다. */
+    private CombatState lastState;
+    private long lastElapsedMs = -1;
+    private Map<ActorId, RdpsEstimate> lastResults = Map.of();
+
     public OnlineEstimator() {}
 
+    /**
+     * 모든 액터의 rDPS 추정치를 계산한다.
+     *
+     * 직전 호출 이후 통계가 바뀐 액터만 데미지 합계를 다시 구하고, 신뢰도도 감점 조건이
+     * 달라진 경우에만 새로 만든다. 같은 틱에 두 번 호출되면(스냅샷 + 디버그) 직전 결과를 그대로 반환한다.
+     *
+     * @return 액터 순서대로 정렬된 읽기 전용 맵
+     */
     public Map<ActorId, RdpsEstimate> estimate(CombatState state) {
-        Map<ActorId, RdpsEstimate> results = new LinkedHashMap<>();
-
         if (state.phase() == CombatState.Phase.IDLE) {
-            return results;
+            reset();
+            return lastResults;
         }
 
         long elapsedMs = state.elapsedMs();
         if (elapsedMs <= 0) {
-            return results;
+            reset();
+            return lastResults;
         }
 
-        double elapsedSec = elapsedMs / 1000.0;
+        // 전투가 초기화되면 액터가 새로 만들어지므로 이전 상태는 버린다.
+        if (state != lastState || actorStates.size() > state.actorCount()) {
+            actorStates.clear();
+        }
 
-        for (Map.Entry<ActorId, ActorStats> entry : state.actors().entrySet()) {
-            ActorId actorId = entry.getKey();
-            ActorStats stats = entry.getValue();
+        boolean changed = state != lastState
+                || elapsedMs != lastElapsedMs
+                || lastResults.size() != state.actorCount();
+        for (int i = 0; i < state.actorCount(); i++) {
+            changed |= refresh(state.actorAt(i));
+        }
+        if (!changed) {
+            return lastResults;
+        }
 
-            double cumulativeAttributedDamage = stats.totalDamage()
-                    - stats.totalReceivedBuffContribution()
-                    + stats.totalGrantedBuffContribution();
-            if (cumulativeAttributedDamage <= 0) {
-                results.put(actorId, new RdpsEstimate(0.0, Confidence.none()));
-                continue;
-            }
+        double elapsedSec = elapsedMs / 1000.0;
+        long recentWindowMs = Math.min(elapsedMs, CombatState.RECENT_WINDOW_MS);
+        double recentWeight = blendedRecentWeight(elapsedMs);
+        double cumulativeWeight = 1.0 - recentWeight;
 
-            double cumulativeDps = cumulativeAttributedDamage / elapsedSec;
+        Map<ActorId, RdpsEstimate> results = new LinkedHashMap<>();
+        for (int i = 0; i < state.actorCount(); i++) {
+            ActorStats stats = state.actorAt(i);
+            ActorEstimateState actorState = actorStates.get(stats.actorId().value());
 
-            double recentDamage = stats.recentDamage()
-                    - stats.recentReceivedBuffContribution()
-                    + stats.recentGrantedBuffContribution();
-            if (recentDamage < 0) {
-                recentDamage = 0;
+            if (actorState.cumulativeAttributedDamage <= 0) {
+                results.put(stats.actorId(), actorState.none);
+                continue;
             }
 
-            long recentWindowMs = Math.min(elapsedMs, CombatState.RECENT_WINDOW_MS);
+            double cumulativeDps = actorState.cumulativeAttributedDamage / elapsedSec;
             double recentDps = recentWindowMs > 0
-                    ? recentDamage / (recentWindowMs / 1000.0)
+                    ? actorState.recentAttributedDamage / (recentWindowMs / 1000.0)
                     : cumulativeDps;
-
-            double recentWeight = blendedRecentWeight(elapsedMs);
-            double cumulativeWeight = 1.0 - recentWeight;
             double onlineRdps = (cumulativeWeight * cumulativeDps)
                     + (recentWeight * recentDps);
 
-            Confidence confidence = computeConfidence(
+            Confidence confidence = actorState.confidence(
                     elapsedMs,
-                    stats,
+                    stats.hitCount(),
                     cumulativeDps,
                     recentDps,
                     recentWindowMs
             );
 
-            results.put(actorId, new RdpsEstimate(onlineRdps, confidence));
+            results.put(stats.actorId(), new RdpsEstimate(onlineRdps, confidence));
+        }
+
+        lastState = state;
+        lastElapsedMs = elapsedMs;
+        lastResults = Collections.unmodifiableMap(results);
+        return lastResults;
+    }
+
+    /** 액터의 통계가 바뀌었으면 합계를 다시 구하고 true를 반환한다. */
+    private boolean refresh(ActorStats stats) {
+        long key = stats.actorId().value();
+        ActorEstimateState actorState = actorStates.get(key);
+        if (actorState == null || actorState.stats != stats) {
+            actorState = new ActorEstimateState(stats);
+            actorStates.put(key, actorState);
+        } else if (actorState.revision == stats.revision()) {
+            return false;
         }
 
-        return results;
+        actorState.revision = stats.revision();
+        actorState.cumulativeAttributedDamage = stats.totalDamage()
+                - stats.totalReceivedBuffContribution()
+                + stats.totalGrantedBuffContribution();
+        actorState.recentAttributedDamage = Math.max(0.0, stats.recentDamage()
+                - stats.recentReceivedBuffContribution()
+                + stats.recentGrantedBuffContribution());
+        return true;
+    }
+
+    private void reset() {
+        actorStates.clear();
+        lastState = null;
+        lastElapsedMs = -1;
+        lastResults = Map.of();
+    }
+
+    /**
+     * 감점 조건을 하나의 long 키로 묶는다.
+     * 키가 같으면 점수와 사유가 같으므로 직전 Confidence를 재사용할 수 있다.
+     */
+    private static long confidenceKey(long elapsedMs, int hitCount, long recentWindowMs, long variancePercent) {
+        long fightBucket = elapsedMs < MIN_DURATION_MED_MS ? 0 : elapsedMs < MIN_DURATION_HIGH_MS ? 1 : 2;
+        long hits = hitCount < MIN_HIT_COUNT ? hitCount : MIN_HIT_COUNT;
+        long window = recentWindowMs < MIN_WINDOW_DATA_MS ? recentWindowMs : MIN_WINDOW_DATA_MS;
+        return fightBucket
+                | (hits << 2)
+                | (window << 6)
+                | ((variancePercent + 1) << 19);
     }
 
-    private Confidence computeConfidence(
+    private static Confidence computeConfidence(
             long elapsedMs,
-            ActorStats stats,
-            double cumulativeDps,
-            double recentDps,
-            long recentWindowMs
+            int hitCount,
+            long recentWindowMs,
+            long variancePercent
     ) {
         Confidence.Builder builder = new Confidence.Builder();
 
         if (elapsedMs < MIN_DURATION_MED_MS) {
-            builder.penalize(0.4, "Fight < 30s");
+            builder.penalize(0.4, Confidence.Reason.FIGHT_UNDER_30S);
         } else if (elapsedMs < MIN_DURATION_HIGH_MS) {
-            builder.penalize(0.2, "Fight < 60s");
+            builder.penalize(0.2, Confidence.Reason.FIGHT_UNDER_60S);
         }
 
-        if (stats.hitCount() < MIN_HIT_COUNT) {
-            builder.penalize(0.3, "Few samples (" + stats.hitCount() + " hits)");
+        if (hitCount < MIN_HIT_COUNT) {
+            builder.penalize(0.3, Confidence.Reason.FEW_SAMPLES, hitCount);
         }
 
         if (recentWindowMs < MIN_WINDOW_DATA_MS) {
-            builder.penalize(0.2, "Short window (" + recentWindowMs + "ms)");
+            builder.penalize(0.2, Confidence.Reason.SHORT_WINDOW, recentWindowMs);
         }
 
-        if (cumulativeDps > 0) {
-            double variance = Math.abs(cumulativeDps - recentDps) / cumulativeDps;
-            if (variance > VARIANCE_THRESHOLD) {
-                builder.penalize(0.15, "High variance (" + String.format("%.0f%%", variance * 100) + ")");
-            }
+        if (variancePercent >= 0) {
+            builder.penalize(0.15, Confidence.Reason.HIGH_VARIANCE, variancePercent);
         }
 
         return builder.build();
@@ -130,4 +199,42 @@ public final class OnlineEstimator {
         double fadeRatio = 1.0 - (elapsedMs / (double) RECENT_BLEND_FADE_MS);
         return RECENT_WEIGHT * fadeRatio;
     }
+
+    /** 액터 하나에 대한 증분 계산 상태 */
+    private static final class ActorEstimateState {
+        private final ActorStats stats;
+        private final RdpsEstimate none = new RdpsEstimate(0.0, Confidence.none());
+        private long revision = -1;
+        private double cumulativeAttributedDamage;
+        private double recentAttributedDamage;
+        private long confidenceKey = -1;
+        private Confidence confidence;
+
+        private ActorEstimateState(ActorStats stats) {
+            this.stats = stats;
+        }
+
+        private Confidence confidence(
+                long elapsedMs,
+                int hitCount,
+                double cumulativeDps,
+                double recentDps,
+                long recentWindowMs
+        ) {
+            long variancePercent = -1;
+            if (cumulativeDps > 0) {
+                double variance = Math.abs(cumulativeDps - recentDps) / cumulativeDps;
+                if (variance > VARIANCE_THRESHOLD) {
+                    variancePercent = Math.round(variance * 100);
+                }
+            }
+
+            long key = confidenceKey(elapsedMs, hitCount, recentWindowMs, variancePercent);
+            if (key != confidenceKey) {
+                confidenceKey = key;
+                confidence = computeConfidence(elapsedMs, hitCount, recentWindowMs, variancePercent);
+            }
+            return confidence;
+        }
+    }
 }
@@ -15,12 +15,25 @@ package com.bohouse.pacemeter.core.model;
  * @param sourceId    버프를 건 캐릭터 ID (나중에 rDPS 기여도 계산에 필요)
  * @param appliedAtMs 전투 시작 기준, 버프가 걸린 시점 (밀리초)
  * @param durationMs  버프 지속시간 (밀리초). 0이면 무한 또는 알 수 없음
+ * @param raidBuffIndex 적용 시점에 한 번 해석해 둔 {@link RaidBuffLibrary} 정의 인덱스.
+ *                      레이드 버프가 아니면 {@link RaidBuffLibrary#NOT_FOUND}
  */
 public record ActiveBuff(
         BuffId buffId,
         String buffName,
         ActorId sourceId,
         long appliedAtMs,
-        long durationMs
+        long durationMs,
+        int raidBuffIndex
 ) {
+
+    /** 레이드 버프 카탈로그 인덱스를 ID/이름으로 해석해서 만든다. */
+    public ActiveBuff(BuffId buffId, String buffName, ActorId sourceId, long appliedAtMs, long durationMs) {
+        this(buffId, buffName, sourceId, appliedAtMs, durationMs, RaidBuffLibrary.resolveIndex(buffId, buffName));
+    }
+
+    /** rDPS 재분배 대상인 레이드 버프인지 여부 */
+    public boolean isRaidBuff() {
+        return raidBuffIndex != RaidBuffLibrary.NOT_FOUND;
+    }
 }
@@ -14,10 +14,16 @@ import java.util.List;
  * 이 클래스는 성능을 위해 "변경 가능(mutable)"하게 설계되었다.
  * 단, 엔진이 싱글 스레드로 동작하기 때문에 동시 접근 문제는 없다.
  * 오버레이에 데이터를 보낼 때는 값을 복사해서 스냅샷을 만든다.
+ *
+ * 최근 윈도우 값은 {@link RecentWindowMode}에 따라 두 가지 방식으로 관리된다.
+ * WINDOWED는 타격 기록을 보관했다가 윈도우 밖으로 나가면 지우고,
+ * DECAYED는 기록 없이 지수 감쇠 누적값만 들고 있다가 윈도우 크기에 맞춰 환산해 돌려준다.
+ * 어느 쪽이든 recentDamage() 등은 "최근 min(경과 시간, 15초) 동안의 양"으로 읽으면 된다.
  */
 public final class ActorStats {
 
     private final ActorId actorId;
+    private final RecentWindowMode recentWindowMode;
     private String name;
     private long totalDamage;
     private int hitCount;
@@ -38,6 +44,18 @@ public final class ActorStats {
     private int observedDirectHitCount;
     private int observedCritDirectHitCount;
 
+    /** DECAYED 모드: 감쇠 시계(전투 기준 ms)와 그 시점 기준으로 감쇠된 누적값 */
+    private long decayClockMs;
+    private double decayedDamage;
+    private double decayedGrantedContribution;
+    private double decayedReceivedContribution;
+
+    /**
+     * rDPS 추정 입력값(누적/최근 데미지, 타격 수, 버프 기여도)이 바뀔 때마다 1씩 증가한다.
+     * OnlineEstimator가 값이 그대로인 액터를 다시 계산하지 않도록 비교하는 용도.
+     */
+    private long revision;
+
     /** 사망 상태: true면 현재 사망 중 */
     private boolean isDead;
 
@@ -45,7 +63,12 @@ public final class ActorStats {
     private long deathTimestamp;
 
     public ActorStats(ActorId actorId, String name) {
+        this(actorId, name, RecentWindowMode.WINDOWED);
+    }
+
+    public ActorStats(ActorId actorId, String name, RecentWindowMode recentWindowMode) {
         this.actorId = actorId;
+        this.recentWindowMode = recentWindowMode;
         this.name = name;
         this.totalDamage = 0;
         this.hitCount = 0;
@@ -63,6 +86,11 @@ public final class ActorStats {
         this.observedCritHitCount = 0;
         this.observedDirectHitCount = 0;
         this.observedCritDirectHitCount = 0;
+        this.decayClockMs = 0;
+        this.decayedDamage = 0.0;
+        this.decayedGrantedContribution = 0.0;
+        this.decayedReceivedContribution = 0.0;
+        this.revision = 0;
         this.isDead = false;
         this.deathTimestamp = -1;
     }
@@ -70,6 +98,7 @@ public final class ActorStats {
     /** 스냅샷용 깊은 복사 생성자. 원본을 그대로 두고 사본을 만든다. */
     public ActorStats(ActorStats other) {
         this.actorId = other.actorId;
+        this.recentWindowMode = other.recentWindowMode;
         this.name = other.name;
         this.totalDamage = other.totalDamage;
         this.hitCount = other.hitCount;
@@ -87,6 +116,11 @@ public final class ActorStats {
         this.observedCritHitCount = other.observedCritHitCount;
         this.observedDirectHitCount = other.observedDirectHitCount;
         this.observedCritDirectHitCount = other.observedCritDirectHitCount;
+        this.decayClockMs = other.decayClockMs;
+        this.decayedDamage = other.decayedDamage;
+        this.decayedGrantedContribution = other.decayedGrantedContribution;
+        this.decayedReceivedContribution = other.decayedReceivedContribution;
+        this.revision = other.revision;
         this.isDead = other.isDead;
         this.deathTimestamp = other.deathTimestamp;
     }
@@ -112,7 +146,13 @@ public final class ActorStats {
             this.maxHitActionId = actionId;
             this.maxHitActionName = actionName == null ? "" : actionName;
         }
-        this.recentSamples.add(new DamageSample(timestampMs, amount));
+        if (recentWindowMode == RecentWindowMode.DECAYED) {
+            double weight = decayWeight(timestampMs);  // 시계를 먼저 당겨야 누적값이 감쇠된다
+            this.decayedDamage += amount * weight;
+        } else {
+            this.recentSamples.add(new DamageSample(timestampMs, amount));
+        }
+        this.revision++;
     }
 
     /** 이 캐릭터에게 버프를 추가한다. */
@@ -127,14 +167,26 @@ public final class ActorStats {
     public void addGrantedBuffContribution(double amount, long timestampMs) {
         if (amount <= 0) return;
         this.totalGrantedBuffContribution += amount;
-        this.recentGrantedContributionSamples.add(new ContributionSample(timestampMs, amount));
+        if (recentWindowMode == RecentWindowMode.DECAYED) {
+            double weight = decayWeight(timestampMs);
+            this.decayedGrantedContribution += amount * weight;
+        } else {
+            this.recentGrantedContributionSamples.add(new ContributionSample(timestampMs, amount));
+        }
+        this.revision++;
     }
 
     /** 다른 사람에게서 받은 외부 버프 기여도를 누적한다. */
     public void addReceivedBuffContribution(double amount, long timestampMs) {
         if (amount <= 0) return;
         this.totalReceivedBuffContribution += amount;
-        this.recentReceivedContributionSamples.add(new ContributionSample(timestampMs, amount));
+        if (recentWindowMode == RecentWindowMode.DECAYED) {
+            double weight = decayWeight(timestampMs);
+            this.decayedReceivedContribution += amount * weight;
+        } else {
+            this.recentReceivedContributionSamples.add(new ContributionSample(timestampMs, amount));
+        }
+        this.revision++;
     }
 
     public void observeHitOutcome(boolean criticalHit, boolean directHit) {
@@ -162,6 +214,28 @@ public final class ActorStats {
                         && buff.appliedAtMs() + buff.durationMs() <= currentTimestampMs);
     }
 
+    /**
+     * 최근 윈도우를 현재 시각으로 옮긴다. 매 Tick마다 호출된다.
+     * WINDOWED는 윈도우 밖의 기록을 지우고, DECAYED는 감쇠 시계를 현재 시각까지 진행한다.
+     */
+    public void advanceRecentWindow(long currentTimestampMs) {
+        if (recentWindowMode == RecentWindowMode.DECAYED) {
+            if (currentTimestampMs <= decayClockMs) {
+                return;
+            }
+            double factor = Math.exp(-(currentTimestampMs - decayClockMs) / (double) CombatState.DECAY_TIME_CONSTANT_MS);
+            decayClockMs = currentTimestampMs;
+            if (decayedDamage != 0.0 || decayedGrantedContribution != 0.0 || decayedReceivedContribution != 0.0) {
+                decayedDamage *= factor;
+                decayedGrantedContribution *= factor;
+                decayedReceivedContribution *= factor;
+                revision++;
+            }
+            return;
+        }
+        pruneOldSamples(currentTimestampMs - CombatState.RECENT_WINDOW_MS);
+    }
+
     /**
      * 기준 시간(cutoffMs)보다 오래된 데미지 기록을 삭제한다.
      * 매 Tick마다 호출되어 최근 윈도우(기본 15초) 이내의 데이터만 남긴다.
@@ -169,13 +243,19 @@ public final class ActorStats {
      * 예: cutoffMs가 5000이면, timestampMs가 5000 미만인 기록은 모두 삭제
      */
     public void pruneOldSamples(long cutoffMs) {
-        recentSamples.removeIf(s -> s.timestampMs() < cutoffMs);
-        recentGrantedContributionSamples.removeIf(s -> s.timestampMs() < cutoffMs);
-        recentReceivedContributionSamples.removeIf(s -> s.timestampMs() < cutoffMs);
+        boolean removed = recentSamples.removeIf(s -> s.timestampMs() < cutoffMs);
+        removed |= recentGrantedContributionSamples.removeIf(s -> s.timestampMs() < cutoffMs);
+        removed |= recentReceivedContributionSamples.removeIf(s -> s.timestampMs() < cutoffMs);
+        if (removed) {
+            revision++;
+        }
     }
 
     /** 최근 윈도우에 남아있는 데미지의 합계를 반환한다. */
     public long recentDamage() {
+        if (recentWindowMode == RecentWindowMode.DECAYED) {
+            return Math.round(decayedDamage * decayedToWindowScale());
+        }
         long sum = 0;
         for (DamageSample s : recentSamples) {
             sum += s.amount();
@@ -184,6 +264,9 @@ public final class ActorStats {
     }
 
     public double recentGrantedBuffContribution() {
+        if (recentWindowMode == RecentWindowMode.DECAYED) {
+            return decayedGrantedContribution * decayedToWindowScale();
+        }
         double sum = 0.0;
         for (ContributionSample s : recentGrantedContributionSamples) {
             sum += s.amount();
@@ -192,6 +275,9 @@ public final class ActorStats {
     }
 
     public double recentReceivedBuffContribution() {
+        if (recentWindowMode == RecentWindowMode.DECAYED) {
+            return decayedReceivedContribution * decayedToWindowScale();
+        }
         double sum = 0.0;
         for (ContributionSample s : recentReceivedContributionSamples) {
             sum += s.amount();
@@ -199,6 +285,33 @@ public final class ActorStats {
         return sum;
     }
 
+    /**
+     * 감쇠 시계 기준으로 timestampMs 시점의 값에 곱할 가중치.
+     * 시계보다 늦은 값이면 시계를 먼저 당기고 1을 돌려준다.
+     */
+    private double decayWeight(long timestampMs) {
+        if (timestampMs > decayClockMs) {
+            advanceRecentWindow(timestampMs);
+            return 1.0;
+        }
+        return Math.exp(-(decayClockMs - timestampMs) / (double) CombatState.DECAY_TIME_CONSTANT_MS);
+    }
+
+    /**
+     * 감쇠 누적값을 "최근 윈도우 합계"로 환산하는 배율.
+     *
+     * 일정한 DPS r이 t초 동안 이어지면 감쇠 누적값은 r·τ·(1 - e^(-t/τ))가 되고,
+     * 윈도우 합계는 r·min(t, 15초)가 된다. 둘의 비율을 곱하면 WINDOWED와 같은 단위가 된다.
+     */
+    private double decayedToWindowScale() {
+        double tau = CombatState.DECAY_TIME_CONSTANT_MS;
+        double effectiveMs = tau * (1.0 - Math.exp(-decayClockMs / tau));
+        if (effectiveMs <= 0.0) {
+            return 1.0;
+        }
+        return Math.min(decayClockMs, CombatState.RECENT_WINDOW_MS) / effectiveMs;
+    }
+
     /** 최근 기록 중 가장 오래된 것의 타임스탬프. 기록이 없으면 -1. */
     public long oldestSampleTimestamp() {
         if (recentSamples.isEmpty()) return -1;
@@ -223,6 +336,7 @@ public final class ActorStats {
     // --- Getter 메서드들 ---
 
     public ActorId actorId() { return actorId; }
+    public RecentWindowMode recentWindowMode() { return recentWindowMode; }
     public String name() { return name; }
     public void setName(String name) { this.name = name; }
     public long totalDamage() { return totalDamage; }
@@ -235,6 +349,7 @@ public final class ActorStats {
     public List<DamageSample> recentSamples() { return Collections.unmodifiableList(recentSamples); }
     public double totalGrantedBuffContribution() { return totalGrantedBuffContribution; }
     public double totalReceivedBuffContribution() { return totalReceivedBuffContribution; }
+    public long revision() { return revision; }
     public boolean isDead() { return isDead; }
     public long deathTimestamp() { return deathTimestamp; }
     public int observedHitSampleCount() { return observedHitSampleCount; }
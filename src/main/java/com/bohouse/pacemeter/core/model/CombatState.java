@@ -2,8 +2,10 @@ package com.bohouse.pacemeter.core.model;
 
 import com.bohouse.pacemeter.core.event.CombatEvent;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -40,26 +42,64 @@ public final class CombatState {
     private long totalPartyDamage;
     private BossInfo bossInfo;
 
-    /** 캐릭터별 통계. 먼저 등장한 순서대로 저장된다. */
-    private final Map<ActorId, ActorStats> actors;
+    /** 펫/소환수에 주인이 없음을 나타내는 값. setOwner는 0인 주인 ID를 저장하지 않는다. */
+    public static final long NO_OWNER = 0L;
+
+    /** 캐릭터별 통계 (액터 ID → 통계). 먼저 등장한 순서대로 저장된다. */
+    private final LongObjectMap<ActorStats> actors;
 
     /** 펫/소환수의 주인 매핑 (펫 ID → 주인 ID) */
-    private final Map<ActorId, ActorId> ownerMap;
-    private final Map<DotKey, DotSnapshot> dotSnapshots;
+    private final LongLongMap ownerMap;
+
+    /**
+     * DoT 스냅샷 인덱스: 시전자 ID → 대상 ID → 해당 쌍에 걸린 DoT 스냅샷 묶음.
+     * 한 쌍에 걸리는 DoT는 많아야 몇 개이므로 묶음 내부는 작은 리스트로 충분하다.
+     */
+    private final LongObjectMap<LongObjectMap<DotSnapshotBucket>> dotSnapshotsByPair;
+
+    /** 가장 먼저 만료되는 DoT 스냅샷의 만료 시각. 이 시각 전에는 만료 정리를 건너뛴다. */
+    private long nextDotSnapshotExpiryMs;
+    /**
+     * 마지막으로 버프 만료를 정리한 시각. 같은 시각에 새로 걸린 버프는 지속시간이 0보다 커서
+     * 그 시각에 만료될 수 없으므로, 같은 시각의 이벤트가 이어지면 정리를 건너뛴다.
+     */
+    private long lastBuffPruneMs;
 
     /** 최근 DPS 계산에 사용할 슬라이딩 윈도우 크기 (밀리초). 기본 15초. */
     public static final long RECENT_WINDOW_MS = 15_000;
 
+    /**
+     * DECAYED 모드의 감쇠 시간 상수 (밀리초).
+     * 윈도우의 평균 표본 나이(W/2)와 지수 감쇠의 평균 나이(τ)를 맞추기 위해 윈도우의 절반으로 둔다.
+     */
+    public static final long DECAY_TIME_CONSTANT_MS = RECENT_WINDOW_MS / 2;
+
+    private final RecentWindowMode recentWindowMode;
+
+    /**
+     * 스냅샷에 보이는 상태가 바뀐 횟수. 경과 시간만 흐른 틱, 버프 적용/해제처럼
+     * 스냅샷 값에 바로 드러나지 않는 변경은 세지 않는다.
+     */
+    private long changeCount;
+
     public CombatState() {
+        this(RecentWindowMode.WINDOWED);
+    }
+
+    public CombatState(RecentWindowMode recentWindowMode) {
+        this.recentWindowMode = recentWindowMode;
         this.phase = Phase.IDLE;
         this.fightName = "";
         this.fightStartMs = 0;
         this.elapsedMs = 0;
         this.totalPartyDamage = 0;
         this.bossInfo = null;
-        this.actors = new LinkedHashMap<>();
-        this.ownerMap = new LinkedHashMap<>();
-        this.dotSnapshots = new LinkedHashMap<>();
+        this.actors = new LongObjectMap<>();
+        this.ownerMap = new LongLongMap();
+        this.dotSnapshotsByPair = new LongObjectMap<>();
+        this.nextDotSnapshotExpiryMs = Long.MAX_VALUE;
+        this.lastBuffPruneMs = Long.MIN_VALUE;
+        this.changeCount = 0;
     }
 
     public record BossInfo(ActorId actorId, String name, long maxHp) {}
@@ -106,14 +146,18 @@ public final class CombatState {
         this.totalPartyDamage = 0;
         this.bossInfo = null;
         this.actors.clear();
-        this.dotSnapshots.clear();
+        this.dotSnapshotsByPair.clear();
+        this.nextDotSnapshotExpiryMs = Long.MAX_VALUE;
+        this.lastBuffPruneMs = Long.MIN_VALUE;
+        this.changeCount++;
         return false;
     }
 
     /** 파티원 참여: actors 맵에 등록 (아직 데미지를 주지 않았어도 스냅샷에 포함되도록) */
     private boolean reduceActorJoined(CombatEvent.ActorJoined e) {
         this.elapsedMs = e.timestampMs();
-        actors.computeIfAbsent(e.actorId(), id -> new ActorStats(id, e.actorName()));
+        actorOrCreate(e.actorId(), e.actorName());
+        this.changeCount++;
         return false;  // 스냅샷 생성 안 함 (Tick에서만 생성)
     }
 
@@ -122,6 +166,7 @@ public final class CombatState {
 
         this.elapsedMs = e.timestampMs();
         this.bossInfo = new BossInfo(e.actorId(), e.actorName(), e.maxHp());
+        this.changeCount++;
         return false;
     }
 
@@ -133,8 +178,7 @@ public final class CombatState {
         pruneExpiredState(e.timestampMs());
 
         // 처음 보는 캐릭터면 새로 등록, 기존 캐릭터면 기존 통계를 가져옴
-        ActorStats stats = actors.computeIfAbsent(e.sourceId(),
-                id -> new ActorStats(id, e.sourceName()));
+        ActorStats stats = actorOrCreate(e.sourceId(), e.sourceName());
 
         // 이름이 비어있었는데 이번에 이름이 들어왔으면 업데이트
         if (stats.name().isEmpty() && !e.sourceName().isEmpty()) {
@@ -160,6 +204,7 @@ public final class CombatState {
         AttributionContext attributionContext = resolveAttributionContext(e);
         attributeExternalBuffContribution(stats, e, e.timestampMs(), attributionContext);
         this.totalPartyDamage += e.amount();
+        this.changeCount++;
 
         return false;
     }
@@ -175,7 +220,7 @@ public final class CombatState {
             if (experimentalAllocation.totalExtra() > 0.0) {
                 sourceStats.addReceivedBuffContribution(experimentalAllocation.totalExtra(), timestampMs);
                 for (Map.Entry<ActorId, Double> entry : experimentalAllocation.providerExtras().entrySet()) {
-                    ActorStats providerStats = actors.computeIfAbsent(entry.getKey(), id -> new ActorStats(id, ""));
+                    ActorStats providerStats = actorOrCreate(entry.getKey(), "");
                     providerStats.addGrantedBuffContribution(entry.getValue(), timestampMs);
                 }
                 return;
@@ -211,7 +256,7 @@ public final class CombatState {
             double totalWeight = Math.log(attributionContext.totalMultiplier());
             if (totalWeight > 0.0) {
                 for (Map.Entry<ActorId, Double> entry : attributionContext.providerMultiplierLogWeight().entrySet()) {
-                    ActorStats providerStats = actors.computeIfAbsent(entry.getKey(), id -> new ActorStats(id, ""));
+                    ActorStats providerStats = actorOrCreate(entry.getKey(), "");
                     double providerExtra = directDamageExtra * (entry.getValue() / totalWeight);
                     providerStats.addGrantedBuffContribution(providerExtra, timestampMs);
                 }
@@ -219,7 +264,7 @@ public final class CombatState {
         }
         if (critRateExtra > 0.0 && totalCritRateUp > 0.0) {
             for (Map.Entry<ActorId, Double> entry : attributionContext.providerCritRate().entrySet()) {
-                ActorStats providerStats = actors.computeIfAbsent(entry.getKey(), id -> new ActorStats(id, ""));
+                ActorStats providerStats = actorOrCreate(entry.getKey(), "");
                 double providerExtra = critPortion * (entry.getValue() / attributionContext.buffedCritRate());
                 providerStats.addGrantedBuffContribution(providerExtra, timestampMs);
             }
@@ -227,7 +272,7 @@ public final class CombatState {
 
         if (directHitRateExtra > 0.0 && totalDirectHitRateUp > 0.0) {
             for (Map.Entry<ActorId, Double> entry : attributionContext.providerDirectHitRate().entrySet()) {
-                ActorStats providerStats = actors.computeIfAbsent(entry.getKey(), id -> new ActorStats(id, ""));
+                ActorStats providerStats = actorOrCreate(entry.getKey(), "");
                 double providerExtra = directHitPortion * (entry.getValue() / attributionContext.buffedDirectHitRate());
                 providerStats.addGrantedBuffContribution(providerExtra, timestampMs);
             }
@@ -389,12 +434,18 @@ public final class CombatState {
             return captureCurrentAttributionContext(event.sourceId(), event.targetId());
         }
 
+        LongObjectMap<DotSnapshotBucket> bucketsByTarget = dotSnapshotsByPair.get(event.sourceId().value());
+        DotSnapshotBucket bucket = bucketsByTarget != null ? bucketsByTarget.get(event.targetId().value()) : null;
+        if (bucket == null) {
+            return captureCurrentAttributionContext(event.sourceId(), event.targetId());
+        }
+
         DotSnapshot dotSnapshot = null;
         if (event.actionId() > 0) {
-            dotSnapshot = dotSnapshots.get(new DotKey(event.sourceId(), event.targetId(), new BuffId(event.actionId())));
+            dotSnapshot = bucket.find(event.actionId());
             if (dotSnapshot == null) {
-                for (Integer statusId : DotAttributionCatalog.statusIdsForAction(event.actionId())) {
-                    dotSnapshot = dotSnapshots.get(new DotKey(event.sourceId(), event.targetId(), new BuffId(statusId)));
+                for (int statusId : DotAttributionCatalog.statusIdsForAction(event.actionId())) {
+                    dotSnapshot = bucket.find(statusId);
                     if (dotSnapshot != null) {
                         break;
                     }
@@ -402,26 +453,10 @@ public final class CombatState {
             }
         }
         if (dotSnapshot == null) {
-            dotSnapshot = findFallbackDotSnapshot(event.sourceId(), event.targetId());
-        }
-        if (dotSnapshot != null) {
-            return dotSnapshot.attributionContext();
+            // 정확한 status를 못 찾으면 같은 (시전자, 대상) 쌍에서 가장 최근에 걸린 DoT를 사용한다.
+            dotSnapshot = bucket.latest();
         }
-        return captureCurrentAttributionContext(event.sourceId(), event.targetId());
-    }
-
-    private DotSnapshot findFallbackDotSnapshot(ActorId sourceId, ActorId targetId) {
-        DotSnapshot fallback = null;
-        for (Map.Entry<DotKey, DotSnapshot> entry : dotSnapshots.entrySet()) {
-            DotKey key = entry.getKey();
-            if (!key.sourceId().equals(sourceId) || !key.targetId().equals(targetId)) {
-                continue;
-            }
-            if (fallback == null || entry.getValue().appliedAtMs() > fallback.appliedAtMs()) {
-                fallback = entry.getValue();
-            }
-        }
-        return fallback;
+        return dotSnapshot.attributionContext();
     }
 
     private AttributionContext captureCurrentAttributionContext(ActorId sourceId, ActorId targetId) {
@@ -431,7 +466,7 @@ public final class CombatState {
         Map<ActorId, Double> providerDirectHitRate = new LinkedHashMap<>();
         RateAccumulator selfRateAccumulator = new RateAccumulator();
 
-        ActorStats sourceStats = actors.get(sourceId);
+        ActorStats sourceStats = actors.get(sourceId.value());
         if (sourceStats != null) {
             for (ActiveBuff buff : sourceStats.activeBuffs()) {
                 applyBuffEffects(
@@ -446,7 +481,7 @@ public final class CombatState {
             }
         }
 
-        ActorStats targetStats = actors.get(targetId);
+        ActorStats targetStats = actors.get(targetId.value());
         if (targetStats != null) {
             for (ActiveBuff buff : targetStats.activeBuffs()) {
                 applyBuffEffects(
@@ -516,19 +551,18 @@ public final class CombatState {
     }
 
     private boolean sharesOwnershipGroup(ActorId left, ActorId right) {
-        return resolveRootOwner(left).equals(resolveRootOwner(right));
+        return resolveRootOwner(left.value()) == resolveRootOwner(right.value());
     }
 
-    private ActorId resolveRootOwner(ActorId actorId) {
-        ActorId current = actorId;
-        while (current != null) {
-            ActorId owner = ownerMap.get(current);
-            if (owner == null || owner.equals(current)) {
+    private long resolveRootOwner(long actorId) {
+        long current = actorId;
+        while (true) {
+            long owner = ownerMap.get(current, NO_OWNER);
+            if (owner == NO_OWNER || owner == current) {
                 return current;
             }
             current = owner;
         }
-        return actorId;
     }
 
     private void applyBuffEffects(
@@ -540,36 +574,31 @@ public final class CombatState {
             Map<ActorId, Double> providerDirectHitRate,
             RateAccumulator selfRateAccumulator
     ) {
-        Optional<RaidBuffLibrary.RaidBuffDefinition> maybeDefinition = RaidBuffLibrary.find(buff.buffId(), buff.buffName());
-        if (maybeDefinition.isEmpty()) {
+        int raidBuffIndex = buff.raidBuffIndex();
+        if (raidBuffIndex == RaidBuffLibrary.NOT_FOUND) {
             return;
         }
 
         boolean sameOwnershipGroup = sharesOwnershipGroup(buff.sourceId(), sourceId);
-        for (RaidBuffLibrary.RaidBuffEffect effect : maybeDefinition.orElseThrow().effects()) {
-            switch (effect.kind()) {
-                case PERCENT_DAMAGE -> {
-                    if (sameOwnershipGroup) {
-                        continue;
-                    }
-                    double multiplier = 1.0 + effect.amount();
-                    totalMultiplier.multiply(multiplier);
-                    providerMultiplierLogWeight.merge(buff.sourceId(), Math.log(multiplier), Double::sum);
-                }
-                case CRIT_RATE -> {
-                    if (sameOwnershipGroup) {
-                        selfRateAccumulator.critRateUp += effect.amount();
-                    } else {
-                        providerCritRate.merge(buff.sourceId(), effect.amount(), Double::sum);
-                    }
-                }
-                case DIRECT_HIT_RATE -> {
-                    if (sameOwnershipGroup) {
-                        selfRateAccumulator.directHitRateUp += effect.amount();
-                    } else {
-                        providerDirectHitRate.merge(buff.sourceId(), effect.amount(), Double::sum);
-                    }
-                }
+        double multiplier = RaidBuffLibrary.damageMultiplier(raidBuffIndex);
+        if (multiplier > 1.0 && !sameOwnershipGroup) {
+            totalMultiplier.multiply(multiplier);
+            providerMultiplierLogWeight.merge(buff.sourceId(), RaidBuffLibrary.damageLogWeight(raidBuffIndex), Double::sum);
+        }
+        double critRateUp = RaidBuffLibrary.critRateUp(raidBuffIndex);
+        if (critRateUp > 0.0) {
+            if (sameOwnershipGroup) {
+                selfRateAccumulator.critRateUp += critRateUp;
+            } else {
+                providerCritRate.merge(buff.sourceId(), critRateUp, Double::sum);
+            }
+        }
+        double directHitRateUp = RaidBuffLibrary.directHitRateUp(raidBuffIndex);
+        if (directHitRateUp > 0.0) {
+            if (sameOwnershipGroup) {
+                selfRateAccumulator.directHitRateUp += directHitRateUp;
+            } else {
+                providerDirectHitRate.merge(buff.sourceId(), directHitRateUp, Double::sum);
             }
         }
     }
@@ -652,9 +681,6 @@ public final class CombatState {
         DIRECT_HIT
     }
 
-    private record DotKey(ActorId sourceId, ActorId targetId, BuffId buffId) {
-    }
-
     private record DotSnapshot(
             BuffId buffId,
             String buffName,
@@ -662,6 +688,94 @@ public final class CombatState {
             long appliedAtMs,
             long durationMs
     ) {
+        private boolean expiresAt(long currentTimestampMs) {
+            return durationMs > 0 && appliedAtMs + durationMs <= currentTimestampMs;
+        }
+
+        private long expiryMs() {
+            return durationMs > 0 ? appliedAtMs + durationMs : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * 한 (시전자, 대상) 쌍에 걸린 DoT 스냅샷 묶음.
+     *
+     * 적용 순서를 유지하고, 가장 최근에 적용된 스냅샷(latest)을 변경 시점마다 갱신해 둔다.
+     * 같은 appliedAtMs끼리는 먼저 적용된 쪽이 latest가 된다.
+     */
+    private static final class DotSnapshotBucket {
+        private final List<DotSnapshot> snapshots = new ArrayList<>(2);
+        private DotSnapshot latest;
+
+        private DotSnapshot find(int buffId) {
+            for (int i = 0; i < snapshots.size(); i++) {
+                DotSnapshot snapshot = snapshots.get(i);
+                if (snapshot.buffId().value() == buffId) {
+                    return snapshot;
+                }
+            }
+            return null;
+        }
+
+        private DotSnapshot latest() {
+            return latest;
+        }
+
+        private boolean isEmpty() {
+            return snapshots.isEmpty();
+        }
+
+        private void put(DotSnapshot snapshot) {
+            int index = indexOf(snapshot.buffId().value());
+            if (index >= 0) {
+                snapshots.set(index, snapshot);
+            } else {
+                snapshots.add(snapshot);
+            }
+            refreshLatest();
+        }
+
+        private boolean remove(int buffId) {
+            int index = indexOf(buffId);
+            if (index < 0) {
+                return false;
+            }
+            snapshots.remove(index);
+            refreshLatest();
+            return true;
+        }
+
+        /** 만료된 스냅샷을 제거하고, 남은 스냅샷 중 가장 이른 만료 시각을 반환한다. */
+        private long pruneExpired(long currentTimestampMs) {
+            if (snapshots.removeIf(snapshot -> snapshot.expiresAt(currentTimestampMs))) {
+                refreshLatest();
+            }
+            long nextExpiryMs = Long.MAX_VALUE;
+            for (int i = 0; i < snapshots.size(); i++) {
+                nextExpiryMs = Math.min(nextExpiryMs, snapshots.get(i).expiryMs());
+            }
+            return nextExpiryMs;
+        }
+
+        private int indexOf(int buffId) {
+            for (int i = 0; i < snapshots.size(); i++) {
+                if (snapshots.get(i).buffId().value() == buffId) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void refreshLatest() {
+            DotSnapshot candidate = null;
+            for (int i = 0; i < snapshots.size(); i++) {
+                DotSnapshot snapshot = snapshots.get(i);
+                if (candidate == null || snapshot.appliedAtMs() > candidate.appliedAtMs()) {
+                    candidate = snapshot;
+                }
+            }
+            this.latest = candidate;
+        }
     }
 
     /** 버프 적용: 대상 캐릭터의 버프 목록에 추가 */
@@ -672,23 +786,32 @@ public final class CombatState {
         pruneExpiredState(e.timestampMs());
 
         // 버프는 "받는 쪽(target)" 캐릭터에 기록한다
-        ActorStats target = actors.computeIfAbsent(e.targetId(),
-                id -> new ActorStats(id, ""));
-
-        if (DotStatusLibrary.isLikelyDot(e.buffId(), e.buffName(), e.durationMs(), e.sourceId(), e.targetId())) {
-            dotSnapshots.put(
-                    new DotKey(e.sourceId(), e.targetId(), e.buffId()),
-                    new DotSnapshot(
-                            e.buffId(),
-                            e.buffName(),
-                            captureCurrentAttributionContext(e.sourceId(), e.targetId()),
-                            e.timestampMs(),
-                            e.durationMs()
-                    )
+        ActorStats target = actorOrCreate(e.targetId(), "");
+
+        ActiveBuff activeBuff = new ActiveBuff(e.buffId(), e.buffName(), e.sourceId(), e.timestampMs(), e.durationMs());
+        if (DotStatusLibrary.isLikelyDot(activeBuff, e.targetId())) {
+            DotSnapshot snapshot = new DotSnapshot(
+                    e.buffId(),
+                    e.buffName(),
+                    captureCurrentAttributionContext(e.sourceId(), e.targetId()),
+                    e.timestampMs(),
+                    e.durationMs()
             );
+            LongObjectMap<DotSnapshotBucket> bucketsByTarget = dotSnapshotsByPair.get(e.sourceId().value());
+            if (bucketsByTarget == null) {
+                bucketsByTarget = new LongObjectMap<>(4);
+                dotSnapshotsByPair.put(e.sourceId().value(), bucketsByTarget);
+            }
+            DotSnapshotBucket bucket = bucketsByTarget.get(e.targetId().value());
+            if (bucket == null) {
+                bucket = new DotSnapshotBucket();
+                bucketsByTarget.put(e.targetId().value(), bucket);
+            }
+            bucket.put(snapshot);
+            nextDotSnapshotExpiryMs = Math.min(nextDotSnapshotExpiryMs, snapshot.expiryMs());
         }
 
-        target.applyBuff(new ActiveBuff(e.buffId(), e.buffName(), e.sourceId(), e.timestampMs(), e.durationMs()));
+        target.applyBuff(activeBuff);
 
         return false;
     }
@@ -700,15 +823,18 @@ public final class CombatState {
         this.elapsedMs = e.timestampMs();
         pruneExpiredState(e.timestampMs());
 
-        ActorStats target = actors.get(e.targetId());
+        ActorStats target = actors.get(e.targetId().value());
         if (target != null) {
             target.removeBuff(e.buffId(), e.sourceId());
         }
 
-        DotKey dotKey = new DotKey(e.sourceId(), e.targetId(), e.buffId());
-        DotSnapshot dotSnapshot = dotSnapshots.get(dotKey);
-        if (dotSnapshot != null && dotSnapshot.buffId().equals(e.buffId())) {
-            dotSnapshots.remove(dotKey);
+        LongObjectMap<DotSnapshotBucket> bucketsByTarget = dotSnapshotsByPair.get(e.sourceId().value());
+        DotSnapshotBucket bucket = bucketsByTarget != null ? bucketsByTarget.get(e.targetId().value()) : null;
+        if (bucket != null && bucket.remove(e.buffId().value()) && bucket.isEmpty()) {
+            bucketsByTarget.remove(e.targetId().value());
+            if (bucketsByTarget.isEmpty()) {
+                dotSnapshotsByPair.remove(e.sourceId().value());
+            }
         }
 
         return false;
@@ -724,15 +850,9 @@ public final class CombatState {
 
         this.elapsedMs = e.timestampMs();
 
-        ActorStats actor = actors.get(e.actorId());
-        if (actor != null) {
-            actor.markDead(e.timestampMs());
-        } else {
-            // 처음 보는 캐릭터면 등록 후 사망 상태로 설정
-            ActorStats newActor = new ActorStats(e.actorId(), e.actorName());
-            newActor.markDead(e.timestampMs());
-            actors.put(e.actorId(), newActor);
-        }
+        // 처음 보는 캐릭터면 등록 후 사망 상태로 설정
+        actorOrCreate(e.actorId(), e.actorName()).markDead(e.timestampMs());
+        this.changeCount++;
 
         return false;  // 스냅샷 생성 안 함 (Tick에서만 생성)
     }
@@ -747,10 +867,16 @@ public final class CombatState {
         this.elapsedMs = e.timestampMs();
         pruneExpiredState(e.timestampMs());
 
-        // 슬라이딩 윈도우: 현재 시각 - 15초보다 오래된 데미지 기록 삭제
-        long cutoff = e.timestampMs() - RECENT_WINDOW_MS;
-        for (ActorStats stats : actors.values()) {
-            stats.pruneOldSamples(cutoff);
+        // 최근 윈도우 이동: 15초보다 오래된 기록 삭제 (DECAYED면 감쇠 시계 진행)
+        // WINDOWED에서 기록이 빠지면 최근 DPS가 계단식으로 바뀌므로 변경으로 센다.
+        // DECAYED의 연속 감쇠는 경과 시간처럼 시간에 따른 변화로 보고 세지 않는다.
+        for (int i = 0; i < actors.size(); i++) {
+            ActorStats stats = actors.valueAt(i);
+            long revisionBefore = stats.revision();
+            stats.advanceRecentWindow(e.timestampMs());
+            if (recentWindowMode == RecentWindowMode.WINDOWED && stats.revision() != revisionBefore) {
+                this.changeCount++;
+            }
         }
 
         return true;  // 스냅샷을 만들어라!
@@ -763,19 +889,50 @@ public final class CombatState {
         this.elapsedMs = e.timestampMs();
         pruneExpiredState(e.timestampMs());
         this.phase = Phase.ENDED;
+        this.changeCount++;
 
         return true;  // 마지막 스냅샷을 만들어라!
     }
 
+    private ActorStats actorOrCreate(ActorId actorId, String name) {
+        ActorStats stats = actors.get(actorId.value());
+        if (stats == null) {
+            stats = new ActorStats(actorId, name, recentWindowMode);
+            actors.put(actorId.value(), stats);
+        }
+        return stats;
+    }
+
     private void pruneExpiredState(long currentTimestampMs) {
-        for (ActorStats stats : actors.values()) {
-            stats.pruneExpiredBuffs(currentTimestampMs);
+        if (currentTimestampMs != lastBuffPruneMs) {
+            for (int i = 0; i < actors.size(); i++) {
+                actors.valueAt(i).pruneExpiredBuffs(currentTimestampMs);
+            }
+            lastBuffPruneMs = currentTimestampMs;
+        }
+        pruneExpiredDotSnapshots(currentTimestampMs);
+    }
+
+    private void pruneExpiredDotSnapshots(long currentTimestampMs) {
+        if (currentTimestampMs < nextDotSnapshotExpiryMs) {
+            return;
         }
-        dotSnapshots.entrySet().removeIf(entry -> {
-            DotSnapshot snapshot = entry.getValue();
-            return snapshot.durationMs() > 0
-                    && snapshot.appliedAtMs() + snapshot.durationMs() <= currentTimestampMs;
-        });
+        long nextExpiryMs = Long.MAX_VALUE;
+        // 뒤에서부터 순회하면 removeAt으로 지워도 아직 방문하지 않은 엔트리의 위치가 바뀌지 않는다.
+        for (int sourceIndex = dotSnapshotsByPair.size() - 1; sourceIndex >= 0; sourceIndex--) {
+            LongObjectMap<DotSnapshotBucket> bucketsByTarget = dotSnapshotsByPair.valueAt(sourceIndex);
+            for (int targetIndex = bucketsByTarget.size() - 1; targetIndex >= 0; targetIndex--) {
+                DotSnapshotBucket bucket = bucketsByTarget.valueAt(targetIndex);
+                nextExpiryMs = Math.min(nextExpiryMs, bucket.pruneExpired(currentTimestampMs));
+                if (bucket.isEmpty()) {
+                    bucketsByTarget.removeAt(targetIndex);
+                }
+            }
+            if (bucketsByTarget.isEmpty()) {
+                dotSnapshotsByPair.removeAt(sourceIndex);
+            }
+        }
+        this.nextDotSnapshotExpiryMs = nextExpiryMs;
     }
 
     // ========================================================================
@@ -783,35 +940,93 @@ public final class CombatState {
     // ========================================================================
 
     public Phase phase() { return phase; }
+    public RecentWindowMode recentWindowMode() { return recentWindowMode; }
     public String fightName() { return fightName; }
     public long elapsedMs() { return elapsedMs; }
     public long totalPartyDamage() { return totalPartyDamage; }
     public Optional<BossInfo> bossInfo() { return Optional.ofNullable(bossInfo); }
 
-    /** 등록된 모든 캐릭터의 통계를 반환 (수정 불가) */
+    /** 스냅샷에 보이는 상태의 변경 카운터. 값이 같으면 경과 시간 말고는 스냅샷이 같다. */
+    public long changeCount() { return changeCount; }
+
+    /**
+     * 등록된 모든 캐릭터의 통계를 등장 순서대로 담은 Map을 반환 (수정 불가).
+     * 호출할 때마다 새로 만드므로, 틱마다 도는 경로에서는 {@link #actorCount()}/{@link #actorAt(int)}를 쓴다.
+     */
     public Map<ActorId, ActorStats> actors() {
-        return Collections.unmodifiableMap(actors);
+        Map<ActorId, ActorStats> view = new LinkedHashMap<>();
+        for (int i = 0; i < actors.size(); i++) {
+            ActorStats stats = actors.valueAt(i);
+            view.put(stats.actorId(), stats);
+        }
+        return Collections.unmodifiableMap(view);
+    }
+
+    /** 등록된 캐릭터 수 */
+    public int actorCount() {
+        return actors.size();
+    }
+
+    /** 등장 순서 기준 index번째 캐릭터의 통계 (0 ≤ index &lt; actorCount). 할당 없이 순회할 때 쓴다. */
+    public ActorStats actorAt(int index) {
+        return actors.valueAt(index);
     }
 
     /** 특정 캐릭터의 통계를 반환. 없으면 null. */
     public ActorStats getActor(ActorId id) {
-        return actors.get(id);
+        return actors.get(id.value());
     }
 
-    /** 펫/소환수의 주인 매핑을 반환 (수정 불가) */
+    /** 특정 캐릭터의 통계를 반환. 없으면 null. */
+    public ActorStats getActor(long actorId) {
+        return actors.get(actorId);
+    }
+
+    /** 펫/소환수의 주인 매핑을 반환 (수정 불가). 호출할 때마다 새로 만든다. */
     public Map<ActorId, ActorId> ownerMap() {
-        return Collections.unmodifiableMap(ownerMap);
+        Map<ActorId, ActorId> view = new LinkedHashMap<>();
+        for (int i = 0; i < ownerMap.size(); i++) {
+            view.put(new ActorId(ownerMap.keyAt(i)), new ActorId(ownerMap.valueAt(i)));
+        }
+        return Collections.unmodifiableMap(view);
+    }
+
+    /** 주인 매핑 수 */
+    public int ownerCount() {
+        return ownerMap.size();
+    }
+
+    /** 등록 순서 기준 index번째 펫 ID */
+    public long petIdAt(int index) {
+        return ownerMap.keyAt(index);
+    }
+
+    /** 등록 순서 기준 index번째 펫의 주인 ID */
+    public long ownerIdAt(int index) {
+        return ownerMap.valueAt(index);
+    }
+
+    /** 펫/소환수의 주인 ID. 주인이 없으면 {@link #NO_OWNER}. */
+    public long ownerOf(long actorId) {
+        return ownerMap.get(actorId, NO_OWNER);
+    }
+
+    /** 주인이 등록된 펫/소환수인지 여부 */
+    public boolean hasOwner(long actorId) {
+        return ownerMap.containsKey(actorId);
     }
 
     /** 펫/소환수의 주인을 설정한다. ActIngestionService에서 호출. */
     public void setOwner(ActorId petId, ActorId ownerId) {
-        if (ownerId != null && ownerId.value() != 0) {
-            ownerMap.put(petId, ownerId);
+        if (ownerId != null && ownerId.value() != NO_OWNER) {
+            ownerMap.put(petId.value(), ownerId.value());
+            changeCount++;
         }
     }
 
     /** 전투 경계가 바뀔 때 펫/소환수 주인 매핑을 초기화한다. */
     public void clearOwners() {
         ownerMap.clear();
+        changeCount++;
     }
 }
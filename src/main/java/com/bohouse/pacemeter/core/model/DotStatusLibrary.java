@@ -23,7 +23,21 @@ public final class DotStatusLibrary {
         if (!isNpc(targetId)) {
             return false;
         }
-        return RaidBuffLibrary.find(buffId, buffName).isEmpty();
+        return RaidBuffLibrary.resolveIndex(buffId, buffName) == RaidBuffLibrary.NOT_FOUND;
+    }
+
+    /** 이미 레이드 버프 인덱스가 해석된 버프에 대한 판정. 이름 정규화를 다시 하지 않는다. */
+    public static boolean isLikelyDot(ActiveBuff buff, ActorId targetId) {
+        if (buff.durationMs() < MIN_DOT_DURATION_MS) {
+            return false;
+        }
+        if (buff.sourceId().equals(targetId)) {
+            return false;
+        }
+        if (!isNpc(targetId)) {
+            return false;
+        }
+        return !buff.isRaidBuff();
     }
 
     private static boolean isNpc(ActorId actorId) {
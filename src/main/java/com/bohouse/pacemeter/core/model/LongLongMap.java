@@ -0,0 +1,120 @@
+package com.bohouse.pacemeter.core.model;
+
+import java.util.Arrays;
+
+/**
+ * long → long 오픈 어드레싱 해시 맵. 펫 ID → 주인 ID 같은 액터 간 매핑에 쓴다.
+ *
+ * {@link LongObjectMap}과 같은 구조로, 엔트리를 넣은 순서대로 조밀한 배열에 두고
+ * {@link #keyAt(int)}/{@link #valueAt(int)}로 할당 없이 순회할 수 있다.
+ *
+ * 싱글 스레드 전용.
+ */
+public final class LongLongMap {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    /** 해시 슬롯. 엔트리 인덱스 + 1을 저장하고, 0은 빈 슬롯이다. */
+    private int[] slots;
+    private int mask;
+
+    public LongLongMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongLongMap(int expectedSize) {
+        int capacity = Math.max(DEFAULT_CAPACITY, expectedSize);
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+        this.size = 0;
+        allocateSlots(capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return slots[findSlot(key)] != 0;
+    }
+
+    /** 키에 해당하는 값을 반환한다. 없으면 defaultValue. */
+    public long get(long key, long defaultValue) {
+        int entry = slots[findSlot(key)];
+        return entry != 0 ? values[entry - 1] : defaultValue;
+    }
+
+    /** 값을 넣는다. 이미 있는 키면 순서를 유지한 채 값만 바꾼다. */
+    public void put(long key, long value) {
+        int slot = findSlot(key);
+        int entry = slots[slot];
+        if (entry != 0) {
+            values[entry - 1] = value;
+            return;
+        }
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        slots[slot] = size;
+        if (size * 2 > slots.length) {
+            allocateSlots(slots.length);
+            rebuildSlots();
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(slots, 0);
+        size = 0;
+    }
+
+    /** 삽입 순서 기준 index번째 키 (0 ≤ index &lt; size) */
+    public long keyAt(int index) {
+        return keys[index];
+    }
+
+    /** 삽입 순서 기준 index번째 값 (0 ≤ index &lt; size) */
+    public long valueAt(int index) {
+        return values[index];
+    }
+
+    private int findSlot(long key) {
+        int slot = LongObjectMap.hash(key) & mask;
+        while (true) {
+            int entry = slots[slot];
+            if (entry == 0 || keys[entry - 1] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void allocateSlots(int minEntries) {
+        int capacity = Integer.highestOneBit(Math.max(4, minEntries * 2 - 1)) << 1;
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private void rebuildSlots() {
+        Arrays.fill(slots, 0);
+        for (int i = 0; i < size; i++) {
+            int slot = LongObjectMap.hash(keys[i]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i + 1;
+        }
+    }
+}
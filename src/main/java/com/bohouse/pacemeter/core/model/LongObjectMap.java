@@ -0,0 +1,175 @@
+package com.bohouse.pacemeter.core.model;
+
+import java.util.Arrays;
+
+/**
+ * 액터 ID(long)를 키로 쓰는 오픈 어드레싱 해시 맵.
+ *
+ * {@code Map<ActorId, V>}와 달리 조회할 때 키 래퍼 객체를 만들거나 해시하지 않는다.
+ * 엔트리는 넣은 순서대로 조밀한 배열에 저장되므로, 스냅샷 순서가 LinkedHashMap과 같고
+ * {@link #keyAt(int)}/{@link #valueAt(int)}로 할당 없이 순회할 수 있다.
+ *
+ * 삭제는 뒤쪽 엔트리를 한 칸씩 당기고 해시 슬롯을 다시 만드는 O(n) 연산이다.
+ * 액터 테이블처럼 삭제가 드문 용도를 전제로 한다.
+ *
+ * 싱글 스레드 전용. 엔진 스레드 밖에서 읽으려면 호출 측에서 동기화해야 한다.
+ *
+ * @param <V> 값 타입
+ */
+public final class LongObjectMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 8;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    /** 해시 슬롯. 엔트리 인덱스 + 1을 저장하고, 0은 빈 슬롯이다. */
+    private int[] slots;
+    private int mask;
+
+    public LongObjectMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public LongObjectMap(int expectedSize) {
+        int capacity = Math.max(DEFAULT_CAPACITY, expectedSize);
+        this.keys = new long[capacity];
+        this.values = new Object[capacity];
+        this.size = 0;
+        allocateSlots(capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    /** 키에 해당하는 값을 반환한다. 없으면 null. */
+    public V get(long key) {
+        int index = indexOf(key);
+        return index >= 0 ? valueAt(index) : null;
+    }
+
+    /**
+     * 값을 넣는다. 이미 있는 키면 순서를 유지한 채 값만 바꾼다.
+     *
+     * @return 이전 값. 없었으면 null
+     */
+    public V put(long key, V value) {
+        int slot = findSlot(key);
+        int entry = slots[slot];
+        if (entry != 0) {
+            V previous = valueAt(entry - 1);
+            values[entry - 1] = value;
+            return previous;
+        }
+
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        slots[slot] = size;
+        if (size * 2 > slots.length) {
+            allocateSlots(slots.length);
+            rebuildSlots();
+        }
+        return null;
+    }
+
+    /**
+     * 키를 제거한다. 남은 엔트리의 순서는 유지된다.
+     *
+     * @return 제거된 값. 없었으면 null
+     */
+    public V remove(long key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        V removed = valueAt(index);
+        removeAt(index);
+        return removed;
+    }
+
+    /** index 위치의 엔트리를 제거한다. 뒤에서부터 순회하며 지우는 용도로 쓸 수 있다. */
+    public void removeAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index=" + index + ", size=" + size);
+        }
+        int tail = size - index - 1;
+        if (tail > 0) {
+            System.arraycopy(keys, index + 1, keys, index, tail);
+            System.arraycopy(values, index + 1, values, index, tail);
+        }
+        size--;
+        values[size] = null;
+        rebuildSlots();
+    }
+
+    public void clear() {
+        Arrays.fill(values, 0, size, null);
+        Arrays.fill(slots, 0);
+        size = 0;
+    }
+
+    /** 삽입 순서 기준 index번째 키 (0 ≤ index &lt; size) */
+    public long keyAt(int index) {
+        return keys[index];
+    }
+
+    /** 삽입 순서 기준 index번째 값 (0 ≤ index &lt; size) */
+    @SuppressWarnings("unchecked")
+    public V valueAt(int index) {
+        return (V) values[index];
+    }
+
+    private int indexOf(long key) {
+        int entry = slots[findSlot(key)];
+        return entry - 1;
+    }
+
+    /** 키가 있는 슬롯, 또는 키가 들어갈 빈 슬롯의 위치 */
+    private int findSlot(long key) {
+        int slot = hash(key) & mask;
+        while (true) {
+            int entry = slots[slot];
+            if (entry == 0 || keys[entry - 1] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void allocateSlots(int minEntries) {
+        int capacity = Integer.highestOneBit(Math.max(4, minEntries * 2 - 1)) << 1;
+        this.slots = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    private void rebuildSlots() {
+        Arrays.fill(slots, 0);
+        for (int i = 0; i < size; i++) {
+            int slot = hash(keys[i]) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = i + 1;
+        }
+    }
+
+    static int hash(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
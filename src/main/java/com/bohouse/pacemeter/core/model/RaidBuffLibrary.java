@@ -6,6 +6,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
 
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
@@ -19,27 +20,94 @@ import java.util.Set;
  * 정의는 classpath의 {@code raid-buff-catalog.json}에서 로드한다.
  * 이 카탈로그는 외부 메타데이터(XIVAPI 등)로 ID/이름을 수집하고,
  * 우리 쪽에서 rDPS 의미가 있는 효과(kind/amount)를 유지하는 구조를 전제로 한다.
+ *
+ * 로드 시점에 카탈로그를 정의 인덱스 기반의 조밀한 테이블로 컴파일한다.
+ *   - status ID → 정의 인덱스: ID를 그대로 배열 첨자로 쓰는 int 배열
+ *   - 정의 인덱스 → 효과: 데미지 배율 / 극대 확률 / 직격 확률을 담은 double 배열
+ * 매 타격마다 불리는 rDPS 기여도 계산은 {@link #resolveIndex}로 버프 적용 시점에 한 번 인덱스를 구한 뒤
+ * {@link #damageMultiplier(int)} 등으로 Optional/record 할당 없이 효과를 읽는다.
  */
 public final class RaidBuffLibrary {
 
+    /** 카탈로그에 없는 버프의 정의 인덱스. */
+    public static final int NOT_FOUND = -1;
+
     private static final String RESOURCE = "raid-buff-catalog.json";
     private static final List<RaidBuffDefinition> DEFINITIONS = loadDefinitions();
-    private static final Map<BuffId, RaidBuffDefinition> BY_ID = buildIdIndex();
-    private static final Map<String, RaidBuffDefinition> BY_NAME = buildNameIndex();
+    private static final int[] INDEX_BY_ID = buildIdIndex();
+    private static final Map<String, Integer> INDEX_BY_NAME = buildNameIndex();
+    private static final double[] DAMAGE_MULTIPLIERS = new double[DEFINITIONS.size()];
+    private static final double[] DAMAGE_LOG_WEIGHTS = new double[DEFINITIONS.size()];
+    private static final double[] CRIT_RATE_UPS = new double[DEFINITIONS.size()];
+    private static final double[] DIRECT_HIT_RATE_UPS = new double[DEFINITIONS.size()];
+
+    static {
+        for (int index = 0; index < DEFINITIONS.size(); index++) {
+            double multiplier = 1.0;
+            double logWeight = 0.0;
+            double critRateUp = 0.0;
+            double directHitRateUp = 0.0;
+            for (RaidBuffEffect effect : DEFINITIONS.get(index).effects()) {
+                switch (effect.kind()) {
+                    case PERCENT_DAMAGE -> {
+                        multiplier *= 1.0 + effect.amount();
+                        logWeight += Math.log(1.0 + effect.amount());
+                    }
+                    case CRIT_RATE -> critRateUp += effect.amount();
+                    case DIRECT_HIT_RATE -> directHitRateUp += effect.amount();
+                }
+            }
+            DAMAGE_MULTIPLIERS[index] = multiplier;
+            DAMAGE_LOG_WEIGHTS[index] = logWeight;
+            CRIT_RATE_UPS[index] = critRateUp;
+            DIRECT_HIT_RATE_UPS[index] = directHitRateUp;
+        }
+    }
 
     private RaidBuffLibrary() {
     }
 
     public static Optional<RaidBuffDefinition> find(BuffId buffId, String buffName) {
-        RaidBuffDefinition byId = BY_ID.get(buffId);
-        if (byId != null) {
-            return Optional.of(byId);
+        int index = resolveIndex(buffId, buffName);
+        return index != NOT_FOUND ? Optional.of(DEFINITIONS.get(index)) : Optional.empty();
+    }
+
+    /**
+     * 버프의 정의 인덱스를 구한다. ID로 먼저 찾고, 없으면 이름(alias)으로 찾는다.
+     * 이름 정규화가 들어가므로 매 타격이 아니라 버프 적용 시점에 한 번만 호출한다.
+     *
+     * @return 정의 인덱스. 카탈로그에 없으면 {@link #NOT_FOUND}
+     */
+    public static int resolveIndex(BuffId buffId, String buffName) {
+        int id = buffId.value();
+        if (id >= 0 && id < INDEX_BY_ID.length && INDEX_BY_ID[id] != NOT_FOUND) {
+            return INDEX_BY_ID[id];
         }
         if (buffName == null || buffName.isBlank()) {
-            return Optional.empty();
+            return NOT_FOUND;
         }
-        RaidBuffDefinition byName = BY_NAME.get(normalize(buffName));
-        return byName != null ? Optional.of(byName) : Optional.empty();
+        Integer byName = INDEX_BY_NAME.get(normalize(buffName));
+        return byName != null ? byName : NOT_FOUND;
+    }
+
+    /** 받는 데미지 배율 (예: 6% 버프면 1.06). 데미지 효과가 없으면 1.0. */
+    public static double damageMultiplier(int index) {
+        return DAMAGE_MULTIPLIERS[index];
+    }
+
+    /** {@link #damageMultiplier(int)}의 자연로그. 여러 버프 간 배율 기여도 분배 가중치로 쓴다. */
+    public static double damageLogWeight(int index) {
+        return DAMAGE_LOG_WEIGHTS[index];
+    }
+
+    /** 극대 확률 증가량 (예: 10%면 0.10). */
+    public static double critRateUp(int index) {
+        return CRIT_RATE_UPS[index];
+    }
+
+    /** 직격 확률 증가량 (예: 20%면 0.20). */
+    public static double directHitRateUp(int index) {
+        return DIRECT_HIT_RATE_UPS[index];
     }
 
     static List<RaidBuffDefinition> definitions() {
@@ -64,21 +132,29 @@ public final class RaidBuffLibrary {
         }
     }
 
-    private static Map<BuffId, RaidBuffDefinition> buildIdIndex() {
-        java.util.HashMap<BuffId, RaidBuffDefinition> index = new java.util.HashMap<>();
+    private static int[] buildIdIndex() {
+        // status ID는 게임 데이터상 16비트 범위라 최대 ID 크기의 배열로 충분하다.
+        int maxId = -1;
         for (RaidBuffDefinition definition : DEFINITIONS) {
             for (BuffId id : definition.ids()) {
-                index.put(id, definition);
+                maxId = Math.max(maxId, id.value());
             }
         }
-        return Collections.unmodifiableMap(index);
+        int[] index = new int[maxId + 1];
+        Arrays.fill(index, NOT_FOUND);
+        for (int i = 0; i < DEFINITIONS.size(); i++) {
+            for (BuffId id : DEFINITIONS.get(i).ids()) {
+                index[id.value()] = i;
+            }
+        }
+        return index;
     }
 
-    private static Map<String, RaidBuffDefinition> buildNameIndex() {
-        java.util.HashMap<String, RaidBuffDefinition> index = new java.util.HashMap<>();
-        for (RaidBuffDefinition definition : DEFINITIONS) {
-            for (String alias : definition.aliases()) {
-                index.put(normalize(alias), definition);
+    private static Map<String, Integer> buildNameIndex() {
+        java.util.HashMap<String, Integer> index = new java.util.HashMap<>();
+        for (int i = 0; i < DEFINITIONS.size(); i++) {
+            for (String alias : DEFINITIONS.get(i).aliases()) {
+                index.put(normalize(alias), i);
             }
         }
         return Collections.unmodifiableMap(index);
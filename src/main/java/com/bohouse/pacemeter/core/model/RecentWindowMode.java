@@ -0,0 +1,34 @@
+package com.bohouse.pacemeter.core.model;
+
+import java.util.Locale;
+
+/**
+ * 최근 DPS(rDPS 추정의 recent 성분)를 어떻게 추적할지 정하는 모드.
+ *
+ * <ul>
+ *   <li>WINDOWED: 최근 {@link CombatState#RECENT_WINDOW_MS} 동안의 타격 기록을 모두 보관하고 합산한다.</li>
+ *   <li>DECAYED: 타격 기록 없이 지수 감쇠 누적값만 유지한다. 액터당 메모리/갱신 비용이 O(1)이다.</li>
+ * </ul>
+ *
+ * 세션(엔진)마다 하나를 정하고, 전투 도중에는 바꾸지 않는다.
+ */
+public enum RecentWindowMode {
+    WINDOWED,
+    DECAYED;
+
+    /**
+     * 요청 파라미터 값을 모드로 바꾼다. 비어 있으면 WINDOWED.
+     *
+     * @throws IllegalArgumentException 알 수 없는 값일 때
+     */
+    public static RecentWindowMode fromParam(String value) {
+        if (value == null || value.isBlank()) {
+            return WINDOWED;
+        }
+        return switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "windowed", "window" -> WINDOWED;
+            case "decayed", "decay", "ewma" -> DECAYED;
+            default -> throw new IllegalArgumentException("unknown estimator mode: " + value);
+        };
+    }
+}
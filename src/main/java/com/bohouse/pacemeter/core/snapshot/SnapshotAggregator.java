@@ -9,6 +9,7 @@ import com.bohouse.pacemeter.core.model.ActionNameLibrary;
 import com.bohouse.pacemeter.core.model.ActorId;
 import com.bohouse.pacemeter.core.model.ActorStats;
 import com.bohouse.pacemeter.core.model.CombatState;
+import com.bohouse.pacemeter.core.model.LongLongMap;
 
 import java.util.*;
 
@@ -56,27 +57,26 @@ public final class SnapshotAggregator {
         // 모든 캐릭터의 rDPS 추정
         Map<ActorId, RdpsEstimate> estimates = estimator.estimate(state);
 
-        // 펫 데미지를 주인에게 합산 (펫 ID → 펫 데미지)
-        Map<ActorId, Long> petDamageByOwner = new HashMap<>();
-        for (Map.Entry<ActorId, ActorStats> entry : state.actors().entrySet()) {
-            ActorId petId = entry.getKey();
-            ActorId ownerId = state.ownerMap().get(petId);
+        // 펫 데미지를 주인에게 합산 (주인 ID → 펫 데미지)
+        LongLongMap petDamageByOwner = new LongLongMap();
+        for (int i = 0; i < state.actorCount(); i++) {
+            ActorStats petStats = state.actorAt(i);
+            long ownerId = state.ownerOf(petStats.actorId().value());
 
-            if (ownerId != null) {
+            if (ownerId != CombatState.NO_OWNER) {
                 // 펫인 경우: 주인의 데미지에 합산
-                long petDamage = entry.getValue().totalDamage();
-                petDamageByOwner.merge(ownerId, petDamage, Long::sum);
+                petDamageByOwner.put(ownerId, petDamageByOwner.get(ownerId, 0L) + petStats.totalDamage());
             }
         }
 
         // 캐릭터별 스냅샷 생성
-        List<ActorSnapshot> actorSnapshots = new ArrayList<>();
-        for (Map.Entry<ActorId, ActorStats> entry : state.actors().entrySet()) {
-            ActorId actorId = entry.getKey();
-            ActorStats stats = entry.getValue();
+        List<ActorSnapshot> actorSnapshots = new ArrayList<>(state.actorCount());
+        for (int i = 0; i < state.actorCount(); i++) {
+            ActorStats stats = state.actorAt(i);
+            ActorId actorId = stats.actorId();
 
             // 펫 필터링: 주인이 있는 경우 제외
-            if (state.ownerMap().containsKey(actorId)) {
+            if (state.hasOwner(actorId.value())) {
                 continue;
             }
 
@@ -86,7 +86,7 @@ public final class SnapshotAggregator {
             }
 
             // 펫 데미지 합산
-            long totalDamageWithPet = stats.totalDamage() + petDamageByOwner.getOrDefault(actorId, 0L);
+            long totalDamageWithPet = stats.totalDamage() + petDamageByOwner.get(actorId.value(), 0L);
 
             double dps = (elapsedSec > 0) ? totalDamageWithPet / elapsedSec : 0.0;
             double damagePercent = (totalPartyDamage > 0)
@@ -2,6 +2,8 @@ package com.bohouse.pacemeter.adapter.inbound.actws;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.OffsetDateTime;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class ActLineParserTest {
@@ -417,4 +419,24 @@ class ActLineParserTest {
         PlayerStatsUpdated stats = (PlayerStatsUpdated) result;
         assertEquals(0x20, stats.jobId());
     }
+
+    @Test
+    void parseEpochMillis_matchesOffsetDateTimeForActTimestamps() {
+        for (String ts : new String[]{
+                TS,
+                "2026-02-11T20:56:11.8129999+09:00",
+                "2024-02-29T00:00:00.0000000+00:00",
+                "2025-12-31T23:59:59.9990000-05:30",
+                "1999-01-01T09:00:00.0010000+09:00",
+                "2026-02-11T20:56:11.812+09:00",
+                "2026-02-11T11:56:11.812Z"
+        }) {
+            assertEquals(OffsetDateTime.parse(ts).toInstant().toEpochMilli(), ActLineParser.parseEpochMillis(ts), ts);
+        }
+    }
+
+    @Test
+    void parse_impossibleCalendarDate_returnsNull() {
+        assertNull(parser.parse("12|2026-02-30T20:56:11.8120000+09:00|32|6794|442|7574"));
+    }
 }
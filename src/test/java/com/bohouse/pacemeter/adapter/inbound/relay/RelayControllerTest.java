@@ -0,0 +1,35 @@
+package com.bohouse.pacemeter.adapter.inbound.relay;
+
+import com.bohouse.pacemeter.application.SessionTraceRegistry;
+import com.bohouse.pacemeter.core.model.RecentWindowMode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RelayControllerTest {
+
+    @Test
+    void ingestEvents_rejectsUnknownEstimatorWithBadRequestBeforeTracingBatch() {
+        SessionTraceRegistry traces = new SessionTraceRegistry(16);
+        RelayController controller = new RelayController(null, traces);
+
+        ResponseStatusException error = assertThrows(
+                ResponseStatusException.class,
+                () -> controller.ingestEvents("session-1", "bogus", List.of())
+        );
+
+        assertEquals(HttpStatus.BAD_REQUEST, error.getStatusCode());
+        assertEquals(0, traces.recorder("session-1").written());
+    }
+
+    @Test
+    void parseEstimator_acceptsKnownModes() {
+        assertEquals(RecentWindowMode.WINDOWED, RelayController.parseEstimator(null));
+        assertEquals(RecentWindowMode.DECAYED, RelayController.parseEstimator("ewma"));
+    }
+}
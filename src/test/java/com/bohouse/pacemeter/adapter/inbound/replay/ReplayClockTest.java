@@ -0,0 +1,40 @@
+package com.bohouse.pacemeter.adapter.inbound.replay;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayClockTest {
+
+    private static final long FIRST = Instant.parse("2026-02-11T12:00:00Z").toEpochMilli();
+
+    @Test
+    void delay_scalesEventGapBySpeed() {
+        ReplayClock clock = ReplayClock.parse("10x");
+
+        assertEquals(0L, clock.delayNanosUntil(FIRST, 1_000L));
+        assertEquals(100_000_000L, clock.delayNanosUntil(FIRST + 1_000L, 1_000L));
+        assertEquals(50_000_000L, clock.delayNanosUntil(FIRST + 1_000L, 50_001_000L));
+        assertTrue(clock.delayNanosUntil(FIRST + 500L, 60_001_000L) < 0);
+    }
+
+    @Test
+    void max_neverWaits() {
+        ReplayClock clock = ReplayClock.parse("max");
+
+        assertTrue(clock.unthrottled());
+        assertEquals("max", clock.label());
+        clock.delayNanosUntil(FIRST, 0L);
+        assertEquals(0L, clock.delayNanosUntil(FIRST + 600_000L, 0L));
+    }
+
+    @Test
+    void parse_acceptsPlainNumbersAndRejectsNonPositive() {
+        assertEquals("1x", ReplayClock.parse("1").label());
+        assertEquals("2.5x", ReplayClock.parse("2.5X").label());
+        assertThrows(IllegalArgumentException.class, () -> ReplayClock.parse("0x"));
+        assertThrows(IllegalArgumentException.class, () -> ReplayClock.parse("fast"));
+    }
+}
@@ -4,6 +4,8 @@ import com.bohouse.pacemeter.adapter.inbound.actws.CombatantAdded;
 import com.bohouse.pacemeter.adapter.inbound.actws.ParsedLine;
 import com.bohouse.pacemeter.adapter.inbound.actws.PrimaryPlayerChanged;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.Instant;
 
@@ -11,6 +13,18 @@ import static org.junit.jupiter.api.Assertions.*;
 
 class ReplayControllerTest {
 
+    @Test
+    void parseSpeed_mapsInvalidSpeedToBadRequest() {
+        ResponseStatusException error = assertThrows(
+                ResponseStatusException.class,
+                () -> ReplayController.parseSpeed("fast")
+        );
+
+        assertEquals(HttpStatus.BAD_REQUEST, error.getStatusCode());
+        assertNull(ReplayController.parseSpeed(" "));
+        assertEquals("10x", ReplayController.parseSpeed("10x").label());
+    }
+
     @Test
     void fallbackPrimaryPlayerChange_returnsPrimaryPlayerWhenNameMatches() {
         Instant ts = Instant.parse("2026-02-11T12:00:00Z");
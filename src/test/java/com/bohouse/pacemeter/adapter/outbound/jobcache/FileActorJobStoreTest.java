@@ -0,0 +1,91 @@
+package com.bohouse.pacemeter.adapter.outbound.jobcache;
+
+import com.bohouse.pacemeter.application.ActorJobCache;
+import com.bohouse.pacemeter.application.ActorJobCacheRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileActorJobStoreTest {
+
+    @Test
+    void registry_writesBehindOnFlushAndReloadsPerScope() throws IOException, InterruptedException {
+        Path dir = Files.createTempDirectory("job-cache");
+        FileActorJobStore store = new FileActorJobStore(dir.toString());
+        ActorJobCacheRegistry registry = new ActorJobCacheRegistry(store);
+
+        ActorJobCache sessionA = loaded(registry.cache("session-a"));
+        sessionA.rememberPlayerJob(0x10000001L, "Me: Self", 0x20);
+        sessionA.rememberActorJob(0x10000002L, "Party Member", 0x1C);
+        loaded(registry.cache("session-b")).rememberActorJob(0x10000002L, "Party Member", 0x18);
+
+        assertFalse(Files.exists(store.fileFor("session-a")));
+        registry.flush();
+        assertTrue(Files.exists(store.fileFor("session-a")));
+
+        ActorJobCacheRegistry restarted = new ActorJobCacheRegistry(new FileActorJobStore(dir.toString()));
+        ActorJobCache reloadedA = loaded(restarted.cache("session-a"));
+        assertEquals(0x20, reloadedA.playerJob(0x10000001L, null));
+        assertEquals(0x20, reloadedA.playerJob(0L, "Me: Self"));
+        assertEquals(0x1C, reloadedA.actorJob(0x99L, "Party Member"));
+        assertEquals(0x18, loaded(restarted.cache("session-b")).actorJob(0x10000002L, null));
+        assertEquals(0, loaded(restarted.cache("session-c")).actorJob(0x10000002L, "Party Member"));
+    }
+
+    @Test
+    void registry_loadsOffTheCallerThread_andKeepsJobsLearnedBeforeTheLoad() throws IOException, InterruptedException {
+        Path dir = Files.createTempDirectory("job-cache");
+        FileActorJobStore files = new FileActorJobStore(dir.toString());
+        files.save("session-a", Map.of("actor-id:10000002", 0x18, "actor-id:10000003", 0x1C));
+        CountDownLatch release = new CountDownLatch(1);
+        FileActorJobStore slowStore = new FileActorJobStore(dir.toString()) {
+            @Override
+            public Map<String, Integer> load(String scopeId) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.load(scopeId);
+            }
+        };
+        ActorJobCacheRegistry registry = new ActorJobCacheRegistry(slowStore);
+
+        ActorJobCache cache = registry.cache("session-a");
+        cache.rememberActorJob(0x10000002L, null, 0x20);
+        registry.flush();
+        assertEquals(0x18, files.load("session-a").get("actor-id:10000002"));
+
+        release.countDown();
+        loaded(cache);
+        assertEquals(0x20, cache.actorJob(0x10000002L, null));
+        assertEquals(0x1C, cache.actorJob(0x10000003L, null));
+
+        registry.flush();
+        assertEquals(Map.of("actor-id:10000002", 0x20, "actor-id:10000003", 0x1C), files.load("session-a"));
+        registry.flushOnShutdown();
+    }
+
+    @Test
+    void blankDirectory_keepsNothing() {
+        FileActorJobStore store = new FileActorJobStore("");
+
+        store.save("local", Map.of("actor-id:1", 0x20));
+
+        assertTrue(store.load("local").isEmpty());
+    }
+
+    private static ActorJobCache loaded(ActorJobCache cache) throws InterruptedException {
+        assertTrue(cache.awaitLoaded(5, TimeUnit.SECONDS));
+        return cache;
+    }
+}
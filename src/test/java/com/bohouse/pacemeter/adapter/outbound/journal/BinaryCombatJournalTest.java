@@ -0,0 +1,361 @@
+package com.bohouse.pacemeter.adapter.outbound.journal;
+
+import com.bohouse.pacemeter.adapter.inbound.actws.NetworkAbilityRaw;
+import com.bohouse.pacemeter.adapter.inbound.actws.PartyList;
+import com.bohouse.pacemeter.adapter.inbound.actws.PrimaryPlayerChanged;
+import com.bohouse.pacemeter.adapter.inbound.actws.ZoneChanged;
+import com.bohouse.pacemeter.adapter.outbound.fflogsapi.FflogsZoneLookup;
+import com.bohouse.pacemeter.application.ActIngestionService;
+import com.bohouse.pacemeter.application.ActorJobCache;
+import com.bohouse.pacemeter.application.CombatService;
+import com.bohouse.pacemeter.application.port.outbound.CombatJournal;
+import com.bohouse.pacemeter.application.port.outbound.CombatJournalStore;
+import com.bohouse.pacemeter.core.engine.CombatEngine;
+import com.bohouse.pacemeter.core.event.CombatEvent;
+import com.bohouse.pacemeter.core.model.ActorId;
+import com.bohouse.pacemeter.core.model.BuffId;
+import com.bohouse.pacemeter.core.model.CombatState;
+import com.bohouse.pacemeter.core.model.DamageType;
+import com.bohouse.pacemeter.core.snapshot.OverlaySnapshot;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinaryCombatJournalTest {
+
+    @Test
+    void recover_rebuildsSameStateAsLiveEngine() throws IOException {
+        Path tempDir = Files.createTempDirectory("combat-journal-test");
+        FileCombatJournalStore store = new FileCombatJournalStore(tempDir.toString());
+        CombatEngine live = new CombatEngine();
+        CombatService service = new CombatService(
+                live,
+                snapshot -> {
+                },
+                (fightName, territoryId) -> Optional.empty(),
+                territoryId -> Optional.empty(),
+                store.open("session-1")
+        );
+        service.setCurrentPlayerId(new ActorId(1));
+        service.setJobId(new ActorId(1), 21);
+        service.setOwner(new ActorId(0x40000001L), new ActorId(2));
+        for (CombatEvent event : fight()) {
+            service.onEvent(event);
+        }
+        store.closeAll();
+
+        CombatEngine recovered = new CombatEngine();
+        CombatJournalStore.Recovery recovery = store.recover("session-1", recovered);
+
+        assertTrue(recovery.entries() > fight().size());
+        assertNotNull(recovery.snapshot());
+        assertSameSnapshot(live.snapshotCurrent(false), recovered.snapshotCurrent(false));
+    }
+
+    @Test
+    void recover_midFight_ingestionResumesTheFightInsteadOfStartingOver() throws IOException {
+        Path tempDir = Files.createTempDirectory("combat-journal-test");
+        FileCombatJournalStore store = new FileCombatJournalStore(tempDir.toString());
+        Instant base = Instant.parse("2026-02-11T12:00:00Z");
+        ActIngestionService live = ingestion(new CombatEngine(), store.open("relay-1"));
+        live.onParsed(new ZoneChanged(base, 1, "Test Zone"));
+        live.onParsed(new PrimaryPlayerChanged(base, 0x1000000AL, "Warrior"));
+        live.onParsed(new PartyList(base, List.of(0x1000000AL)));
+        live.onParsed(fastBlade(base.plusMillis(100), 5_000));
+        live.onParsed(fastBlade(base.plusMillis(1_100), 6_000));
+        store.closeAll();
+
+        CombatEngine recovered = new CombatEngine();
+        CombatJournalStore.Recovery recovery = store.recover("relay-1", recovered);
+        assertNotNull(recovery.resumePoint());
+        assertEquals(base.plusMillis(100).toEpochMilli(), recovery.resumePoint().anchor().fightStartEpochMs());
+        assertEquals(0x1000000AL, recovery.resumePoint().anchor().playerId());
+        assertEquals(List.of(0x1000000AL), recovery.resumePoint().anchor().partyMemberIds());
+        assertEquals(1_000L, recovery.resumePoint().elapsedMs());
+
+        ActIngestionService resumed = ingestion(recovered, store.open("relay-1"));
+        resumed.resumeFight(recovery.resumePoint());
+        resumed.onParsed(fastBlade(base.plusMillis(2_100), 7_000));
+        store.closeAll();
+
+        assertEquals(CombatState.Phase.ACTIVE, recovered.currentState().phase());
+        assertEquals(18_000L, recovered.currentState().totalPartyDamage());
+        assertEquals(2_000L, recovered.currentState().elapsedMs());
+        assertEquals("Test Zone", recovered.currentState().fightName());
+    }
+
+    @Test
+    void recover_midFight_resumedTicksContinueFromTheRecoveredClock() throws IOException {
+        Path tempDir = Files.createTempDirectory("combat-journal-test");
+        FileCombatJournalStore store = new FileCombatJournalStore(tempDir.toString());
+        Instant base = Instant.parse("2026-02-11T12:00:00Z");
+        ActIngestionService live = ingestion(new CombatEngine(), store.open("relay-1"));
+        live.onParsed(new PrimaryPlayerChanged(base, 0x1000000AL, "Warrior"));
+        live.onParsed(new PartyList(base, List.of(0x1000000AL)));
+        live.onParsed(fastBlade(base.plusMillis(100), 5_000));
+        live.onParsed(fastBlade(base.plusMillis(1_100), 6_000));
+        store.closeAll();
+
+        CombatEngine recovered = new CombatEngine();
+        CombatJournalStore.Recovery recovery = store.recover("relay-1", recovered);
+        ActIngestionService resumed = ingestion(recovered, store.open("relay-1"));
+        resumed.resumeFight(recovery.resumePoint());
+        // 로컬 스트림에서는 TickDriver가 복구가 끝난 뒤에 틱을 켠다
+        resumed.enableEventTimeTicks();
+        resumed.onWallClockTick();
+        resumed.onParsed(fastBlade(base.plusMillis(2_100), 7_000));
+        store.closeAll();
+
+        List<CombatJournalCodec.Entry> entries = entries(store.fileFor("relay-1"));
+        int lastSegment = -1;
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i) instanceof CombatJournalCodec.SegmentEntry) {
+                lastSegment = i;
+            }
+        }
+        List<Long> resumedTicks = entries.subList(lastSegment + 1, entries.size()).stream()
+                .filter(entry -> entry instanceof CombatJournalCodec.EventEntry e && e.event() instanceof CombatEvent.Tick)
+                .map(entry -> ((CombatJournalCodec.EventEntry) entry).event().timestampMs())
+                .toList();
+        assertEquals(List.of(1_100L, 1_200L, 1_300L, 1_400L, 1_500L, 1_600L, 1_700L, 1_800L, 1_900L, 2_000L),
+                resumedTicks);
+        assertEquals(2_000L, recovered.currentState().elapsedMs());
+    }
+
+    @Test
+    void fightStart_startsANewFileThatStillRecoversTheSameState() throws IOException {
+        Path tempDir = Files.createTempDirectory("combat-journal-test");
+        FileCombatJournalStore store = new FileCombatJournalStore(tempDir.toString());
+        CombatEngine live = new CombatEngine();
+        CombatService service = new CombatService(
+                live,
+                snapshot -> {
+                },
+                (fightName, territoryId) -> Optional.empty(),
+                territoryId -> Optional.empty(),
+                store.open("session-1")
+        );
+        service.setCurrentPlayerId(new ActorId(1));
+        service.setJobId(new ActorId(1), 21);
+        service.setOwner(new ActorId(0x40000009L), new ActorId(1));
+        for (CombatEvent event : fight()) {
+            service.onEvent(event);
+        }
+        store.syncJournals();
+        long firstFightBytes = Files.size(store.fileFor("session-1"));
+
+        service.clearCombatantContext();
+        service.setJobId(new ActorId(1), 21);
+        service.setJobId(new ActorId(2), 27);
+        service.setOwner(new ActorId(0x40000001L), new ActorId(2));
+        List<CombatEvent> secondFight = fight();
+        for (CombatEvent event : secondFight.subList(0, 100)) {
+            service.onEvent(event);
+        }
+        store.syncJournals();
+        for (CombatEvent event : secondFight.subList(100, secondFight.size())) {
+            service.onEvent(event);
+        }
+        store.closeAll();
+
+        // 첫 전투는 사라지고 설정과 두 번째 전투만 남는다
+        List<CombatJournalCodec.Entry> entries = entries(store.fileFor("session-1"));
+        assertEquals(List.of(
+                new CombatJournalCodec.CurrentPlayerEntry(new ActorId(1)),
+                new CombatJournalCodec.JobEntry(new ActorId(1), 21),
+                new CombatJournalCodec.JobEntry(new ActorId(2), 27),
+                new CombatJournalCodec.OwnerEntry(new ActorId(0x40000001L), new ActorId(2)),
+                new CombatJournalCodec.EventEntry(secondFight.get(0))
+        ), entries.subList(0, 5));
+        assertEquals(secondFight.size() + 4, entries.size());
+        assertTrue(Files.size(store.fileFor("session-1")) < firstFightBytes + 64);
+        assertFalse(Files.exists(tempDir.resolve("session-1.journal.next")));
+
+        CombatEngine recovered = new CombatEngine();
+        store.recover("session-1", recovered);
+        assertSameSnapshot(live.snapshotCurrent(false), recovered.snapshotCurrent(false));
+    }
+
+    @Test
+    void scan_readsRecordsLargerThanTheReadBufferInOnePass() throws IOException {
+        Path file = Files.createTempDirectory("combat-journal-test").resolve("large.journal");
+        List<CombatEvent> events = new ArrayList<>(fight());
+        events.add(1, new CombatEvent.ActorJoined(0, new ActorId(3), "x".repeat(200_000)));
+        BinaryCombatJournal journal = BinaryCombatJournal.open(file);
+        for (CombatEvent event : events) {
+            journal.recordEvent(event);
+        }
+        journal.close();
+        long size = Files.size(file);
+
+        List<CombatEvent> decoded = new ArrayList<>();
+        CombatJournalReader.Scan scan = CombatJournalReader.scan(
+                file, entry -> decoded.add(((CombatJournalCodec.EventEntry) entry).event()));
+        assertEquals(events, decoded);
+        assertEquals(size, scan.validLength());
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+        CombatJournalReader.Scan torn = CombatJournalReader.scan(file, entry -> {
+        });
+        assertEquals(events.size() - 1, torn.entries());
+        assertTrue(torn.validLength() < size - 3);
+    }
+
+    @Test
+    void open_dropsTornTailAndKeepsAppending() throws IOException {
+        Path file = Files.createTempDirectory("combat-journal-test").resolve("torn.journal");
+        List<CombatEvent> events = fight();
+        BinaryCombatJournal journal = BinaryCombatJournal.open(file);
+        for (CombatEvent event : events.subList(0, 10)) {
+            journal.recordEvent(event);
+        }
+        journal.close();
+
+        // 마지막 레코드 중간에서 프로세스가 죽은 것처럼 끝을 자른다
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+        assertEquals(9, countEvents(file));
+
+        BinaryCombatJournal reopened = BinaryCombatJournal.open(file);
+        reopened.recordEvent(events.get(10));
+        reopened.close();
+
+        List<CombatJournalCodec.Entry> entries = entries(file);
+        assertEquals(11, entries.size());
+        assertInstanceOf(CombatJournalCodec.SegmentEntry.class, entries.get(9));
+        assertEquals(events.get(10), ((CombatJournalCodec.EventEntry) entries.get(10)).event());
+    }
+
+    @Test
+    void recordEvent_onlyBuffers_flushWritesAndSyncsTheFile() throws IOException {
+        Path file = Files.createTempDirectory("combat-journal-test").resolve("flush.journal");
+        List<CombatEvent> events = fight();
+        BinaryCombatJournal journal = BinaryCombatJournal.open(file);
+        for (CombatEvent event : events) {
+            journal.recordEvent(event);
+        }
+
+        // 기록 경로는 파일을 건드리지 않는다
+        assertEquals(0L, Files.size(file));
+
+        journal.flush();
+        assertEquals(events.size(), countEvents(file));
+
+        journal.recordEvent(new CombatEvent.Tick(60_000));
+        assertEquals(events.size(), countEvents(file));
+        journal.close();
+        assertEquals(events.size() + 1, countEvents(file));
+    }
+
+    @Test
+    void recordEvent_roundTripsEventsCompactly() throws IOException {
+        Path file = Files.createTempDirectory("combat-journal-test").resolve("compact.journal");
+        List<CombatEvent> events = fight();
+        BinaryCombatJournal journal = BinaryCombatJournal.open(file);
+        for (CombatEvent event : events) {
+            journal.recordEvent(event);
+        }
+        journal.close();
+
+        List<CombatEvent> decoded = new ArrayList<>();
+        CombatJournalReader.scan(file, entry -> decoded.add(((CombatJournalCodec.EventEntry) entry).event()));
+        assertEquals(events, decoded);
+
+        // 이름은 문자열 테이블로 한 번만 쓰므로 CRC를 포함해도 이벤트 하나가 평균 24바이트를 넘지 않는다
+        assertTrue(Files.size(file) < events.size() * 24L, () -> "size=" + sizeOf(file));
+    }
+
+    private static List<CombatEvent> fight() {
+        List<CombatEvent> events = new ArrayList<>();
+        events.add(new CombatEvent.FightStart(0, "Journal Fight", 1234, 21));
+        events.add(new CombatEvent.ActorJoined(0, new ActorId(1), "Warrior"));
+        events.add(new CombatEvent.ActorJoined(0, new ActorId(2), "Summoner"));
+        events.add(new CombatEvent.BossIdentified(0, new ActorId(0x40001000L), "Boss", 50_000_000L));
+        events.add(new CombatEvent.BuffApply(500, new ActorId(2), new ActorId(1), new BuffId(0x31D), "Searing Light", 20_000));
+        for (int i = 1; i <= 200; i++) {
+            long ts = i * 250L;
+            events.add(new CombatEvent.DamageEvent(
+                    ts, new ActorId(1), "Warrior", new ActorId(0x40001000L), 0x6E, "Fell Cleave",
+                    10_000L + i, DamageType.DIRECT, i % 4 == 0, i % 5 == 0));
+            events.add(new CombatEvent.DamageEvent(
+                    ts + 10, new ActorId(0x40000001L), "Carbuncle", new ActorId(0x40001000L), 0x4B0, "Pet Attack",
+                    3_000L, DamageType.PET, false, false));
+            if (i % 4 == 0) {
+                events.add(new CombatEvent.Tick(ts + 50));
+            }
+        }
+        events.add(new CombatEvent.BuffRemove(20_500, new ActorId(2), new ActorId(1), new BuffId(0x31D), "Searing Light"));
+        events.add(new CombatEvent.ActorDeath(49_000, new ActorId(2), "Summoner"));
+        events.add(new CombatEvent.FightEnd(50_100, true));
+        return events;
+    }
+
+    private static ActIngestionService ingestion(CombatEngine engine, CombatJournal journal) {
+        CombatService combatService = new CombatService(
+                engine,
+                snapshot -> {
+                },
+                (fightName, territoryId) -> Optional.empty(),
+                territoryId -> Optional.empty(),
+                journal
+        );
+        ActIngestionService ingestion = new ActIngestionService(
+                combatService, combatService, new FflogsZoneLookup(new ObjectMapper()));
+        ActorJobCache jobCache = new ActorJobCache();
+        jobCache.rememberPlayerJob(0x1000000AL, "Warrior", 0x15);
+        ingestion.setJobCache(jobCache);
+        return ingestion;
+    }
+
+    private static NetworkAbilityRaw fastBlade(Instant ts, long damage) {
+        return new NetworkAbilityRaw(ts, 21, 0x1000000AL, "Warrior",
+                0xB4, "Fast Blade", 0x40000001L, "Training Dummy", false, false, damage, "21|...|raw");
+    }
+
+    private static long countEvents(Path file) throws IOException {
+        return CombatJournalReader.scan(file, entry -> {
+        }).entries();
+    }
+
+    private static List<CombatJournalCodec.Entry> entries(Path file) throws IOException {
+        List<CombatJournalCodec.Entry> entries = new ArrayList<>();
+        CombatJournalReader.scan(file, entries::add);
+        return entries;
+    }
+
+    private static long sizeOf(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return -1L;
+        }
+    }
+
+    private static void assertSameSnapshot(OverlaySnapshot expected, OverlaySnapshot actual) {
+        assertEquals(expected.fightName(), actual.fightName());
+        assertEquals(expected.phase(), actual.phase());
+        assertEquals(expected.elapsedMs(), actual.elapsedMs());
+        assertEquals(expected.totalPartyDamage(), actual.totalPartyDamage());
+        assertEquals(expected.actors().size(), actual.actors().size());
+        for (int i = 0; i < expected.actors().size(); i++) {
+            assertEquals(expected.actors().get(i).actorId(), actual.actors().get(i).actorId());
+            assertEquals(expected.actors().get(i).totalDamage(), actual.actors().get(i).totalDamage());
+            assertEquals(expected.actors().get(i).jobId(), actual.actors().get(i).jobId());
+            assertEquals(expected.actors().get(i).isCurrentPlayer(), actual.actors().get(i).isCurrentPlayer());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.bohouse.pacemeter.adapter.outbound.overlayws.mvc;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/** 보낸 메시지를 기록하는 테스트용 WebSocketSession. 전송 지연과 실패를 흉내 낼 수 있다. */
+final class FakeWebSocketSession implements WebSocketSession {
+    final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+    final AtomicLong sendCount = new AtomicLong();
+    volatile boolean failSends;
+    volatile boolean recordPayloads = true;
+    volatile long sendLatencyNanos;
+    volatile Consumer<WebSocketMessage<?>> onSend = message -> {
+    };
+
+    private final String id;
+    private final URI uri;
+    private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+    private volatile boolean open = true;
+
+    FakeWebSocketSession(String id) {
+        this(id, null);
+    }
+
+    FakeWebSocketSession(String id, String query) {
+        this.id = id;
+        this.uri = URI.create("ws://localhost/overlay/ws" + (query == null ? "" : "?" + query));
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (failSends) {
+            throw new IOException("broken pipe");
+        }
+        if (sendLatencyNanos > 0) {
+            LockSupport.parkNanos(sendLatencyNanos);
+        }
+        sendCount.incrementAndGet();
+        if (recordPayloads) {
+            sent.add(message instanceof TextMessage text
+                    ? text.getPayload()
+                    : "binary:" + ((BinaryMessage) message).getPayloadLength());
+        }
+        onSend.accept(message);
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public URI getUri() {
+        return uri;
+    }
+
+    @Override
+    public HttpHeaders getHandshakeHeaders() {
+        return new HttpHeaders();
+    }
+
+    @Override
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public Principal getPrincipal() {
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getLocalAddress() {
+        return null;
+    }
+
+    @Override
+    public InetSocketAddress getRemoteAddress() {
+        return null;
+    }
+
+    @Override
+    public String getAcceptedProtocol() {
+        return null;
+    }
+
+    @Override
+    public void setTextMessageSizeLimit(int messageSizeLimit) {
+    }
+
+    @Override
+    public int getTextMessageSizeLimit() {
+        return 0;
+    }
+
+    @Override
+    public void setBinaryMessageSizeLimit(int messageSizeLimit) {
+    }
+
+    @Override
+    public int getBinaryMessageSizeLimit() {
+        return 0;
+    }
+
+    @Override
+    public List<WebSocketExtension> getExtensions() {
+        return List.of();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return open;
+    }
+
+    @Override
+    public void close() {
+        open = false;
+    }
+
+    @Override
+    public void close(CloseStatus status) {
+        open = false;
+    }
+}
@@ -0,0 +1,227 @@
+package com.bohouse.pacemeter.adapter.outbound.overlayws.mvc;
+
+import com.bohouse.pacemeter.core.estimator.Confidence;
+import com.bohouse.pacemeter.core.model.ActorId;
+import com.bohouse.pacemeter.core.model.CombatState;
+import com.bohouse.pacemeter.core.snapshot.ActorSnapshot;
+import com.bohouse.pacemeter.core.snapshot.OverlaySnapshot;
+import com.bohouse.pacemeter.core.snapshot.PaceComparison;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class OverlayCborCodecTest {
+
+    private static final String BENCHMARK_PROPERTY = "pacemeter.benchmarks";
+    private static final String BENCHMARK_ENV = "PACEMETER_RUN_BENCHMARKS";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void encode_legacyFrameUsesIntegerFieldIds() {
+        OverlaySnapshot snapshot = snapshot(1_100L, 8);
+
+        Map<?, ?> frame = (Map<?, ?>) decode(OverlayCborCodec.encode(OverlayFrameEncoder.legacy(snapshot)));
+
+        assertEquals("snapshot", frame.get(0L));
+        Map<?, ?> decoded = (Map<?, ?>) frame.get(4L);
+        assertEquals("test", decoded.get(10L));
+        assertEquals("ACTIVE", decoded.get(11L));
+        assertEquals(1_100L, decoded.get(12L));
+        assertEquals(50_000.0, (Double) decoded.get(15L), 0.0);
+        assertEquals(Boolean.FALSE, decoded.get(19L));
+
+        List<?> actors = (List<?>) decoded.get(6L);
+        assertEquals(8, actors.size());
+        Map<?, ?> actor = (Map<?, ?>) actors.get(0);
+        assertEquals(1L, actor.get(8L));
+        assertEquals("actor1", actor.get(20L));
+        assertEquals(12_356.678, (Double) actor.get(23L), 0.0);
+        assertEquals(-250L, ((Map<?, ?>) actor.get(36L)).get(43L));
+    }
+
+    @Test
+    void encode_confidenceSendsReasonCodesInsteadOfStrings() {
+        Confidence confidence = new Confidence.Builder()
+                .penalize(0.4, Confidence.Reason.FIGHT_UNDER_30S)
+                .penalize(0.1, Confidence.Reason.FEW_SAMPLES, 7)
+                .build();
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("rdpsConfidence", confidence);
+        frame.put("none", Confidence.none());
+
+        Map<?, ?> decoded = (Map<?, ?>) decode(OverlayCborCodec.encode(frame));
+
+        Map<?, ?> coded = (Map<?, ?>) decoded.get(25L);
+        assertEquals(0.5, (Double) coded.get(60L), 1e-9);
+        assertEquals(List.of(1L, 0L, 3L, 7L), coded.get(62L));
+        assertFalse(coded.containsKey(61L));
+        assertEquals(List.of("No data"), ((Map<?, ?>) decoded.get("none")).get(61L));
+    }
+
+    @Test
+    void encode_deltaFrameIsSmallerThanJson() {
+        Map<String, Object> delta = OverlayFrameEncoder.delta(snapshot(1_000L, 8), snapshot(1_100L, 8), 2L);
+
+        byte[] cbor = OverlayCborCodec.encode(delta);
+        byte[] json = objectMapper.writeValueAsBytes(delta);
+
+        Map<?, ?> decoded = (Map<?, ?>) decode(cbor);
+        assertEquals("delta", decoded.get(0L));
+        assertEquals(1L, decoded.get(3L));
+        assertTrue(cbor.length < json.length, () -> "cbor=" + cbor.length + " json=" + json.length);
+    }
+
+    @Test
+    void benchmark_reportsBytesPerFrameAndEncodeTimeAgainstJackson() {
+        assumeTrue(benchmarksEnabled(),
+                () -> "Enable with -D" + BENCHMARK_PROPERTY + "=true or " + BENCHMARK_ENV + "=true");
+
+        List<OverlaySnapshot> snapshots = new ArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            snapshots.add(snapshot(i * 100L, 8));
+        }
+        List<Map<String, Object>> legacyFrames = new ArrayList<>();
+        List<Map<String, Object>> deltaFrames = new ArrayList<>();
+        for (int i = 0; i < snapshots.size(); i++) {
+            legacyFrames.add(OverlayFrameEncoder.legacy(snapshots.get(i)));
+            if (i > 0) {
+                deltaFrames.add(OverlayFrameEncoder.delta(snapshots.get(i - 1), snapshots.get(i), i + 1));
+            }
+        }
+
+        report("legacy", legacyFrames);
+        report("delta", deltaFrames);
+    }
+
+    private void report(String label, List<Map<String, Object>> frames) {
+        for (int warmup = 0; warmup < 20; warmup++) {
+            for (Map<String, Object> frame : frames) {
+                objectMapper.writeValueAsBytes(frame);
+                OverlayCborCodec.encode(frame);
+            }
+        }
+
+        long jsonBytes = 0;
+        long jsonStart = System.nanoTime();
+        for (Map<String, Object> frame : frames) {
+            jsonBytes += objectMapper.writeValueAsBytes(frame).length;
+        }
+        long jsonNanos = System.nanoTime() - jsonStart;
+
+        long cborBytes = 0;
+        long cborStart = System.nanoTime();
+        for (Map<String, Object> frame : frames) {
+            cborBytes += OverlayCborCodec.encode(frame).length;
+        }
+        long cborNanos = System.nanoTime() - cborStart;
+
+        System.out.printf("[overlay-encoding] %s frames=%d json=%d B/frame %.1f us/frame, cbor=%d B/frame %.1f us/frame%n",
+                label, frames.size(),
+                jsonBytes / frames.size(), jsonNanos / 1_000.0 / frames.size(),
+                cborBytes / frames.size(), cborNanos / 1_000.0 / frames.size());
+        assertTrue(cborBytes < jsonBytes);
+    }
+
+    private static boolean benchmarksEnabled() {
+        return Boolean.getBoolean(BENCHMARK_PROPERTY)
+                || "true".equalsIgnoreCase(System.getenv(BENCHMARK_ENV));
+    }
+
+    private static OverlaySnapshot snapshot(long elapsedMs, int actorCount) {
+        List<ActorSnapshot> actors = new ArrayList<>();
+        for (int i = 1; i <= actorCount; i++) {
+            double dps = 12_345.678 * i + elapsedMs / 100.0;
+            Confidence confidence = new Confidence.Builder()
+                    .penalize(0.3, Confidence.Reason.FIGHT_UNDER_60S)
+                    .penalize(0.1, Confidence.Reason.FEW_SAMPLES, elapsedMs / 1000)
+                    .build();
+            PaceComparison pace = new PaceComparison("best", 1_000_000L, 999_750L, -250L, -0.025, 600_000L, 610_000L);
+            actors.add(new ActorSnapshot(
+                    new ActorId(i), "actor" + i, 19 + i, 1_000_000L + elapsedMs * i, dps, dps * 1.02,
+                    confidence, 0.125, 100 + (int) (elapsedMs / 1000), 0.2, 0.3, 0.06, 0, 50_000L,
+                    "Fell Cleave", dps * 0.9, i == 1, pace, false
+            ));
+        }
+        return new OverlaySnapshot(
+                "test",
+                CombatState.Phase.ACTIVE,
+                elapsedMs,
+                "00:01",
+                8_000_000L,
+                50_000.0,
+                50_000.0,
+                actors,
+                null,
+                null,
+                false
+        );
+    }
+
+    /** 테스트용 최소 CBOR 디코더. 코덱이 쓰는 타입만 읽는다. */
+    private static Object decode(byte[] bytes) {
+        return new Reader(ByteBuffer.wrap(bytes)).read();
+    }
+
+    private record Reader(ByteBuffer in) {
+        Object read() {
+            int initial = in.get() & 0xFF;
+            int major = initial >>> 5;
+            int info = initial & 0x1F;
+            if (major == 7) {
+                return switch (initial) {
+                    case 0xF4 -> Boolean.FALSE;
+                    case 0xF5 -> Boolean.TRUE;
+                    case 0xF6 -> null;
+                    case 0xFA -> (double) in.getFloat();
+                    case 0xFB -> in.getDouble();
+                    default -> throw new IllegalStateException("unexpected simple value " + initial);
+                };
+            }
+            long argument = argument(info);
+            return switch (major) {
+                case 0 -> argument;
+                case 1 -> -1 - argument;
+                case 3 -> {
+                    byte[] text = new byte[(int) argument];
+                    in.get(text);
+                    yield new String(text, StandardCharsets.UTF_8);
+                }
+                case 4 -> {
+                    List<Object> list = new ArrayList<>();
+                    for (long i = 0; i < argument; i++) {
+                        list.add(read());
+                    }
+                    yield list;
+                }
+                case 5 -> {
+                    Map<Object, Object> map = new LinkedHashMap<>();
+                    for (long i = 0; i < argument; i++) {
+                        map.put(read(), read());
+                    }
+                    yield map;
+                }
+                default -> throw new IllegalStateException("unexpected major type " + major);
+            };
+        }
+
+        private long argument(int info) {
+            return switch (info) {
+                case 24 -> in.get() & 0xFFL;
+                case 25 -> in.getShort() & 0xFFFFL;
+                case 26 -> in.getInt() & 0xFFFF_FFFFL;
+                case 27 -> in.getLong();
+                default -> info;
+            };
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.bohouse.pacemeter.adapter.outbound.overlayws.mvc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OverlayClientOutboxTest {
+
+    private final ManualExecutor executor = new ManualExecutor();
+    private final FakeWebSocketSession session = new FakeWebSocketSession("test");
+    private final List<OverlayClientOutbox> failures = new ArrayList<>();
+    private OverlayFrame latestKeyframe;
+
+    @Test
+    void offer_keepsOnlyLatestLegacyFrameWhileSendIsPending() {
+        OverlayClientOutbox outbox = outbox(1);
+
+        outbox.offer(frame(0, OverlayFrame.Kind.LEGACY, "a"));
+        outbox.offer(frame(0, OverlayFrame.Kind.LEGACY, "b"));
+        outbox.offer(frame(0, OverlayFrame.Kind.LEGACY, "c"));
+
+        assertEquals(1, executor.tasks.size());
+        executor.runAll();
+        assertEquals(List.of("c"), session.sent);
+    }
+
+    @Test
+    void offer_replacesSkippedDeltasWithLatestKeyframe() {
+        OverlayClientOutbox outbox = outbox(2);
+
+        outbox.offer(frame(2, OverlayFrame.Kind.DELTA, "d2"));
+        outbox.offer(frame(3, OverlayFrame.Kind.DELTA, "d3"));
+        latestKeyframe = frame(3, OverlayFrame.Kind.KEYFRAME, "k3");
+
+        executor.runAll();
+        assertEquals(List.of("k3"), session.sent);
+
+        outbox.offer(frame(4, OverlayFrame.Kind.DELTA, "d4"));
+        executor.runAll();
+        assertEquals(List.of("k3", "d4"), session.sent);
+    }
+
+    @Test
+    void requestKeyframe_sendsNothingUntilStreamHasSnapshot() {
+        OverlayClientOutbox outbox = outbox(2);
+
+        outbox.requestKeyframe();
+        executor.runAll();
+        assertTrue(session.sent.isEmpty());
+
+        outbox.offer(frame(1, OverlayFrame.Kind.KEYFRAME, "k1"));
+        executor.runAll();
+        assertEquals(List.of("k1"), session.sent);
+    }
+
+    @Test
+    void drain_reportsFailureWhenSendThrows() {
+        OverlayClientOutbox outbox = outbox(1);
+        session.failSends = true;
+
+        outbox.offer(frame(0, OverlayFrame.Kind.LEGACY, "a"));
+        executor.runAll();
+
+        assertEquals(List.of(outbox), failures);
+    }
+
+    private OverlayClientOutbox outbox(int protocolVersion) {
+        return new OverlayClientOutbox(
+                session, protocolVersion, OverlayEncoding.JSON, OverlayRate.FULL,
+                new Object(), () -> latestKeyframe, executor, failures::add);
+    }
+
+    private static OverlayFrame frame(long seq, OverlayFrame.Kind kind, String payload) {
+        return new OverlayFrame(seq, kind, new TextMessage(payload));
+    }
+
+    private static final class ManualExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        private void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) {
+                task.run();
+            }
+        }
+    }
+}
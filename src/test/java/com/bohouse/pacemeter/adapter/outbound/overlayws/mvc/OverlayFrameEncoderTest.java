@@ -0,0 +1,106 @@
+package com.bohouse.pacemeter.adapter.outbound.overlayws.mvc;
+
+import com.bohouse.pacemeter.core.estimator.Confidence;
+import com.bohouse.pacemeter.core.model.ActorId;
+import com.bohouse.pacemeter.core.model.CombatState;
+import com.bohouse.pacemeter.core.snapshot.ActorSnapshot;
+import com.bohouse.pacemeter.core.snapshot.OverlaySnapshot;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OverlayFrameEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void next_sendsKeyframeFirstThenDeltaWithOnlyChangedActorFields() {
+        OverlayFrameEncoder encoder = new OverlayFrameEncoder();
+
+        OverlayFrameEncoder.EncodedFrame first = encoder.next(snapshot(1_000L, actor(1L, "warrior", 10_000.0)));
+        OverlayFrameEncoder.EncodedFrame second = encoder.next(snapshot(1_100L, actor(1L, "warrior", 12_000.0)));
+
+        assertTrue(first.keyframe());
+        assertFalse(second.keyframe());
+        Map<?, ?> delta = parse(second.body());
+        assertEquals("delta", delta.get("type"));
+        assertEquals(2, ((Number) delta.get("seq")).intValue());
+        assertEquals(1, ((Number) delta.get("base")).intValue());
+        assertEquals(Map.of("elapsedMs", 1_100), delta.get("set"));
+
+        List<?> actors = (List<?>) delta.get("actors");
+        Map<?, ?> actorDelta = (Map<?, ?>) actors.get(0);
+        assertEquals(1, ((Number) actorDelta.get("id")).intValue());
+        assertEquals(12_000.0, ((Number) actorDelta.get("dps")).doubleValue(), 0.001);
+        assertFalse(actorDelta.containsKey("name"));
+        assertFalse(actorDelta.containsKey("rdpsConfidence"));
+        assertFalse(delta.containsKey("order"));
+    }
+
+    @Test
+    void next_sendsFullFieldsAndOrderForNewActor() {
+        OverlayFrameEncoder encoder = new OverlayFrameEncoder();
+        encoder.next(snapshot(1_000L, actor(1L, "warrior", 10_000.0)));
+
+        OverlayFrameEncoder.EncodedFrame frame = encoder.next(snapshot(
+                1_000L,
+                actor(2L, "bard", 15_000.0),
+                actor(1L, "warrior", 10_000.0)
+        ));
+
+        Map<?, ?> delta = parse(frame.body());
+        assertFalse(delta.containsKey("set"));
+        List<?> actors = (List<?>) delta.get("actors");
+        assertEquals(1, actors.size());
+        assertEquals("bard", ((Map<?, ?>) actors.get(0)).get("name"));
+        assertEquals(List.of(2, 1), delta.get("order"));
+    }
+
+    @Test
+    void next_emitsPeriodicKeyframeAndKeyframeTracksLatestSequence() {
+        OverlayFrameEncoder encoder = new OverlayFrameEncoder();
+        encoder.next(snapshot(0L, actor(1L, "warrior", 1.0)));
+        for (int i = 1; i < OverlayFrameEncoder.KEYFRAME_INTERVAL_FRAMES; i++) {
+            assertFalse(encoder.next(snapshot(i * 100L, actor(1L, "warrior", 1.0 + i))).keyframe());
+        }
+
+        assertTrue(encoder.next(snapshot(10_000L, actor(1L, "warrior", 99.0))).keyframe());
+
+        encoder.remember(snapshot(10_100L, actor(1L, "warrior", 100.0)));
+        Map<?, ?> keyframe = parse(encoder.keyframe());
+        assertEquals("keyframe", keyframe.get("type"));
+        assertEquals(encoder.seq(), ((Number) keyframe.get("seq")).longValue());
+        assertEquals(10_100, ((Number) ((Map<?, ?>) keyframe.get("snapshot")).get("elapsedMs")).intValue());
+    }
+
+    private Map<?, ?> parse(Map<String, Object> body) {
+        return objectMapper.readValue(objectMapper.writeValueAsString(body), Map.class);
+    }
+
+    private static OverlaySnapshot snapshot(long elapsedMs, ActorSnapshot... actors) {
+        return new OverlaySnapshot(
+                "test",
+                CombatState.Phase.ACTIVE,
+                elapsedMs,
+                elapsedMs < 60_000 ? "00:0" + (elapsedMs / 1000) : "01:00",
+                1_000_000L,
+                50_000.0,
+                50_000.0,
+                List.of(actors),
+                null,
+                null,
+                false
+        );
+    }
+
+    private static ActorSnapshot actor(long id, String name, double dps) {
+        return new ActorSnapshot(
+                new ActorId(id), name, 21, 1_000_000L, dps, dps, Confidence.none(), 0.5,
+                100, 0.2, 0.3, 0.06, 0, 50_000L, "Fell Cleave", dps, false, null, false
+        );
+    }
+}
@@ -0,0 +1,27 @@
+package com.bohouse.pacemeter.adapter.outbound.overlayws.mvc;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OverlayRateTest {
+
+    @Test
+    void fromParam_roundsDownToSupportedTier() {
+        assertEquals(OverlayRate.FULL, OverlayRate.fromParam(null));
+        assertEquals(OverlayRate.FULL, OverlayRate.fromParam("10"));
+        assertEquals(OverlayRate.FULL, OverlayRate.fromParam("60"));
+        assertEquals(OverlayRate.HZ_5, OverlayRate.fromParam("7.5"));
+        assertEquals(OverlayRate.HZ_5, OverlayRate.fromParam("5"));
+        assertEquals(OverlayRate.HZ_2, OverlayRate.fromParam("3"));
+        assertEquals(OverlayRate.HZ_2, OverlayRate.fromParam("1"));
+        assertEquals(OverlayRate.FULL, OverlayRate.fromParam("fast"));
+    }
+
+    @Test
+    void minInterval_matchesFrameRate() {
+        assertEquals(0L, OverlayRate.FULL.minIntervalNanos());
+        assertEquals(200_000_000L, OverlayRate.HZ_5.minIntervalNanos());
+        assertEquals(500_000_000L, OverlayRate.HZ_2.minIntervalNanos());
+    }
+}
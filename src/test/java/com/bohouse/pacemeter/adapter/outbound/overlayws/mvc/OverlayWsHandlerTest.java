@@ -0,0 +1,95 @@
+package com.bohouse.pacemeter.adapter.outbound.overlayws.mvc;
+
+import com.bohouse.pacemeter.core.model.CombatState;
+import com.bohouse.pacemeter.core.snapshot.OverlaySnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.CloseStatus;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OverlayWsHandlerTest {
+
+    @Test
+    void relayStream_isRemovedWhenLastSubscriberLeaves() throws Exception {
+        OverlayWsHandler handler = new OverlayWsHandler(new ObjectMapper());
+        FakeWebSocketSession first = new FakeWebSocketSession("viewer-1", "sessionId=streamer");
+        FakeWebSocketSession second = new FakeWebSocketSession("viewer-2", "sessionId=streamer");
+        handler.afterConnectionEstablished(first);
+        handler.afterConnectionEstablished(second);
+        assertEquals(1, handler.streamCount());
+
+        handler.afterConnectionClosed(first, CloseStatus.NORMAL);
+        assertEquals(1, handler.streamCount());
+        handler.afterConnectionClosed(second, CloseStatus.NORMAL);
+        assertEquals(0, handler.streamCount());
+
+        handler.publishToSession("streamer", snapshot(1_000L));
+        assertEquals(0, handler.streamCount());
+
+        FakeWebSocketSession returning = new FakeWebSocketSession("viewer-3", "sessionId=streamer");
+        handler.afterConnectionEstablished(returning);
+        handler.publishToSession("streamer", snapshot(2_000L));
+        long deadline = System.nanoTime() + 2_000_000_000L;
+        while (returning.sendCount.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, handler.streamCount());
+        assertTrue(returning.sendCount.get() > 0);
+        handler.shutdown();
+    }
+
+    @Test
+    void globalStream_staysWithoutSubscribers() throws Exception {
+        OverlayWsHandler handler = new OverlayWsHandler(new ObjectMapper());
+        FakeWebSocketSession session = new FakeWebSocketSession("viewer-1");
+        handler.afterConnectionEstablished(session);
+        handler.afterConnectionClosed(session, CloseStatus.NORMAL);
+
+        assertEquals(1, handler.streamCount());
+        handler.shutdown();
+    }
+
+    @Test
+    void shutdown_stopsSendThreads() throws Exception {
+        // 같은 JVM에서 앞서 돈 테스트가 남긴 송신 스레드는 빼고 이 핸들러의 스레드만 본다
+        Set<Thread> before = sendThreads();
+        OverlayWsHandler handler = new OverlayWsHandler(new ObjectMapper());
+        FakeWebSocketSession session = new FakeWebSocketSession("viewer-1", "sessionId=streamer");
+        handler.afterConnectionEstablished(session);
+        handler.publishToSession("streamer", snapshot(1_000L));
+
+        handler.shutdown();
+
+        Set<Thread> leftover = sendThreads();
+        leftover.removeAll(before);
+        // 실행기가 종료된 뒤에도 작업 스레드는 빠져나오는 중일 수 있다
+        for (Thread thread : leftover) {
+            thread.join(1_000L);
+        }
+        leftover.removeIf(thread -> !thread.isAlive());
+        assertTrue(leftover.isEmpty(), () -> "alive: " + leftover);
+    }
+
+    private static Set<Thread> sendThreads() {
+        Set<Thread> threads = new HashSet<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().startsWith("overlay-ws-send-") && thread.isAlive()) {
+                threads.add(thread);
+            }
+        }
+        return threads;
+    }
+
+    private static OverlaySnapshot snapshot(long elapsedMs) {
+        return new OverlaySnapshot(
+                "test", CombatState.Phase.ACTIVE, elapsedMs, "0:01", 0L, 0.0, 0.0,
+                List.of(), null, null, false
+        );
+    }
+}
@@ -0,0 +1,139 @@
+package com.bohouse.pacemeter.adapter.outbound.overlayws.mvc;
+
+import com.bohouse.pacemeter.adapter.outbound.overlayws.topic.InProcessSnapshotTopic;
+import com.bohouse.pacemeter.core.estimator.Confidence;
+import com.bohouse.pacemeter.core.model.ActorId;
+import com.bohouse.pacemeter.core.model.CombatState;
+import com.bohouse.pacemeter.core.snapshot.ActorSnapshot;
+import com.bohouse.pacemeter.core.snapshot.OverlaySnapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 릴레이 세션 하나를 시청자 여럿이 보는 상황의 부하 테스트.
+ *
+ * 엔진 역할 스레드가 10Hz로 스냅샷 토픽에 올리고, 브로드캐스터가 가짜 소켓(전송 지연 포함)으로 나눠 준다.
+ * 엔진 쪽 publish 지연, 토픽에서 합쳐진 수, 시청자당 받은 프레임 수, 발행→수신 지연을 출력한다.
+ *
+ * -Dpacemeter.loadTests=true 로 켠다. 시청자 수/시간/전송 지연은
+ * -Dpacemeter.loadTest.viewers, .seconds, .sendLatencyMicros 로 바꾼다.
+ */
+class SpectatorFanoutLoadTest {
+
+    private static final String ENABLE_PROPERTY = "pacemeter.loadTests";
+    private static final String ENABLE_ENV = "PACEMETER_RUN_LOAD_TESTS";
+    private static final String RELAY_SESSION_ID = "streamer";
+
+    @Test
+    void fanOut_keepsEnginePublishCheapWithManyViewers() throws Exception {
+        assumeTrue(loadTestsEnabled(),
+                () -> "Enable with -D" + ENABLE_PROPERTY + "=true or " + ENABLE_ENV + "=true");
+        int viewers = Integer.getInteger("pacemeter.loadTest.viewers", 500);
+        int seconds = Integer.getInteger("pacemeter.loadTest.seconds", 10);
+        long sendLatencyNanos = TimeUnit.MICROSECONDS.toNanos(Integer.getInteger("pacemeter.loadTest.sendLatencyMicros", 200));
+
+        InProcessSnapshotTopic topic = new InProcessSnapshotTopic();
+        topic.start();
+        OverlayWsHandler handler = new OverlayWsHandler(new ObjectMapper());
+        new OverlayBroadcaster(topic, handler);
+
+        ConcurrentHashMap<Long, Long> publishedAtByElapsed = new ConcurrentHashMap<>();
+        AtomicLong lagSamples = new AtomicLong();
+        AtomicLong lagTotalNanos = new AtomicLong();
+        AtomicLong lagMaxNanos = new AtomicLong();
+        List<FakeWebSocketSession> sessions = new ArrayList<>();
+        for (int i = 0; i < viewers; i++) {
+            FakeWebSocketSession session = new FakeWebSocketSession("viewer-" + i, "sessionId=" + RELAY_SESSION_ID);
+            session.recordPayloads = false;
+            session.sendLatencyNanos = sendLatencyNanos;
+            session.onSend = message -> {
+                Long publishedAt = publishedAtByElapsed.get(elapsedOf(((TextMessage) message).getPayload()));
+                if (publishedAt != null) {
+                    long lag = System.nanoTime() - publishedAt;
+                    lagSamples.incrementAndGet();
+                    lagTotalNanos.addAndGet(lag);
+                    lagMaxNanos.accumulateAndGet(lag, Math::max);
+                }
+            };
+            handler.afterConnectionEstablished(session);
+            sessions.add(session);
+        }
+
+        int frames = seconds * 10;
+        long[] publishNanos = new long[frames];
+        long start = System.nanoTime();
+        for (int i = 0; i < frames; i++) {
+            long elapsedMs = (i + 1) * 100L;
+            OverlaySnapshot snapshot = snapshot(elapsedMs);
+            long before = System.nanoTime();
+            publishedAtByElapsed.put(elapsedMs, before);
+            topic.publish(RELAY_SESSION_ID, snapshot);
+            publishNanos[i] = System.nanoTime() - before;
+            long nextTick = start + TimeUnit.MILLISECONDS.toNanos(elapsedMs);
+            long sleep = nextTick - System.nanoTime();
+            if (sleep > 0) {
+                TimeUnit.NANOSECONDS.sleep(sleep);
+            }
+        }
+        TimeUnit.SECONDS.sleep(1);
+
+        Arrays.sort(publishNanos);
+        long totalSends = sessions.stream().mapToLong(session -> session.sendCount.get()).sum();
+        System.out.printf(
+                "[fanout] viewers=%d frames=%d publish p50=%.1fus p99=%.1fus max=%.1fus | topic published=%d delivered=%d"
+                        + " | sends/viewer=%.1f | lag avg=%.1fms max=%.1fms%n",
+                viewers, frames,
+                publishNanos[frames / 2] / 1_000.0,
+                publishNanos[(int) (frames * 0.99)] / 1_000.0,
+                publishNanos[frames - 1] / 1_000.0,
+                topic.publishedCount(), topic.deliveredCount(),
+                totalSends / (double) viewers,
+                lagSamples.get() == 0 ? 0.0 : lagTotalNanos.get() / 1e6 / lagSamples.get(),
+                lagMaxNanos.get() / 1e6);
+
+        assertEquals(frames, topic.publishedCount());
+        assertTrue(totalSends >= viewers, "every viewer should receive at least one frame");
+        handler.shutdown();
+        topic.stop();
+    }
+
+    private static long elapsedOf(String payload) {
+        int start = payload.indexOf("\"elapsedMs\":") + "\"elapsedMs\":".length();
+        int end = start;
+        while (end < payload.length() && Character.isDigit(payload.charAt(end))) {
+            end++;
+        }
+        return end > start ? Long.parseLong(payload, start, end, 10) : -1L;
+    }
+
+    private static boolean loadTestsEnabled() {
+        return Boolean.getBoolean(ENABLE_PROPERTY)
+                || "true".equalsIgnoreCase(System.getenv(ENABLE_ENV));
+    }
+
+    private static OverlaySnapshot snapshot(long elapsedMs) {
+        List<ActorSnapshot> actors = new ArrayList<>();
+        for (int i = 1; i <= 8; i++) {
+            double dps = 10_000.0 * i + elapsedMs / 10.0;
+            actors.add(new ActorSnapshot(
+                    new ActorId(i), "actor" + i, 19 + i, elapsedMs * i * 10, dps, dps, Confidence.none(), 0.125,
+                    (int) (elapsedMs / 1000), 0.2, 0.3, 0.06, 0, 50_000L, "Fell Cleave", dps, i == 1, null, false
+            ));
+        }
+        return new OverlaySnapshot(
+                "load", CombatState.Phase.ACTIVE, elapsedMs, "0:00", elapsedMs * 800, 80_000.0, 80_000.0,
+                actors, null, null, false
+        );
+    }
+}
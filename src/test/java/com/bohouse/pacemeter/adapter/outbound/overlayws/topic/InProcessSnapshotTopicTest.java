@@ -0,0 +1,40 @@
+package com.bohouse.pacemeter.adapter.outbound.overlayws.topic;
+
+import com.bohouse.pacemeter.core.model.CombatState;
+import com.bohouse.pacemeter.core.snapshot.OverlaySnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InProcessSnapshotTopicTest {
+
+    @Test
+    void startDeliversSnapshots_andStopJoinsDispatcher() throws Exception {
+        InProcessSnapshotTopic topic = new InProcessSnapshotTopic();
+        CountDownLatch delivered = new CountDownLatch(1);
+        topic.subscribe((streamId, snapshot) -> delivered.countDown());
+
+        topic.start();
+        topic.publish("streamer", snapshot());
+
+        assertTrue(delivered.await(2, TimeUnit.SECONDS));
+        topic.stop();
+        assertTrue(Thread.getAllStackTraces().keySet().stream()
+                .noneMatch(thread -> thread.getName().equals("snapshot-topic-dispatch") && thread.isAlive()));
+
+        topic.publish("streamer", snapshot());
+        assertEquals(1, topic.deliveredCount());
+    }
+
+    private static OverlaySnapshot snapshot() {
+        return new OverlaySnapshot(
+                "test", CombatState.Phase.ACTIVE, 1_000L, "0:01", 0L, 0.0, 0.0,
+                List.of(), null, null, false
+        );
+    }
+}
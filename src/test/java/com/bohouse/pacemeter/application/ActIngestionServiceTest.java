@@ -17,8 +17,6 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.prefs.BackingStoreException;
-import java.util.prefs.Preferences;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -61,18 +59,15 @@ class ActIngestionServiceTest {
         return Instant.parse("2026-02-11T12:00:00Z");
     }
 
-    private void clearSelfJobCache(long playerId, String playerName) {
-        try {
-            Preferences node = Preferences.userNodeForPackage(ActIngestionService.class).node("live-self-job");
-            node.remove("player-id:" + Long.toHexString(playerId));
-            node.remove("player-name:" + playerName);
-            node.flush();
-        } catch (BackingStoreException e) {
-            throw new IllegalStateException(e);
-        }
+    // 현재 플레이어 직업을 이미 알고 있는 상태 (이전 세션에서 기억한 직업)
+    private static ActorJobCache warriorJobCache() {
+        ActorJobCache jobCache = new ActorJobCache();
+        jobCache.rememberPlayerJob(0x1000000AL, "Warrior", 0x15);
+        return jobCache;
     }
 
     private void initializeZoneAndParty() {
+        service.setJobCache(warriorJobCache());
         service.onParsed(new ZoneChanged(base(), 1, "Test Zone"));
         service.onParsed(new PrimaryPlayerChanged(base(), 0x1000000AL, "Warrior"));
         service.onParsed(new PartyList(base(), List.of(0x1000000AL)));
@@ -176,6 +171,7 @@ class ActIngestionServiceTest {
 
     @Test
     void dotTick_keepsEmittingForExistingMember_whenPartyListShrinksMidFight() {
+        service.setJobCache(warriorJobCache());
         service.onParsed(new ZoneChanged(base(), 1, "Test Zone"));
         service.onParsed(new PrimaryPlayerChanged(base(), 0x1000000AL, "Warrior"));
         service.onParsed(new PartyList(base(), List.of(0x1000000AL, 0x1000000BL)));
@@ -1697,6 +1693,9 @@ class ActIngestionServiceTest {
 
         LiveDotAttributionDebugSnapshot debugSnapshot = service.debugLiveDotAttributionSnapshot(10);
         assertEquals(1, debugSnapshot.entries().size(), debugSnapshot.entries().toString());
+        assertEquals(1L, debugSnapshot.strategies().stream()
+                .mapToLong(LiveDotAttributionDebugSnapshot.Strategy::hits)
+                .sum(), debugSnapshot.strategies().toString());
     }
 
     @Test
@@ -2988,6 +2987,7 @@ class ActIngestionServiceTest {
 
     @Test
     void networkAbility_withoutPartyData_fromCurrentPlayer_isAccepted() {
+        service.setJobCache(warriorJobCache());
         service.onParsed(new ZoneChanged(base(), 1226, "Test Zone"));
         service.onParsed(new PrimaryPlayerChanged(base(), 0x1000000AL, "Paladin"));
         captured.clear();
@@ -3163,7 +3163,6 @@ class ActIngestionServiceTest {
     @Test
     void selfNetworkAbility_waitsForJobMetadataBeforeFightStart() {
         long playerId = 0x7000FFEEL;
-        clearSelfJobCache(playerId, "MetadataWaiterFresh");
         service.onParsed(new PrimaryPlayerChanged(base(), playerId, "MetadataWaiterFresh"));
         service.onParsed(new ZoneChanged(base(), 1226, "Test Zone"));
         captured.clear();
@@ -3196,6 +3195,39 @@ class ActIngestionServiceTest {
         assertEquals(0x20, service.debugJobId(playerId));
     }
 
+    @Test
+    void selfNetworkAbility_usesJobRememberedInAttachedCache() {
+        long playerId = 0x7000FFEFL;
+        ActorJobCache jobCache = new ActorJobCache();
+        jobCache.rememberPlayerJob(playerId, "CachedWaiter", 0x20);
+        service.setJobCache(jobCache);
+        service.onParsed(new PrimaryPlayerChanged(base(), playerId, "CachedWaiter"));
+        service.onParsed(new ZoneChanged(base(), 1226, "Test Zone"));
+        captured.clear();
+
+        service.onParsed(new NetworkAbilityRaw(
+                base().plusMillis(100),
+                21,
+                playerId,
+                "CachedWaiter",
+                0xE21,
+                "Hard Slash",
+                0x40000001L,
+                "Boss",
+                false,
+                false,
+                13001,
+                "21|...|raw"
+        ));
+
+        CombatEvent.FightStart fightStart = captured.stream()
+                .filter(CombatEvent.FightStart.class::isInstance)
+                .map(CombatEvent.FightStart.class::cast)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(0x20, fightStart.playerJobId());
+    }
+
     @Test
     void networkAbility_from261OwnedSummon_isAttributedToParty() {
         service.onParsed(new ZoneChanged(base(), 1, "Test Zone"));
@@ -3258,6 +3290,7 @@ class ActIngestionServiceTest {
 
     @Test
     void combatantAdded_bossBeforeFightStart_emitsAfterFightStart() {
+        service.setJobCache(warriorJobCache());
         service.onParsed(new ZoneChanged(base(), 1, "Test Zone"));
 
         service.onParsed(new CombatantAdded(
@@ -3593,5 +3626,178 @@ class ActIngestionServiceTest {
         assertEquals(0L, firstDamage.timestampMs());
         assertEquals(7000L, firstDamage.amount());
     }
-}
 
+    @Test
+    void eventTimeTicks_emitEachHundredMsBoundaryOnceAsEventsAdvance() {
+        service.enableEventTimeTicks();
+        startFight();
+
+        Instant fightStart = base().plusMillis(100);
+        service.onParsed(new NetworkAbilityRaw(fightStart.plusMillis(250), 21, 0x1000000AL, "Warrior",
+                0xB4, "Fast Blade", 0x40000001L, "Training Dummy", false, false, 5000, "21|...|raw"));
+        service.onParsed(new NetworkAbilityRaw(fightStart.plusMillis(290), 21, 0x1000000AL, "Warrior",
+                0xB4, "Fast Blade", 0x40000001L, "Training Dummy", false, false, 5000, "21|...|raw"));
+        service.onParsed(new NetworkAbilityRaw(fightStart.plusMillis(700), 21, 0x1000000AL, "Warrior",
+                0xB4, "Fast Blade", 0x40000001L, "Training Dummy", false, false, 5000, "21|...|raw"));
+
+        List<Long> ticks = captured.stream()
+                .filter(CombatEvent.Tick.class::isInstance)
+                .map(CombatEvent::timestampMs)
+                .toList();
+        assertEquals(List.of(100L, 200L, 300L, 400L, 500L, 600L, 700L), ticks);
+    }
+
+    @Test
+    void eventTimeTicks_emitBoundariesBeforeAGapCrossingLineIsApplied() {
+        service.enableEventTimeTicks();
+        startFight();
+
+        Instant fightStart = base().plusMillis(100);
+        service.onParsed(new NetworkAbilityRaw(fightStart.plusMillis(450), 21, 0x1000000AL, "Warrior",
+                0xB4, "Fast Blade", 0x40000001L, "Training Dummy", false, false, 7000, "21|...|raw"));
+
+        int damageIndex = -1;
+        for (int i = 0; i < captured.size(); i++) {
+            if (captured.get(i) instanceof CombatEvent.DamageEvent damage && damage.amount() == 7000L) {
+                damageIndex = i;
+            }
+        }
+        assertTrue(damageIndex >= 0);
+        List<Long> ticksBeforeDamage = captured.subList(0, damageIndex).stream()
+                .filter(CombatEvent.Tick.class::isInstance)
+                .map(CombatEvent::timestampMs)
+                .toList();
+        List<Long> ticksAfterDamage = captured.subList(damageIndex, captured.size()).stream()
+                .filter(CombatEvent.Tick.class::isInstance)
+                .map(CombatEvent::timestampMs)
+                .toList();
+        assertEquals(List.of(100L, 200L, 300L, 400L), ticksBeforeDamage);
+        assertEquals(List.of(), ticksAfterDamage);
+    }
+
+    @Test
+    void eventTimeTicks_watchdogAdvancesTicksWhileEventsAreIdle() {
+        service.enableEventTimeTicks();
+        startFight();
+        long lastEventNanos = System.nanoTime();
+
+        service.onWallClockTick(lastEventNanos + 500_000_000L);
+        assertTrue(captured.stream().noneMatch(CombatEvent.Tick.class::isInstance));
+
+        service.onWallClockTick(lastEventNanos + 1_350_000_000L);
+        List<Long> ticks = captured.stream()
+                .filter(CombatEvent.Tick.class::isInstance)
+                .map(CombatEvent::timestampMs)
+                .toList();
+        assertEquals(13, ticks.size());
+        assertEquals(100L, ticks.get(0));
+        assertTrue(ticks.get(ticks.size() - 1) <= 1_400L);
+    }
+
+    @Test
+    void eventTimeTicks_lineArrivingAfterWatchdogTicksDoesNotMoveElapsedBackwards() {
+        service.enableEventTimeTicks();
+        startFight();
+        service.onWallClockTick(System.nanoTime() + 1_350_000_000L);
+
+        // 릴레이 배치가 늦게 와서 워치독이 이미 지나간 시각의 라인이 들어온다
+        Instant fightStart = base().plusMillis(100);
+        service.onParsed(new NetworkAbilityRaw(fightStart.plusMillis(700), 21, 0x1000000AL, "Warrior",
+                0xB4, "Fast Blade", 0x40000001L, "Training Dummy", false, false, 7000, "21|...|raw"));
+        service.onParsed(new NetworkAbilityRaw(fightStart.plusMillis(1_550), 21, 0x1000000AL, "Warrior",
+                0xB4, "Fast Blade", 0x40000001L, "Training Dummy", false, false, 8000, "21|...|raw"));
+
+        List<Long> timeline = captured.stream()
+                .filter(event -> event instanceof CombatEvent.Tick || event instanceof CombatEvent.DamageEvent)
+                .map(CombatEvent::timestampMs)
+                .toList();
+        for (int i = 1; i < timeline.size(); i++) {
+            assertTrue(timeline.get(i) >= timeline.get(i - 1), () -> "timeline went backwards: " + timeline);
+        }
+        long lateDamageMs = captured.stream()
+                .filter(event -> event instanceof CombatEvent.DamageEvent damage && damage.amount() == 7000L)
+                .findFirst()
+                .orElseThrow()
+                .timestampMs();
+        assertEquals(1_300L, lateDamageMs);
+        List<Long> ticks = captured.stream()
+                .filter(CombatEvent.Tick.class::isInstance)
+                .map(CombatEvent::timestampMs)
+                .toList();
+        assertEquals(15, ticks.size());
+        assertEquals(1_500L, ticks.get(ticks.size() - 1));
+    }
+
+    @Test
+    void eventTimeTicks_watchdogEndsAFightThatStaysSilentPastTheCombatTimeout() {
+        service.enableEventTimeTicks();
+        startFight();
+        long lastEventNanos = System.nanoTime();
+
+        service.onWallClockTick(lastEventNanos + 31_000_000_000L);
+
+        assertFalse(service.isFightStarted());
+        assertTrue(captured.stream().anyMatch(CombatEvent.FightEnd.class::isInstance));
+        int eventsAfterEnd = captured.size();
+        service.onWallClockTick(lastEventNanos + 32_000_000_000L);
+        assertEquals(eventsAfterEnd, captured.size());
+    }
+
+    @Test
+    void eventTimeTicks_disabledByDefault() {
+        startFight();
+        service.onParsed(new NetworkAbilityRaw(base().plusMillis(1_100), 21, 0x1000000AL, "Warrior",
+                0xB4, "Fast Blade", 0x40000001L, "Training Dummy", false, false, 5000, "21|...|raw"));
+
+        assertTrue(captured.stream().noneMatch(CombatEvent.Tick.class::isInstance));
+    }
+
+    @Test
+    void runBatched_sendsEngineEventsThroughOneOnEventsCall() {
+        List<List<CombatEvent>> batches = new ArrayList<>();
+        CombatEventPort port = new CombatEventPort() {
+            @Override
+            public EngineResult onEvent(CombatEvent event) {
+                captured.add(event);
+                return EngineResult.empty();
+            }
+
+            @Override
+            public EngineResult onEvents(List<CombatEvent> events) {
+                batches.add(events);
+                return EngineResult.empty();
+            }
+
+            @Override
+            public void setCurrentPlayerId(ActorId playerId) {
+            }
+
+            @Override
+            public void setJobId(ActorId actorId, int jobId) {
+            }
+        };
+        CombatService combatService = new CombatService(
+                new CombatEngine(),
+                snapshot -> {},
+                (name, zone) -> Optional.empty(),
+                territoryId -> Optional.empty()
+        );
+        ActIngestionService batchedService = new ActIngestionService(port, combatService, new FflogsZoneLookup(new ObjectMapper()));
+        batchedService.setJobCache(warriorJobCache());
+        batchedService.onParsed(new ZoneChanged(base(), 1, "Test Zone"));
+        batchedService.onParsed(new PrimaryPlayerChanged(base(), 0x1000000AL, "Warrior"));
+        batchedService.onParsed(new PartyList(base(), List.of(0x1000000AL)));
+
+        batchedService.runBatched(() -> {
+            for (int i = 1; i <= 3; i++) {
+                batchedService.onParsed(new NetworkAbilityRaw(base().plusMillis(i * 100L), 21, 0x1000000AL, "Warrior",
+                        0xB4, "Fast Blade", 0x40000001L, "Training Dummy", false, false, 5000, "21|...|raw"));
+            }
+        });
+
+        assertTrue(captured.isEmpty());
+        assertEquals(1, batches.size());
+        assertInstanceOf(CombatEvent.FightStart.class, batches.get(0).get(0));
+        assertEquals(3, batches.get(0).stream().filter(CombatEvent.DamageEvent.class::isInstance).count());
+    }
+}
@@ -0,0 +1,53 @@
+package com.bohouse.pacemeter.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AliasDeanonymizerTest {
+
+    @Test
+    void apply_replacesOnlyWholeFieldsIncludingFirstAndLast() {
+        AliasDeanonymizer deanonymizer = new AliasDeanonymizer(Map.of(
+                "Player1", "도시스 3",
+                "Player12", "하늘 구현",
+                "00", "never"
+        ));
+
+        assertEquals(
+                "Player1X|도시스 3|하늘 구현||Player123|도시스 3",
+                deanonymizer.apply("Player1X|Player1|Player12||Player123|Player1")
+        );
+        assertEquals("도시스 3", deanonymizer.apply("Player1"));
+        assertEquals("21|ts|never|", deanonymizer.apply("21|ts|00|"));
+    }
+
+    @Test
+    void apply_restoresAliasedSkillAndBuffNamesFromSubmissionLines() {
+        AliasDeanonymizer deanonymizer = new AliasDeanonymizer(Map.of(
+                "Player127", "도시스 3",
+                "Player149", "하늘 구현"
+        ));
+
+        String restoredAbility = deanonymizer.apply(
+                "21|2026-03-15T17:34:20.5430000+09:00|1013CC4B|나성|5EF8|Player127|4000664C|린드블룸|750003|AE4C0000");
+        String restoredBuff = deanonymizer.apply(
+                "26|2026-03-15T17:35:16.4600000+09:00|E65|Player149|20.00|1008B280|이끼이끼|100B73AC|생쥐|00|226548|203793|f17cb73eead0b4ee");
+
+        assertTrue(restoredAbility.contains("|도시스 3|"));
+        assertTrue(restoredBuff.contains("|하늘 구현|"));
+    }
+
+    @Test
+    void apply_returnsSameInstanceWhenNothingMatches() {
+        AliasDeanonymizer deanonymizer = new AliasDeanonymizer(Map.of("Player1", "도시스 3"));
+        String line = "21|2026-03-15T17:34:20.5430000+09:00|1013CC4B|나성|5EF8|Player2|4000664C";
+
+        assertSame(line, deanonymizer.apply(line));
+        assertSame(line, AliasDeanonymizer.NONE.apply(line));
+    }
+}
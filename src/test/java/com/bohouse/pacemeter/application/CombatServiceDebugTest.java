@@ -19,6 +19,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -74,6 +75,31 @@ class CombatServiceDebugTest {
         assertEquals(2, snapshot.actors().size());
     }
 
+    @Test
+    void hasDebugContent_agreesWithDebugSnapshotTerritoryAndActors() {
+        CombatService service = new CombatService(
+                new CombatEngine(),
+                snapshot -> { },
+                (fightName, actTerritoryId) -> Optional.empty(),
+                territoryId -> Optional.empty()
+        );
+
+        service.onEvent(new CombatEvent.FightStart(0, "Test", 123, 0));
+        service.onEvent(new CombatEvent.ActorJoined(0, new ActorId(2), "Carbuncle"));
+        service.setOwner(new ActorId(2), new ActorId(1));
+        assertFalse(service.hasDebugContent());
+        assertTrue(service.debugSnapshot().actors().isEmpty());
+
+        service.onEvent(new CombatEvent.ActorJoined(0, new ActorId(1), "Player"));
+        assertTrue(service.hasDebugContent());
+        assertEquals(123, service.debugSnapshot().territoryId());
+        assertEquals(1, service.debugSnapshot().actors().size());
+
+        service.clearCombatantContext();
+        assertFalse(service.hasDebugContent());
+        assertEquals(0, service.debugSnapshot().territoryId());
+    }
+
     @Test
     void asyncProfileLoad_republishesSnapshotWithPartyPace() throws Exception {
         CountDownLatch republished = new CountDownLatch(1);
@@ -0,0 +1,87 @@
+package com.bohouse.pacemeter.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DotAttributionDiagnosticsTest {
+
+    @Test
+    void counts_renderSameKeysAsStringCounters() {
+        DotAttributionDiagnostics diagnostics = new DotAttributionDiagnostics(true);
+        for (int i = 0; i < 2; i++) {
+            diagnostics.key(DotAttributionDiagnostics.Dimension.KNOWN_SOURCE_TRACKED_TARGET_SPLIT_PROBE)
+                    .label("suppress")
+                    .flag(true)
+                    .count(5)
+                    .count(1)
+                    .count(0)
+                    .ratio(0.75)
+                    .ratio(1.0)
+                    .ratio(-1.0)
+                    .record(1_000L);
+        }
+        diagnostics.key(DotAttributionDiagnostics.Dimension.KNOWN_SOURCE_TRACKED_TARGET_SPLIT_ASSIGNMENT)
+                .count(2)
+                .count(4)
+                .count(3)
+                .action(0x5EE)
+                .action(0)
+                .action(0xA38)
+                .label("0-500ms")
+                .count(1)
+                .count(5)
+                .actionSet(new TreeSet<>(List.of(0xF8, 0x767, 0x5EE, 0x4B0, 0xA38)))
+                .record(0L);
+
+        assertEquals(
+                Map.of("reason=suppress|suppressed=true|trackedTargets=4+|sourceTracked=1|activeTargets=0"
+                        + "|sourceShare=0.7-0.8|actionShare=1.0-1.0|score=na", 2L),
+                diagnostics.counts(DotAttributionDiagnostics.Dimension.KNOWN_SOURCE_TRACKED_TARGET_SPLIT_PROBE));
+        assertEquals(
+                Map.of("reason=suppress|suppressed=true|trackedTargets=4+|sourceTracked=1|activeTargets=0"
+                        + "|sourceShare=0.7-0.8|actionShare=1.0-1.0|score=na", 2_000L),
+                diagnostics.amounts(DotAttributionDiagnostics.Dimension.KNOWN_SOURCE_TRACKED_TARGET_SPLIT_PROBE));
+        assertEquals(
+                Map.of("activeTargets=2|trackedTargets=4+|sourceTracked=3+|sourceTrackedAction=5EE|recentSource=na"
+                        + "|recentExact=A38|targetDeathAge=0-500ms|foreignTracked=1|foreignActions=4+"
+                        + "|foreignActionSet=F8,4B0,5EE,767,...", 1L),
+                diagnostics.counts(DotAttributionDiagnostics.Dimension.KNOWN_SOURCE_TRACKED_TARGET_SPLIT_ASSIGNMENT));
+        assertTrue(diagnostics.amounts(DotAttributionDiagnostics.Dimension.KNOWN_SOURCE_TRACKED_TARGET_SPLIT_ASSIGNMENT).isEmpty());
+    }
+
+    @Test
+    void clearFightScoped_keepsEmittedCounters() {
+        DotAttributionDiagnostics diagnostics = new DotAttributionDiagnostics(true);
+        for (DotAttributionDiagnostics.Dimension dimension : List.of(
+                DotAttributionDiagnostics.Dimension.DOT_ATTRIBUTION_ASSIGNED,
+                DotAttributionDiagnostics.Dimension.DOT_ATTRIBUTION_EMITTED)) {
+            diagnostics.key(dimension)
+                    .label("status0_tracked_split")
+                    .actorHex(0x10000001L)
+                    .actorHex(0x40001000L)
+                    .actionHex(0x409C)
+                    .record(3_000L);
+        }
+
+        diagnostics.clearFightScoped();
+
+        assertTrue(diagnostics.amounts(DotAttributionDiagnostics.Dimension.DOT_ATTRIBUTION_ASSIGNED).isEmpty());
+        assertEquals(
+                Map.of("status0_tracked_split|source=10000001|target=40001000|action=409C", 3_000L),
+                diagnostics.amounts(DotAttributionDiagnostics.Dimension.DOT_ATTRIBUTION_EMITTED));
+    }
+
+    @Test
+    void disabled_recordsNothing() {
+        DotAttributionDiagnostics diagnostics = new DotAttributionDiagnostics(false);
+        diagnostics.key(DotAttributionDiagnostics.Dimension.DOT_ATTRIBUTION_MODE).label("status0_tracked_split").record(0L);
+
+        assertTrue(diagnostics.counts(DotAttributionDiagnostics.Dimension.DOT_ATTRIBUTION_MODE).isEmpty());
+    }
+}
@@ -0,0 +1,43 @@
+package com.bohouse.pacemeter.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DotAttributionStrategyChainTest {
+
+    @Test
+    void attribute_stopsAtFirstHandlingStrategyAndCountsAttempts() {
+        List<String> calls = new ArrayList<>();
+        DotAttributionStrategyChain<Integer> chain = DotAttributionStrategyChain.<Integer>builder()
+                .then("odd", tick -> {
+                    calls.add("odd");
+                    return tick % 2 == 1;
+                })
+                .then("small", tick -> {
+                    calls.add("small");
+                    return tick < 10;
+                })
+                .then("never", tick -> {
+                    calls.add("never");
+                    return false;
+                })
+                .build();
+
+        assertTrue(chain.attribute(3));
+        assertTrue(chain.attribute(4));
+        assertFalse(chain.attribute(12));
+
+        assertEquals(List.of("odd", "odd", "small", "odd", "small", "never"), calls);
+        List<DotAttributionStrategyChain.Stats> stats = chain.stats();
+        assertEquals(List.of("odd", "small", "never"), stats.stream().map(DotAttributionStrategyChain.Stats::name).toList());
+        assertEquals(List.of(3L, 2L, 1L), stats.stream().map(DotAttributionStrategyChain.Stats::attempts).toList());
+        assertEquals(List.of(1L, 1L, 0L), stats.stream().map(DotAttributionStrategyChain.Stats::hits).toList());
+        assertTrue(stats.stream().allMatch(stat -> stat.totalNanos() >= 0));
+    }
+}
@@ -0,0 +1,72 @@
+package com.bohouse.pacemeter.application;
+
+import com.bohouse.pacemeter.adapter.inbound.actws.ActLineParser;
+import com.bohouse.pacemeter.adapter.outbound.fflogsapi.FflogsZoneLookup;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EstimatorModeParityServiceTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.parse("2026-03-15T17:00:00+09:00");
+    private static final DateTimeFormatter TS = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS0000XXX");
+
+    @Test
+    void compare_replaysBothModesPerPull() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("01|" + ts(0) + "|4E2|Test Zone");
+        lines.add("02|" + ts(0) + "|1000000A|Warrior");
+        lines.add("11|" + ts(0) + "|1|1000000A");
+        // 1풀 25초, 타임아웃(30초)을 넘겨 쉬고 2풀 20초. 쉬는 동안 온 라인에서 1풀이 타임아웃으로 끝난다
+        addPull(lines, 1_000L, 25_000L);
+        lines.add("11|" + ts(65_000L) + "|1|1000000A");
+        addPull(lines, 70_000L, 20_000L);
+        Path log = Files.createTempDirectory("estimator-parity-test").resolve("combat.log");
+        Files.write(log, lines, StandardCharsets.UTF_8);
+
+        EstimatorModeParityService service = new EstimatorModeParityService(
+                new ActLineParser(), new FflogsZoneLookup(new ObjectMapper()));
+        EstimatorModeParityService.EstimatorModeParityReport report = service.compare(log);
+
+        assertEquals(lines.size(), report.parsedLines());
+        assertEquals(2, report.pulls());
+        // 풀마다 워밍업(15초) 뒤 100ms 틱을 비교한다: 2풀도 1풀 길이를 기다리지 않고 틱을 받는다
+        assertEquals(List.of(1, 2), report.actors().stream().map(EstimatorModeParityService.ActorModeParity::pull).toList());
+        EstimatorModeParityService.ActorModeParity first = report.actors().get(0);
+        EstimatorModeParityService.ActorModeParity second = report.actors().get(1);
+        assertEquals("1000000A", first.actorIdHex());
+        assertEquals(first.actorIdHex(), second.actorIdHex());
+        assertEquals(101, first.comparedTicks());   // 15.0초 ~ 25.0초
+        assertEquals(51, second.comparedTicks());   // 15.0초 ~ 20.0초
+        assertEquals(first.comparedTicks() + second.comparedTicks(), report.comparedTicks());
+
+        // 퍼센트 단위. 데미지가 오르내리므로 두 모드가 다르지만, 같은 입력이라 5% 안쪽이다
+        assertTrue(report.maxAbsolutePercentageDiff() > 0.5);
+        assertTrue(report.maxAbsolutePercentageDiff() < 5.0, () -> "max=" + report.maxAbsolutePercentageDiff());
+        assertTrue(report.meanAbsolutePercentageDiff() <= report.p95AbsolutePercentageDiff());
+        assertTrue(report.p95AbsolutePercentageDiff() <= report.maxAbsolutePercentageDiff());
+    }
+
+    /** startMs부터 durationMs 동안 500ms마다 한 번씩, 10초 주기로 세졌다 약해지는 평타를 넣는다. */
+    private static void addPull(List<String> lines, long startMs, long durationMs) {
+        for (long offset = 0; offset <= durationMs; offset += 500L) {
+            long damage = (offset / 5_000L) % 2 == 0 ? 12_000L : 4_000L;
+            lines.add("21|" + ts(startMs + offset) + "|1000000A|Warrior|1F|Heavy Swing|40000001|Training Dummy|1|"
+                    + String.format("%04X0000", damage) + "|0|0|0|0|0|0|0|0|0|0|0|0|0|0");
+        }
+    }
+
+    private static String ts(long offsetMs) {
+        return BASE.plusNanos(offsetMs * 1_000_000L).format(TS);
+    }
+}
@@ -0,0 +1,67 @@
+package com.bohouse.pacemeter.application;
+
+import com.bohouse.pacemeter.adapter.inbound.actws.DamageText;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class PendingDamageTextIndexTest {
+
+    private static final long T0 = Instant.parse("2026-02-11T20:00:00Z").toEpochMilli();
+
+    @Test
+    void takeBestMatch_prefersSameSourceThenClosestTime() {
+        PendingDamageTextIndex index = new PendingDamageTextIndex();
+        DamageText otherSource = text(0, "Summoner", "Boss", 12_345L, false);
+        DamageText unnamedFar = text(900, null, "Boss", 12_345L, false);
+        DamageText unnamedNear = text(1_050, null, "Boss", 12_345L, true);
+        DamageText sameSource = text(1_500, "Warrior", "Boss", 12_345L, true);
+        index.add(otherSource);
+        index.add(unnamedFar);
+        index.add(unnamedNear);
+        index.add(sameSource);
+        index.add(text(1_000, "Warrior", "Boss", 99L, false));
+
+        long abilityAt = T0 + 1_000;
+        assertSame(sameSource, index.takeBestMatch(12_345L, abilityAt, "Boss", "Warrior"));
+        assertSame(unnamedNear, index.takeBestMatch(12_345L, abilityAt, "Boss", "Warrior"));
+        assertSame(unnamedFar, index.takeBestMatch(12_345L, abilityAt, "Boss", "Warrior"));
+        assertSame(otherSource, index.takeBestMatch(12_345L, abilityAt, "Boss", "Warrior"));
+        assertNull(index.takeBestMatch(12_345L, abilityAt, "Boss", "Warrior"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void takeBestMatch_skipsOtherTargetsAndOutOfWindowTexts() {
+        PendingDamageTextIndex index = new PendingDamageTextIndex();
+        index.add(text(0, "Warrior", "Add", 5_000L, true));
+        index.add(text(-2_500, "Warrior", "Boss", 5_000L, true));
+
+        assertNull(index.takeBestMatch(5_000L, T0, "Boss", "Warrior"));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void pruneOlderThan_dropsExpiredTextsAndSkipsMatchedOnes() {
+        PendingDamageTextIndex index = new PendingDamageTextIndex();
+        DamageText matched = text(0, "Warrior", "Boss", 1_000L, true);
+        index.add(matched);
+        index.add(text(100, "Warrior", "Boss", 2_000L, true));
+        DamageText recent = text(2_000, "Warrior", "Boss", 2_000L, false);
+        index.add(recent);
+        assertSame(matched, index.takeBestMatch(1_000L, T0, "Boss", "Warrior"));
+
+        index.pruneOlderThan(T0 + 4_000);
+
+        assertEquals(1, index.size());
+        assertSame(recent, index.takeBestMatch(2_000L, T0 + 3_000, "Boss", "Warrior"));
+    }
+
+    private static DamageText text(long offsetMs, String source, String target, long amount, boolean critical) {
+        return new DamageText(T0 + offsetMs, source, target, amount, critical, false, "", "");
+    }
+}
@@ -0,0 +1,55 @@
+package com.bohouse.pacemeter.application;
+
+import com.bohouse.pacemeter.core.event.CombatEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionTraceRecorderTest {
+
+    @Test
+    void dump_keepsNewestRecordsInOrderWhenRingWraps() {
+        SessionTraceRecorder recorder = new SessionTraceRecorder(4);
+        for (int i = 1; i <= 6; i++) {
+            recorder.relayBatch(i, i * 10L);
+        }
+
+        List<SessionTraceRecorder.TraceEntry> entries = recorder.dump(10);
+
+        assertEquals(6, recorder.written());
+        assertEquals(List.of(2L, 3L, 4L, 5L), entries.stream().map(SessionTraceRecorder.TraceEntry::sequence).toList());
+        assertEquals(3L, entries.get(0).fields().get("events"));
+        assertEquals(60L, entries.get(3).fields().get("rawLines"));
+        assertEquals(2, recorder.dump(2).size());
+    }
+
+    @Test
+    void dump_decodesDamageRecord() {
+        SessionTraceRecorder recorder = new SessionTraceRecorder(8);
+        recorder.damage(1_250L, 0x10000001L, 0x40001000L, 0x6E, 12_345L, true, false,
+                CombatEvent.AutoHitFlag.YES, CombatEvent.AutoHitFlag.UNKNOWN);
+
+        SessionTraceRecorder.TraceEntry entry = recorder.dump(1).get(0);
+
+        assertEquals(SessionTraceRecorder.Kind.DAMAGE, entry.kind());
+        assertEquals(1_250L, entry.fields().get("elapsedMs"));
+        assertEquals("10000001", entry.fields().get("actorId"));
+        assertEquals("40001000", entry.fields().get("targetId"));
+        assertEquals("6E", entry.fields().get("skillId"));
+        assertEquals(12_345L, entry.fields().get("amount"));
+        assertEquals(true, entry.fields().get("crit"));
+        assertEquals(false, entry.fields().get("direct"));
+        assertEquals(CombatEvent.AutoHitFlag.YES, entry.fields().get("autoCrit"));
+        assertEquals(CombatEvent.AutoHitFlag.UNKNOWN, entry.fields().get("autoDirect"));
+    }
+
+    @Test
+    void none_recordsNothing() {
+        SessionTraceRecorder.NONE.combatantAdded(1L, 0L, 100L, 0x13);
+
+        assertTrue(SessionTraceRecorder.NONE.dump(10).isEmpty());
+    }
+}
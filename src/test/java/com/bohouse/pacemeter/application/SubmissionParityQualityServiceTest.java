@@ -8,6 +8,7 @@ import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -56,6 +57,50 @@ class SubmissionParityQualityServiceTest {
         assertTrue(rollup.generatedAt() != null && !rollup.generatedAt().isBlank());
     }
 
+    @Test
+    void buildRollup_buildsReportsConcurrently_andKeepsDirectoryOrder() throws Exception {
+        Path root = Files.createTempDirectory("parity-quality-parallel-test");
+        List<String> submissionIds = List.of("a-slow", "b-medium", "c-fast", "d-bad");
+        for (String submissionId : submissionIds) {
+            Files.createDirectories(root.resolve(submissionId));
+        }
+        Map<String, Long> delaysMs = Map.of("a-slow", 150L, "b-medium", 80L, "c-fast", 10L, "d-bad", 0L);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        SubmissionParityReportService stubService = new SubmissionParityReportService(null, null, null, null, null) {
+            @Override
+            public SubmissionParityReport buildReport(String submissionId) throws IOException {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(delaysMs.get(submissionId));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("interrupted", e);
+                } finally {
+                    running.decrementAndGet();
+                }
+                if ("d-bad".equals(submissionId)) {
+                    throw new IOException("failed to read");
+                }
+                return stubReport(submissionId, "ok", 1, 8, 0.01, 0.02, 0.03, 0);
+            }
+        };
+
+        SubmissionParityQualityService service = new SubmissionParityQualityService(stubService, root, 3);
+        SubmissionParityQualityService.SubmissionParityQualityRollup rollup = service.buildRollup();
+
+        assertTrue(maxRunning.get() > 1);
+        assertTrue(maxRunning.get() <= 3);
+        assertEquals(
+                List.of("a-slow", "b-medium", "c-fast"),
+                rollup.submissions().stream().map(SubmissionParityQualityService.SubmissionQualityEntry::submissionId).toList()
+        );
+        assertTrue(rollup.submissions().get(0).durationMs() >= 150L);
+        assertEquals("d-bad", rollup.failures().get(0).submissionId());
+        assertTrue(rollup.failures().get(0).durationMs() >= 0L);
+    }
+
     private static SubmissionParityReport stubReport(
             String submissionId,
             String fflogsStatus,
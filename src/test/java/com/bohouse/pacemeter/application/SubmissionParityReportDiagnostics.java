@@ -292,7 +292,7 @@ class SubmissionParityReportDiagnostics {
 
             Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
             for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-                boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+                boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
                 if (!included) {
                     continue;
                 }
@@ -397,7 +397,7 @@ class SubmissionParityReportDiagnostics {
 
             Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
             for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-                boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+                boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
                 if (!included) {
                     continue;
                 }
@@ -527,7 +527,7 @@ class SubmissionParityReportDiagnostics {
                 if (line.startsWith("37|")) {
                     type37Total++;
                 }
-                boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+                boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
                 if (!included) {
                     continue;
                 }
@@ -609,7 +609,7 @@ class SubmissionParityReportDiagnostics {
             String[] parts = line.split("\\|", 4);
             Instant ts = parseLineInstant(parts);
             long tsMs = ts == null ? -1L : ts.toEpochMilli();
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             System.out.printf(
                     "rainbow ts=%s included=%s relToFightEndMs=%d line=%s%n",
                     ts,
@@ -706,7 +706,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", "2026-03-16-lindwurm-f8-bT1pkq7x4dhV3QGz", "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -869,7 +869,7 @@ class SubmissionParityReportDiagnostics {
                 }
             }
 
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -1142,7 +1142,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, long[]> buckets = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", "2026-03-18-heavy2-f6-fM4NVcGvb7aRjzCt", "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -1220,7 +1220,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", "2026-03-18-heavy2-f6-fM4NVcGvb7aRjzCt", "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -1352,7 +1352,7 @@ class SubmissionParityReportDiagnostics {
 
             Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
             for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-                boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+                boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
                 if (!included) {
                     continue;
                 }
@@ -1526,7 +1526,7 @@ class SubmissionParityReportDiagnostics {
         Map<Long, Long> acceptedDotsByTarget = new HashMap<>();
 
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -1613,7 +1613,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", "2026-03-15-heavy4-vafpbaqjnhbk1mtw", "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -1708,7 +1708,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", "2026-03-15-heavy4-vafpbaqjnhbk1mtw", "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -2085,7 +2085,7 @@ class SubmissionParityReportDiagnostics {
         Path combatLog = Path.of("data", "submissions", "2026-03-15-heavy4-vafpbaqjnhbk1mtw", "combat.log");
         int includedIndex = 0;
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -2225,7 +2225,7 @@ class SubmissionParityReportDiagnostics {
 
         int includedIndex = 0;
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -2353,7 +2353,7 @@ class SubmissionParityReportDiagnostics {
         Path combatLog = Path.of("data", "submissions", "2026-03-18-heavy2-f6-fM4NVcGvb7aRjzCt", "combat.log");
         int includedIndex = 0;
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -2675,7 +2675,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", "2026-03-18-heavy2-f6-fM4NVcGvb7aRjzCt", "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -2789,7 +2789,7 @@ class SubmissionParityReportDiagnostics {
         Path combatLog = Path.of("data", "submissions", "2026-03-18-heavy2-f6-fM4NVcGvb7aRjzCt", "combat.log");
         Map<Long, String> targetNameById = new HashMap<>();
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -4833,7 +4833,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", "2026-03-18-heavy2-f6-fM4NVcGvb7aRjzCt", "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -4908,7 +4908,7 @@ class SubmissionParityReportDiagnostics {
                 new FflogsZoneLookup(objectMapper)
         );
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -5017,7 +5017,7 @@ class SubmissionParityReportDiagnostics {
         Path combatLog = Path.of("data", "submissions", "2026-03-18-heavy2-f6-fM4NVcGvb7aRjzCt", "combat.log");
         List<String> lines = Files.readAllLines(combatLog, StandardCharsets.UTF_8);
         for (String line : lines) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -5036,7 +5036,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, Long> rawDirectTotals = new HashMap<>();
         Map<String, Long> rawDirectHits = new HashMap<>();
         for (String line : lines) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -5118,7 +5118,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", "2026-03-18-heavy2-f6-fM4NVcGvb7aRjzCt", "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -5276,13 +5276,25 @@ class SubmissionParityReportDiagnostics {
     private Method openShouldIncludeLine() throws Exception {
         Method shouldIncludeLine = SubmissionParityReportService.class.getDeclaredMethod(
                 "shouldIncludeLine",
-                String.class,
+                ParityCombatLog.Line.class,
                 Optional.class
         );
         shouldIncludeLine.setAccessible(true);
         return shouldIncludeLine;
     }
 
+    /** 원문 줄을 재생과 같은 방식으로 읽어서 창에 들어가는지 본다. */
+    private static boolean isIncluded(
+            Method shouldIncludeLine,
+            SubmissionParityReportService service,
+            String line,
+            Optional<?> replayWindow
+    ) throws Exception {
+        ParityCombatLog.Line decoded = ParityCombatLog.Line.decode(
+                line, new ActLineParser(), AliasDeanonymizer.NONE, Set.of());
+        return (boolean) shouldIncludeLine.invoke(service, decoded, replayWindow);
+    }
+
     private static boolean isUnknownSkillName(String skillName) {
         if (skillName == null || skillName.isBlank()) {
             return true;
@@ -5471,7 +5483,7 @@ class SubmissionParityReportDiagnostics {
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         Map<Long, String> targetNameById = new HashMap<>();
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -5611,7 +5623,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -5695,7 +5707,7 @@ class SubmissionParityReportDiagnostics {
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         Map<Long, String> targetNameById = new HashMap<>();
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -5811,7 +5823,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -5965,7 +5977,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -6064,7 +6076,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, StructureStats> statsByBucket = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -6200,7 +6212,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, StructureStats> statsByBucket = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -6328,7 +6340,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, StructureStats> statsByBucket = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -6451,7 +6463,7 @@ class SubmissionParityReportDiagnostics {
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         List<String> lines = Files.readAllLines(combatLog, StandardCharsets.UTF_8);
         for (String line : lines) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -6484,7 +6496,7 @@ class SubmissionParityReportDiagnostics {
         long rawDirectTotal = 0L;
         long rawDirectHits = 0L;
         for (String line : lines) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -6579,7 +6591,7 @@ class SubmissionParityReportDiagnostics {
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         List<String> lines = Files.readAllLines(combatLog, StandardCharsets.UTF_8);
         for (String line : lines) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -6628,7 +6640,7 @@ class SubmissionParityReportDiagnostics {
         Map<Long, String> targetNames = new HashMap<>();
         Map<Long, Map<String, Long>> rawStatus0ByTargetSource = new HashMap<>();
         for (String line : lines) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -6742,7 +6754,7 @@ class SubmissionParityReportDiagnostics {
         Map<Long, String> targetNameById = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -6882,7 +6894,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -6989,7 +7001,7 @@ class SubmissionParityReportDiagnostics {
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         Map<Long, String> targetNames = new HashMap<>();
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -7125,7 +7137,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, SnapshotSelectionStats> statsByKey = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -7303,7 +7315,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, SnapshotSelectionStats> statsByKey = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -7497,7 +7509,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, SameSourceSplitMixStats> statsByKey = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -7652,7 +7664,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, SameSourceSplitMixStats> statsByForeign = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -7813,7 +7825,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, SameSourceSplitMixStats> statsByBucket = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -7952,7 +7964,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, SnapshotSelectionStats> statsByKey = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -8123,7 +8135,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, SnapshotSelectionStats> statsByTarget = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -8281,7 +8293,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, SnapshotSelectionStats> statsByTarget = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -8462,7 +8474,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, SnapshotSelectionStats> statsByTarget = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -8671,7 +8683,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, SnapshotSelectionStats> statsByTarget = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -8848,7 +8860,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, TrackedTargetSplitEvidenceStats> statsBySignature = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -9036,7 +9048,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, StructureStats> statsByBucket = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -9223,7 +9235,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, StructureStats> candidateBuckets = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -9399,7 +9411,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, StructureStats> matrix = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -9566,7 +9578,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, Long> assignedByBucket = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -9686,7 +9698,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, EvidenceAgeStats> statsByBucket = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -9863,7 +9875,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, StructureStats> statsByBucket = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -10031,7 +10043,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, StructureStats> statsByBucket = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -10212,7 +10224,7 @@ class SubmissionParityReportDiagnostics {
         Deque<String> recentContext = new ArrayDeque<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -10366,7 +10378,7 @@ class SubmissionParityReportDiagnostics {
         long sampleDamage = 0L;
 
         for (String line : lines) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -10431,7 +10443,7 @@ class SubmissionParityReportDiagnostics {
         List<String> timeline = new ArrayList<>();
 
         for (String line : lines) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -10556,7 +10568,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, StructureStats> statsByBucket = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -10735,7 +10747,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, StructureStats> statsByBucket = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -10935,7 +10947,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, EvidenceAgeStats> statsByBucket = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -11117,7 +11129,7 @@ class SubmissionParityReportDiagnostics {
         ArrayDeque<String> recentContext = new ArrayDeque<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -11407,7 +11419,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -11519,7 +11531,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -11633,7 +11645,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -11840,7 +11852,7 @@ class SubmissionParityReportDiagnostics {
         Map<Long, String> targetNameById = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -11991,7 +12003,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -12130,7 +12142,7 @@ class SubmissionParityReportDiagnostics {
         Map<Long, String> targetNameById = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -12330,7 +12342,7 @@ class SubmissionParityReportDiagnostics {
         Map<Long, String> targetNameById = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -12564,7 +12576,7 @@ class SubmissionParityReportDiagnostics {
         Map<Long, String> targetNameById = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -12863,7 +12875,7 @@ class SubmissionParityReportDiagnostics {
         Map<String, StructureStats> statsByKey = new HashMap<>();
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -13216,7 +13228,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -13322,7 +13334,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -13428,7 +13440,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -13508,7 +13520,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -13602,7 +13614,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -13681,7 +13693,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -13789,7 +13801,7 @@ class SubmissionParityReportDiagnostics {
         int index = 0;
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
             index++;
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -13947,7 +13959,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
@@ -14041,7 +14053,7 @@ class SubmissionParityReportDiagnostics {
 
         Path combatLog = Path.of("data", "submissions", submissionId, "combat.log");
         for (String line : Files.readAllLines(combatLog, StandardCharsets.UTF_8)) {
-            boolean included = (boolean) shouldIncludeLine.invoke(service, line, replayWindow);
+            boolean included = isIncluded(shouldIncludeLine, service, line, replayWindow);
             if (!included) {
                 continue;
             }
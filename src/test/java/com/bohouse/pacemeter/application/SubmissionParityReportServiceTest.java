@@ -11,7 +11,6 @@ import org.junit.jupiter.api.Test;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.ArrayList;
-import java.util.Map;
 import java.util.List;
 import java.util.Optional;
 
@@ -435,38 +434,6 @@ class SubmissionParityReportServiceTest {
         assertEquals(105, expectedEncounterId);
     }
 
-    @Test
-    void deanonymizeLine_restoresAliasedSkillAndBuffNamesFromMapping() throws Exception {
-        SubmissionParityReportService service = new SubmissionParityReportService(
-                new ActLineParser(),
-                new ObjectMapper(),
-                new FflogsZoneLookup(new ObjectMapper()),
-                territoryId -> Optional.empty(),
-                new FflogsApiClient(new FflogsTokenStore(new ObjectMapper()), new ObjectMapper())
-        );
-
-        Method deanonymizeLine = SubmissionParityReportService.class.getDeclaredMethod(
-                "deanonymizeLine",
-                String.class,
-                Map.class
-        );
-        deanonymizeLine.setAccessible(true);
-
-        String restoredAbility = (String) deanonymizeLine.invoke(
-                service,
-                "21|2026-03-15T17:34:20.5430000+09:00|1013CC4B|나성|5EF8|Player127|4000664C|린드블룸|750003|AE4C0000",
-                Map.of("Player127", "도시스 3")
-        );
-        String restoredBuff = (String) deanonymizeLine.invoke(
-                service,
-                "26|2026-03-15T17:35:16.4600000+09:00|E65|Player149|20.00|1008B280|이끼이끼|100B73AC|생쥐|00|226548|203793|f17cb73eead0b4ee",
-                Map.of("Player149", "하늘 구현")
-        );
-
-        assertTrue(restoredAbility.contains("|도시스 3|"));
-        assertTrue(restoredBuff.contains("|하늘 구현|"));
-    }
-
     private static void setField(Object target, String fieldName, Object value) throws Exception {
         Field field = target.getClass().getDeclaredField(fieldName);
         field.setAccessible(true);
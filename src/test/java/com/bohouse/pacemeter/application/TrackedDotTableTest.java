@@ -0,0 +1,104 @@
+package com.bohouse.pacemeter.application;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrackedDotTableTest {
+
+    @Test
+    void put_overwritesSameKeyAndCountsTargets() {
+        TrackedDotTable table = new TrackedDotTable();
+        table.put(0x40000001L, 0x10000001L, "A", 0x1D, 10_000L);
+        table.put(0x40000001L, 0x10000002L, "B", 0x9094, 12_000L);
+        table.put(0x40000002L, 0x10000001L, "A", 0x1D, 15_000L);
+        table.put(0x40000001L, 0x10000001L, "A", 0x1D, 20_000L);
+
+        assertEquals(3, table.size());
+        assertEquals(2, table.activeTargetCount());
+        assertTrue(table.contains(0x40000001L, 0x10000002L, 0x9094));
+        assertFalse(table.contains(0x40000002L, 0x10000002L, 0x9094));
+        int row = rowOf(table, 0x40000001L, 0x10000001L);
+        assertEquals(20_000L, table.expiresAtMs(row));
+        assertEquals("A", table.sourceNameAt(row));
+        assertEquals(0x1D, table.actionAt(row));
+    }
+
+    @Test
+    void pruneExpired_skipsUntilEarliestExpiryAndReportsEmptiedTargets() {
+        TrackedDotTable table = new TrackedDotTable();
+        table.put(0x40000001L, 0x10000001L, "A", 0x1D, 10_000L);
+        table.put(0x40000001L, 0x10000002L, "B", 0x9094, 30_000L);
+        table.put(0x40000002L, 0x10000001L, "A", 0x1D, 20_000L);
+
+        assertFalse(table.pruneExpired(9_999L));
+        assertEquals(3, table.size());
+
+        assertFalse(table.pruneExpired(10_000L));
+        assertEquals(2, table.size());
+        assertEquals(2, table.activeTargetCount());
+
+        assertTrue(table.pruneExpired(20_000L));
+        assertEquals(1, table.size());
+        assertEquals(1, table.activeTargetCount());
+        assertFalse(table.hasTarget(0x40000002L));
+
+        table.remove(0x40000001L, 0x10000002L, 0x9094);
+        assertEquals(0, table.size());
+        assertEquals(0, table.activeTargetCount());
+    }
+
+    @Test
+    void pruneExpired_followsExpiryOrderAcrossRefreshesAndRemovals() {
+        TrackedDotTable table = new TrackedDotTable();
+        for (int i = 0; i < 40; i++) {
+            table.put(0x40000000L + (i % 5), 0x10000000L + i, "S" + i, 0x1D, 1_000L + ((i * 7919L) % 40) * 100L);
+        }
+        table.put(0x40000000L, 0x10000000L, "S0", 0x1D, 50_000L);
+        table.remove(0x40000001L, 0x10000001L, 0x1D);
+
+        long previousNow = 0L;
+        for (long now = 1_000L; now <= 5_000L; now += 100L) {
+            table.pruneExpired(now);
+            for (int row = 0; row < table.size(); row++) {
+                assertTrue(table.expiresAtMs(row) > now);
+            }
+            previousNow = now;
+        }
+        assertEquals(1, table.size());
+        assertEquals(0x10000000L, table.sourceAt(0));
+        assertFalse(table.pruneExpired(previousNow));
+        assertTrue(table.pruneExpired(50_000L));
+        assertEquals(0, table.activeTargetCount());
+    }
+
+    @Test
+    void select_returnsTargetRowsInSourceThenActionOrder() {
+        TrackedDotTable table = new TrackedDotTable();
+        table.put(0x40000001L, 0x10000002L, "B", 0x9094, 10_000L);
+        table.put(0x40000002L, 0x10000001L, "A", 0x1D, 10_000L);
+        table.put(0x40000001L, 0x10000001L, "A", 0x9094, 10_000L);
+        table.put(0x40000001L, 0x10000001L, "A", 0x1D, 10_000L);
+
+        assertEquals(3, table.select(0x40000001L, -1L));
+        assertEquals(0x10000001L, table.sourceAt(table.selectedRow(0)));
+        assertEquals(0x1D, table.actionAt(table.selectedRow(0)));
+        assertEquals(0x9094, table.actionAt(table.selectedRow(1)));
+        assertEquals(0x10000002L, table.sourceAt(table.selectedRow(2)));
+
+        assertEquals(1, table.select(0x40000001L, 0x10000002L));
+        assertEquals(0x9094, table.actionAt(table.selectedRow(0)));
+        assertEquals(0, table.select(0x40000003L, -1L));
+    }
+
+    private static int rowOf(TrackedDotTable table, long targetId, long sourceId) {
+        for (int row = 0; row < table.size(); row++) {
+            if (table.targetAt(row) == targetId && table.sourceAt(row) == sourceId) {
+                return row;
+            }
+        }
+        return -1;
+    }
+}
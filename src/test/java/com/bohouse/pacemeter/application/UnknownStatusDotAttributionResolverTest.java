@@ -17,12 +17,12 @@ class UnknownStatusDotAttributionResolverTest {
 
     @Test
     void resolveTrackedStatusActionId_mapsStatusThroughMapper() {
-        Instant now = Instant.parse("2026-03-19T00:00:10Z");
+        long now = Instant.parse("2026-03-19T00:00:10Z").toEpochMilli();
         DotTickRaw dot = new DotTickRaw(now, 0x40000001L, "Boss", "DoT", 0, 0x10000001L, "Actor", 1000, "24|...");
         Map<UnknownStatusDotAttributionResolver.DotKey, UnknownStatusDotAttributionResolver.DotApplication> statusApps = new HashMap<>();
         statusApps.put(
                 new UnknownStatusDotAttributionResolver.DotKey(0x10000001L, 0x40000001L),
-                new UnknownStatusDotAttributionResolver.DotApplication(0x0767, now.minusMillis(1000))
+                new UnknownStatusDotAttributionResolver.DotApplication(0x0767, now - 1000)
         );
 
         Integer actionId = resolver.resolveTrackedStatusActionId(dot, statusApps, 90_000L, statusId -> statusId == 0x0767 ? 0x409C : 0);
@@ -31,14 +31,14 @@ class UnknownStatusDotAttributionResolverTest {
 
     @Test
     void resolveCorroboratedActionId_returnsActionWhenMarkerAndStatusAgree() {
-        Instant now = Instant.parse("2026-03-19T00:00:10Z");
+        long now = Instant.parse("2026-03-19T00:00:10Z").toEpochMilli();
         DotTickRaw dot = new DotTickRaw(now, 0x40000001L, "Boss", "DoT", 0, 0x10000001L, "Actor", 1000, "24|...");
         Map<UnknownStatusDotAttributionResolver.DotKey, UnknownStatusDotAttributionResolver.DotApplication> actionApps = new HashMap<>();
         Map<UnknownStatusDotAttributionResolver.DotKey, UnknownStatusDotAttributionResolver.DotApplication> statusApps = new HashMap<>();
         UnknownStatusDotAttributionResolver.DotKey key =
                 new UnknownStatusDotAttributionResolver.DotKey(0x10000001L, 0x40000001L);
-        actionApps.put(key, new UnknownStatusDotAttributionResolver.DotApplication(0x409C, now.minusMillis(1500)));
-        statusApps.put(key, new UnknownStatusDotAttributionResolver.DotApplication(0x0767, now.minusMillis(1000)));
+        actionApps.put(key, new UnknownStatusDotAttributionResolver.DotApplication(0x409C, now - 1500));
+        statusApps.put(key, new UnknownStatusDotAttributionResolver.DotApplication(0x0767, now - 1000));
 
         Integer actionId = resolver.resolveCorroboratedActionId(
                 dot,
@@ -53,17 +53,17 @@ class UnknownStatusDotAttributionResolverTest {
 
     @Test
     void resolveUnknownSourceAttribution_picksMostRecentCandidateForTarget() {
-        Instant now = Instant.parse("2026-03-19T00:01:00Z");
+        long now = Instant.parse("2026-03-19T00:01:00Z").toEpochMilli();
         DotTickRaw dot = new DotTickRaw(now, 0x40000001L, "Boss", "DoT", 0, 0xE0000000L, "", 1200, "24|...");
 
         Map<UnknownStatusDotAttributionResolver.DotKey, UnknownStatusDotAttributionResolver.DotApplication> actionApps = new HashMap<>();
         actionApps.put(
                 new UnknownStatusDotAttributionResolver.DotKey(0x10000001L, 0x40000001L),
-                new UnknownStatusDotAttributionResolver.DotApplication(0x4094, now.minusMillis(3000))
+                new UnknownStatusDotAttributionResolver.DotApplication(0x4094, now - 3000)
         );
         actionApps.put(
                 new UnknownStatusDotAttributionResolver.DotKey(0x10000002L, 0x40000001L),
-                new UnknownStatusDotAttributionResolver.DotApplication(0x409C, now.minusMillis(1000))
+                new UnknownStatusDotAttributionResolver.DotApplication(0x409C, now - 1000)
         );
 
         Optional<UnknownStatusDotAttributionResolver.UnknownSourceAttribution> attribution =
@@ -85,7 +85,7 @@ class UnknownStatusDotAttributionResolverTest {
 
     @Test
     void resolveUnknownSourceAttribution_prefersCorroboratedCandidateOverNewerSingleEvidence() {
-        Instant now = Instant.parse("2026-03-19T00:01:00Z");
+        long now = Instant.parse("2026-03-19T00:01:00Z").toEpochMilli();
         DotTickRaw dot = new DotTickRaw(now, 0x40000001L, "Boss", "DoT", 0, 0xE0000000L, "", 1200, "24|...");
 
         Map<UnknownStatusDotAttributionResolver.DotKey, UnknownStatusDotAttributionResolver.DotApplication> actionApps = new HashMap<>();
@@ -93,12 +93,12 @@ class UnknownStatusDotAttributionResolverTest {
 
         UnknownStatusDotAttributionResolver.DotKey corroboratedKey =
                 new UnknownStatusDotAttributionResolver.DotKey(0x10000001L, 0x40000001L);
-        actionApps.put(corroboratedKey, new UnknownStatusDotAttributionResolver.DotApplication(0x409C, now.minusMillis(4000)));
-        statusApps.put(corroboratedKey, new UnknownStatusDotAttributionResolver.DotApplication(0x0767, now.minusMillis(3500)));
+        actionApps.put(corroboratedKey, new UnknownStatusDotAttributionResolver.DotApplication(0x409C, now - 4000));
+        statusApps.put(corroboratedKey, new UnknownStatusDotAttributionResolver.DotApplication(0x0767, now - 3500));
 
         actionApps.put(
                 new UnknownStatusDotAttributionResolver.DotKey(0x10000002L, 0x40000001L),
-                new UnknownStatusDotAttributionResolver.DotApplication(0x4094, now.minusMillis(1000))
+                new UnknownStatusDotAttributionResolver.DotApplication(0x4094, now - 1000)
         );
 
         Optional<UnknownStatusDotAttributionResolver.UnknownSourceAttribution> attribution =
@@ -120,17 +120,17 @@ class UnknownStatusDotAttributionResolverTest {
 
     @Test
     void resolveUnknownSourceAttribution_ignoresExpiredOrDifferentTargetEvidence() {
-        Instant now = Instant.parse("2026-03-19T00:02:00Z");
+        long now = Instant.parse("2026-03-19T00:02:00Z").toEpochMilli();
         DotTickRaw dot = new DotTickRaw(now, 0x40000001L, "Boss", "DoT", 0, 0xE0000000L, "", 1200, "24|...");
 
         Map<UnknownStatusDotAttributionResolver.DotKey, UnknownStatusDotAttributionResolver.DotApplication> actionApps = new HashMap<>();
         actionApps.put(
                 new UnknownStatusDotAttributionResolver.DotKey(0x10000001L, 0x40000002L),
-                new UnknownStatusDotAttributionResolver.DotApplication(0x4094, now.minusMillis(1000))
+                new UnknownStatusDotAttributionResolver.DotApplication(0x4094, now - 1000)
         );
         actionApps.put(
                 new UnknownStatusDotAttributionResolver.DotKey(0x10000002L, 0x40000001L),
-                new UnknownStatusDotAttributionResolver.DotApplication(0x409C, now.minusMillis(91_000))
+                new UnknownStatusDotAttributionResolver.DotApplication(0x409C, now - 91_000)
         );
 
         Optional<UnknownStatusDotAttributionResolver.UnknownSourceAttribution> attribution =
@@ -150,7 +150,7 @@ class UnknownStatusDotAttributionResolverTest {
 
     @Test
     void resolveKnownStatusUnknownSourceAttribution_prefersCorroboratedSource() {
-        Instant now = Instant.parse("2026-03-19T00:03:00Z");
+        long now = Instant.parse("2026-03-19T00:03:00Z").toEpochMilli();
         DotTickRaw dot = new DotTickRaw(now, 0x40000001L, "Boss", "DoT", 0x0767, 0xE0000000L, "", 1200, "24|...");
 
         Map<UnknownStatusDotAttributionResolver.DotKey, UnknownStatusDotAttributionResolver.DotApplication> actionApps = new HashMap<>();
@@ -158,12 +158,12 @@ class UnknownStatusDotAttributionResolverTest {
 
         UnknownStatusDotAttributionResolver.DotKey corroboratedKey =
                 new UnknownStatusDotAttributionResolver.DotKey(0x10000001L, 0x40000001L);
-        actionApps.put(corroboratedKey, new UnknownStatusDotAttributionResolver.DotApplication(0x409C, now.minusMillis(4000)));
-        statusApps.put(corroboratedKey, new UnknownStatusDotAttributionResolver.DotApplication(0x0767, now.minusMillis(3500)));
+        actionApps.put(corroboratedKey, new UnknownStatusDotAttributionResolver.DotApplication(0x409C, now - 4000));
+        statusApps.put(corroboratedKey, new UnknownStatusDotAttributionResolver.DotApplication(0x0767, now - 3500));
 
         actionApps.put(
                 new UnknownStatusDotAttributionResolver.DotKey(0x10000002L, 0x40000001L),
-                new UnknownStatusDotAttributionResolver.DotApplication(0x409C, now.minusMillis(1000))
+                new UnknownStatusDotAttributionResolver.DotApplication(0x409C, now - 1000)
         );
 
         Optional<UnknownStatusDotAttributionResolver.UnknownSourceAttribution> attribution =
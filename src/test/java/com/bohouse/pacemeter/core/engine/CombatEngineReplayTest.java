@@ -131,6 +131,75 @@ class CombatEngineReplayTest {
         assertTrue(tickResult.hasSnapshot());
     }
 
+    @Test
+    void tickWithoutChanges_skipsSnapshotUntilHeartbeat() {
+        CombatEngine engine = new CombatEngine();
+        engine.process(new CombatEvent.FightStart(0, "Test", 0, 0));
+        engine.process(new CombatEvent.DamageEvent(
+                1000, new ActorId(1), "Player", new ActorId(100), 1, 10000,
+                DamageType.DIRECT, false, false));
+        assertTrue(engine.process(new CombatEvent.Tick(1100)).hasSnapshot());
+
+        // 데미지 없이 시간만 흐른 틱은 건너뛴다
+        assertFalse(engine.process(new CombatEvent.Tick(1200)).hasSnapshot());
+        assertFalse(engine.process(new CombatEvent.Tick(2000)).hasSnapshot());
+
+        // heartbeat 간격이 지나면 변화가 없어도 스냅샷을 만든다
+        assertTrue(engine.process(new CombatEvent.Tick(1100 + CombatEngine.SNAPSHOT_HEARTBEAT_MS)).hasSnapshot());
+
+        // 엔진 설정이 바뀌면 바로 스냅샷을 만든다
+        engine.setCurrentPlayerId(new ActorId(1));
+        assertTrue(engine.process(new CombatEvent.Tick(2200)).hasSnapshot());
+
+        // 새 데미지가 들어오면 바로 스냅샷을 만든다
+        engine.process(new CombatEvent.DamageEvent(
+                2250, new ActorId(1), "Player", new ActorId(100), 1, 5000,
+                DamageType.DIRECT, false, false));
+        assertTrue(engine.process(new CombatEvent.Tick(2300)).hasSnapshot());
+
+        // FightEnd는 항상 마지막 스냅샷을 만든다
+        assertTrue(engine.process(new CombatEvent.FightEnd(2300, false)).hasSnapshot());
+    }
+
+    @Test
+    void processBatch_matchesSequentialStateWithOneSnapshotAtLastTick() throws IOException {
+        List<CombatEvent> events = ReplayEventParser.parseResource("/replay/basic_fight.jsonl");
+        List<CombatEvent> withoutFightEnd = events.stream()
+                .filter(event -> !(event instanceof CombatEvent.FightEnd))
+                .toList();
+
+        CombatEngine sequential = new CombatEngine();
+        OverlaySnapshot lastSequential = null;
+        for (CombatEvent event : withoutFightEnd) {
+            lastSequential = sequential.process(event).snapshot().orElse(lastSequential);
+        }
+
+        CombatEngine batched = new CombatEngine();
+        EngineResult result = batched.processBatch(withoutFightEnd);
+
+        OverlaySnapshot snapshot = result.snapshot().orElseThrow();
+        assertEquals(lastSequential, snapshot);
+        assertEquals(sequential.currentState().totalPartyDamage(), batched.currentState().totalPartyDamage());
+    }
+
+    @Test
+    void processBatch_keepsFinalSnapshotWhenFightEnds() {
+        CombatEngine engine = new CombatEngine();
+        EngineResult result = engine.processBatch(List.of(
+                new CombatEvent.FightStart(0, "Test", 0, 0),
+                new CombatEvent.DamageEvent(1000, new ActorId(1), "Player", new ActorId(100), 1, 10000,
+                        DamageType.DIRECT, false, false),
+                new CombatEvent.Tick(1100),
+                new CombatEvent.FightEnd(1200, false),
+                new CombatEvent.Tick(1300)
+        ));
+
+        OverlaySnapshot snapshot = result.snapshot().orElseThrow();
+        assertTrue(snapshot.isFinal());
+        assertEquals(1200, snapshot.elapsedMs());
+        assertFalse(engine.processBatch(List.of()).hasSnapshot());
+    }
+
     @Test
     void determinism_sameInputSameOutput() throws IOException {
         List<CombatEvent> events = ReplayEventParser.parseResource("/replay/basic_fight.jsonl");
@@ -863,6 +932,43 @@ class CombatEngineReplayTest {
         assertEquals(600.0, providerB.onlineRdps(), 1.0);
     }
 
+    @Test
+    void dotSnapshot_fallsBackToRemainingDotOnSamePairAfterLatestIsRemoved() {
+        CombatEngine engine = new CombatEngine();
+        engine.process(new CombatEvent.FightStart(0, "Test", 0, 0));
+        engine.process(new CombatEvent.ActorJoined(0, new ActorId(1), "Summoner"));
+        engine.process(new CombatEvent.ActorJoined(0, new ActorId(2), "Astrologian A"));
+        engine.process(new CombatEvent.ActorJoined(0, new ActorId(3), "Astrologian B"));
+
+        engine.process(new CombatEvent.BuffApply(0, new ActorId(2), new ActorId(1), new BuffId(0x74F), "The Balance", 15_000));
+        engine.process(new CombatEvent.BuffApply(100, new ActorId(1), new ActorId(0x40000001L), new BuffId(0x2ED), "Dot A", 30_000));
+        engine.process(new CombatEvent.BuffRemove(200, new ActorId(2), new ActorId(1), new BuffId(0x74F), "The Balance"));
+
+        engine.process(new CombatEvent.BuffApply(300, new ActorId(3), new ActorId(1), new BuffId(0x74F), "The Balance", 15_000));
+        engine.process(new CombatEvent.BuffApply(400, new ActorId(1), new ActorId(0x40000001L), new BuffId(0x35D), "Dot B", 30_000));
+        engine.process(new CombatEvent.BuffRemove(500, new ActorId(3), new ActorId(1), new BuffId(0x74F), "The Balance"));
+        engine.process(new CombatEvent.BuffRemove(600, new ActorId(1), new ActorId(0x40000001L), new BuffId(0x35D), "Dot B"));
+
+        engine.process(new CombatEvent.DamageEvent(
+                1000,
+                new ActorId(1),
+                "Summoner",
+                new ActorId(0x40000001L),
+                0,
+                10_600,
+                DamageType.DOT,
+                false,
+                false
+        ));
+
+        OverlaySnapshot snapshot = engine.process(new CombatEvent.Tick(1000)).snapshot().orElseThrow();
+        ActorSnapshot providerA = snapshot.actors().stream().filter(a -> a.name().equals("Astrologian A")).findFirst().orElseThrow();
+        ActorSnapshot providerB = snapshot.actors().stream().filter(a -> a.name().equals("Astrologian B")).findFirst().orElseThrow();
+
+        assertEquals(600.0, providerA.onlineRdps(), 1.0);
+        assertEquals(0.0, providerB.onlineRdps(), 1.0);
+    }
+
     @Test
     void selfAppliedRaidBuff_doesNotCountAsExternalContribution() {
         CombatEngine engine = new CombatEngine();
@@ -0,0 +1,94 @@
+package com.bohouse.pacemeter.core.estimator;
+
+import com.bohouse.pacemeter.core.event.CombatEvent;
+import com.bohouse.pacemeter.core.model.ActorId;
+import com.bohouse.pacemeter.core.model.CombatState;
+import com.bohouse.pacemeter.core.model.DamageType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OnlineEstimatorTest {
+
+    private static final ActorId DEALER = new ActorId(0x10000001L);
+    private static final ActorId TARGET = new ActorId(0x40000001L);
+
+    @Test
+    void estimate_reusesPreviousResultWhenNothingChanged() {
+        CombatState state = startedFight();
+        state.reduce(damage(1_000L, 10_000L));
+        state.reduce(new CombatEvent.Tick(2_000L));
+
+        OnlineEstimator estimator = new OnlineEstimator();
+        Map<ActorId, RdpsEstimate> first = estimator.estimate(state);
+        Map<ActorId, RdpsEstimate> second = estimator.estimate(state);
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void estimate_recomputesOnlyAfterActorStatsChange() {
+        CombatState state = startedFight();
+        state.reduce(damage(1_000L, 10_000L));
+        state.reduce(new CombatEvent.Tick(2_000L));
+
+        OnlineEstimator estimator = new OnlineEstimator();
+        double before = estimator.estimate(state).get(DEALER).actorOnlineRdps();
+
+        state.reduce(damage(2_000L, 10_000L));
+        double after = estimator.estimate(state).get(DEALER).actorOnlineRdps();
+
+        assertEquals(before * 2, after, 0.0001);
+    }
+
+    @Test
+    void estimate_matchesFreshEstimatorAfterManyTicks() {
+        CombatState state = startedFight();
+        OnlineEstimator incremental = new OnlineEstimator();
+        for (long t = 1_000L; t <= 40_000L; t += 100L) {
+            if (t % 2_500L == 0) {
+                state.reduce(damage(t, 5_000L + t));
+            }
+            state.reduce(new CombatEvent.Tick(t));
+            incremental.estimate(state);
+        }
+
+        RdpsEstimate cached = incremental.estimate(state).get(DEALER);
+        RdpsEstimate fresh = new OnlineEstimator().estimate(state).get(DEALER);
+
+        assertEquals(fresh.actorOnlineRdps(), cached.actorOnlineRdps(), 0.0001);
+        assertEquals(fresh.confidence(), cached.confidence());
+    }
+
+    @Test
+    void confidence_formatsReasonsFromCodes() {
+        CombatState state = startedFight();
+        state.reduce(damage(1_000L, 10_000L));
+        state.reduce(new CombatEvent.Tick(2_000L));
+
+        Confidence confidence = new OnlineEstimator().estimate(state).get(DEALER).confidence();
+
+        assertEquals(List.of(
+                Confidence.Reason.FIGHT_UNDER_30S,
+                Confidence.Reason.FEW_SAMPLES,
+                Confidence.Reason.SHORT_WINDOW
+        ), confidence.reasonCodes());
+        assertEquals(List.of("Fight < 30s", "Few samples (1 hits)", "Short window (2000ms)"), confidence.reasons());
+    }
+
+    private static CombatState startedFight() {
+        CombatState state = new CombatState();
+        state.reduce(new CombatEvent.FightStart(0L, "test", 1327, 42));
+        state.reduce(new CombatEvent.ActorJoined(0L, DEALER, "dealer"));
+        return state;
+    }
+
+    private static CombatEvent.DamageEvent damage(long timestampMs, long amount) {
+        return new CombatEvent.DamageEvent(
+                timestampMs, DEALER, "dealer", TARGET, 0x8C0, amount, DamageType.DIRECT, false, false
+        );
+    }
+}
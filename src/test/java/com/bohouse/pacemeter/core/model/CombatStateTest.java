@@ -187,6 +187,44 @@ class CombatStateTest {
         assertEquals(1, stats.observedCritDirectHitCount());
     }
 
+    @Test
+    void decayedRecentWindow_keepsNoSamplesAndTracksSteadyRateLikeWindow() {
+        ActorStats windowed = new ActorStats(new ActorId(0x10000001L), "dealer", RecentWindowMode.WINDOWED);
+        ActorStats decayed = new ActorStats(new ActorId(0x10000001L), "dealer", RecentWindowMode.DECAYED);
+
+        for (long t = 100L; t <= 40_000L; t += 100L) {
+            windowed.addDamage(1_000L, t);
+            decayed.addDamage(1_000L, t);
+            windowed.advanceRecentWindow(t);
+            decayed.advanceRecentWindow(t);
+        }
+
+        assertTrue(decayed.recentSamples().isEmpty());
+        assertEquals(151_000L, windowed.recentDamage());
+        assertEquals(windowed.recentDamage(), decayed.recentDamage(), windowed.recentDamage() * 0.01);
+        assertEquals(windowed.totalDamage(), decayed.totalDamage());
+    }
+
+    @Test
+    void decayedRecentWindow_fadesAfterActorStopsDealingDamage() {
+        CombatState state = new CombatState(RecentWindowMode.DECAYED);
+        ActorId actorId = new ActorId(0x10000001L);
+        ActorId targetId = new ActorId(0x40000001L);
+
+        state.reduce(new CombatEvent.FightStart(0L, "test", 1327, 42));
+        state.reduce(new CombatEvent.DamageEvent(
+                1_000L, actorId, "dealer", targetId, 0x8C0, 10_000L, DamageType.DIRECT, false, false
+        ));
+        state.reduce(new CombatEvent.Tick(1_000L));
+        long afterHit = state.actors().get(actorId).recentDamage();
+
+        state.reduce(new CombatEvent.Tick(31_000L));
+
+        assertEquals(RecentWindowMode.DECAYED, state.actors().get(actorId).recentWindowMode());
+        assertTrue(afterHit > 0);
+        assertTrue(state.actors().get(actorId).recentDamage() < afterHit * 0.1);
+    }
+
     @Test
     void experimentalAutoHitAttributionFlag_defaultsOffAndCanBeEnabledByProperty() {
         String previous = System.getProperty(CombatState.EXPERIMENTAL_AUTO_HIT_ATTRIBUTION_PROPERTY);
@@ -0,0 +1,64 @@
+package com.bohouse.pacemeter.core.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongObjectMapTest {
+
+    @Test
+    void put_keepsInsertionOrderAcrossGrowth() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        for (long id = 0x10000000L; id < 0x10000000L + 100; id++) {
+            map.put(id, "actor-" + id);
+        }
+
+        assertEquals(100, map.size());
+        for (int i = 0; i < map.size(); i++) {
+            assertEquals(0x10000000L + i, map.keyAt(i));
+            assertEquals("actor-" + map.keyAt(i), map.valueAt(i));
+        }
+        assertEquals("actor-" + 0x10000020L, map.get(0x10000020L));
+        assertNull(map.get(0x40000001L));
+    }
+
+    @Test
+    void put_existingKeyReplacesValueInPlace() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        map.put(1L, "a");
+        map.put(2L, "b");
+
+        assertEquals("a", map.put(1L, "c"));
+        assertEquals(2, map.size());
+        assertEquals(1L, map.keyAt(0));
+        assertEquals("c", map.valueAt(0));
+    }
+
+    @Test
+    void removeAt_shiftsTailAndKeepsLookupsValid() {
+        LongObjectMap<String> map = new LongObjectMap<>();
+        map.put(1L, "a");
+        map.put(2L, "b");
+        map.put(3L, "c");
+
+        map.removeAt(0);
+
+        assertEquals(2, map.size());
+        assertFalse(map.containsKey(1L));
+        assertEquals(2L, map.keyAt(0));
+        assertEquals("c", map.get(3L));
+        assertEquals("b", map.remove(2L));
+        assertEquals(1, map.size());
+        assertEquals("c", map.valueAt(0));
+    }
+
+    @Test
+    void longLongMap_returnsDefaultForMissingKey() {
+        LongLongMap map = new LongLongMap();
+        map.put(0x40000001L, 0x10000001L);
+
+        assertEquals(0x10000001L, map.get(0x40000001L, 0L));
+        assertEquals(0L, map.get(0x40000002L, 0L));
+        assertTrue(map.containsKey(0x40000001L));
+    }
+}
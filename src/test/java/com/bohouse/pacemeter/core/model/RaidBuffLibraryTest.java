@@ -75,4 +75,31 @@ class RaidBuffLibraryTest {
     void find_returnsEmptyForUnknownBuff() {
         assertTrue(RaidBuffLibrary.find(new BuffId(0xEEEE), "Unknown Buff").isEmpty());
     }
+
+    @Test
+    void resolveIndex_exposesPrecompiledEffectVectors() {
+        int devilment = RaidBuffLibrary.resolveIndex(new BuffId(0x721), "ignored");
+        assertEquals(1.0, RaidBuffLibrary.damageMultiplier(devilment), 0.0001);
+        assertEquals(0.0, RaidBuffLibrary.damageLogWeight(devilment), 0.0001);
+        assertEquals(0.20, RaidBuffLibrary.critRateUp(devilment), 0.0001);
+        assertEquals(0.20, RaidBuffLibrary.directHitRateUp(devilment), 0.0001);
+
+        int balance = RaidBuffLibrary.resolveIndex(new BuffId(0xFFFF), "The Balance");
+        assertEquals(1.06, RaidBuffLibrary.damageMultiplier(balance), 0.0001);
+        assertEquals(Math.log(1.06), RaidBuffLibrary.damageLogWeight(balance), 0.0001);
+        assertEquals(0.0, RaidBuffLibrary.critRateUp(balance), 0.0001);
+
+        assertEquals(RaidBuffLibrary.NOT_FOUND, RaidBuffLibrary.resolveIndex(new BuffId(0xEEEE), "Unknown Buff"));
+        assertEquals(RaidBuffLibrary.NOT_FOUND, RaidBuffLibrary.resolveIndex(new BuffId(-1), ""));
+    }
+
+    @Test
+    void activeBuff_resolvesRaidBuffIndexOnceAtApplication() {
+        ActiveBuff balance = new ActiveBuff(new BuffId(0xFFFF), "The Balance", new ActorId(1), 0L, 15_000L);
+        ActiveBuff unknown = new ActiveBuff(new BuffId(0xEEEE), "Unknown Buff", new ActorId(1), 0L, 15_000L);
+
+        assertTrue(balance.isRaidBuff());
+        assertEquals(RaidBuffLibrary.resolveIndex(new BuffId(0xF2F), ""), balance.raidBuffIndex());
+        assertFalse(unknown.isRaidBuff());
+    }
 }